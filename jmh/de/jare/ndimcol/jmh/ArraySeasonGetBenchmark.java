@@ -0,0 +1,97 @@
+/**
+ * <copyright>
+ * Copyright (c) 2025, Janusch Rentenatus. This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v2.0 which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ * </copyright>
+ */
+package de.jare.ndimcol.jmh;
+
+import de.jare.ndimcol.primfloat.ArraySeasonFloat;
+import de.jare.ndimcol.primint.ArraySeasonInt;
+import de.jare.ndimcol.ref.ArraySeason;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Random indexed reads on ArraySeason, ArraySeasonInt and ArraySeasonFloat.
+ * <p>
+ * Run with the GC profiler to see the allocations per read, which should be zero:
+ * <pre>
+ * java -jar ndimcol4j-benchmarks.jar ArraySeasonGetBenchmark -prof gc
+ * </pre> and look at {@code gc.alloc.rate.norm}.
+ *
+ * @author Janusch Rentenatus
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ArraySeasonGetBenchmark {
+
+    private static final int INDEX_MASK = 1023;
+
+    @Param({"10000", "1000000"})
+    int size;
+
+    ArraySeason<Integer> season;
+    ArraySeasonInt seasonInt;
+    ArraySeasonFloat seasonFloat;
+    int[] indexes;
+    int pos;
+
+    @Setup
+    public void setUp() {
+        season = new ArraySeason<>();
+        seasonInt = new ArraySeasonInt();
+        seasonFloat = new ArraySeasonFloat();
+        for (int i = 0; i < size; i++) {
+            season.add(i);
+            seasonInt.add(i);
+            seasonFloat.add(i * 0.5f);
+        }
+        Random random = new Random(4711);
+        indexes = new int[INDEX_MASK + 1];
+        for (int i = 0; i < indexes.length; i++) {
+            indexes[i] = random.nextInt(size);
+        }
+        // warm the episode indexes, so the measurement sees only reads
+        season.get(0);
+        seasonInt.get(0);
+        seasonFloat.get(0);
+    }
+
+    private int nextIndex() {
+        pos = (pos + 1) & INDEX_MASK;
+        return indexes[pos];
+    }
+
+    @Benchmark
+    public Integer getRef() {
+        return season.get(nextIndex());
+    }
+
+    @Benchmark
+    public int getInt() {
+        return seasonInt.get(nextIndex());
+    }
+
+    @Benchmark
+    public float getFloat() {
+        return seasonFloat.get(nextIndex());
+    }
+
+}
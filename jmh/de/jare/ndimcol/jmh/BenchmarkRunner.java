@@ -0,0 +1,45 @@
+/**
+ * <copyright>
+ * Copyright (c) 2025, Janusch Rentenatus. This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v2.0 which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ * </copyright>
+ */
+package de.jare.ndimcol.jmh;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the benchmarks with the GC profiler and writes the results as JSON, so they can be compared between builds. All
+ * JMH command line options are accepted and win over these defaults, e.g.
+ * <pre>
+ * java -cp ... de.jare.ndimcol.jmh.BenchmarkRunner SeasonAccessBenchmark -p size=100000 -rff season.json
+ * </pre>
+ *
+ * @author Janusch Rentenatus
+ */
+public class BenchmarkRunner {
+
+    public static final String DEFAULT_RESULT_FILE = "jmh-result.json";
+
+    public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+        final CommandLineOptions commandLine = new CommandLineOptions(args);
+        final ChainedOptionsBuilder options = new OptionsBuilder()
+                .parent(commandLine)
+                .addProfiler(GCProfiler.class)
+                .resultFormat(commandLine.getResultFormat().orElse(ResultFormatType.JSON))
+                .result(commandLine.getResult().orElse(DEFAULT_RESULT_FILE));
+        if (commandLine.getIncludes().isEmpty()) {
+            options.include("de\\.jare\\.ndimcol\\.jmh\\..*");
+        }
+        new Runner(options.build()).run();
+    }
+
+}
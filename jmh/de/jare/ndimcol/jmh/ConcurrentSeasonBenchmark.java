@@ -0,0 +1,105 @@
+/**
+ * <copyright>
+ * Copyright (c) 2025, Janusch Rentenatus. This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v2.0 which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ * </copyright>
+ */
+package de.jare.ndimcol.jmh;
+
+import de.jare.ndimcol.ref.ConcurrentArraySeason;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Contention of several threads on one shared list. readMostly reads nine of ten times and replaces an element
+ * otherwise, writeMix reads half of the time and inserts or removes elements at random positions otherwise. Every
+ * thread inserts and removes in pairs, so the size of the list stays constant.
+ * <p>
+ * ConcurrentArraySeason locks only the episode of the index, the synchronized ArrayList has one lock, and
+ * CopyOnWriteArrayList copies the whole array on each write.
+ *
+ * @author Janusch Rentenatus
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(4)
+public class ConcurrentSeasonBenchmark {
+
+    @Param({"ConcurrentArraySeason", "SynchronizedList", "CopyOnWriteArrayList"})
+    String collection;
+
+    @Param({"10000", "100000"})
+    int size;
+
+    List<Integer> list;
+
+    @State(Scope.Thread)
+    public static class ThreadState {
+
+        final Random random = new Random(Thread.currentThread().threadId());
+    }
+
+    @Setup
+    public void setUp() {
+        List<Integer> filled = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            filled.add(i);
+        }
+        list = switch (collection) {
+            case "ConcurrentArraySeason" -> {
+                ConcurrentArraySeason<Integer> season = new ConcurrentArraySeason<>();
+                for (Integer element : filled) {
+                    season.add(element);
+                }
+                yield season;
+            }
+            case "SynchronizedList" ->
+                Collections.synchronizedList(filled);
+            case "CopyOnWriteArrayList" ->
+                new CopyOnWriteArrayList<>(filled);
+            default ->
+                throw new IllegalArgumentException("Unknown collection: " + collection + ".");
+        };
+    }
+
+    @Benchmark
+    public Integer readMostly(ThreadState state) {
+        // the list never shrinks below size minus the number of threads
+        final int index = state.random.nextInt(size >> 1);
+        if (state.random.nextInt(10) == 0) {
+            return list.set(index, index);
+        }
+        return list.get(index);
+    }
+
+    @Benchmark
+    public Integer writeMix(ThreadState state) {
+        final int index = state.random.nextInt(size >> 1);
+        if (state.random.nextBoolean()) {
+            return list.get(index);
+        }
+        list.add(index, index);
+        return list.remove(state.random.nextInt(size >> 1));
+    }
+}
@@ -0,0 +1,173 @@
+/**
+ * <copyright>
+ * Copyright (c) 2025, Janusch Rentenatus. This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v2.0 which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ * </copyright>
+ */
+package de.jare.ndimcol.jmh;
+
+import de.jare.ndimcol.primint.ArraySeasonHashableInt;
+import de.jare.ndimcol.primint.ArraySeasonInt;
+import de.jare.ndimcol.primint.IteratorWalkerInt;
+import de.jare.ndimcol.primint.Screenplay2dInt;
+import de.jare.ndimcol.primint.SortedSeasonSetInt;
+import de.jare.ndimcol.ref.ArrayMovie;
+import de.jare.ndimcol.ref.ArraySeason;
+import de.jare.ndimcol.ref.ArraySeasonHashable;
+import de.jare.ndimcol.ref.ArrayTape;
+import de.jare.ndimcol.ref.IteratorWalker;
+import de.jare.ndimcol.ref.Screenplay2d;
+import de.jare.ndimcol.ref.Screenplay3d;
+import de.jare.ndimcol.ref.SortedSeasonSet;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+import java.util.Vector;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * The round trip of the former {@code sandkasten.ListSpeed}: fill a collection with random numbers, insert the numbers
+ * 0 to size-1 (at the front for lists, sorted for sets), copy everything by iteration into a second collection and
+ * remove the copied elements one by one from the first collection.
+ * <p>
+ * Vector is the reference point of the old table, ArrayList is the usual competitor.
+ *
+ * @author Janusch Rentenatus
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ListScenarioBenchmark {
+
+    @Param({"Vector", "ArrayList", "ArrayTape", "ArraySeason", "ArraySeason3d", "ArraySeasonHashable",
+        "ArraySeasonInt", "ArraySeasonHashableInt", "SortedSeasonSet", "SortedSeasonSetInt"})
+    String collection;
+
+    @Param({"640", "8000", "50000"})
+    int size;
+
+    int[] randomNumbers;
+    Supplier<Integer> scenario;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(4711);
+        randomNumbers = new int[size];
+        for (int i = 0; i < size; i++) {
+            randomNumbers[i] = random.nextInt(size * 2);
+        }
+        scenario = switch (collection) {
+            case "Vector" ->
+                () -> runList(new Vector<>(), new Vector<>());
+            case "ArrayList" ->
+                () -> runList(new ArrayList<>(), new ArrayList<>());
+            case "ArrayTape" ->
+                () -> runMovie(new ArrayTape<>(), new ArrayTape<>(), true);
+            case "ArraySeason" ->
+                () -> runMovie(new ArraySeason<>(Screenplay2d.INSTANCE), new ArraySeason<>(Screenplay2d.INSTANCE), true);
+            case "ArraySeason3d" ->
+                () -> runMovie(new ArraySeason<>(Screenplay3d.INSTANCE), new ArraySeason<>(Screenplay3d.INSTANCE), true);
+            case "ArraySeasonHashable" ->
+                () -> runMovie(new ArraySeasonHashable<>(Screenplay2d.INSTANCE),
+                        new ArraySeasonHashable<>(Screenplay2d.INSTANCE), true);
+            case "ArraySeasonInt" ->
+                () -> runSeasonInt(new ArraySeasonInt(Screenplay2dInt.INSTANCE),
+                        new ArraySeasonInt(Screenplay2dInt.INSTANCE), true);
+            case "ArraySeasonHashableInt" ->
+                () -> runSeasonInt(new ArraySeasonHashableInt(Screenplay2dInt.INSTANCE),
+                        new ArraySeasonHashableInt(Screenplay2dInt.INSTANCE), true);
+            case "SortedSeasonSet" ->
+                () -> runMovie(new SortedSeasonSet<>(Integer::compare, false),
+                        new SortedSeasonSet<>(Integer::compare, true), false);
+            case "SortedSeasonSetInt" ->
+                () -> runSeasonInt(new SortedSeasonSetInt(), new SortedSeasonSetInt(), false);
+            default ->
+                throw new IllegalArgumentException("Unknown collection: " + collection + ".");
+        };
+    }
+
+    @Benchmark
+    public int roundTrip() {
+        return scenario.get();
+    }
+
+    private int runList(List<Integer> original, List<Integer> copy) {
+        for (int number : randomNumbers) {
+            original.add(number);
+        }
+        for (int i = 0; i < size; i++) {
+            original.add(i, i);
+        }
+        Iterator<Integer> iterator = original.iterator();
+        while (iterator.hasNext()) {
+            copy.add(iterator.next());
+        }
+        iterator = copy.iterator();
+        while (iterator.hasNext()) {
+            original.remove(iterator.next());
+        }
+        return copy.size() + original.size();
+    }
+
+    private int runMovie(ArrayMovie<Integer> original, ArrayMovie<Integer> copy, boolean atFront) {
+        for (int number : randomNumbers) {
+            original.add(number);
+        }
+        for (int i = 0; i < size; i++) {
+            if (atFront) {
+                original.add(i, i);
+            } else {
+                original.add(i);
+            }
+        }
+        IteratorWalker<Integer> walker = original.softWalker();
+        while (walker.hasNext()) {
+            copy.add(walker.next());
+        }
+        walker = copy.softWalker();
+        while (walker.hasNext()) {
+            original.remove(walker.next());
+        }
+        return copy.size() + original.size();
+    }
+
+    private int runSeasonInt(ArraySeasonInt original, ArraySeasonInt copy, boolean atFront) {
+        for (int number : randomNumbers) {
+            original.add(number);
+        }
+        for (int i = 0; i < size; i++) {
+            if (atFront) {
+                original.add(i, i);
+            } else {
+                original.add(i);
+            }
+        }
+        IteratorWalkerInt walker = original.softWalker();
+        while (walker.hasNext()) {
+            copy.add(walker.next());
+        }
+        walker = copy.softWalker();
+        while (walker.hasNext()) {
+            original.remove(walker.next());
+        }
+        return copy.size() + original.size();
+    }
+
+}
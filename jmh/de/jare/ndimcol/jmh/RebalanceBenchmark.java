@@ -0,0 +1,120 @@
+/**
+ * <copyright>
+ * Copyright (c) 2025, Janusch Rentenatus. This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v2.0 which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ * </copyright>
+ */
+package de.jare.ndimcol.jmh;
+
+import de.jare.ndimcol.ref.ArrayMovie;
+import de.jare.ndimcol.ref.ArraySeason;
+import de.jare.ndimcol.ref.ArrayTape;
+import de.jare.ndimcol.ref.ArrayTapeHashable;
+import de.jare.ndimcol.ref.Screenplay;
+import de.jare.ndimcol.ref.SortedSeasonSet;
+import java.util.Comparator;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Cost of one insertion followed by one removal at random positions, while the number of episodes grows with the
+ * size. The insertions split episodes and the removals glue them. Both are done locally on the changed episode and
+ * its neighbours.
+ * <p>
+ * The default screenplay lets the episodes grow with their number, so the shifting inside an episode gets slower with
+ * the size. The fixed screenplay keeps the episodes between 256 and 1024 elements, there the time per pair should stay
+ * flat from ten to a few thousand episodes.
+ *
+ * @author Janusch Rentenatus
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RebalanceBenchmark {
+
+    @Param({"10000", "100000", "1000000"})
+    int size;
+
+    ArraySeason<Integer> season;
+    ArraySeason<Integer> fixedSeason;
+    SortedSeasonSet<Integer> set;
+    Random random;
+
+    @Setup
+    public void setUp() {
+        season = new ArraySeason<>();
+        fixedSeason = new ArraySeason<>(new FixedScreenplay());
+        set = new SortedSeasonSet<>(Comparator.<Integer>naturalOrder(), true);
+        for (int i = 0; i < size; i++) {
+            season.add(i);
+            fixedSeason.add(i);
+            set.add(i << 1);
+        }
+        random = new Random(4711);
+    }
+
+    @Benchmark
+    public Integer seasonAddAtRemoveAt() {
+        season.addAt(random.nextInt(size), -1);
+        return season.removeAt(random.nextInt(size));
+    }
+
+    @Benchmark
+    public Integer fixedSeasonAddAtRemoveAt() {
+        fixedSeason.addAt(random.nextInt(size), -1);
+        return fixedSeason.removeAt(random.nextInt(size));
+    }
+
+    @Benchmark
+    public boolean sortedAddRemove() {
+        final int odd = (random.nextInt(size) << 1) + 1;
+        set.add(odd);
+        return set.remove(odd);
+    }
+
+    /**
+     * A screenplay with a fixed episode size, independent of the number of episodes.
+     */
+    static class FixedScreenplay implements Screenplay {
+
+        @Override
+        public int getDefaultSize() {
+            return 32;
+        }
+
+        @Override
+        public int getMaxEpisodeSize(int fac) {
+            return 1024;
+        }
+
+        @Override
+        public int getMinEpisodeGlue(int fac) {
+            return 256;
+        }
+
+        @Override
+        public <T> ArrayMovie<T> buildMovie(int parentSize) {
+            return new ArrayTape<>();
+        }
+
+        @Override
+        public <T> ArrayMovie<T> buildMovieHashable(int parentSize) {
+            return new ArrayTapeHashable<>();
+        }
+    }
+}
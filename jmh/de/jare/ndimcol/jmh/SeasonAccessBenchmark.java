@@ -0,0 +1,267 @@
+/**
+ * <copyright>
+ * Copyright (c) 2025, Janusch Rentenatus. This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v2.0 which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ * </copyright>
+ */
+package de.jare.ndimcol.jmh;
+
+import de.jare.ndimcol.primint.ArraySeasonInt;
+import de.jare.ndimcol.primint.IteratorWalkerInt;
+import de.jare.ndimcol.primint.Screenplay2dInt;
+import de.jare.ndimcol.primint.Screenplay3dInt;
+import de.jare.ndimcol.primint.ScreenplayInt;
+import de.jare.ndimcol.ref.ArraySeason;
+import de.jare.ndimcol.ref.IteratorWalker;
+import de.jare.ndimcol.ref.Screenplay;
+import de.jare.ndimcol.ref.Screenplay2d;
+import de.jare.ndimcol.ref.Screenplay3d;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Access patterns on a season, parameterised by size, screenplay and element type.
+ * <ul>
+ * <li>append: builds a new season of the given size by appending,</li>
+ * <li>insertMiddle: inserts in the middle and removes the last element, so the size stays the same,</li>
+ * <li>removeMiddle: removes in the middle and appends a new element, so the size stays the same,</li>
+ * <li>randomGet: reads at random indexes,</li>
+ * <li>iterateWalker and iterateForEach: visit all elements.</li>
+ * </ul>
+ * Every fork sees only one element type, so the calls through {@link Subject} stay monomorphic.
+ *
+ * @author Janusch Rentenatus
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SeasonAccessBenchmark {
+
+    private static final int INDEX_MASK = 1023;
+
+    @Param({"1000", "100000", "1000000"})
+    int size;
+
+    @Param({"2d", "3d"})
+    String screenplay;
+
+    @Param({"ref", "int"})
+    String elementType;
+
+    Subject subject;
+    int[] indexes;
+    int pos;
+
+    @Setup
+    public void setUp() {
+        final boolean is3d = "3d".equals(screenplay);
+        subject = switch (elementType) {
+            case "ref" ->
+                new RefSubject(is3d ? Screenplay3d.INSTANCE : Screenplay2d.INSTANCE);
+            case "int" ->
+                new IntSubject(is3d ? Screenplay3dInt.INSTANCE : Screenplay2dInt.INSTANCE);
+            default ->
+                throw new IllegalArgumentException("Unknown element type: " + elementType + ".");
+        };
+        subject.fill(size);
+        Random random = new Random(4711);
+        indexes = new int[INDEX_MASK + 1];
+        for (int i = 0; i < indexes.length; i++) {
+            indexes[i] = random.nextInt(size);
+        }
+        // warm the episode index, so the measurement sees only reads
+        subject.get(0);
+    }
+
+    private int nextIndex() {
+        pos = (pos + 1) & INDEX_MASK;
+        return indexes[pos];
+    }
+
+    @Benchmark
+    public int append() {
+        return subject.append(size);
+    }
+
+    @Benchmark
+    public void insertMiddle() {
+        subject.insertMiddle(nextIndex());
+    }
+
+    @Benchmark
+    public void removeMiddle() {
+        subject.removeMiddle(nextIndex());
+    }
+
+    @Benchmark
+    public int randomGet() {
+        return subject.get(nextIndex());
+    }
+
+    @Benchmark
+    public long iterateWalker() {
+        return subject.iterateWalker();
+    }
+
+    @Benchmark
+    public void iterateForEach(Blackhole blackhole) {
+        subject.iterateForEach(blackhole);
+    }
+
+    /**
+     * The season under test, one implementation per element type.
+     */
+    abstract static class Subject {
+
+        abstract void fill(int size);
+
+        abstract int append(int size);
+
+        abstract void insertMiddle(int value);
+
+        abstract void removeMiddle(int value);
+
+        abstract int get(int index);
+
+        abstract long iterateWalker();
+
+        abstract void iterateForEach(Blackhole blackhole);
+    }
+
+    static final class RefSubject extends Subject {
+
+        private final Screenplay screenplay;
+        private ArraySeason<Integer> season;
+
+        RefSubject(Screenplay screenplay) {
+            this.screenplay = screenplay;
+        }
+
+        private ArraySeason<Integer> build(int size) {
+            ArraySeason<Integer> ret = new ArraySeason<>(screenplay);
+            for (int i = 0; i < size; i++) {
+                ret.add(i);
+            }
+            return ret;
+        }
+
+        @Override
+        void fill(int size) {
+            season = build(size);
+        }
+
+        @Override
+        int append(int size) {
+            return build(size).size();
+        }
+
+        @Override
+        void insertMiddle(int value) {
+            season.add(season.size() >> 1, value);
+            season.removeAt(season.size() - 1);
+        }
+
+        @Override
+        void removeMiddle(int value) {
+            season.removeAt(season.size() >> 1);
+            season.add(value);
+        }
+
+        @Override
+        int get(int index) {
+            return season.get(index);
+        }
+
+        @Override
+        long iterateWalker() {
+            long sum = 0;
+            IteratorWalker<Integer> walker = season.softWalker();
+            while (walker.hasNext()) {
+                sum += walker.next();
+            }
+            return sum;
+        }
+
+        @Override
+        void iterateForEach(Blackhole blackhole) {
+            season.forEach(blackhole::consume);
+        }
+    }
+
+    static final class IntSubject extends Subject {
+
+        private final ScreenplayInt screenplay;
+        private ArraySeasonInt season;
+
+        IntSubject(ScreenplayInt screenplay) {
+            this.screenplay = screenplay;
+        }
+
+        private ArraySeasonInt build(int size) {
+            ArraySeasonInt ret = new ArraySeasonInt(screenplay);
+            for (int i = 0; i < size; i++) {
+                ret.add(i);
+            }
+            return ret;
+        }
+
+        @Override
+        void fill(int size) {
+            season = build(size);
+        }
+
+        @Override
+        int append(int size) {
+            return build(size).size();
+        }
+
+        @Override
+        void insertMiddle(int value) {
+            season.add(season.size() >> 1, value);
+            season.removeAt(season.size() - 1);
+        }
+
+        @Override
+        void removeMiddle(int value) {
+            season.removeAt(season.size() >> 1);
+            season.add(value);
+        }
+
+        @Override
+        int get(int index) {
+            return season.get(index);
+        }
+
+        @Override
+        long iterateWalker() {
+            long sum = 0;
+            IteratorWalkerInt walker = season.softWalker();
+            while (walker.hasNext()) {
+                sum += walker.next();
+            }
+            return sum;
+        }
+
+        @Override
+        void iterateForEach(Blackhole blackhole) {
+            season.forEach((int value) -> blackhole.consume(value));
+        }
+    }
+
+}
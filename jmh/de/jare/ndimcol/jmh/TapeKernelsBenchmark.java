@@ -0,0 +1,101 @@
+/**
+ * <copyright>
+ * Copyright (c) 2025, Janusch Rentenatus. This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v2.0 which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ * </copyright>
+ */
+package de.jare.ndimcol.jmh;
+
+import de.jare.ndimcol.TapeKernels;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Scalar against SIMD kernels on the array of an int tape and a float tape. The key of the searches is not in the
+ * array, so indexOf scans the whole range.
+ *
+ * @author Janusch Rentenatus
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"--add-modules", "jdk.incubator.vector"})
+public class TapeKernelsBenchmark {
+
+    @Param({"100", "10000", "1000000"})
+    int size;
+
+    @Param({"scalar", "simd"})
+    String kernels;
+
+    TapeKernels kernel;
+    int[] ints;
+    int[] intDest;
+    float[] floats;
+
+    @Setup
+    public void setUp() {
+        kernel = "simd".equals(kernels) ? TapeKernels.INSTANCE : TapeKernels.SCALAR;
+        if ("simd".equals(kernels) && !kernel.isVectorized()) {
+            throw new IllegalStateException("The module jdk.incubator.vector is not available.");
+        }
+        Random rnd = new Random(4711);
+        ints = new int[size];
+        intDest = new int[size];
+        floats = new float[size];
+        for (int i = 0; i < size; i++) {
+            ints[i] = rnd.nextInt(1000);
+            floats[i] = rnd.nextFloat();
+        }
+    }
+
+    @Benchmark
+    public int intIndexOf() {
+        return kernel.indexOf(ints, 0, size, -1);
+    }
+
+    @Benchmark
+    public long intSum() {
+        return kernel.sum(ints, 0, size);
+    }
+
+    @Benchmark
+    public int intMax() {
+        return kernel.max(ints, 0, size);
+    }
+
+    @Benchmark
+    public int intFilterRange() {
+        return kernel.filterRange(ints, 0, size, 250, 500, intDest);
+    }
+
+    @Benchmark
+    public int floatIndexOf() {
+        return kernel.indexOf(floats, 0, size, -1f);
+    }
+
+    @Benchmark
+    public double floatSum() {
+        return kernel.sum(floats, 0, size);
+    }
+
+    @Benchmark
+    public float floatMin() {
+        return kernel.min(floats, 0, size);
+    }
+
+}
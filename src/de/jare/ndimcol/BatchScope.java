@@ -0,0 +1,30 @@
+/**
+ * <copyright>
+ * Copyright (c) 2025, Janusch Rentenatus. This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v2.0 which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ * </copyright>
+ */
+package de.jare.ndimcol;
+
+/**
+ * A batch of changes on a season, opened by {@code batch()} of the season and ended by {@link #close()}. It is meant
+ * for try-with-resources:
+ * <pre>
+ * try (BatchScope scope = season.batch()) {
+ *     // many addAt and removeAt
+ * }
+ * </pre> The scope only holds numbers of the season, so the same interface serves the seasons of all element types.
+ *
+ * @author Janusch Rentenatus
+ */
+@FunctionalInterface
+public interface BatchScope extends AutoCloseable {
+
+    /**
+     * Ends the batch. The season is rebalanced and its hash is computed again when the outermost batch ends. Closing
+     * a closed scope has no effect.
+     */
+    @Override
+    void close();
+}
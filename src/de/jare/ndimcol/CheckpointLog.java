@@ -0,0 +1,366 @@
+/**
+ * <copyright>
+ * Copyright (c) 2025, Janusch Rentenatus. This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v2.0 which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ * </copyright>
+ */
+package de.jare.ndimcol;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32C;
+
+/**
+ * A segment log for incremental checkpoints of seasons. The log is a file of records: blocks holding the elements of
+ * one episode each, and manifests listing the blocks of a checkpoint in the order of the episodes. A checkpoint appends
+ * the blocks of the changed episodes and a manifest that also refers to the unchanged blocks of earlier checkpoints.
+ * The first checkpoint is the base image, the later ones are deltas on it.
+ * <pre>
+ * header, 16 bytes, little-endian: int magic "NDCK", int version, int kind, int reserved
+ * record:  int type 'B' or 'M', int number of elements or entries, int length of the payload, int CRC32C of the payload
+ * block:   payload written by the checkpoint of the season
+ * manifest: per episode long offset of its block, int number of elements, int length of the block payload
+ * </pre> Opening a log keeps the last complete manifest and cuts off an unfinished checkpoint behind it. Blocks no
+ * longer listed by the last manifest are garbage; {@link #compact()} copies the live blocks into a new file and
+ * replaces the log with it.
+ *
+ * @author Janusch Rentenatus
+ */
+public class CheckpointLog implements Closeable {
+
+    public static final int MAGIC = 0x4b43444e;
+    public static final int VERSION = 1;
+    static final int HEADER_BYTES = 16;
+    static final int RECORD_HEADER_BYTES = 16;
+    static final int ENTRY_BYTES = 16;
+    static final int TYPE_BLOCK = 'B';
+    static final int TYPE_MANIFEST = 'M';
+    static final long COMPACT_MIN_BYTES = 1 << 20;
+
+    private final Path file;
+    private final int kind;
+    private final CRC32C crc;
+    private FileChannel channel;
+    private long end;
+    private long liveBytes;
+    private long[] offsets;
+    private int[] sizes;
+    private int[] lengths;
+
+    /**
+     * Opens the log in the given file, a missing file is created.
+     *
+     * @param file the file
+     * @param kind the kind of the elements, for example {@code MovieFormatInt.KIND}
+     * @throws IOException if the file cannot be opened or is not a log of this kind
+     */
+    public CheckpointLog(Path file, int kind) throws IOException {
+        this.file = file;
+        this.kind = kind;
+        this.crc = new CRC32C();
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        this.offsets = new long[0];
+        this.sizes = new int[0];
+        this.lengths = new int[0];
+        try {
+            if (channel.size() == 0) {
+                writeHeader(channel);
+                end = HEADER_BYTES;
+            } else {
+                scan();
+            }
+        } catch (IOException | RuntimeException ex) {
+            channel.close();
+            throw ex;
+        }
+        liveBytes = computeLiveBytes();
+    }
+
+    private void writeHeader(FileChannel target) throws IOException {
+        final ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        header.putInt(MAGIC).putInt(VERSION).putInt(kind).putInt(0).flip();
+        target.write(header, 0);
+    }
+
+    private void scan() throws IOException {
+        final ByteBuffer header = readAt(0, HEADER_BYTES);
+        if (header.getInt(0) != MAGIC || header.getInt(4) != VERSION) {
+            throw new IOException("File is not a checkpoint log.");
+        }
+        if (header.getInt(8) != kind) {
+            throw new IOException("Log holds elements of kind " + (char) header.getInt(8) + ".");
+        }
+        final long fileSize = channel.size();
+        long position = HEADER_BYTES;
+        end = HEADER_BYTES;
+        while (position + RECORD_HEADER_BYTES <= fileSize) {
+            final ByteBuffer record = readAt(position, RECORD_HEADER_BYTES);
+            final int type = record.getInt(0);
+            final int count = record.getInt(4);
+            final int length = record.getInt(8);
+            final long next = position + RECORD_HEADER_BYTES + length;
+            if ((type != TYPE_BLOCK && type != TYPE_MANIFEST) || count < 0 || length < 0 || next > fileSize) {
+                break;
+            }
+            if (type == TYPE_MANIFEST) {
+                final ByteBuffer payload = readAt(position + RECORD_HEADER_BYTES, length);
+                if (length != count * ENTRY_BYTES || checksum(payload) != record.getInt(12)) {
+                    break;
+                }
+                offsets = new long[count];
+                sizes = new int[count];
+                lengths = new int[count];
+                for (int i = 0; i < count; i++) {
+                    offsets[i] = payload.getLong(i * ENTRY_BYTES);
+                    sizes[i] = payload.getInt(i * ENTRY_BYTES + 8);
+                    lengths[i] = payload.getInt(i * ENTRY_BYTES + 12);
+                }
+                end = next;
+            }
+            position = next;
+        }
+        if (fileSize > end) {
+            // blocks of a checkpoint without its manifest
+            channel.truncate(end);
+        }
+    }
+
+    private ByteBuffer readAt(long position, int length) throws IOException {
+        final ByteBuffer buffer = ByteBuffer.allocate(length).order(ByteOrder.LITTLE_ENDIAN);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new IOException("Unexpected end of log.");
+            }
+        }
+        return buffer.flip();
+    }
+
+    private int checksum(ByteBuffer payload) {
+        crc.reset();
+        crc.update(payload.duplicate());
+        return (int) crc.getValue();
+    }
+
+    private long computeLiveBytes() {
+        long live = HEADER_BYTES + RECORD_HEADER_BYTES + (long) offsets.length * ENTRY_BYTES;
+        for (int length : lengths) {
+            live += RECORD_HEADER_BYTES + length;
+        }
+        return live;
+    }
+
+    private long writeRecord(FileChannel target, long offset, int type, int count, ByteBuffer payload)
+            throws IOException {
+        final ByteBuffer record = ByteBuffer.allocate(RECORD_HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        record.putInt(type).putInt(count).putInt(payload.remaining()).putInt(checksum(payload)).flip();
+        target.position(offset);
+        final ByteBuffer[] buffers = {record, payload};
+        while (record.hasRemaining() || payload.hasRemaining()) {
+            target.write(buffers);
+        }
+        return target.position();
+    }
+
+    private static ByteBuffer manifest(long[] blockOffsets, int[] blockSizes, int[] blockLengths) {
+        final ByteBuffer manifest = ByteBuffer.allocate(blockOffsets.length * ENTRY_BYTES)
+                .order(ByteOrder.LITTLE_ENDIAN);
+        for (int i = 0; i < blockOffsets.length; i++) {
+            manifest.putLong(blockOffsets[i]).putInt(blockSizes[i]).putInt(blockLengths[i]);
+        }
+        return manifest.flip();
+    }
+
+    /**
+     * Appends a block of a checkpoint. It becomes part of the log with the next {@link #commit}.
+     *
+     * @param payload the elements of the episode
+     * @param count the number of elements
+     * @return the offset of the block
+     * @throws IOException if the file cannot be written
+     */
+    public long appendBlock(ByteBuffer payload, int count) throws IOException {
+        final long offset = end;
+        end = writeRecord(channel, offset, TYPE_BLOCK, count, payload);
+        return offset;
+    }
+
+    /**
+     * Completes a checkpoint with a manifest of its blocks. The blocks are forced to the disk before the manifest, so
+     * a torn checkpoint is never taken for a complete one.
+     *
+     * @param blockOffsets the offsets of the blocks in the order of the episodes
+     * @param blockSizes the numbers of elements of the blocks
+     * @param blockLengths the payload lengths of the blocks
+     * @throws IOException if the file cannot be written
+     */
+    public void commit(long[] blockOffsets, int[] blockSizes, int[] blockLengths) throws IOException {
+        channel.force(false);
+        end = writeRecord(channel, end, TYPE_MANIFEST, blockOffsets.length,
+                manifest(blockOffsets, blockSizes, blockLengths));
+        channel.force(false);
+        offsets = blockOffsets.clone();
+        sizes = blockSizes.clone();
+        lengths = blockLengths.clone();
+        liveBytes = computeLiveBytes();
+    }
+
+    /**
+     * Returns the number of blocks of the last checkpoint.
+     *
+     * @return the number of blocks
+     */
+    public int getBlockCount() {
+        return offsets.length;
+    }
+
+    /**
+     * Returns the offset of a block of the last checkpoint.
+     *
+     * @param blockNo the number of the block
+     * @return the offset
+     */
+    public long getBlockOffset(int blockNo) {
+        return offsets[blockNo];
+    }
+
+    /**
+     * Returns the number of elements of a block of the last checkpoint.
+     *
+     * @param blockNo the number of the block
+     * @return the number of elements
+     */
+    public int getBlockSize(int blockNo) {
+        return sizes[blockNo];
+    }
+
+    /**
+     * Reads the payload of a block of the last checkpoint.
+     *
+     * @param blockNo the number of the block
+     * @return the payload in little-endian order
+     * @throws IOException if the file cannot be read or the block is corrupt
+     */
+    public ByteBuffer readBlock(int blockNo) throws IOException {
+        final ByteBuffer record = readAt(offsets[blockNo], RECORD_HEADER_BYTES);
+        final ByteBuffer payload = readAt(offsets[blockNo] + RECORD_HEADER_BYTES, lengths[blockNo]);
+        if (record.getInt(0) != TYPE_BLOCK || record.getInt(4) != sizes[blockNo]
+                || record.getInt(8) != lengths[blockNo] || record.getInt(12) != checksum(payload)) {
+            throw new IOException("Block at " + offsets[blockNo] + " is corrupt.");
+        }
+        return payload;
+    }
+
+    /**
+     * Returns the size of the log in bytes.
+     *
+     * @return the size of the log
+     */
+    public long getLogBytes() {
+        return end;
+    }
+
+    /**
+     * Returns the bytes of the log still needed by the last checkpoint.
+     *
+     * @return the live bytes
+     */
+    public long getLiveBytes() {
+        return liveBytes;
+    }
+
+    /**
+     * Returns {@code true} if at least half of the log is garbage.
+     *
+     * @return {@code true} if a compaction pays off
+     */
+    public boolean needsCompaction() {
+        return end >= COMPACT_MIN_BYTES && end >= liveBytes << 1;
+    }
+
+    /**
+     * Copies the blocks of the last checkpoint and its manifest into a new file and replaces the log with it. The
+     * offsets of the blocks change. The new file is complete before it replaces the log, and the directory is forced
+     * after the rename. If the compaction fails, the log stays on the old file.
+     *
+     * @throws IOException if the files cannot be written
+     */
+    public void compact() throws IOException {
+        final Path compacted = file.resolveSibling(file.getFileName() + ".compact");
+        final long[] newOffsets = new long[offsets.length];
+        long position = HEADER_BYTES;
+        try (FileChannel target = FileChannel.open(compacted, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            writeHeader(target);
+            for (int i = 0; i < offsets.length; i++) {
+                newOffsets[i] = position;
+                final long length = RECORD_HEADER_BYTES + lengths[i];
+                long copied = 0;
+                while (copied < length) {
+                    final long transferred = channel.transferTo(offsets[i] + copied, length - copied,
+                            target.position(position + copied));
+                    if (transferred <= 0) {
+                        throw new IOException("Log ends inside the block at " + offsets[i] + ".");
+                    }
+                    copied += transferred;
+                }
+                position += length;
+            }
+            position = writeRecord(target, position, TYPE_MANIFEST, newOffsets.length,
+                    manifest(newOffsets, sizes, lengths));
+            target.force(false);
+        } catch (IOException | RuntimeException ex) {
+            Files.deleteIfExists(compacted);
+            throw ex;
+        }
+        channel.close();
+        try {
+            Files.move(compacted, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException | RuntimeException ex) {
+            Files.deleteIfExists(compacted);
+            throw ex;
+        } finally {
+            // the log stays usable on the old file if the move fails
+            channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        }
+        end = position;
+        offsets = newOffsets;
+        forceDirectory();
+    }
+
+    /**
+     * Forces the directory of the log to the storage device, so the rename of a compaction survives a crash.
+     */
+    private void forceDirectory() throws IOException {
+        final Path directory = file.toAbsolutePath().getParent();
+        if (directory == null || System.getProperty("os.name", "").startsWith("Windows")) {
+            // Windows cannot open a directory as a channel, its file system keeps the rename itself
+            return;
+        }
+        try (FileChannel dir = FileChannel.open(directory, StandardOpenOption.READ)) {
+            dir.force(true);
+        }
+    }
+
+    /**
+     * Returns the file of this log.
+     *
+     * @return the file
+     */
+    public Path getFile() {
+        return file;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
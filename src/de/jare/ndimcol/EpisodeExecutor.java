@@ -0,0 +1,191 @@
+/**
+ * <copyright>
+ * Copyright (c) 2025, Janusch Rentenatus. This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v2.0 which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ * </copyright>
+ */
+package de.jare.ndimcol;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Runs work on the episodes of a season in parallel. The episodes are split into a few contiguous ranges, sized for
+ * the parallelism of the executor, and each range is processed by one task. The caller collects the results per
+ * episode, so the order of the season is kept.
+ * <p>
+ * By default the common ForkJoinPool is used. Virtual threads or any other {@link Executor} can be plugged in.
+ *
+ * @author Janusch Rentenatus
+ */
+public class EpisodeExecutor {
+
+    /**
+     * Ranges per thread, a little oversubscription balances episodes of different cost.
+     */
+    public static final int RANGES_PER_THREAD = 4;
+
+    /**
+     * Executor on the common ForkJoinPool.
+     */
+    public static final EpisodeExecutor COMMON_POOL = new EpisodeExecutor(ForkJoinPool.commonPool(),
+            ForkJoinPool.getCommonPoolParallelism());
+
+    /**
+     * A task that processes the episodes from fromEpisode (inclusive) to toEpisode (exclusive).
+     */
+    @FunctionalInterface
+    public interface RangeTask {
+
+        void run(int fromEpisode, int toEpisode);
+    }
+
+    private final Executor executor;
+    private final int parallelism;
+
+    /**
+     * Constructs an EpisodeExecutor.
+     *
+     * @param executor the executor running the range tasks
+     * @param parallelism the number of tasks the executor can run at the same time
+     */
+    public EpisodeExecutor(Executor executor, int parallelism) {
+        if (executor == null) {
+            throw new NullPointerException("Executor cannot be null.");
+        }
+        this.executor = executor;
+        this.parallelism = Math.max(1, parallelism);
+    }
+
+    /**
+     * Returns an EpisodeExecutor for the given executor with the number of available processors as parallelism.
+     *
+     * @param executor the executor running the range tasks
+     * @return a new EpisodeExecutor
+     */
+    public static EpisodeExecutor of(Executor executor) {
+        if (executor instanceof ForkJoinPool pool) {
+            return new EpisodeExecutor(pool, pool.getParallelism());
+        }
+        return new EpisodeExecutor(executor, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Returns an EpisodeExecutor that starts one virtual thread per range.
+     *
+     * @return a new EpisodeExecutor on virtual threads
+     */
+    public static EpisodeExecutor virtualThreads() {
+        return new EpisodeExecutor(task -> Thread.ofVirtual().start(task),
+                Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Returns the number of ranges the given number of episodes is split into.
+     *
+     * @param episodes the number of episodes
+     * @return the number of ranges, at least one
+     */
+    public int rangeCount(int episodes) {
+        return Math.max(1, Math.min(episodes, parallelism * RANGES_PER_THREAD));
+    }
+
+    /**
+     * Runs the task on all ranges of the given number of episodes and waits until all ranges are done. The first
+     * exception of a task is relayed to the caller.
+     *
+     * @param episodes the number of episodes
+     * @param task the task to run per range
+     */
+    public void run(final int episodes, final RangeTask task) {
+        final int ranges = rangeCount(episodes);
+        if (ranges <= 1) {
+            task.run(0, episodes);
+            return;
+        }
+        if (executor instanceof ForkJoinPool pool) {
+            final RangeAction action = new RangeAction(task, episodes, ranges, 0, ranges);
+            if (ForkJoinTask.getPool() == pool) {
+                // a worker of the same pool forks the ranges instead of blocking on them
+                action.invoke();
+            } else {
+                pool.invoke(action);
+            }
+            return;
+        }
+        final CountDownLatch latch = new CountDownLatch(ranges - 1);
+        final AtomicReference<Throwable> failure = new AtomicReference<>();
+        for (int r = 1; r < ranges; r++) {
+            final int from = rangeStart(episodes, ranges, r);
+            final int to = rangeStart(episodes, ranges, r + 1);
+            executor.execute(() -> {
+                try {
+                    task.run(from, to);
+                } catch (Throwable t) {
+                    failure.compareAndSet(null, t);
+                } finally {
+                    latch.countDown();
+                }
+            });
+        }
+        // the caller works on the first range itself
+        try {
+            task.run(0, rangeStart(episodes, ranges, 1));
+        } catch (Throwable t) {
+            failure.compareAndSet(null, t);
+        }
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Thread interrupted.", e);
+        }
+        final Throwable t = failure.get();
+        if (t instanceof RuntimeException re) {
+            throw re;
+        } else if (t instanceof Error er) {
+            throw er;
+        } else if (t != null) {
+            throw new RuntimeException(t);
+        }
+    }
+
+    static int rangeStart(int episodes, int ranges, int range) {
+        return (int) ((long) episodes * range / ranges);
+    }
+
+    @SuppressWarnings("serial")
+    static class RangeAction extends RecursiveAction {
+
+        private final RangeTask task;
+        private final int episodes;
+        private final int ranges;
+        private final int fromRange;
+        private final int toRange;
+
+        RangeAction(RangeTask task, int episodes, int ranges, int fromRange, int toRange) {
+            this.task = task;
+            this.episodes = episodes;
+            this.ranges = ranges;
+            this.fromRange = fromRange;
+            this.toRange = toRange;
+        }
+
+        @Override
+        protected void compute() {
+            if (toRange - fromRange == 1) {
+                task.run(rangeStart(episodes, ranges, fromRange), rangeStart(episodes, ranges, toRange));
+                return;
+            }
+            final int midRange = (fromRange + toRange) >>> 1;
+            invokeAll(new RangeAction(task, episodes, ranges, fromRange, midRange),
+                    new RangeAction(task, episodes, ranges, midRange, toRange));
+        }
+    }
+
+}
@@ -0,0 +1,256 @@
+/**
+ * <copyright>
+ * Copyright (c) 2025, Janusch Rentenatus. This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v2.0 which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ * </copyright>
+ */
+package de.jare.ndimcol;
+
+import java.util.Arrays;
+
+/**
+ * A cumulative-size index over the episodes of a season. It is a Fenwick tree (binary indexed tree) over the sizes of
+ * the episodes, so the episode holding a given element index is found in O(log episodes), independent of whether the
+ * accesses are sequential, strided or random.
+ * <p>
+ * The sizes of single episodes can be updated in O(log episodes) and new episodes can be appended at the end. A single
+ * episode can be inserted or removed in the middle, which shifts the tree without asking the episodes for their sizes.
+ * All other structural changes invalidate the index; the season rebuilds it lazily in O(episodes) on the next indexed
+ * access.
+ * <p>
+ * The index only holds numbers, so the same class serves the seasons of all element types.
+ *
+ * @author Janusch Rentenatus
+ */
+public class EpisodeIndex {
+
+    public static final int DEFAULT_CAPACITY = 32;
+
+    private int[] tree; // 1-based Fenwick tree, tree[0] is unused
+    private int count;
+    private int total;
+    private boolean valid;
+
+    /**
+     * Constructs an empty and invalid index.
+     */
+    public EpisodeIndex() {
+        this.tree = new int[DEFAULT_CAPACITY + 1];
+        this.count = 0;
+        this.total = 0;
+        this.valid = false;
+    }
+
+    /**
+     * Returns true if the index can be used for the season with the given number of episodes and elements.
+     *
+     * @param episodes current number of episodes in the season
+     * @param size current number of elements in the season
+     * @return true if the index is valid and matches the season
+     */
+    public boolean isValid(int episodes, int size) {
+        return valid && count == episodes && total == size;
+    }
+
+    /**
+     * Marks the index as invalid. The next indexed access of the season rebuilds the index.
+     */
+    public void invalidate() {
+        valid = false;
+    }
+
+    /**
+     * Starts a rebuild of the index. The sizes of all episodes have to be set with {@link #put(int, int)}, followed by
+     * {@link #build()}.
+     *
+     * @param episodes number of episodes
+     */
+    public void reset(int episodes) {
+        if (tree.length <= episodes) {
+            tree = new int[episodes + (episodes >> 1) + DEFAULT_CAPACITY];
+        } else {
+            Arrays.fill(tree, 0, episodes + 1, 0);
+        }
+        count = episodes;
+        total = 0;
+        valid = false;
+    }
+
+    /**
+     * Sets the size of one episode during a rebuild.
+     *
+     * @param episode the index of the episode
+     * @param episodeSize the size of the episode
+     */
+    public void put(int episode, int episodeSize) {
+        tree[episode + 1] = episodeSize;
+        total += episodeSize;
+    }
+
+    /**
+     * Finishes a rebuild in linear time and marks the index as valid.
+     */
+    public void build() {
+        for (int i = 1; i <= count; i++) {
+            final int parent = i + (i & -i);
+            if (parent <= count) {
+                tree[parent] += tree[i];
+            }
+        }
+        valid = true;
+    }
+
+    /**
+     * Appends a new last episode. Nothing happens if the index is invalid.
+     *
+     * @param episodeSize the size of the new episode
+     */
+    public void append(int episodeSize) {
+        if (!valid) {
+            return;
+        }
+        final int n = count + 1;
+        if (tree.length <= n) {
+            tree = Arrays.copyOf(tree, n + (n >> 1) + DEFAULT_CAPACITY);
+        }
+        // tree[n] covers the episodes (n - lowbit(n), n]
+        tree[n] = episodeSize + prefix(n - 1) - prefix(n - (n & -n));
+        count = n;
+        total += episodeSize;
+    }
+
+    /**
+     * Inserts a new episode in front of the given episode, for example the second half of a split. The tree is unfolded
+     * to the plain sizes, shifted and built again, that is O(episodes) on the int array only. Nothing happens if the
+     * index is invalid.
+     *
+     * @param episode the index of the new episode
+     * @param episodeSize the size of the new episode
+     */
+    public void insert(int episode, int episodeSize) {
+        if (!valid) {
+            return;
+        }
+        if (episode == count) {
+            append(episodeSize);
+            return;
+        }
+        final int n = count + 1;
+        if (tree.length <= n) {
+            tree = Arrays.copyOf(tree, n + (n >> 1) + DEFAULT_CAPACITY);
+        }
+        unfold();
+        System.arraycopy(tree, episode + 1, tree, episode + 2, count - episode);
+        tree[episode + 1] = episodeSize;
+        count = n;
+        total += episodeSize;
+        build();
+    }
+
+    /**
+     * Removes one episode, for example an empty one or one glued to its neighbour. Like {@link #insert(int, int)} this
+     * is O(episodes) on the int array only. Nothing happens if the index is invalid.
+     *
+     * @param episode the index of the removed episode
+     */
+    public void remove(int episode) {
+        if (!valid) {
+            return;
+        }
+        unfold();
+        total -= tree[episode + 1];
+        System.arraycopy(tree, episode + 2, tree, episode + 1, count - episode - 1);
+        tree[count] = 0;
+        count--;
+        build();
+    }
+
+    /**
+     * Turns the tree back into the plain episode sizes, the reverse of {@link #build()}.
+     */
+    private void unfold() {
+        for (int i = count; i >= 1; i--) {
+            final int parent = i + (i & -i);
+            if (parent <= count) {
+                tree[parent] -= tree[i];
+            }
+        }
+    }
+
+    /**
+     * Changes the size of one episode. Nothing happens if the index is invalid.
+     *
+     * @param episode the index of the episode
+     * @param delta the change of the size
+     */
+    public void update(int episode, int delta) {
+        if (!valid) {
+            return;
+        }
+        for (int i = episode + 1; i <= count; i += i & -i) {
+            tree[i] += delta;
+        }
+        total += delta;
+    }
+
+    /**
+     * Returns the number of elements in all episodes before the given episode.
+     *
+     * @param episode the index of the episode
+     * @return the index of the first element of the episode
+     */
+    public int offsetOf(int episode) {
+        return prefix(episode);
+    }
+
+    /**
+     * Returns the index of the episode that holds the element with the given index. Empty episodes are skipped.
+     *
+     * @param index the index of the element, counted across all episodes
+     * @return the index of the episode
+     * @throws IndexOutOfBoundsException if the index is out of range (index &lt; 0 || index &gt;= total)
+     */
+    public int episodeAt(int index) {
+        if (index < 0 || index >= total) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + total + ".");
+        }
+        int pos = 0;
+        int rest = index;
+        for (int step = Integer.highestOneBit(count); step > 0; step >>= 1) {
+            final int next = pos + step;
+            if (next <= count && tree[next] <= rest) {
+                pos = next;
+                rest -= tree[next];
+            }
+        }
+        return pos;
+    }
+
+    /**
+     * Returns the number of episodes covered by the index.
+     *
+     * @return the number of episodes
+     */
+    public int getCount() {
+        return count;
+    }
+
+    /**
+     * Returns the number of elements in all episodes.
+     *
+     * @return the sum of all episode sizes
+     */
+    public int getTotal() {
+        return total;
+    }
+
+    private int prefix(int episodes) {
+        int sum = 0;
+        for (int i = episodes; i > 0; i -= i & -i) {
+            sum += tree[i];
+        }
+        return sum;
+    }
+
+}
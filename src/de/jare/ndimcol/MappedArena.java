@@ -0,0 +1,468 @@
+/**
+ * <copyright>
+ * Copyright (c) 2025, Janusch Rentenatus. This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v2.0 which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ * </copyright>
+ */
+package de.jare.ndimcol;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * An arena whose memory is a memory-mapped file. The memory of the tapes are regions of the file, given out by a region
+ * allocator. The file is mapped in chunks of 16 MiB, a region never crosses a chunk, only a region larger than a chunk
+ * is mapped on its own. The operating system pages the regions in when they are read, so the file can be larger than
+ * the heap and the main memory.
+ * <p>
+ * A region is given back when its tape is closed or no longer referenced; the allocator reuses it for the next
+ * allocations. The
+ * file keeps a directory of regions in order together with their sizes. {@link #writeDirectory(ByteBuffer[], int[])}
+ * stores it, the next arena on the same file reads it and maps the stored regions again without a pass over the
+ * elements. Regions not in the directory are free after reopening.
+ * <p>
+ * The elements are written into the file in place and in native byte order. The file describes the current content
+ * only after the directory is written, a crash in between can leave it with the old directory on new elements.
+ *
+ * @author Janusch Rentenatus
+ */
+public class MappedArena extends OffHeapArena {
+
+    static final int CHUNK_BYTES = 1 << 24;
+    private static final int MAGIC = 0x4e44434d;
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 64;
+    private static final int ENTRY_BYTES = 16;
+    private static final int ALIGN = 64;
+
+    private final Path file;
+    private final FileChannel channel;
+    private final char kind;
+    private final int elementBytes;
+    private final ArrayList<MappedByteBuffer> chunks;
+    // free regions of the file, offset to length
+    private final TreeMap<Long, Long> free;
+    // regions given out, by identity hash of their memory
+    private final HashMap<Integer, ArrayList<Region>> regions;
+    private final ReferenceQueue<ByteBuffer> released;
+    private final ByteBuffer header;
+    private long fileEnd;
+    private long directoryOffset;
+    private int directoryBytes;
+    private long[] storedOffsets;
+    private int[] storedBytes;
+    private int[] storedSizes;
+    private boolean[] storedMapped;
+
+    /**
+     * Opens or creates a file for elements of the given primitive type.
+     *
+     * @param file the file
+     * @param elementType {@code int.class}, {@code long.class}, {@code short.class} or {@code float.class}
+     * @throws IOException if the file cannot be opened or is not a file of this element type
+     */
+    public MappedArena(Path file, Class<?> elementType) throws IOException {
+        if (elementType == int.class) {
+            kind = 'I';
+            elementBytes = Integer.BYTES;
+        } else if (elementType == long.class) {
+            kind = 'J';
+            elementBytes = Long.BYTES;
+        } else if (elementType == short.class) {
+            kind = 'S';
+            elementBytes = Short.BYTES;
+        } else if (elementType == float.class) {
+            kind = 'F';
+            elementBytes = Float.BYTES;
+        } else {
+            throw new IllegalArgumentException("Element type " + elementType + " is not supported.");
+        }
+        this.file = file;
+        chunks = new ArrayList<>();
+        free = new TreeMap<>();
+        regions = new HashMap<>();
+        released = new ReferenceQueue<>();
+        fileEnd = HEADER_BYTES;
+        channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        try {
+            final boolean fresh = channel.size() == 0;
+            header = chunk(0).slice(0, HEADER_BYTES).order(ByteOrder.nativeOrder());
+            if (fresh) {
+                header.putInt(0, MAGIC);
+                header.putInt(4, VERSION);
+                header.putInt(8, kind);
+                header.putInt(12, elementBytes);
+                writeHeader(0, 0, 0);
+                chunks.get(0).force();
+            } else {
+                readHeader();
+            }
+        } catch (IOException | RuntimeException ex) {
+            channel.close();
+            throw ex;
+        }
+    }
+
+    private void readHeader() throws IOException {
+        if (header.getInt(0) != MAGIC || header.getInt(4) != VERSION) {
+            throw new IOException("File " + file + " is not a season file.");
+        }
+        if (header.getInt(8) != kind || header.getInt(12) != elementBytes) {
+            throw new IOException("File " + file + " holds elements of kind " + (char) header.getInt(8) + ".");
+        }
+        fileEnd = header.getLong(16);
+        directoryOffset = header.getLong(24);
+        final int count = header.getInt(32);
+        directoryBytes = header.getInt(36);
+        storedOffsets = new long[count];
+        storedBytes = new int[count];
+        storedSizes = new int[count];
+        storedMapped = new boolean[count];
+        final ByteBuffer directory = count == 0 ? null : map(directoryOffset, directoryBytes);
+        // the used regions sorted by offset, the gaps between them are free
+        final long[][] used = new long[count + 1][];
+        for (int i = 0; i < count; i++) {
+            storedOffsets[i] = directory.getLong(i * ENTRY_BYTES);
+            storedBytes[i] = directory.getInt(i * ENTRY_BYTES + 8);
+            storedSizes[i] = directory.getInt(i * ENTRY_BYTES + 12);
+            used[i] = new long[]{storedOffsets[i], storedBytes[i]};
+        }
+        used[count] = new long[]{directoryOffset, directoryBytes};
+        Arrays.sort(used, (a, b) -> Long.compare(a[0], b[0]));
+        long offset = HEADER_BYTES;
+        for (long[] region : used) {
+            if (region[1] == 0) {
+                continue;
+            }
+            if (region[0] > offset) {
+                free.put(offset, region[0] - offset);
+            }
+            offset = Math.max(offset, region[0] + region[1]);
+        }
+        if (fileEnd > offset) {
+            free.put(offset, fileEnd - offset);
+        }
+    }
+
+    private void writeHeader(long directoryOffset, int count, int directoryBytes) {
+        header.putLong(16, Math.max(fileEnd, HEADER_BYTES));
+        header.putLong(24, directoryOffset);
+        header.putInt(32, count);
+        header.putInt(36, directoryBytes);
+    }
+
+    private MappedByteBuffer chunk(int index) throws IOException {
+        while (chunks.size() <= index) {
+            chunks.add(null);
+        }
+        MappedByteBuffer chunk = chunks.get(index);
+        if (chunk == null) {
+            chunk = channel.map(FileChannel.MapMode.READ_WRITE, (long) index * CHUNK_BYTES, CHUNK_BYTES);
+            chunks.set(index, chunk);
+        }
+        return chunk;
+    }
+
+    private ByteBuffer map(long offset, int bytes) throws IOException {
+        if (bytes > CHUNK_BYTES) {
+            return channel.map(FileChannel.MapMode.READ_WRITE, offset, bytes).order(ByteOrder.nativeOrder());
+        }
+        final int index = (int) (offset / CHUNK_BYTES);
+        return chunk(index).slice((int) (offset - (long) index * CHUNK_BYTES), bytes).order(ByteOrder.nativeOrder());
+    }
+
+    /**
+     * Returns the start of the first free region of the given length. A region up to the size of a chunk starts behind
+     * a chunk border instead of crossing it.
+     */
+    private long take(long bytes) {
+        for (Iterator<Map.Entry<Long, Long>> iter = free.entrySet().iterator(); iter.hasNext();) {
+            final Map.Entry<Long, Long> entry = iter.next();
+            final long offset = entry.getKey();
+            final long end = offset + entry.getValue();
+            final long start = fit(offset, bytes);
+            if (start + bytes <= end) {
+                iter.remove();
+                if (start > offset) {
+                    free.put(offset, start - offset);
+                }
+                if (start + bytes < end) {
+                    free.put(start + bytes, end - start - bytes);
+                }
+                return start;
+            }
+        }
+        final long start = fit(fileEnd, bytes);
+        if (start > fileEnd) {
+            give(fileEnd, start - fileEnd);
+        }
+        fileEnd = start + bytes;
+        return start;
+    }
+
+    private static long fit(long offset, long bytes) {
+        if (bytes <= CHUNK_BYTES && offset / CHUNK_BYTES != (offset + bytes - 1) / CHUNK_BYTES) {
+            return (offset / CHUNK_BYTES + 1) * CHUNK_BYTES;
+        }
+        return offset;
+    }
+
+    private void give(long offset, long bytes) {
+        long start = offset;
+        long length = bytes;
+        final Map.Entry<Long, Long> before = free.floorEntry(start);
+        if (before != null && before.getKey() + before.getValue() == start) {
+            start = before.getKey();
+            length += before.getValue();
+            free.remove(start);
+        }
+        final Long after = free.get(offset + bytes);
+        if (after != null) {
+            free.remove(offset + bytes);
+            length += after;
+        }
+        free.put(start, length);
+    }
+
+    private void reclaim() {
+        for (Reference<? extends ByteBuffer> ref = released.poll(); ref != null; ref = released.poll()) {
+            final Region region = (Region) ref;
+            final ArrayList<Region> list = regions.get(region.hash);
+            list.remove(region);
+            if (list.isEmpty()) {
+                regions.remove(region.hash);
+            }
+            give(region.offset, region.bytes);
+        }
+    }
+
+    private ByteBuffer track(ByteBuffer memory, long offset, int bytes) {
+        final Region region = new Region(memory, offset, bytes, released);
+        regions.computeIfAbsent(region.hash, hash -> new ArrayList<>(1)).add(region);
+        return memory;
+    }
+
+    private Region regionOf(ByteBuffer memory) {
+        final Region region = findRegion(memory);
+        if (region == null) {
+            throw new IllegalArgumentException("Memory is not a region of " + file + ".");
+        }
+        return region;
+    }
+
+    private Region findRegion(ByteBuffer memory) {
+        final ArrayList<Region> list = regions.get(System.identityHashCode(memory));
+        if (list != null) {
+            for (Region region : list) {
+                if (region.get() == memory) {
+                    return region;
+                }
+            }
+        }
+        return null;
+    }
+
+    private static int align(int bytes) {
+        return Math.max(ALIGN, (bytes + ALIGN - 1) & -ALIGN);
+    }
+
+    @Override
+    protected ByteBuffer allocateMemory(int bytes) {
+        reclaim();
+        final int length = align(bytes);
+        final long offset = take(length);
+        try {
+            return track(map(offset, length), offset, length);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    /**
+     * Gives the region back to the allocator at once. A region larger than a chunk is mapped on its own and unmapped.
+     */
+    @Override
+    protected void freeMemory(ByteBuffer memory) {
+        final Region region = findRegion(memory);
+        if (region == null) {
+            return;
+        }
+        final ArrayList<Region> list = regions.get(region.hash);
+        list.remove(region);
+        if (list.isEmpty()) {
+            regions.remove(region.hash);
+        }
+        // a cleared region is never queued, it is given back only once
+        region.clear();
+        give(region.offset, region.bytes);
+        if (region.bytes > CHUNK_BYTES) {
+            super.freeMemory(memory);
+        }
+    }
+
+    /**
+     * Returns the file of this arena.
+     *
+     * @return the file
+     */
+    public Path getFile() {
+        return file;
+    }
+
+    /**
+     * Returns the number of bytes of one element.
+     *
+     * @return the element size in bytes
+     */
+    public int getElementBytes() {
+        return elementBytes;
+    }
+
+    /**
+     * Returns the number of regions in the directory read when the file was opened.
+     *
+     * @return the number of stored regions
+     */
+    public synchronized int getStoredCount() {
+        return storedSizes == null ? 0 : storedSizes.length;
+    }
+
+    /**
+     * Returns the number of elements of a stored region.
+     *
+     * @param index the number of the region in the directory
+     * @return the number of elements
+     */
+    public synchronized int getStoredSize(int index) {
+        return storedSizes[index];
+    }
+
+    /**
+     * Maps a stored region again. The elements are not read, the operating system pages them in on access. Each
+     * stored region can be mapped once, its memory belongs to one tape.
+     *
+     * @param index the number of the region in the directory
+     * @return the memory of the region in native byte order
+     * @throws IOException if the region cannot be mapped
+     */
+    public synchronized ByteBuffer mapStored(int index) throws IOException {
+        if (!isAlive()) {
+            throw new IllegalStateException("Arena is closed.");
+        }
+        if (storedMapped[index]) {
+            throw new IllegalStateException("Region " + index + " is mapped already.");
+        }
+        storedMapped[index] = true;
+        return track(map(storedOffsets[index], storedBytes[index]), storedOffsets[index], storedBytes[index]);
+    }
+
+    /**
+     * Writes the directory of the given regions and forces the file to the storage device. The regions must be memory
+     * of this arena, the sizes are their numbers of elements. The new directory is written before the header points to
+     * it, so the header always points to a complete directory.
+     *
+     * @param memories the regions in order
+     * @param sizes the number of elements of each region
+     * @throws IOException if the file cannot be written
+     */
+    public synchronized void writeDirectory(ByteBuffer[] memories, int[] sizes) throws IOException {
+        if (!isAlive()) {
+            throw new IllegalStateException("Arena is closed.");
+        }
+        final int count = memories.length;
+        final int bytes = align(count * ENTRY_BYTES);
+        final long offset = take(bytes);
+        final ByteBuffer directory = map(offset, bytes);
+        for (int i = 0; i < count; i++) {
+            final Region region = regionOf(memories[i]);
+            directory.putLong(i * ENTRY_BYTES, region.offset);
+            directory.putInt(i * ENTRY_BYTES + 8, region.bytes);
+            directory.putInt(i * ENTRY_BYTES + 12, sizes[i]);
+        }
+        force(directory);
+        for (ArrayList<Region> list : regions.values()) {
+            for (Region region : list) {
+                final ByteBuffer memory = region.get();
+                if (memory != null && region.bytes > CHUNK_BYTES) {
+                    force(memory);
+                }
+            }
+        }
+        for (MappedByteBuffer chunk : chunks) {
+            if (chunk != null) {
+                chunk.force();
+            }
+        }
+        writeHeader(offset, count, bytes);
+        chunks.get(0).force(0, HEADER_BYTES);
+        if (directoryBytes > 0) {
+            give(directoryOffset, directoryBytes);
+        }
+        directoryOffset = offset;
+        directoryBytes = bytes;
+    }
+
+    private static void force(ByteBuffer memory) {
+        if (memory instanceof MappedByteBuffer mapped) {
+            mapped.force();
+        }
+    }
+
+    /**
+     * Closes this arena, all its tapes and the file, and unmaps the file. The directory is not written. Memory of the
+     * arena must not be used afterwards.
+     */
+    @Override
+    public synchronized void close() {
+        if (!isAlive()) {
+            return;
+        }
+        super.close();
+        for (MappedByteBuffer chunk : chunks) {
+            if (chunk != null) {
+                super.freeMemory(chunk);
+            }
+        }
+        chunks.clear();
+        regions.clear();
+        try {
+            channel.close();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    /**
+     * A region of the file, held as long as its memory is referenced.
+     */
+    private static final class Region extends WeakReference<ByteBuffer> {
+
+        final long offset;
+        final int bytes;
+        final int hash;
+
+        Region(ByteBuffer memory, long offset, int bytes, ReferenceQueue<ByteBuffer> queue) {
+            super(memory, queue);
+            this.offset = offset;
+            this.bytes = bytes;
+            this.hash = System.identityHashCode(memory);
+        }
+    }
+}
@@ -0,0 +1,190 @@
+/**
+ * <copyright>
+ * Copyright (c) 2025, Janusch Rentenatus. This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v2.0 which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ * </copyright>
+ */
+package de.jare.ndimcol;
+
+import java.lang.ref.WeakReference;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+
+/**
+ * An arena for off-heap memory of the primitive tapes. The tapes allocate their elements from the arena in native
+ * byte order and register themselves as residents. Closing the arena closes all residents that are still reachable, a
+ * later access to one of them throws an IllegalStateException. A closed resident frees its memory at once, as does a
+ * tape for the memory it outgrows.
+ * <pre>
+ * try (OffHeapArena arena = new OffHeapArena()) {
+ *     ArraySeasonInt season = new ArraySeasonInt(new OffHeapScreenplayInt(arena));
+ *     // ...
+ * }
+ * </pre> The memory is held in direct buffers and freed with the cleaner of {@code sun.misc.Unsafe} from the module
+ * {@code jdk.unsupported}. Without that module the garbage collector frees it when it collects the buffer. Residents
+ * dropped by a season, for example episodes glued into their neighbour, are only weakly held by the arena and give
+ * back their memory when they are collected.
+ * <p>
+ * The tapes keep their memory to themselves, so no buffer of a closed tape is left to be read. A resident must not be
+ * closed while another thread works on it.
+ *
+ * @author Janusch Rentenatus
+ */
+public class OffHeapArena implements AutoCloseable {
+
+    private static final int PURGE_COUNT = 64;
+    // sun.misc.Unsafe and its invokeCleaner, null without the module jdk.unsupported
+    private static final Object UNSAFE;
+    private static final Method INVOKE_CLEANER;
+
+    static {
+        Object unsafe = null;
+        Method invokeCleaner = null;
+        try {
+            final Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+            final Field theUnsafe = unsafeClass.getDeclaredField("theUnsafe");
+            theUnsafe.setAccessible(true);
+            unsafe = theUnsafe.get(null);
+            invokeCleaner = unsafeClass.getMethod("invokeCleaner", ByteBuffer.class);
+        } catch (ReflectiveOperationException | LinkageError | RuntimeException e) {
+            unsafe = null;
+            invokeCleaner = null;
+        }
+        UNSAFE = unsafe;
+        INVOKE_CLEANER = invokeCleaner;
+    }
+
+    private final ArrayList<WeakReference<Resident>> residents;
+    private int purgeAt;
+    private long allocatedBytes;
+    private boolean closed;
+
+    public OffHeapArena() {
+        residents = new ArrayList<>();
+        purgeAt = PURGE_COUNT;
+        allocatedBytes = 0;
+        closed = false;
+    }
+
+    /**
+     * Allocates a buffer of the given size in native byte order.
+     *
+     * @param bytes size of the buffer in bytes
+     * @return a direct buffer
+     * @throws IllegalStateException if this arena is closed
+     */
+    public synchronized ByteBuffer allocate(int bytes) {
+        if (closed) {
+            throw new IllegalStateException("Arena is closed.");
+        }
+        final ByteBuffer memory = allocateMemory(bytes);
+        allocatedBytes += bytes;
+        return memory;
+    }
+
+    /**
+     * Allocates the memory for {@link #allocate(int)}. A subclass can take the memory from elsewhere, it must be in
+     * native byte order.
+     *
+     * @param bytes size of the buffer in bytes
+     * @return a buffer in native byte order
+     */
+    protected ByteBuffer allocateMemory(int bytes) {
+        return ByteBuffer.allocateDirect(bytes).order(ByteOrder.nativeOrder());
+    }
+
+    /**
+     * Frees memory allocated by this arena. It is called by a resident that no longer uses the memory, also while this
+     * arena is closing. The memory must not be used afterwards.
+     *
+     * @param memory memory allocated by this arena
+     */
+    public synchronized void free(ByteBuffer memory) {
+        freeMemory(memory);
+    }
+
+    /**
+     * Frees the memory for {@link #free(ByteBuffer)}. The default frees a direct buffer at once, a slice or a duplicate
+     * is left to the garbage collector.
+     *
+     * @param memory memory allocated by this arena
+     */
+    protected void freeMemory(ByteBuffer memory) {
+        if (INVOKE_CLEANER != null && memory.isDirect()) {
+            try {
+                INVOKE_CLEANER.invoke(UNSAFE, memory);
+            } catch (ReflectiveOperationException | RuntimeException e) {
+                // not the buffer owning the memory, the garbage collector frees it
+            }
+        }
+    }
+
+    /**
+     * Registers a resident that is closed together with this arena.
+     *
+     * @param resident the resident
+     * @throws IllegalStateException if this arena is closed
+     */
+    public synchronized void register(Resident resident) {
+        if (closed) {
+            throw new IllegalStateException("Arena is closed.");
+        }
+        if (residents.size() >= purgeAt) {
+            residents.removeIf(ref -> ref.get() == null);
+            purgeAt = Math.max(PURGE_COUNT, residents.size() << 1);
+        }
+        residents.add(new WeakReference<>(resident));
+    }
+
+    /**
+     * Returns the number of bytes allocated by this arena so far, including the memory already freed.
+     *
+     * @return the allocated bytes
+     */
+    public synchronized long getAllocatedBytes() {
+        return allocatedBytes;
+    }
+
+    /**
+     * Returns {@code true} if this arena is not closed.
+     *
+     * @return {@code true} if this arena is not closed
+     */
+    public synchronized boolean isAlive() {
+        return !closed;
+    }
+
+    /**
+     * Closes this arena and all its residents. Closing a closed arena has no effect.
+     */
+    @Override
+    public synchronized void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        for (WeakReference<Resident> ref : residents) {
+            final Resident resident = ref.get();
+            if (resident != null) {
+                resident.close();
+            }
+        }
+        residents.clear();
+    }
+
+    /**
+     * A holder of memory of an arena.
+     */
+    public interface Resident extends AutoCloseable {
+
+        /**
+         * Frees the memory. A later access throws an IllegalStateException.
+         */
+        @Override
+        void close();
+    }
+}
@@ -0,0 +1,391 @@
+/**
+ * <copyright>
+ * Copyright (c) 2025, Janusch Rentenatus. This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v2.0 which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ * </copyright>
+ */
+package de.jare.ndimcol;
+
+import java.util.Arrays;
+
+/**
+ * Scan kernels over the backing arrays of the primitive tapes: equality search, range filter, min/max/sum reductions
+ * and bulk compare. All kernels work on the range from (inclusive) to (exclusive) of the array.
+ * <p>
+ * This class is the scalar implementation. {@link #INSTANCE} is a SIMD implementation on the Vector API if the
+ * incubator module {@code jdk.incubator.vector} is available (start the JVM with
+ * {@code --add-modules jdk.incubator.vector}), otherwise it is the scalar implementation. The SIMD path can be switched
+ * off with the system property {@code de.jare.ndimcol.simd=false}.
+ * <p>
+ * Equality is the {@code ==} of the primitive type, so for floats NaN is never found and -0.0f equals 0.0f, as in the
+ * tapes themselves.
+ *
+ * @author Janusch Rentenatus
+ */
+public class TapeKernels {
+
+    /**
+     * The scalar kernels, always available.
+     */
+    public static final TapeKernels SCALAR = new TapeKernels();
+
+    /**
+     * The best kernels of this JVM.
+     */
+    public static final TapeKernels INSTANCE = load();
+
+    private static final String VECTOR_MODULE = "jdk.incubator.vector";
+    private static final String VECTOR_KERNELS = "de.jare.ndimcol.TapeKernelsVector";
+
+    protected TapeKernels() {
+    }
+
+    private static TapeKernels load() {
+        if (!Boolean.parseBoolean(System.getProperty("de.jare.ndimcol.simd", "true"))
+                || ModuleLayer.boot().findModule(VECTOR_MODULE).isEmpty()) {
+            return SCALAR;
+        }
+        try {
+            return (TapeKernels) Class.forName(VECTOR_KERNELS).getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException | LinkageError e) {
+            return SCALAR;
+        }
+    }
+
+    /**
+     * Returns true if these kernels use the Vector API.
+     *
+     * @return true for SIMD kernels
+     */
+    public boolean isVectorized() {
+        return false;
+    }
+
+    // ---------- int
+    /**
+     * Returns the index of the first element equal to key, or -1.
+     *
+     * @param a the array
+     * @param from first index (inclusive)
+     * @param to last index (exclusive)
+     * @param key the value to search
+     * @return the index of the first hit or -1
+     */
+    public int indexOf(int[] a, int from, int to, int key) {
+        for (int i = from; i < to; i++) {
+            if (a[i] == key) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the index of the last element equal to key, or -1.
+     *
+     * @param a the array
+     * @param from first index (inclusive)
+     * @param to last index (exclusive)
+     * @param key the value to search
+     * @return the index of the last hit or -1
+     */
+    public int lastIndexOf(int[] a, int from, int to, int key) {
+        for (int i = to - 1; i >= from; i--) {
+            if (a[i] == key) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Copies all elements with low &lt;= element &lt;= high to the start of dest, keeping their order. The entries of
+     * dest behind the returned count may be overwritten as well.
+     *
+     * @param a the array
+     * @param from first index (inclusive)
+     * @param to last index (exclusive)
+     * @param low lower bound (inclusive)
+     * @param high upper bound (inclusive)
+     * @param dest the destination, at least to - from long
+     * @return the number of elements copied
+     */
+    public int filterRange(int[] a, int from, int to, int low, int high, int[] dest) {
+        int count = 0;
+        for (int i = from; i < to; i++) {
+            final int value = a[i];
+            if (value >= low && value <= high) {
+                dest[count++] = value;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Returns the sum of the elements as long.
+     *
+     * @param a the array
+     * @param from first index (inclusive)
+     * @param to last index (exclusive)
+     * @return the sum
+     */
+    public long sum(int[] a, int from, int to) {
+        long sum = 0;
+        for (int i = from; i < to; i++) {
+            sum += a[i];
+        }
+        return sum;
+    }
+
+    /**
+     * Returns the smallest element of a non-empty range.
+     *
+     * @param a the array
+     * @param from first index (inclusive)
+     * @param to last index (exclusive), greater than from
+     * @return the minimum
+     */
+    public int min(int[] a, int from, int to) {
+        int min = a[from];
+        for (int i = from + 1; i < to; i++) {
+            min = Math.min(min, a[i]);
+        }
+        return min;
+    }
+
+    /**
+     * Returns the largest element of a non-empty range.
+     *
+     * @param a the array
+     * @param from first index (inclusive)
+     * @param to last index (exclusive), greater than from
+     * @return the maximum
+     */
+    public int max(int[] a, int from, int to) {
+        int max = a[from];
+        for (int i = from + 1; i < to; i++) {
+            max = Math.max(max, a[i]);
+        }
+        return max;
+    }
+
+    /**
+     * Compares length elements of a and b and returns the offset of the first difference, or -1 if all are equal.
+     *
+     * @param a first array
+     * @param aFrom first index in a
+     * @param b second array
+     * @param bFrom first index in b
+     * @param length number of elements to compare
+     * @return the relative index of the first mismatch or -1
+     */
+    public int mismatch(int[] a, int aFrom, int[] b, int bFrom, int length) {
+        // Arrays.mismatch is an intrinsic of the JIT and already compares wide words
+        return Arrays.mismatch(a, aFrom, aFrom + length, b, bFrom, bFrom + length);
+    }
+
+    // ---------- long
+    public int indexOf(long[] a, int from, int to, long key) {
+        for (int i = from; i < to; i++) {
+            if (a[i] == key) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    public int lastIndexOf(long[] a, int from, int to, long key) {
+        for (int i = to - 1; i >= from; i--) {
+            if (a[i] == key) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    public int filterRange(long[] a, int from, int to, long low, long high, long[] dest) {
+        int count = 0;
+        for (int i = from; i < to; i++) {
+            final long value = a[i];
+            if (value >= low && value <= high) {
+                dest[count++] = value;
+            }
+        }
+        return count;
+    }
+
+    public long sum(long[] a, int from, int to) {
+        long sum = 0;
+        for (int i = from; i < to; i++) {
+            sum += a[i];
+        }
+        return sum;
+    }
+
+    public long min(long[] a, int from, int to) {
+        long min = a[from];
+        for (int i = from + 1; i < to; i++) {
+            min = Math.min(min, a[i]);
+        }
+        return min;
+    }
+
+    public long max(long[] a, int from, int to) {
+        long max = a[from];
+        for (int i = from + 1; i < to; i++) {
+            max = Math.max(max, a[i]);
+        }
+        return max;
+    }
+
+    public int mismatch(long[] a, int aFrom, long[] b, int bFrom, int length) {
+        return Arrays.mismatch(a, aFrom, aFrom + length, b, bFrom, bFrom + length);
+    }
+
+    // ---------- short
+    public int indexOf(short[] a, int from, int to, short key) {
+        for (int i = from; i < to; i++) {
+            if (a[i] == key) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    public int lastIndexOf(short[] a, int from, int to, short key) {
+        for (int i = to - 1; i >= from; i--) {
+            if (a[i] == key) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    public int filterRange(short[] a, int from, int to, short low, short high, short[] dest) {
+        int count = 0;
+        for (int i = from; i < to; i++) {
+            final short value = a[i];
+            if (value >= low && value <= high) {
+                dest[count++] = value;
+            }
+        }
+        return count;
+    }
+
+    public long sum(short[] a, int from, int to) {
+        long sum = 0;
+        for (int i = from; i < to; i++) {
+            sum += a[i];
+        }
+        return sum;
+    }
+
+    public short min(short[] a, int from, int to) {
+        short min = a[from];
+        for (int i = from + 1; i < to; i++) {
+            if (a[i] < min) {
+                min = a[i];
+            }
+        }
+        return min;
+    }
+
+    public short max(short[] a, int from, int to) {
+        short max = a[from];
+        for (int i = from + 1; i < to; i++) {
+            if (a[i] > max) {
+                max = a[i];
+            }
+        }
+        return max;
+    }
+
+    public int mismatch(short[] a, int aFrom, short[] b, int bFrom, int length) {
+        return Arrays.mismatch(a, aFrom, aFrom + length, b, bFrom, bFrom + length);
+    }
+
+    // ---------- float
+    public int indexOf(float[] a, int from, int to, float key) {
+        for (int i = from; i < to; i++) {
+            if (a[i] == key) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    public int lastIndexOf(float[] a, int from, int to, float key) {
+        for (int i = to - 1; i >= from; i--) {
+            if (a[i] == key) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    public int filterRange(float[] a, int from, int to, float low, float high, float[] dest) {
+        int count = 0;
+        for (int i = from; i < to; i++) {
+            final float value = a[i];
+            if (value >= low && value <= high) {
+                dest[count++] = value;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Returns the sum of the elements, added up in double. The SIMD kernels add in a different order, so the last bits
+     * can differ from the scalar sum.
+     *
+     * @param a the array
+     * @param from first index (inclusive)
+     * @param to last index (exclusive)
+     * @return the sum
+     */
+    public double sum(float[] a, int from, int to) {
+        double sum = 0;
+        for (int i = from; i < to; i++) {
+            sum += a[i];
+        }
+        return sum;
+    }
+
+    public float min(float[] a, int from, int to) {
+        float min = a[from];
+        for (int i = from + 1; i < to; i++) {
+            min = Math.min(min, a[i]);
+        }
+        return min;
+    }
+
+    public float max(float[] a, int from, int to) {
+        float max = a[from];
+        for (int i = from + 1; i < to; i++) {
+            max = Math.max(max, a[i]);
+        }
+        return max;
+    }
+
+    /**
+     * Compares length elements of a and b with {@code ==} and returns the offset of the first difference, or -1 if all
+     * are equal. Unlike {@link Arrays#mismatch(float[], float[])} NaN never matches.
+     *
+     * @param a first array
+     * @param aFrom first index in a
+     * @param b second array
+     * @param bFrom first index in b
+     * @param length number of elements to compare
+     * @return the relative index of the first mismatch or -1
+     */
+    public int mismatch(float[] a, int aFrom, float[] b, int bFrom, int length) {
+        for (int i = 0; i < length; i++) {
+            if (a[aFrom + i] != b[bFrom + i]) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+}
@@ -0,0 +1,477 @@
+/**
+ * <copyright>
+ * Copyright (c) 2025, Janusch Rentenatus. This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v2.0 which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ * </copyright>
+ */
+package de.jare.ndimcol;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.FloatVector;
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.LongVector;
+import jdk.incubator.vector.ShortVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorShape;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * SIMD kernels on the incubating Vector API. The class is only loaded by {@link TapeKernels#INSTANCE} if the module
+ * {@code jdk.incubator.vector} is present. Ranges shorter than two vectors and the tails of the loops are left to the
+ * scalar kernels.
+ *
+ * @author Janusch Rentenatus
+ */
+final class TapeKernelsVector extends TapeKernels {
+
+    private static final VectorSpecies<Integer> INT = IntVector.SPECIES_PREFERRED;
+    private static final VectorSpecies<Long> LONG = LongVector.SPECIES_PREFERRED;
+    private static final VectorSpecies<Short> SHORT = ShortVector.SPECIES_PREFERRED;
+    private static final VectorSpecies<Float> FLOAT = FloatVector.SPECIES_PREFERRED;
+    private static final VectorSpecies<Double> DOUBLE = DoubleVector.SPECIES_PREFERRED;
+
+    // narrow species whose lanes widen to exactly one preferred vector
+    private static final VectorSpecies<Integer> INT_TO_LONG = IntVector.SPECIES_PREFERRED.withShape(
+            VectorShape.forBitSize(LONG.vectorBitSize() / 2));
+    private static final VectorSpecies<Short> SHORT_TO_INT = ShortVector.SPECIES_PREFERRED.withShape(
+            VectorShape.forBitSize(INT.vectorBitSize() / 2));
+    private static final VectorSpecies<Float> FLOAT_TO_DOUBLE = FloatVector.SPECIES_PREFERRED.withShape(
+            VectorShape.forBitSize(DOUBLE.vectorBitSize() / 2));
+
+    // shorts summed up in int lanes cannot overflow within this number of rounds
+    private static final int SHORT_SUM_ROUNDS = 1 << 15;
+
+    TapeKernelsVector() {
+    }
+
+    @Override
+    public boolean isVectorized() {
+        return true;
+    }
+
+    // ---------- int
+    @Override
+    public int indexOf(int[] a, int from, int to, int key) {
+        final int step = INT.length();
+        final int bound = from + INT.loopBound(to - from);
+        int i = from;
+        for (; i < bound; i += step) {
+            final VectorMask<Integer> hit = IntVector.fromArray(INT, a, i).eq(key);
+            if (hit.anyTrue()) {
+                return i + hit.firstTrue();
+            }
+        }
+        return super.indexOf(a, i, to, key);
+    }
+
+    @Override
+    public int lastIndexOf(int[] a, int from, int to, int key) {
+        final int step = INT.length();
+        int i = to - step;
+        for (; i >= from; i -= step) {
+            final VectorMask<Integer> hit = IntVector.fromArray(INT, a, i).eq(key);
+            if (hit.anyTrue()) {
+                return i + hit.lastTrue();
+            }
+        }
+        return super.lastIndexOf(a, from, i + step, key);
+    }
+
+    @Override
+    public int filterRange(int[] a, int from, int to, int low, int high, int[] dest) {
+        final int step = INT.length();
+        final int bound = from + INT.loopBound(to - from);
+        int count = 0;
+        int i = from;
+        for (; i < bound; i += step) {
+            final IntVector v = IntVector.fromArray(INT, a, i);
+            final VectorMask<Integer> in = v.compare(VectorOperators.GE, low)
+                    .and(v.compare(VectorOperators.LE, high));
+            if (in.allTrue()) {
+                v.intoArray(dest, count);
+                count += step;
+            } else if (in.anyTrue()) {
+                // count never passes i - from, so the whole vector still fits into dest
+                v.compress(in).intoArray(dest, count);
+                count += in.trueCount();
+            }
+        }
+        for (; i < to; i++) {
+            if (a[i] >= low && a[i] <= high) {
+                dest[count++] = a[i];
+            }
+        }
+        return count;
+    }
+
+    @Override
+    public long sum(int[] a, int from, int to) {
+        final int step = INT_TO_LONG.length();
+        final int bound = from + INT_TO_LONG.loopBound(to - from);
+        LongVector acc = LongVector.zero(LONG);
+        int i = from;
+        for (; i < bound; i += step) {
+            acc = acc.add((LongVector) IntVector.fromArray(INT_TO_LONG, a, i)
+                    .convertShape(VectorOperators.I2L, LONG, 0));
+        }
+        return acc.reduceLanes(VectorOperators.ADD) + super.sum(a, i, to);
+    }
+
+    @Override
+    public int min(int[] a, int from, int to) {
+        final int step = INT.length();
+        if (to - from < step << 1) {
+            return super.min(a, from, to);
+        }
+        final int bound = from + INT.loopBound(to - from);
+        IntVector acc = IntVector.fromArray(INT, a, from);
+        int i = from + step;
+        for (; i < bound; i += step) {
+            acc = acc.min(IntVector.fromArray(INT, a, i));
+        }
+        final int min = acc.reduceLanes(VectorOperators.MIN);
+        return i < to ? Math.min(min, super.min(a, i, to)) : min;
+    }
+
+    @Override
+    public int max(int[] a, int from, int to) {
+        final int step = INT.length();
+        if (to - from < step << 1) {
+            return super.max(a, from, to);
+        }
+        final int bound = from + INT.loopBound(to - from);
+        IntVector acc = IntVector.fromArray(INT, a, from);
+        int i = from + step;
+        for (; i < bound; i += step) {
+            acc = acc.max(IntVector.fromArray(INT, a, i));
+        }
+        final int max = acc.reduceLanes(VectorOperators.MAX);
+        return i < to ? Math.max(max, super.max(a, i, to)) : max;
+    }
+
+    // ---------- long
+    @Override
+    public int indexOf(long[] a, int from, int to, long key) {
+        final int step = LONG.length();
+        final int bound = from + LONG.loopBound(to - from);
+        int i = from;
+        for (; i < bound; i += step) {
+            final VectorMask<Long> hit = LongVector.fromArray(LONG, a, i).eq(key);
+            if (hit.anyTrue()) {
+                return i + hit.firstTrue();
+            }
+        }
+        return super.indexOf(a, i, to, key);
+    }
+
+    @Override
+    public int lastIndexOf(long[] a, int from, int to, long key) {
+        final int step = LONG.length();
+        int i = to - step;
+        for (; i >= from; i -= step) {
+            final VectorMask<Long> hit = LongVector.fromArray(LONG, a, i).eq(key);
+            if (hit.anyTrue()) {
+                return i + hit.lastTrue();
+            }
+        }
+        return super.lastIndexOf(a, from, i + step, key);
+    }
+
+    @Override
+    public int filterRange(long[] a, int from, int to, long low, long high, long[] dest) {
+        final int step = LONG.length();
+        final int bound = from + LONG.loopBound(to - from);
+        int count = 0;
+        int i = from;
+        for (; i < bound; i += step) {
+            final LongVector v = LongVector.fromArray(LONG, a, i);
+            final VectorMask<Long> in = v.compare(VectorOperators.GE, low)
+                    .and(v.compare(VectorOperators.LE, high));
+            if (in.allTrue()) {
+                v.intoArray(dest, count);
+                count += step;
+            } else if (in.anyTrue()) {
+                // count never passes i - from, so the whole vector still fits into dest
+                v.compress(in).intoArray(dest, count);
+                count += in.trueCount();
+            }
+        }
+        for (; i < to; i++) {
+            if (a[i] >= low && a[i] <= high) {
+                dest[count++] = a[i];
+            }
+        }
+        return count;
+    }
+
+    @Override
+    public long sum(long[] a, int from, int to) {
+        final int step = LONG.length();
+        final int bound = from + LONG.loopBound(to - from);
+        LongVector acc = LongVector.zero(LONG);
+        int i = from;
+        for (; i < bound; i += step) {
+            acc = acc.add(LongVector.fromArray(LONG, a, i));
+        }
+        return acc.reduceLanes(VectorOperators.ADD) + super.sum(a, i, to);
+    }
+
+    @Override
+    public long min(long[] a, int from, int to) {
+        final int step = LONG.length();
+        if (to - from < step << 1) {
+            return super.min(a, from, to);
+        }
+        final int bound = from + LONG.loopBound(to - from);
+        LongVector acc = LongVector.fromArray(LONG, a, from);
+        int i = from + step;
+        for (; i < bound; i += step) {
+            acc = acc.min(LongVector.fromArray(LONG, a, i));
+        }
+        final long min = acc.reduceLanes(VectorOperators.MIN);
+        return i < to ? Math.min(min, super.min(a, i, to)) : min;
+    }
+
+    @Override
+    public long max(long[] a, int from, int to) {
+        final int step = LONG.length();
+        if (to - from < step << 1) {
+            return super.max(a, from, to);
+        }
+        final int bound = from + LONG.loopBound(to - from);
+        LongVector acc = LongVector.fromArray(LONG, a, from);
+        int i = from + step;
+        for (; i < bound; i += step) {
+            acc = acc.max(LongVector.fromArray(LONG, a, i));
+        }
+        final long max = acc.reduceLanes(VectorOperators.MAX);
+        return i < to ? Math.max(max, super.max(a, i, to)) : max;
+    }
+
+    // ---------- short
+    @Override
+    public int indexOf(short[] a, int from, int to, short key) {
+        final int step = SHORT.length();
+        final int bound = from + SHORT.loopBound(to - from);
+        int i = from;
+        for (; i < bound; i += step) {
+            final VectorMask<Short> hit = ShortVector.fromArray(SHORT, a, i).eq(key);
+            if (hit.anyTrue()) {
+                return i + hit.firstTrue();
+            }
+        }
+        return super.indexOf(a, i, to, key);
+    }
+
+    @Override
+    public int lastIndexOf(short[] a, int from, int to, short key) {
+        final int step = SHORT.length();
+        int i = to - step;
+        for (; i >= from; i -= step) {
+            final VectorMask<Short> hit = ShortVector.fromArray(SHORT, a, i).eq(key);
+            if (hit.anyTrue()) {
+                return i + hit.lastTrue();
+            }
+        }
+        return super.lastIndexOf(a, from, i + step, key);
+    }
+
+    @Override
+    public int filterRange(short[] a, int from, int to, short low, short high, short[] dest) {
+        final int step = SHORT.length();
+        final int bound = from + SHORT.loopBound(to - from);
+        int count = 0;
+        int i = from;
+        for (; i < bound; i += step) {
+            final ShortVector v = ShortVector.fromArray(SHORT, a, i);
+            final VectorMask<Short> in = v.compare(VectorOperators.GE, low)
+                    .and(v.compare(VectorOperators.LE, high));
+            if (in.allTrue()) {
+                v.intoArray(dest, count);
+                count += step;
+            } else if (in.anyTrue()) {
+                // count never passes i - from, so the whole vector still fits into dest
+                v.compress(in).intoArray(dest, count);
+                count += in.trueCount();
+            }
+        }
+        for (; i < to; i++) {
+            if (a[i] >= low && a[i] <= high) {
+                dest[count++] = a[i];
+            }
+        }
+        return count;
+    }
+
+    @Override
+    public long sum(short[] a, int from, int to) {
+        final int step = SHORT_TO_INT.length();
+        final int bound = from + SHORT_TO_INT.loopBound(to - from);
+        long sum = 0;
+        int i = from;
+        while (i < bound) {
+            final int roundBound = (int) Math.min(bound, i + (long) step * SHORT_SUM_ROUNDS);
+            IntVector acc = IntVector.zero(INT);
+            for (; i < roundBound; i += step) {
+                acc = acc.add((IntVector) ShortVector.fromArray(SHORT_TO_INT, a, i)
+                        .convertShape(VectorOperators.S2I, INT, 0));
+            }
+            // the lanes are in range, but their total may not fit in an int
+            for (int lane : acc.toArray()) {
+                sum += lane;
+            }
+        }
+        return sum + super.sum(a, i, to);
+    }
+
+    @Override
+    public short min(short[] a, int from, int to) {
+        final int step = SHORT.length();
+        if (to - from < step << 1) {
+            return super.min(a, from, to);
+        }
+        final int bound = from + SHORT.loopBound(to - from);
+        ShortVector acc = ShortVector.fromArray(SHORT, a, from);
+        int i = from + step;
+        for (; i < bound; i += step) {
+            acc = acc.min(ShortVector.fromArray(SHORT, a, i));
+        }
+        final short min = acc.reduceLanes(VectorOperators.MIN);
+        return i < to ? (short) Math.min(min, super.min(a, i, to)) : min;
+    }
+
+    @Override
+    public short max(short[] a, int from, int to) {
+        final int step = SHORT.length();
+        if (to - from < step << 1) {
+            return super.max(a, from, to);
+        }
+        final int bound = from + SHORT.loopBound(to - from);
+        ShortVector acc = ShortVector.fromArray(SHORT, a, from);
+        int i = from + step;
+        for (; i < bound; i += step) {
+            acc = acc.max(ShortVector.fromArray(SHORT, a, i));
+        }
+        final short max = acc.reduceLanes(VectorOperators.MAX);
+        return i < to ? (short) Math.max(max, super.max(a, i, to)) : max;
+    }
+
+    // ---------- float
+    @Override
+    public int indexOf(float[] a, int from, int to, float key) {
+        final int step = FLOAT.length();
+        final int bound = from + FLOAT.loopBound(to - from);
+        int i = from;
+        for (; i < bound; i += step) {
+            final VectorMask<Float> hit = FloatVector.fromArray(FLOAT, a, i).eq(key);
+            if (hit.anyTrue()) {
+                return i + hit.firstTrue();
+            }
+        }
+        return super.indexOf(a, i, to, key);
+    }
+
+    @Override
+    public int lastIndexOf(float[] a, int from, int to, float key) {
+        final int step = FLOAT.length();
+        int i = to - step;
+        for (; i >= from; i -= step) {
+            final VectorMask<Float> hit = FloatVector.fromArray(FLOAT, a, i).eq(key);
+            if (hit.anyTrue()) {
+                return i + hit.lastTrue();
+            }
+        }
+        return super.lastIndexOf(a, from, i + step, key);
+    }
+
+    @Override
+    public int filterRange(float[] a, int from, int to, float low, float high, float[] dest) {
+        final int step = FLOAT.length();
+        final int bound = from + FLOAT.loopBound(to - from);
+        int count = 0;
+        int i = from;
+        for (; i < bound; i += step) {
+            final FloatVector v = FloatVector.fromArray(FLOAT, a, i);
+            final VectorMask<Float> in = v.compare(VectorOperators.GE, low)
+                    .and(v.compare(VectorOperators.LE, high));
+            if (in.allTrue()) {
+                v.intoArray(dest, count);
+                count += step;
+            } else if (in.anyTrue()) {
+                // count never passes i - from, so the whole vector still fits into dest
+                v.compress(in).intoArray(dest, count);
+                count += in.trueCount();
+            }
+        }
+        for (; i < to; i++) {
+            if (a[i] >= low && a[i] <= high) {
+                dest[count++] = a[i];
+            }
+        }
+        return count;
+    }
+
+    @Override
+    public double sum(float[] a, int from, int to) {
+        final int step = FLOAT_TO_DOUBLE.length();
+        final int bound = from + FLOAT_TO_DOUBLE.loopBound(to - from);
+        DoubleVector acc = DoubleVector.zero(DOUBLE);
+        int i = from;
+        for (; i < bound; i += step) {
+            acc = acc.add((DoubleVector) FloatVector.fromArray(FLOAT_TO_DOUBLE, a, i)
+                    .convertShape(VectorOperators.F2D, DOUBLE, 0));
+        }
+        return acc.reduceLanes(VectorOperators.ADD) + super.sum(a, i, to);
+    }
+
+    @Override
+    public float min(float[] a, int from, int to) {
+        final int step = FLOAT.length();
+        if (to - from < step << 1) {
+            return super.min(a, from, to);
+        }
+        final int bound = from + FLOAT.loopBound(to - from);
+        FloatVector acc = FloatVector.fromArray(FLOAT, a, from);
+        int i = from + step;
+        for (; i < bound; i += step) {
+            acc = acc.min(FloatVector.fromArray(FLOAT, a, i));
+        }
+        final float min = acc.reduceLanes(VectorOperators.MIN);
+        return i < to ? Math.min(min, super.min(a, i, to)) : min;
+    }
+
+    @Override
+    public float max(float[] a, int from, int to) {
+        final int step = FLOAT.length();
+        if (to - from < step << 1) {
+            return super.max(a, from, to);
+        }
+        final int bound = from + FLOAT.loopBound(to - from);
+        FloatVector acc = FloatVector.fromArray(FLOAT, a, from);
+        int i = from + step;
+        for (; i < bound; i += step) {
+            acc = acc.max(FloatVector.fromArray(FLOAT, a, i));
+        }
+        final float max = acc.reduceLanes(VectorOperators.MAX);
+        return i < to ? Math.max(max, super.max(a, i, to)) : max;
+    }
+
+    @Override
+    public int mismatch(float[] a, int aFrom, float[] b, int bFrom, int length) {
+        final int step = FLOAT.length();
+        final int bound = FLOAT.loopBound(length);
+        int i = 0;
+        for (; i < bound; i += step) {
+            final VectorMask<Float> differ = FloatVector.fromArray(FLOAT, a, aFrom + i)
+                    .compare(VectorOperators.NE, FloatVector.fromArray(FLOAT, b, bFrom + i));
+            if (differ.anyTrue()) {
+                return i + differ.firstTrue();
+            }
+        }
+        final int rest = super.mismatch(a, aFrom + i, b, bFrom + i, length - i);
+        return rest < 0 ? -1 : i + rest;
+    }
+
+}
@@ -0,0 +1,157 @@
+/**
+ * <copyright>
+ * Copyright (c) 2025, Janusch Rentenatus. This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v2.0 which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ * </copyright>
+ */
+    // #### This code has been generated. Please do not make any changes here.
+    // #### Modify package 'de.jare.ndimcol.ref' and use 'GeneratePrimitiveJavaFiles'
+package de.jare.ndimcol.primfloat;
+
+import java.util.Collection;
+// FloatPredicate is unfortunately not available in java.util.function
+
+/**
+ * A read-only season built by {@link ArraySeason#snapshot()}. Its episodes are snapshots of the episodes of the
+ * original season and share their arrays with them. The original copies an episode only when it writes into it for
+ * the first time after the snapshot, so the snapshot keeps the elements of the moment it was taken.
+ * <p>
+ * All methods changing the season throw an UnsupportedOperationException. The walkers of the snapshot can read, a
+ * write through a walker is rejected by the episode.
+ *
+ * @author Janusch Rentenatus
+ */
+    // #### This code has been generated. Please do not make any changes here.
+    // #### Modify package 'de.jare.ndimcol.ref' and use 'GeneratePrimitiveJavaFiles'
+public class ArraySeasonSnapshotFloat extends ArraySeasonFloat {
+
+    ArraySeasonSnapshotFloat(final ScreenplayFloat screenplay, de.jare.ndimcol.ref.ArrayTape<ArrayMovieFloat> episodes, int size) {
+        super(episodes, size);
+        this.screenplay = screenplay;
+        recalculateScope();
+    }
+
+    private UnsupportedOperationException readOnly() {
+        return new UnsupportedOperationException("Not supported in " + getClass().getSimpleName() + ".");
+    }
+
+    /**
+     * A snapshot does not change, so it is its own snapshot.
+     *
+     * @return this snapshot
+     */
+    // #### This code has been generated. Please do not make any changes here.
+    // #### Modify package 'de.jare.ndimcol.ref' and use 'GeneratePrimitiveJavaFiles'
+    @Override
+    public ArraySeasonFloat snapshot() {
+        return this;
+    }
+
+    @Override
+    public boolean add(float element) {
+        throw readOnly();
+    }
+
+    @Override
+    public boolean addFirstFree(float element) {
+        throw readOnly();
+    }
+
+    @Override
+    public boolean addAt(int index, float element) {
+        throw readOnly();
+    }
+
+    @Override
+    public boolean addAll(int index, Collection<? extends Float> col) {
+        throw readOnly();
+    }
+
+    @Override
+    public boolean addAll(Collection<? extends Float> col) {
+        throw readOnly();
+    }
+
+    @Override
+    public boolean addAll(float[] arr) {
+        throw readOnly();
+    }
+
+    @Override
+    public boolean addMovie(ArrayMovieFloat movie) {
+        throw readOnly();
+    }
+
+    @Override
+    public boolean glueMovie(ArrayMovieFloat episode) {
+        throw readOnly();
+    }
+
+    /**
+     * Hands over writable copies of the episodes, the episodes of this snapshot stay read-only.
+     *
+     * @param othersData the episodes of the season gluing this snapshot
+     */
+    // #### This code has been generated. Please do not make any changes here.
+    // #### Modify package 'de.jare.ndimcol.ref' and use 'GeneratePrimitiveJavaFiles'
+    @Override
+    public void assimilateInto(de.jare.ndimcol.ref.ArrayTape<ArrayMovieFloat> othersData) {
+        for (int i = 0; i < data.size(); i++) {
+            final ArrayMovieFloat episode = data.get(i);
+            final ArrayMovieFloat copy = episode.emptyMovie(episode.size());
+            copy.addMovie(episode);
+            othersData.add(copy);
+        }
+    }
+
+    @Override
+    public float set(int index, float element) {
+        throw readOnly();
+    }
+
+    @Override
+    public boolean remove(float element) {
+        throw readOnly();
+    }
+
+    @Override
+    public float removeAt(int index) {
+        throw readOnly();
+    }
+
+    @Override
+    public void splitOrGlue() {
+        throw readOnly();
+    }
+
+    @Override
+    public void beginBatch() {
+        throw readOnly();
+    }
+
+    @Override
+    public boolean removeAll(Collection<?> col) {
+        throw readOnly();
+    }
+
+    @Override
+    public boolean retainAll(Collection<?> col) {
+        throw readOnly();
+    }
+
+    @Override
+    public boolean removeIf(FloatPredicate filter) {
+        throw readOnly();
+    }
+
+    @Override
+    public void clear() {
+        throw readOnly();
+    }
+
+    @Override
+    public ArrayMovieFloat splitInHalf() {
+        throw readOnly();
+    }
+}
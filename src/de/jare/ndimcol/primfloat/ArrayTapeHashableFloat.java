@@ -11,6 +11,7 @@ package de.jare.ndimcol.primfloat;
 
 import java.util.Collection;
 import java.util.List;
+// FloatPredicate is unfortunately not available in java.util.function
 import de.jare.ndimcol.RentenatusHashable;
 
 /**
@@ -276,6 +277,15 @@ public class ArrayTapeHashableFloat extends ArrayTapeFloat implements Rentenatus
         return ret;
     }
 
+    @Override
+    public boolean removeIf(FloatPredicate filter) {
+        boolean ret = super.removeIf(filter);
+        if (ret) {
+            hashComputed = false;
+        }
+        return ret;
+    }
+
     @Override
     protected float removeFast(int index) {
         hashComputed = false;
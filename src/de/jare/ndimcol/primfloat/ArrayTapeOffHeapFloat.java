@@ -0,0 +1,1000 @@
+/**
+ * <copyright>
+ * Copyright (c) 2025, Janusch Rentenatus. This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v2.0 which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ * </copyright>
+ */
+package de.jare.ndimcol.primfloat;
+
+import static de.jare.ndimcol.RentenatusHashable._combine;
+import static de.jare.ndimcol.ref.HashStrategy._hashCode;
+import de.jare.ndimcol.OffHeapArena;
+import java.io.PrintStream;
+import java.nio.ByteBuffer;
+import java.nio.FloatBuffer;
+import java.util.Collection;
+import java.util.ConcurrentModificationException;
+import java.util.Spliterator;
+import java.util.function.BiFunction;
+import java.util.function.BinaryOperator;
+import java.util.function.IntConsumer;
+/**
+ * A tape of primitive {@code float} values held off-heap in memory of an {@link OffHeapArena}. It is used like an
+ * {@link ArrayTapeFloat}, the walkers and all methods of {@link ArrayMovieFloat} work unchanged. Episodes split from or
+ * created by this tape are allocated from the same arena.
+ * <p>
+ * The tape lives until it or its arena is closed. After that every access to the elements throws an
+ * IllegalStateException.
+ *
+ * @author Janusch Rentenatus
+ */
+public final class ArrayTapeOffHeapFloat implements ArrayMovieFloat, OffHeapArena.Resident {
+
+    private final OffHeapArena arena;
+    private ByteBuffer memory;
+    private FloatBuffer elementData;
+    private int size;
+    private int updateCounter;
+
+    /**
+     * Constructs an empty tape with the default capacity.
+     *
+     * @param arena the arena holding the memory of this tape
+     */
+    public ArrayTapeOffHeapFloat(OffHeapArena arena) {
+        this(arena, ArrayTapeFloat.DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Constructs an empty tape with the given capacity.
+     *
+     * @param arena the arena holding the memory of this tape
+     * @param initialCapacityOrZero the initial capacity, or zero for the default capacity
+     */
+    public ArrayTapeOffHeapFloat(OffHeapArena arena, int initialCapacityOrZero) {
+        this.arena = arena;
+        this.elementData = allocate(initialCapacityOrZero > 0 ? initialCapacityOrZero : ArrayTapeFloat.DEFAULT_CAPACITY);
+        this.size = 0;
+        this.updateCounter = 0;
+        arena.register(this);
+    }
+
+    /**
+     * Constructs a tape on memory allocated by the arena before, for example on an episode of a file mapped again. The
+     * first elements of the memory are the elements of the tape, the tape frees the memory when it is closed.
+     *
+     * @param arena the arena holding the memory of this tape
+     * @param memory memory of the arena in native byte order
+     * @param size the number of elements already in the memory
+     */
+    ArrayTapeOffHeapFloat(OffHeapArena arena, ByteBuffer memory, int size) {
+        if (size < 0 || size > memory.capacity() / Float.BYTES) {
+            throw new IndexOutOfBoundsException("Size: " + size + ", Capacity: " + memory.capacity() / Float.BYTES + ".");
+        }
+        this.arena = arena;
+        this.memory = memory;
+        this.elementData = memory.asFloatBuffer();
+        this.size = size;
+        this.updateCounter = 0;
+        arena.register(this);
+    }
+
+    private FloatBuffer allocate(int capacity) {
+        memory = arena.allocate(capacity * Float.BYTES);
+        return memory.asFloatBuffer();
+    }
+
+    private FloatBuffer live() {
+        final FloatBuffer buffer = elementData;
+        if (buffer == null) {
+            throw new IllegalStateException("Tape is closed.");
+        }
+        return buffer;
+    }
+
+    private void grow(int minCapacity) {
+        final FloatBuffer buffer = live();
+        if (buffer.capacity() < minCapacity) {
+            final ByteBuffer oldMemory = memory;
+            final FloatBuffer newBuffer = allocate(minCapacity + ArrayTapeFloat.DEFAULT_PAGE + (size >> 2));
+            newBuffer.put(0, buffer, 0, size);
+            elementData = newBuffer;
+            arena.free(oldMemory);
+        }
+    }
+
+    /**
+     * Returns the arena holding the memory of this tape.
+     *
+     * @return the arena
+     */
+    public OffHeapArena getArena() {
+        return arena;
+    }
+
+    /**
+     * Returns the memory of the arena holding the elements of this tape. It changes when the tape grows and is freed
+     * when the tape is closed, so it is only handed to the writers of this package and never kept.
+     *
+     * @return the memory of this tape
+     * @throws IllegalStateException if this tape is closed
+     */
+    ByteBuffer getMemory() {
+        live();
+        return memory;
+    }
+
+    /**
+     * Returns the number of times this tape has been updated.
+     *
+     * @return the update counter
+     */
+    public int getUpdateCounter() {
+        return updateCounter;
+    }
+
+    /**
+     * Returns {@code true} if this tape is not closed.
+     *
+     * @return {@code true} if this tape is not closed
+     */
+    public boolean isAlive() {
+        return elementData != null;
+    }
+
+    /**
+     * Closes this tape and frees its memory. Closing a closed tape has no effect. The tape must not be closed while
+     * another thread works on it.
+     */
+    @Override
+    public void close() {
+        final ByteBuffer oldMemory = memory;
+        memory = null;
+        elementData = null;
+        updateCounter++;
+        if (oldMemory != null) {
+            arena.free(oldMemory);
+        }
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public boolean hasRecord() {
+        return size > 0;
+    }
+
+    @Override
+    public float get(int index) {
+        if (index >= size || index < 0) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size + ".");
+        }
+        return live().get(index);
+    }
+
+    @Override
+    public float first() {
+        if (size == 0) {
+            throw new IndexOutOfBoundsException("Tape is empty.");
+        }
+        return live().get(0);
+    }
+
+    @Override
+    public float last() {
+        if (size == 0) {
+            throw new IndexOutOfBoundsException("Tape is empty.");
+        }
+        return live().get(size - 1);
+    }
+
+    public float set(int index, float element) {
+        if (index >= size || index < 0) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size + ".");
+        }
+        final FloatBuffer buffer = live();
+        final float oldValue = buffer.get(index);
+        buffer.put(index, element);
+        updateCounter++;
+        return oldValue;
+    }
+
+    @Override
+    public boolean add(float element) {
+        grow(size + 1);
+        elementData.put(size++, element);
+        updateCounter++;
+        return true;
+    }
+
+    @Override
+    public boolean addAt(int index, float element) {
+        if (index < 0 || index > size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size + ".");
+        }
+        grow(size + 1);
+        elementData.put(index + 1, elementData, index, size - index);
+        elementData.put(index, element);
+        size++;
+        updateCounter++;
+        return true;
+    }
+
+    @Override
+    public boolean addAll(Collection<? extends Float> col) {
+        if (col == null) {
+            throw new NullPointerException("Collection cannot be null.");
+        }
+        if (col.isEmpty()) {
+            return false;
+        }
+        grow(size + col.size());
+        for (float element : col) {
+            add(element);
+        }
+        return true;
+    }
+
+    public boolean addAll(int index, Collection<? extends Float> col) {
+        if (col == null) {
+            throw new NullPointerException("Collection cannot be null.");
+        }
+        if (col.isEmpty()) {
+            return false;
+        }
+        if (index < 0 || index > size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size + ".");
+        }
+        // the collection is copied first, so the tail is moved only once
+        final float[] arr = new float[col.size()];
+        int i = 0;
+        for (float element : col) {
+            arr[i++] = element;
+        }
+        grow(size + arr.length);
+        elementData.put(index + arr.length, elementData, index, size - index);
+        elementData.put(index, arr);
+        size += arr.length;
+        updateCounter++;
+        return true;
+    }
+
+    @Override
+    public boolean addAll(float[] arr) {
+        if (arr == null) {
+            throw new NullPointerException("Array cannot be null.");
+        }
+        if (arr.length == 0) {
+            return false;
+        }
+        grow(size + arr.length);
+        elementData.put(size, arr);
+        size += arr.length;
+        updateCounter++;
+        return true;
+    }
+
+    @Override
+    public boolean addMovie(ArrayMovieFloat movie) {
+        if (movie.isEmpty()) {
+            return false;
+        }
+        final int movieSize = movie.size();
+        grow(size + movieSize);
+        if (movie instanceof ArrayTapeOffHeapFloat tape) {
+            elementData.put(size, tape.live(), 0, movieSize);
+        } else {
+            elementData.put(size, movie.toArray());
+        }
+        size += movieSize;
+        updateCounter++;
+        return true;
+    }
+
+    @Override
+    public boolean glueMovie(ArrayMovieFloat movie) {
+        return addMovie(movie);
+    }
+
+    @Override
+    public void assimilateInto(de.jare.ndimcol.ref.ArrayTape<ArrayMovieFloat> othersData) {
+        othersData.add(this);
+    }
+
+    @Override
+    public float removeAt(int index) {
+        if (index >= size || index < 0) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size + ".");
+        }
+        final FloatBuffer buffer = live();
+        final float ret = buffer.get(index);
+        buffer.put(index, buffer, index + 1, size - index - 1);
+        size--;
+        updateCounter++;
+        return ret;
+    }
+
+    @Override
+    public boolean remove(float element) {
+        final int index = indexOf(element);
+        if (index < 0) {
+            return false;
+        }
+        removeAt(index);
+        return true;
+    }
+
+    @Override
+    public boolean removeIf(FloatPredicate filter) {
+        if (filter == null) {
+            throw new NullPointerException("Predicate cannot be null.");
+        }
+        final FloatBuffer buffer = live();
+        final int startUpdateCounter = updateCounter;
+        int kept = 0;
+        int i = 0;
+        try {
+            for (; i < size; i++) {
+                final float element = buffer.get(i);
+                if (!filter.test(element)) {
+                    buffer.put(kept++, element);
+                }
+            }
+        } finally {
+            if (i < size) {
+                // the predicate has thrown, the untested elements stay
+                buffer.put(kept, buffer, i, size - i);
+                kept += size - i;
+            }
+        }
+        if (startUpdateCounter != updateCounter) {
+            throw new ConcurrentModificationException("ArrayTape was modified during iteration.");
+        }
+        if (kept == size) {
+            return false;
+        }
+        size = kept;
+        updateCounter++;
+        return true;
+    }
+
+    @Override
+    public boolean removeAll(Collection<?> col) {
+        if (col == null) {
+            throw new NullPointerException("Collection cannot be null.");
+        }
+        final float[] keys = ArrayTapeFloat.sortedKeys(col);
+        return removeIf(element -> ArrayTapeFloat.containsKey(keys, element));
+    }
+
+    @Override
+    public boolean retainAll(Collection<?> col) {
+        if (col == null) {
+            throw new NullPointerException("Collection cannot be null.");
+        }
+        if (col.isEmpty()) {
+            clear();
+            return false;
+        }
+        final float[] keys = ArrayTapeFloat.sortedKeys(col);
+        return removeIf(element -> !ArrayTapeFloat.containsKey(keys, element));
+    }
+
+    @Override
+    public void clear() {
+        live();
+        size = 0;
+        updateCounter++;
+    }
+
+    @Override
+    public int indexOf(float element) {
+        final FloatBuffer buffer = live();
+        for (int i = 0; i < size; i++) {
+            if (buffer.get(i) == element) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public int lastIndexOf(float element) {
+        final FloatBuffer buffer = live();
+        for (int i = size - 1; i >= 0; i--) {
+            if (buffer.get(i) == element) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public boolean contains(float element) {
+        return indexOf(element) > -1;
+    }
+
+    @Override
+    public boolean containsAll(Collection<?> col) {
+        if (col == null) {
+            throw new NullPointerException("Collection cannot be null.");
+        }
+        for (Object element : col) {
+            if (!(element instanceof Float key) || indexOf(key) == -1) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public void copyToArray(float[] array, int offset) {
+        if (array == null) {
+            throw new NullPointerException("Target array cannot be null.");
+        }
+        if (offset < 0 || offset + size > array.length) {
+            throw new IndexOutOfBoundsException("Offset out of bounds: " + offset + ".");
+        }
+        live().get(0, array, offset, size);
+    }
+
+    @Override
+    public float[] toArray() {
+        final float[] ret = new float[size];
+        live().get(0, ret, 0, size);
+        return ret;
+    }
+
+    @Override
+    public float[] toArray(float[] arr) {
+        if (arr.length < size) {
+            return toArray();
+        }
+        live().get(0, arr, 0, size);
+        return arr;
+    }
+
+    @Override
+    public ArrayTapeOffHeapFloat splitInHalf() {
+        if (size <= 1) {
+            return null;
+        }
+        final int halfSize = size / 2;
+        final ArrayTapeOffHeapFloat newTape = emptyMovie(size - halfSize + ArrayTapeFloat.DEFAULT_PAGE);
+        newTape.elementData.put(0, live(), halfSize, size - halfSize);
+        newTape.size = size - halfSize;
+        size = halfSize;
+        updateCounter++;
+        return newTape;
+    }
+
+    @Override
+    public void splitOrGlue() {
+        // NoOp
+    }
+
+    @Override
+    public ArrayMovieFloat subMovie(int fromIndex, int toIndex) {
+        if (fromIndex >= size || fromIndex < 0) {
+            throw new IndexOutOfBoundsException("fromIndex: " + fromIndex + ", Size: " + size + ".");
+        }
+        if (toIndex > size || toIndex <= 0) {
+            throw new IndexOutOfBoundsException("toIndex: " + toIndex + ", Size: " + size + ".");
+        }
+        if (fromIndex > toIndex) {
+            throw new IndexOutOfBoundsException("fromIndex: " + fromIndex + ", toIndex: " + toIndex + ".");
+        }
+        final int newSize = toIndex - fromIndex;
+        final ArrayTapeOffHeapFloat subMovie = emptyMovie(newSize);
+        subMovie.elementData.put(0, live(), fromIndex, newSize);
+        subMovie.size = newSize;
+        return subMovie;
+    }
+
+    @Override
+    public ArrayTapeOffHeapFloat emptyMovie(int initialCapacityOrZero) {
+        return new ArrayTapeOffHeapFloat(arena, initialCapacityOrZero);
+    }
+
+    @Override
+    public int debug(PrintStream out, String prefix, int offset) {
+        final FloatBuffer buffer = live();
+        for (int i = 0; i < size; i++) {
+            out.println(prefix + "o[" + i + "] =[" + (offset + i) + "]= '" + buffer.get(i) + "'");
+        }
+        return offset + size;
+    }
+
+    @Override
+    public int pageSpaceLeft() {
+        return live().capacity() - size;
+    }
+
+    @Override
+    public IteratorWalkerFloat softWalker() {
+        return new Walker(0);
+    }
+
+    @Override
+    public IteratorWalkerFloat softWalkerBackwards() {
+        return new Walker(0).goLast();
+    }
+
+    @Override
+    public IteratorWalkerFloat leafWalker(int atIndex) {
+        return new Walker(atIndex);
+    }
+
+    @Override
+    public IteratorFloat iterator() {
+        return new IteratorFloat() {
+            private final int expectedUpdateCounter = updateCounter;
+            private int currentIndex = 0;
+
+            @Override
+            public boolean hasNext() {
+                return currentIndex < size;
+            }
+
+            @Override
+            public float next() {
+                if (!hasNext()) {
+                    throw new IndexOutOfBoundsException("No more elements in the tape.");
+                }
+                if (expectedUpdateCounter != updateCounter) {
+                    throw new ConcurrentModificationException("ArrayTape was modified during iteration.");
+                }
+                return live().get(currentIndex++);
+            }
+
+            @Override
+            public void remove() {
+                throw new UnsupportedOperationException();
+            }
+        };
+    }
+
+    @Override
+    public Spliterator.OfDouble spliterator() {
+        return new TapeSpliterator(0, size, updateCounter);
+    }
+
+    final class TapeSpliterator implements Spliterator.OfDouble {
+
+        private int index;
+        private final int fence;
+        private final int expectedUpdateCounter;
+
+        TapeSpliterator(int origin, int fence, int expectedUpdateCounter) {
+            this.index = origin;
+            this.fence = fence;
+            this.expectedUpdateCounter = expectedUpdateCounter;
+        }
+
+        @Override
+        public TapeSpliterator trySplit() {
+            final int mid = (index + fence) >>> 1;
+            if (mid <= index) {
+                return null;
+            }
+            final TapeSpliterator prefix = new TapeSpliterator(index, mid, expectedUpdateCounter);
+            index = mid;
+            return prefix;
+        }
+
+        @Override
+        public boolean tryAdvance(java.util.function.DoubleConsumer action) {
+            if (action == null) {
+                throw new NullPointerException("Action cannot be null.");
+            }
+            if (index >= fence) {
+                return false;
+            }
+            action.accept(live().get(index++));
+            if (expectedUpdateCounter != updateCounter) {
+                throw new ConcurrentModificationException("ArrayTape was modified during iteration.");
+            }
+            return true;
+        }
+
+        @Override
+        public void forEachRemaining(java.util.function.DoubleConsumer action) {
+            if (action == null) {
+                throw new NullPointerException("Action cannot be null.");
+            }
+            final FloatBuffer buffer = live();
+            for (int i = index; i < fence; i++) {
+                action.accept(buffer.get(i));
+            }
+            index = fence;
+            if (expectedUpdateCounter != updateCounter) {
+                throw new ConcurrentModificationException("ArrayTape was modified during iteration.");
+            }
+        }
+
+        @Override
+        public long estimateSize() {
+            return fence - index;
+        }
+
+        @Override
+        public int characteristics() {
+            return Spliterator.ORDERED | Spliterator.SIZED | Spliterator.SUBSIZED;
+        }
+    }
+
+    @Override
+    public IteratorWalkerFloat filterFirst(FloatPredicate predicate) {
+        if (predicate == null) {
+            throw new NullPointerException("Predicate cannot be null.");
+        }
+        final FloatBuffer buffer = live();
+        final int startUpdateCounter = updateCounter;
+        for (int i = 0; i < size; i++) {
+            if (predicate.test(buffer.get(i))) {
+                if (startUpdateCounter != updateCounter) {
+                    throw new ConcurrentModificationException("ArrayTape was modified during iteration.");
+                }
+                return new Walker(i);
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public IteratorWalkerFloat filterLast(FloatPredicate predicate) {
+        if (predicate == null) {
+            throw new NullPointerException("Predicate cannot be null.");
+        }
+        final FloatBuffer buffer = live();
+        final int startUpdateCounter = updateCounter;
+        for (int i = size - 1; i >= 0; i--) {
+            if (predicate.test(buffer.get(i))) {
+                if (startUpdateCounter != updateCounter) {
+                    throw new ConcurrentModificationException("ArrayTape was modified during iteration.");
+                }
+                return new Walker(i);
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public ArrayMovieFloat filterAll(FloatPredicate predicate) {
+        if (predicate == null) {
+            throw new NullPointerException("Predicate cannot be null.");
+        }
+        final FloatBuffer buffer = live();
+        final int startUpdateCounter = updateCounter;
+        final ArrayMovieFloat ret = emptyMovie(size >> 4);
+        for (int i = 0; i < size; i++) {
+            final float element = buffer.get(i);
+            if (predicate.test(element)) {
+                ret.add(element);
+            }
+        }
+        if (startUpdateCounter != updateCounter) {
+            throw new ConcurrentModificationException("ArrayTape was modified during iteration.");
+        }
+        return ret;
+    }
+
+    @Override
+    public de.jare.ndimcol.primint.ArrayMovieInt filterAllIndexes(FloatPredicate predicate) {
+        if (predicate == null) {
+            throw new NullPointerException("Predicate cannot be null.");
+        }
+        final FloatBuffer buffer = live();
+        final int startUpdateCounter = updateCounter;
+        final de.jare.ndimcol.primint.ArrayMovieInt ret = new de.jare.ndimcol.primint.ArrayTapeInt();
+        for (int i = 0; i < size; i++) {
+            if (predicate.test(buffer.get(i))) {
+                ret.add(i);
+            }
+        }
+        if (startUpdateCounter != updateCounter) {
+            throw new ConcurrentModificationException("ArrayTape was modified during iteration.");
+        }
+        return ret;
+    }
+
+    @Override
+    public void forEach(FloatConsumer action) {
+        final FloatBuffer buffer = live();
+        final int startUpdateCounter = updateCounter;
+        for (int i = 0; i < size; i++) {
+            action.accept(buffer.get(i));
+        }
+        if (startUpdateCounter != updateCounter) {
+            throw new ConcurrentModificationException("ArrayTape was modified during iteration.");
+        }
+    }
+
+    @Override
+    public void forEach(FloatPredicate predicate, FloatConsumer thenAction) {
+        forEach(predicate, thenAction, 0, null);
+    }
+
+    @Override
+    public void forEach(FloatPredicate predicate, FloatConsumer thenActionOrNull,
+            int offset, IntConsumer thenIndexActionOrNull) {
+        if (predicate == null) {
+            throw new NullPointerException("Predicate cannot be null.");
+        }
+        final FloatBuffer buffer = live();
+        final int startUpdateCounter = updateCounter;
+        for (int i = 0; i < size; i++) {
+            final float element = buffer.get(i);
+            if (predicate.test(element)) {
+                if (thenActionOrNull != null) {
+                    thenActionOrNull.accept(element);
+                }
+                if (thenIndexActionOrNull != null) {
+                    thenIndexActionOrNull.accept(i + offset);
+                }
+            }
+        }
+        if (startUpdateCounter != updateCounter) {
+            throw new ConcurrentModificationException("ArrayTape was modified during iteration.");
+        }
+    }
+
+    @Override
+    public void forEach(FloatPredicate predicate,
+            FloatConsumer thenAction, FloatConsumer elseAction) {
+        if (predicate == null) {
+            throw new NullPointerException("Predicate cannot be null.");
+        }
+        final FloatBuffer buffer = live();
+        final int startUpdateCounter = updateCounter;
+        for (int i = 0; i < size; i++) {
+            final float element = buffer.get(i);
+            if (predicate.test(element)) {
+                thenAction.accept(element);
+            } else {
+                elseAction.accept(element);
+            }
+        }
+        if (startUpdateCounter != updateCounter) {
+            throw new ConcurrentModificationException("ArrayTape was modified during iteration.");
+        }
+    }
+
+    @Override
+    public <U> U reduce(U identity, BiFunction<U, ? super Float, U> accumulator, BinaryOperator<U> combiner) {
+        final FloatBuffer buffer = live();
+        final int startUpdateCounter = updateCounter;
+        U result = identity;
+        for (int i = 0; i < size; i++) {
+            result = accumulator.apply(result, buffer.get(i));
+        }
+        if (startUpdateCounter != updateCounter) {
+            throw new ConcurrentModificationException("ArrayTape was modified during iteration.");
+        }
+        return result;
+    }
+
+    @Override
+    public float min() {
+        if (size == 0) {
+            throw new IndexOutOfBoundsException("Tape is empty.");
+        }
+        final FloatBuffer buffer = live();
+        float min = buffer.get(0);
+        for (int i = 1; i < size; i++) {
+            min = Math.min(min, buffer.get(i));
+        }
+        return min;
+    }
+
+    @Override
+    public float max() {
+        if (size == 0) {
+            throw new IndexOutOfBoundsException("Tape is empty.");
+        }
+        final FloatBuffer buffer = live();
+        float max = buffer.get(0);
+        for (int i = 1; i < size; i++) {
+            max = Math.max(max, buffer.get(i));
+        }
+        return max;
+    }
+
+    @Override
+    public double sum() {
+        final FloatBuffer buffer = live();
+        double sum = 0;
+        for (int i = 0; i < size; i++) {
+            sum += buffer.get(i);
+        }
+        return sum;
+    }
+
+    @Override
+    public ArrayTapeOffHeapFloat filterRange(float low, float high) {
+        final FloatBuffer buffer = live();
+        final ArrayTapeOffHeapFloat ret = emptyMovie(size);
+        int count = 0;
+        for (int i = 0; i < size; i++) {
+            final float value = buffer.get(i);
+            if (value >= low && value <= high) {
+                ret.elementData.put(count++, value);
+            }
+        }
+        ret.size = count;
+        return ret;
+    }
+
+    @Override
+    public boolean equals(Object ob) {
+        if (!(ob instanceof ArrayMovieFloat movie)) {
+            return false;
+        }
+        if (size != movie.size()) {
+            return false;
+        }
+        final FloatBuffer buffer = live();
+        final IteratorWalkerFloat walker = movie.softWalker();
+        for (int i = 0; i < size; i++) {
+            if (buffer.get(i) != walker.next()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        final FloatBuffer buffer = live();
+        int hashCode = 0;
+        for (int i = 0; i < size; i++) {
+            hashCode = _combine(hashCode, _hashCode(buffer.get(i)));
+        }
+        return hashCode;
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + "[size=" + size + (isAlive() ? "" : ", closed") + "]";
+    }
+
+    /**
+     * A walker over this tape. It reads and writes through the methods of the tape, so it fails in the same way once
+     * the tape is closed.
+     */
+    final class Walker implements IteratorWalkerFloat {
+
+        private int currentIndex;
+        private boolean forward;
+
+        Walker(int atIndex) {
+            this.currentIndex = atIndex;
+            this.forward = true;
+        }
+
+        @Override
+        public ArrayMovieFloat getRelatedMovie() {
+            return ArrayTapeOffHeapFloat.this;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return currentIndex < size;
+        }
+
+        @Override
+        public float next() {
+            if (!hasNext()) {
+                throw new IndexOutOfBoundsException("No more elements in the tape.");
+            }
+            forward = true;
+            return get(currentIndex++);
+        }
+
+        @Override
+        public boolean hasPrevious() {
+            return currentIndex > 0;
+        }
+
+        @Override
+        public float previous() {
+            if (!hasPrevious()) {
+                throw new IndexOutOfBoundsException("No previous elements in the tape.");
+            }
+            forward = false;
+            return get(--currentIndex);
+        }
+
+        @Override
+        public boolean add(float element) {
+            return addAt(currentIndex, element);
+        }
+
+        @Override
+        public boolean add(Collection<? extends Float> col) {
+            return addAll(currentIndex, col);
+        }
+
+        @Override
+        public float set(float element) {
+            return ArrayTapeOffHeapFloat.this.set(currentIndex, element);
+        }
+
+        @Override
+        public float removeForward() {
+            return removeAt(--currentIndex);
+        }
+
+        @Override
+        public float removeBackward() {
+            return removeAt(currentIndex);
+        }
+
+        @Override
+        public float remove() {
+            return forward ? removeForward() : removeBackward();
+        }
+
+        @Override
+        public Walker goFirst() {
+            currentIndex = 0;
+            forward = true;
+            return this;
+        }
+
+        @Override
+        public Walker goLast() {
+            currentIndex = size;
+            forward = false;
+            return this;
+        }
+
+        @Override
+        public Walker gotoIndex(int index, boolean headForward) {
+            if (index < 0 || index >= size) {
+                throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size + ".");
+            }
+            forward = headForward;
+            currentIndex = headForward ? index : index + 1;
+            return this;
+        }
+
+        @Override
+        public Walker goLeafIndex(int index) {
+            if (index < 0 || index >= size) {
+                throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size + ".");
+            }
+            currentIndex = index;
+            return this;
+        }
+
+        @Override
+        public int getCurrentIndex() {
+            return currentIndex;
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return size == 0;
+        }
+
+        @Override
+        public boolean hasRecord() {
+            return size > 0;
+        }
+    }
+}
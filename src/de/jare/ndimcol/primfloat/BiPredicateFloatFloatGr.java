@@ -13,6 +13,8 @@ package de.jare.ndimcol.primfloat;
  */
 public class BiPredicateFloatFloatGr implements BiPredicateFloatFloat {
 
+    public final static BiPredicateFloatFloatGr INSTANCE = new BiPredicateFloatFloatGr();
+
     /**
      * Evaluates this predicate e2 greater as e1.
      *
@@ -0,0 +1,243 @@
+/**
+ * <copyright>
+ * Copyright (c) 2025, Janusch Rentenatus. This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v2.0 which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ * </copyright>
+ */
+package de.jare.ndimcol.primfloat;
+
+import de.jare.ndimcol.ref.MovieFormat;
+import java.io.IOException;
+import java.nio.BufferOverflowException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.util.ArrayList;
+
+/**
+ * Bulk copies between movies or matrices of float values and NIO buffers or channels. Every episode is copied with one
+ * bulk operation instead of a copy through {@code toArray()}. The memory of an {@link ArrayTapeOffHeapFloat} goes to a
+ * channel without a copy on little-endian platforms.
+ * <p>
+ * Channels carry the raw values in little-endian order without a header; {@link MovieFormatFloat} writes a format that
+ * knows its size and kind.
+ *
+ * @author Janusch Rentenatus
+ */
+public final class MovieBuffersFloat {
+
+    private MovieBuffersFloat() {
+    }
+
+    /**
+     * Copies the values of the movie to the buffer, starting at its position.
+     *
+     * @param movie the movie
+     * @param buffer the buffer
+     * @throws BufferOverflowException if the buffer has not enough space
+     */
+    public static void copyTo(ArrayMovieFloat movie, FloatBuffer buffer) {
+        if (buffer.remaining() < movie.size()) {
+            throw new BufferOverflowException();
+        }
+        final ArrayList<ArrayMovieFloat> episodes = new ArrayList<>();
+        MovieFormatFloat.collectEpisodes(movie, episodes);
+        for (ArrayMovieFloat episode : episodes) {
+            if (episode instanceof ArrayTapeFloat tape) {
+                buffer.put(tape.getBufferData(), 0, tape.size());
+            } else if (episode instanceof ArrayTapeOffHeapFloat offHeap) {
+                buffer.put(offHeap.getMemory().asFloatBuffer().limit(offHeap.size()));
+            } else {
+                buffer.put(episode.toArray());
+            }
+        }
+    }
+
+    /**
+     * Copies the values of the matrix row by row to the buffer, starting at its position.
+     *
+     * @param matrix the matrix
+     * @param buffer the buffer
+     * @throws BufferOverflowException if the buffer has not enough space
+     */
+    public static void copyTo(ArrayMatrixFloat matrix, FloatBuffer buffer) {
+        copyTo(matrix.cover, buffer);
+    }
+
+    /**
+     * Returns a new season with the remaining values of the buffer. The position of the buffer is moved to its limit.
+     *
+     * @param buffer the buffer
+     * @return a new season
+     */
+    public static ArraySeasonFloat wrap(FloatBuffer buffer) {
+        return wrapInto(new ArraySeasonFloat(), buffer);
+    }
+
+    /**
+     * Appends the remaining values of the buffer to the season in episodes of a size the season keeps. For a sorted
+     * set, the values must be sorted and come after the values of the set.
+     *
+     * @param <S> the type of the season
+     * @param season the season
+     * @param buffer the buffer
+     * @return the season
+     */
+    public static <S extends ArraySeasonFloat> S wrapInto(S season, FloatBuffer buffer) {
+        final int episodeSize = season.fillEpisodeSize(buffer.remaining());
+        while (buffer.hasRemaining()) {
+            final float[] values = new float[Math.min(episodeSize, buffer.remaining())];
+            buffer.get(values);
+            final ArrayTapeFloat episode = new ArrayTapeFloat(0);
+            episode.setBufferData(values);
+            season.glueMovie(episode);
+        }
+        season.recalculateScope();
+        season.splitOrGlue();
+        return season;
+    }
+
+    /**
+     * Returns a new matrix with values of the buffer, row by row. The position of the buffer is moved by
+     * {@code cols * rows}.
+     *
+     * @param cols number of columns
+     * @param rows number of rows
+     * @param buffer the buffer
+     * @return a new matrix
+     * @throws BufferUnderflowException if the buffer has less values than the matrix
+     */
+    public static ArrayMatrixFloat wrap(int cols, int rows, FloatBuffer buffer) {
+        if (buffer.remaining() < (long) cols * rows) {
+            throw new BufferUnderflowException();
+        }
+        final ArrayMatrixFloat matrix = new ArrayMatrixFloat(cols, rows, 0.0f);
+        for (ArrayTapeFloat row : matrix.content) {
+            final float[] values = new float[cols];
+            buffer.get(values);
+            row.setBufferData(values);
+        }
+        return matrix;
+    }
+
+    /**
+     * Writes the values of the movie to the channel.
+     *
+     * @param movie the movie
+     * @param channel the channel
+     * @throws IOException if the channel fails
+     */
+    public static void writeTo(ArrayMovieFloat movie, WritableByteChannel channel) throws IOException {
+        final ArrayList<ArrayMovieFloat> episodes = new ArrayList<>();
+        MovieFormatFloat.collectEpisodes(movie, episodes);
+        final MovieFormat.GatherWriter writer = new MovieFormat.GatherWriter(channel);
+        for (ArrayMovieFloat episode : episodes) {
+            writer.add(littleEndianBytes(episode));
+        }
+        writer.flush();
+    }
+
+    /**
+     * Returns the values of an episode in little-endian order, the memory of an off-heap tape on little-endian
+     * platforms without a copy.
+     */
+    static ByteBuffer littleEndianBytes(ArrayMovieFloat episode) {
+        final int episodeSize = episode.size();
+        if (episode instanceof ArrayTapeOffHeapFloat offHeap && ByteOrder.nativeOrder() == ByteOrder.LITTLE_ENDIAN) {
+            return offHeap.getMemory().slice(0, episodeSize * Float.BYTES);
+        }
+        final ByteBuffer bytes = ByteBuffer.allocate(episodeSize * Float.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        if (episode instanceof ArrayTapeFloat tape) {
+            bytes.asFloatBuffer().put(tape.getBufferData(), 0, episodeSize);
+        } else {
+            bytes.asFloatBuffer().put(episode.toArray());
+        }
+        return bytes;
+    }
+
+    /**
+     * Writes the values of the matrix row by row to the channel.
+     *
+     * @param matrix the matrix
+     * @param channel the channel
+     * @throws IOException if the channel fails
+     */
+    public static void writeTo(ArrayMatrixFloat matrix, WritableByteChannel channel) throws IOException {
+        writeTo(matrix.cover, channel);
+    }
+
+    /**
+     * Reads values until the end of the channel into a new season.
+     *
+     * @param channel the channel
+     * @return a new season
+     * @throws IOException if the channel fails or ends inside a value
+     */
+    public static ArraySeasonFloat readFrom(ReadableByteChannel channel) throws IOException {
+        return readInto(new ArraySeasonFloat(), channel);
+    }
+
+    /**
+     * Reads values until the end of the channel and appends them to the season. For a sorted set, the values must be
+     * sorted and come after the values of the set.
+     *
+     * @param <S> the type of the season
+     * @param season the season
+     * @param channel the channel
+     * @return the season
+     * @throws IOException if the channel fails or ends inside a value
+     */
+    public static <S extends ArraySeasonFloat> S readInto(S season, ReadableByteChannel channel) throws IOException {
+        final long expected = channel instanceof SeekableByteChannel seekable
+                ? (seekable.size() - seekable.position()) / Float.BYTES : 0;
+        final int episodeSize = season.fillEpisodeSize(expected);
+        final ByteBuffer bytes = ByteBuffer.allocateDirect(episodeSize * Float.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        boolean end = false;
+        while (!end) {
+            bytes.clear();
+            while (bytes.hasRemaining() && !end) {
+                end = channel.read(bytes) < 0;
+            }
+            if (bytes.position() % Float.BYTES != 0) {
+                throw new IOException("Channel ends inside a value.");
+            }
+            if (bytes.position() > 0) {
+                bytes.flip();
+                final float[] values = new float[bytes.remaining() / Float.BYTES];
+                bytes.asFloatBuffer().get(values);
+                final ArrayTapeFloat episode = new ArrayTapeFloat(0);
+                episode.setBufferData(values);
+                season.glueMovie(episode);
+            }
+        }
+        season.recalculateScope();
+        season.splitOrGlue();
+        return season;
+    }
+
+    /**
+     * Reads a matrix row by row from the channel.
+     *
+     * @param cols number of columns
+     * @param rows number of rows
+     * @param channel the channel
+     * @return a new matrix
+     * @throws IOException if the channel fails or ends before
+     */
+    public static ArrayMatrixFloat readFrom(int cols, int rows, ReadableByteChannel channel) throws IOException {
+        final ArrayMatrixFloat matrix = new ArrayMatrixFloat(cols, rows, 0.0f);
+        final ByteBuffer bytes = ByteBuffer.allocateDirect(cols * Float.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        for (ArrayTapeFloat row : matrix.content) {
+            MovieFormat.readFully(channel, bytes.clear());
+            final float[] values = new float[cols];
+            bytes.flip().asFloatBuffer().get(values);
+            row.setBufferData(values);
+        }
+        return matrix;
+    }
+}
@@ -0,0 +1,46 @@
+/**
+ * <copyright>
+ * Copyright (c) 2025, Janusch Rentenatus. This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v2.0 which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ * </copyright>
+ */
+package de.jare.ndimcol.primfloat;
+
+import de.jare.ndimcol.OffHeapArena;
+
+/**
+ * A screenplay of two dimensions whose episodes are {@link ArrayTapeOffHeapFloat}s of one arena. A season built with it
+ * holds its elements off-heap:
+ * <pre>
+ * ArraySeasonFloat season = new ArraySeasonFloat(new OffHeapScreenplayFloat(arena));
+ * </pre> Closing the arena closes all episodes of the season. A hashable season gets the same off-heap episodes, they
+ * compute their hash codes like the tapes on the heap.
+ *
+ * @author Janusch Rentenatus
+ */
+public class OffHeapScreenplayFloat extends Screenplay2dFloat {
+
+    private final OffHeapArena arena;
+
+    public OffHeapScreenplayFloat(OffHeapArena arena) {
+        if (arena == null) {
+            throw new NullPointerException("Arena cannot be null.");
+        }
+        this.arena = arena;
+    }
+
+    public OffHeapArena getArena() {
+        return arena;
+    }
+
+    @Override
+    public ArrayMovieFloat buildMovie(final int parentSize) {
+        return new ArrayTapeOffHeapFloat(arena);
+    }
+
+    @Override
+    public ArrayMovieFloat buildMovieHashable(final int parentSize) {
+        return buildMovie(parentSize);
+    }
+}
@@ -10,12 +10,20 @@
 package de.jare.ndimcol.primfloat;
 
 import de.jare.ndimcol.ref.ArrayMovie;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Comparator;
-import java.util.Set;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NavigableSet;
+import java.util.NoSuchElementException;
 import java.util.function.BiPredicate;
 
 /**
+ * A set sorted by a predicate. The navigation methods of NavigableSet use a binary search over the first elements of
+ * the episodes followed by a binary search inside the episode. The first elements are kept in a compact fence array, so
+ * the outer search does not touch the episodes. The sets returned by headSet, tailSet, subSet and
+ * descendingSet are live views bounded by elements, see {@link SortedSeasonSetView}.
  *
  * @author Janusch Rentenatus
  */
@@ -23,11 +31,18 @@ import java.util.function.BiPredicate;
     // #### Modify package 'de.jare.ndimcol.ref' and use 'GeneratePrimitiveJavaFiles'
 public class SortedSeasonSetFloat extends ArraySeasonFloat  {
 
+    // smaller collections are added element by element
+    private static final int BULK_MIN = 32;
+    // elements behind the first touched episode per added element, above this the elements are added one by one
+    private static final int BULK_RATIO = 64;
+
     private final BiPredicateFloatFloat predicate;
     private final BiPredicateFloatFloat ambiguity;
     private final SortedSeasonSetWorkerFloat workerAdd = new SortedSeasonSetWorkerAddFloat();
     private final SortedSeasonSetWorkerFloat workerRemove = new SortedSeasonSetWorkerRemoveFloat();
-    private final SortedSeasonSetWorkerIndexOfFloat workerIndexOf = new SortedSeasonSetWorkerIndexOfFloat();
+    // first element of each episode, valid while fenceCount equals the number of episodes
+    private float[] fence;
+    private int fenceCount = -1;
 
     
      /**
@@ -35,7 +50,7 @@ public class SortedSeasonSetFloat extends ArraySeasonFloat  {
      *
      */
     public SortedSeasonSetFloat() {
-        this.predicate = new BiPredicateFloatFloatGr();
+        this.predicate = BiPredicateFloatFloatGr.INSTANCE;
         this.ambiguity = null;
     }
 
@@ -121,58 +136,151 @@ public class SortedSeasonSetFloat extends ArraySeasonFloat  {
     // #### This code has been generated. Please do not make any changes here.
     // #### Modify package 'de.jare.ndimcol.ref' and use 'GeneratePrimitiveJavaFiles'
     protected boolean work(SortedSeasonSetWorkerFloat worker, float element) {
-
-        int indexRData = data.size() - 1;
-        final ArrayMovieFloat rightData = data.get(indexRData);
-        if (indexRData == 0) {
-            return worker.episodeDo(this, rightData, element);
+        final int episodeCount = data.size();
+        if (episodeCount == 1) {
+            worker.episodeNo = 0;
+            return worker.episodeDo(this, data.get(0), element);
         }
 
+        final ArrayMovieFloat rightData = data.get(episodeCount - 1);
         float right = rightData.get(rightData.size() - 1);
         if (predicate.test(right, element)) {
             return worker.episodeToBigDo(this, element);
         }
-        final float candidateR = rightData.get(0);
-        if (predicate.test(candidateR, element)) {
-            return worker.episodeDo(this, rightData, element);
-        } else if (!predicate.test(element, candidateR)) {
-            return workElementEquals(worker, rightData, 0, element, candidateR);
+        final float[] keys = fence();
+        if (predicate.test(element, keys[0])) {
+            return worker.episodeToSmallDo(this, element);
         }
 
-        final ArrayMovieFloat leftData = data.get(0);
-        float left = leftData.get(0);
-        if (predicate.test(element, left)) {
-            return worker.episodeToSmallDo(this, element);
+        // the last episode whose first element is not behind the element
+        int indexL = 1;
+        int indexR = episodeCount;
+        while (indexL < indexR) {
+            final int indexM = (indexL + indexR) >>> 1;
+            if (predicate.test(element, keys[indexM])) {
+                indexR = indexM;
+            } else {
+                indexL = indexM + 1;
+            }
         }
-        if (predicate.test(element, leftData.get(leftData.size() - 1))) {
-            return worker.episodeDo(this, leftData, element);
+        worker.episodeNo = indexL - 1;
+        final ArrayMovieFloat episode = data.get(worker.episodeNo);
+        final float first = keys[worker.episodeNo];
+        if (!predicate.test(first, element)) {
+            return workElementEquals(worker, episode, 0, element, first);
         }
+        return worker.episodeDo(this, episode, element);
+    }
 
-        int indexLData = 0;
-        while (indexLData < indexRData) {
-            int indexMData = (indexLData + indexRData) >> 1;
-            final ArrayMovieFloat episode = data.get(indexMData);
-            final float first = episode.get(0);
-            if (predicate.test(element, first)) {
-                indexRData = indexMData;
-                if (indexLData + 1 == indexRData) {
-                    return worker.episodeDo(this, data.get(indexLData), element);
-                }
-            } else if (predicate.test(first, element)) {
-                indexLData = indexMData;
-                if (indexLData + 1 == indexRData) {
-                    final ArrayMovieFloat post = data.get(indexRData);
-                    if (predicate.test(post.get(0), element)) {
-                        return worker.episodeDo(this, post, element);
-                    }
-                    // indexLData = indexMData ==> data.get(indexLData) == episode
-                    return worker.episodeDo(this, episode, element);
-                }
-            } else {
-                return workElementEquals(worker, episode, 0, element, first);
+    /**
+     * Returns the first element of each episode. The array is built again after the episodes were split, glued or
+     * changed from outside, a worker changing the first element of an episode updates it in place.
+     *
+     * @return the fence keys, one per episode
+     */
+    // #### This code has been generated. Please do not make any changes here.
+    // #### Modify package 'de.jare.ndimcol.ref' and use 'GeneratePrimitiveJavaFiles'
+    @SuppressWarnings("unchecked")
+    private float[] fence() {
+        final int episodeCount = data.size();
+        if (fenceCount != episodeCount) {
+            if (!mayRebuild()) {
+                throw new ConcurrentModificationException();
+            }
+            if (fence == null || fence.length < episodeCount) {
+                fence = new float[episodeCount];
             }
+            for (int i = 0; i < episodeCount; i++) {
+                fence[i] = data.get(i).get(0);
+            }
+            fenceCount = episodeCount;
         }
-        return false;
+        return fence;
+    }
+
+    private void refreshFence(int episodeNo, ArrayMovieFloat episode) {
+        if (fenceCount == data.size() && episodeNo >= 0 && episodeNo < fenceCount
+                && data.get(episodeNo) == episode && !episode.isEmpty()) {
+            fence[episodeNo] = episode.get(0);
+        } else {
+            fenceCount = -1;
+        }
+    }
+
+    /**
+     * Here the set is informed by a worker that an element was added to or removed from the episode at the index.
+     *
+     * @param episodeNo the number of the changed episode
+     * @param episode the changed episode
+     * @param index the index of the change in the episode
+     * @param delta the change of the size of the episode
+     */
+    // #### This code has been generated. Please do not make any changes here.
+    // #### Modify package 'de.jare.ndimcol.ref' and use 'GeneratePrimitiveJavaFiles'
+    void workerChanged(int episodeNo, ArrayMovieFloat episode, int index, int delta) {
+        updateCounter++;
+        episodeResized(episodeNo, delta);
+        if (index == 0) {
+            refreshFence(episodeNo, episode);
+        }
+    }
+
+    @Override
+    void episodeChanged(ArrayMovieFloat episode) {
+        refreshFence(data.first() == episode ? 0 : data.size() - 1, episode);
+    }
+
+    @Override
+    void deepChanged() {
+        super.deepChanged();
+        fenceCount = -1;
+    }
+
+    @Override
+    void episodeInserted(int episodeNo) {
+        if (fenceCount != data.size() - 1) {
+            fenceCount = -1;
+            return;
+        }
+        if (fence.length <= fenceCount) {
+            fence = Arrays.copyOf(fence, fenceCount + (fenceCount >> 2) + 8);
+        }
+        System.arraycopy(fence, episodeNo, fence, episodeNo + 1, fenceCount - episodeNo);
+        fence[episodeNo] = data.get(episodeNo).get(0);
+        fenceCount++;
+    }
+
+    @Override
+    void episodeRemoved(int episodeNo) {
+        if (fenceCount != data.size() + 1) {
+            fenceCount = -1;
+            return;
+        }
+        fenceCount--;
+        System.arraycopy(fence, episodeNo + 1, fence, episodeNo, fenceCount - episodeNo);
+    }
+
+    @Override
+    void prepareReads() {
+        super.prepareReads();
+        fence();
+    }
+
+    @Override
+    void replaced(int index, float old, float element) {
+        fenceCount = -1;
+    }
+
+    @Override
+    public void splitOrGlue() {
+        super.splitOrGlue();
+        fenceCount = -1;
+    }
+
+    @Override
+    public void clear() {
+        super.clear();
+        fenceCount = -1;
     }
 
     /**
@@ -234,52 +342,266 @@ public class SortedSeasonSetFloat extends ArraySeasonFloat  {
         if (ambiguity.test(element, candidate)) {
             return worker.elementEqualsDo(this, episode, indexM, candidate);
         }
-        IterSeasonWalkerFloat setWalker = new IterSeasonWalkerFloat(this);
-        // Look to the right:
-        setWalker.gotoIndex(indexM, true);
-        int move = 0;
-        while (setWalker.hasNext()) {
-            float next = setWalker.next();
-            move++;
+        // Look to the right, the equal elements can go on in the following episodes:
+        final int startNo = worker.episodeNo;
+        int episodeNo = startNo;
+        ArrayMovieFloat scan = episode;
+        int index = indexM + 1;
+        while (true) {
+            if (index >= scan.size()) {
+                if (++episodeNo >= data.size()) {
+                    break;
+                }
+                scan = data.get(episodeNo);
+                index = 0;
+                continue;
+            }
+            final float next = scan.get(index);
             if (predicate.test(element, next)) {
                 break;
             } else if (ambiguity.test(element, next)) {
-                return worker.elementEqualsDo(this, episode, indexM + move, next);
+                worker.episodeNo = episodeNo;
+                return worker.elementEqualsDo(this, scan, index, next);
             }
+            index++;
         }
         // Look to the left:
-        setWalker.gotoIndex(indexM, false);
-        move = 0;
-        while (setWalker.hasPrevious()) {
-            float prev = setWalker.previous();
-            move++;
+        episodeNo = startNo;
+        scan = episode;
+        index = indexM - 1;
+        while (true) {
+            if (index < 0) {
+                if (--episodeNo < 0) {
+                    break;
+                }
+                scan = data.get(episodeNo);
+                index = scan.size() - 1;
+                continue;
+            }
+            final float prev = scan.get(index);
             if (predicate.test(prev, element)) {
                 break;
             } else if (ambiguity.test(element, prev)) {
-                return worker.elementEqualsDo(this, episode, indexM - move, prev);
+                worker.episodeNo = episodeNo;
+                return worker.elementEqualsDo(this, scan, index, prev);
             }
+            index--;
         }
         // Nothing found:
         return worker.elementPassedDo(this, episode, indexM, element);
     }
 
     /**
-     * Adds all elements in the specified collection to this set.
+     * Adds all elements in the specified collection to this set. Larger collections are sorted and merged with the
+     * episodes of this set in one linear pass, see {@link #bulkAdd}.
      *
      * @param col collection containing elements to be added to this collection
      * @return true if this collection changed as a result of the call
      */
     // #### This code has been generated. Please do not make any changes here.
     // #### Modify package 'de.jare.ndimcol.ref' and use 'GeneratePrimitiveJavaFiles'
+    @SuppressWarnings("unchecked")
     @Override
     public boolean addAll(Collection<? extends Float> col) {
-        boolean changed = false;
-        for (float element : col) {
-            if (add(element)) {
-                changed = true;
+        if (col == null) {
+            throw new NullPointerException("Collection cannot be null.");
+        }
+        if (col.size() < BULK_MIN) {
+            boolean changed = false;
+            for (float element : col) {
+                if (add(element)) {
+                    changed = true;
+                }
             }
+            return changed;
+        }
+        final float[] batch = new float[col.size()];
+        int count = 0;
+        for (Float element : col) {
+            batch[count++] = element;
+        }
+        return bulkAdd(batch, count);
+    }
+
+    /**
+     * Adds all elements of the specified array to this set. The array is not changed.
+     *
+     * @param arr array containing elements to be added to this set
+     * @return true if this set changed as a result of the call
+     */
+    // #### This code has been generated. Please do not make any changes here.
+    // #### Modify package 'de.jare.ndimcol.ref' and use 'GeneratePrimitiveJavaFiles'
+    @Override
+    public boolean addAll(float[] arr) {
+        if (arr == null) {
+            throw new NullPointerException("Array cannot be null.");
+        }
+        return bulkAdd(Arrays.copyOf(arr, arr.length), arr.length);
+    }
+
+    /**
+     * Adds the first count elements of the batch to this set. The batch is sorted by a stable merge sort, which needs
+     * only linear time for a sorted batch. The episodes completely in front of the first element of the batch stay
+     * untouched. The elements of the remaining episodes are merged with the batch into fresh episodes of the size the
+     * screenplay gives for the new number of episodes. Duplicates are dropped like in {@link #add}: an element is not
+     * added if an equal element is already in the set or in front of it in the batch, with ambiguity only if the
+     * ambiguity predicate accepts one of them.
+     *
+     * If the remaining episodes are large compared to the batch, the sorted elements are added one by one.
+     *
+     * @param batch the elements to be added, the array is sorted in place
+     * @param count the number of elements to be added from the front of the batch
+     * @return true if this set changed as a result of the call
+     */
+    // #### This code has been generated. Please do not make any changes here.
+    // #### Modify package 'de.jare.ndimcol.ref' and use 'GeneratePrimitiveJavaFiles'
+    @SuppressWarnings("unchecked")
+    protected boolean bulkAdd(float[] batch, int count) {
+        if (count == 0) {
+            return false;
+        }
+        sortBatch(batch, new float[count], 0, count);
+
+        // episodes that are completely in front of the batch are kept
+        int keep = 0;
+        int indexR = isEmpty() ? 0 : data.size();
+        while (keep < indexR) {
+            final int indexM = (keep + indexR) >>> 1;
+            if (predicate.test(data.get(indexM).last(), batch[0])) {
+                keep = indexM + 1;
+            } else {
+                indexR = indexM;
+            }
+        }
+        final int keptSize = keep == 0 ? 0 : episodeIndex().offsetOf(keep);
+        final int rest = size - keptSize;
+        if (rest / BULK_RATIO > count) {
+            boolean changed = false;
+            for (int i = 0; i < count; i++) {
+                if (add(batch[i])) {
+                    changed = true;
+                }
+            }
+            return changed;
+        }
+
+        final float[] merged = new float[rest + count];
+        int mergedSize = 0;
+        int indexB = 0;
+        for (int e = keep; e < data.size(); e++) {
+            final ArrayMovieFloat episode = data.get(e);
+            final int episodeSize = episode.size();
+            for (int i = 0; i < episodeSize; i++) {
+                final float element = episode.get(i);
+                // on equal elements the element of the set comes first
+                while (indexB < count && predicate.test(batch[indexB], element)) {
+                    mergedSize = mergeIn(merged, mergedSize, batch[indexB++]);
+                }
+                merged[mergedSize++] = element;
+            }
+        }
+        while (indexB < count) {
+            mergedSize = mergeIn(merged, mergedSize, batch[indexB++]);
+        }
+        if (mergedSize == rest) {
+            return false;
+        }
+
+        while (data.size() > keep) {
+            data.removeAt(data.size() - 1);
+        }
+        final int total = keptSize + mergedSize;
+        final int target = episodeTarget(total);
+        final int chunks = (mergedSize + target - 1) / target;
+        int from = 0;
+        for (int c = 1; c <= chunks; c++) {
+            final int to = (int) ((long) mergedSize * c / chunks);
+            final ArrayMovieFloat episode = buildInnerMovie(total);
+            for (int i = from; i < to; i++) {
+                episode.add(merged[i]);
+            }
+            data.add(episode);
+            from = to;
+        }
+        size = total;
+        updateCounter++;
+        deepChanged();
+        recalculateScope();
+        if (data.last().size() < minEpisodeGlue) {
+            splitOrGlue();
+        }
+        return true;
+    }
+
+    /**
+     * Returns the size of fresh episodes for a set with the given number of elements. It is the size at which add
+     * starts a new episode, for the number of episodes the set will have.
+     *
+     * @param total the number of elements
+     * @return the size of an episode
+     */
+    // #### This code has been generated. Please do not make any changes here.
+    // #### Modify package 'de.jare.ndimcol.ref' and use 'GeneratePrimitiveJavaFiles'
+    int episodeTarget(int total) {
+        int episodes = 1;
+        while ((long) episodes * (screenplay.getMaxEpisodeSize(episodes) - ArrayTapeFloat.DEFAULT_PAGE) < total) {
+            episodes++;
+        }
+        return screenplay.getMaxEpisodeSize(episodes) - ArrayTapeFloat.DEFAULT_PAGE;
+    }
+
+    /**
+     * Appends the element to the merged elements, if there is no equal element at the end of the merged elements.
+     *
+     * @return the new number of merged elements
+     */
+    // #### This code has been generated. Please do not make any changes here.
+    // #### Modify package 'de.jare.ndimcol.ref' and use 'GeneratePrimitiveJavaFiles'
+    private int mergeIn(float[] merged, int mergedSize, float element) {
+        for (int k = mergedSize - 1; k >= 0 && !predicate.test(merged[k], element); k--) {
+            if (ambiguity == null || ambiguity.test(element, merged[k])) {
+                return mergedSize;
+            }
+        }
+        merged[mergedSize] = element;
+        return mergedSize + 1;
+    }
+
+    /**
+     * Sorts the range of the array by the predicate of this set. Stable merge sort with insertion sort for short
+     * ranges, two halves already in order are not merged.
+     */
+    // #### This code has been generated. Please do not make any changes here.
+    // #### Modify package 'de.jare.ndimcol.ref' and use 'GeneratePrimitiveJavaFiles'
+    private void sortBatch(float[] arr, float[] tmp, int from, int to) {
+        if (to - from <= 16) {
+            for (int i = from + 1; i < to; i++) {
+                final float element = arr[i];
+                int j = i;
+                while (j > from && predicate.test(element, arr[j - 1])) {
+                    arr[j] = arr[j - 1];
+                    j--;
+                }
+                arr[j] = element;
+            }
+            return;
+        }
+        final int mid = (from + to) >>> 1;
+        sortBatch(arr, tmp, from, mid);
+        sortBatch(arr, tmp, mid, to);
+        if (!predicate.test(arr[mid], arr[mid - 1])) {
+            return;
+        }
+        System.arraycopy(arr, from, tmp, from, mid - from);
+        int indexL = from;
+        int indexR = mid;
+        int k = from;
+        while (indexL < mid && indexR < to) {
+            arr[k++] = predicate.test(arr[indexR], tmp[indexL]) ? arr[indexR++] : tmp[indexL++];
+        }
+        while (indexL < mid) {
+            arr[k++] = tmp[indexL++];
         }
-        return changed;
     }
 
     /**
@@ -355,6 +677,8 @@ public class SortedSeasonSetFloat extends ArraySeasonFloat  {
         if (isEmpty()) {
             return -1;
         }
+        // a worker per search, so searches of several threads do not share a result
+        final SortedSeasonSetWorkerIndexOfFloat workerIndexOf = new SortedSeasonSetWorkerIndexOfFloat();
         boolean found = work(workerIndexOf, element);
         return found ? workerIndexOf.getIndex() : -1;
     }
@@ -374,10 +698,305 @@ public class SortedSeasonSetFloat extends ArraySeasonFloat  {
     // #### This code has been generated. Please do not make any changes here.
     // #### Modify package 'de.jare.ndimcol.ref' and use 'GeneratePrimitiveJavaFiles'
     public float get(float element) {
+        final SortedSeasonSetWorkerIndexOfFloat workerIndexOf = new SortedSeasonSetWorkerIndexOfFloat();
         boolean found = work(workerIndexOf, element);
         return found ? workerIndexOf.getFound() : null;
     }
 
+    /**
+     * Returns true if this set contains an element that occupies the space of the specified element. Uses interval
+     * nesting like {@link #indexOf(Object)}.
+     *
+     * @param element the element to search for
+     * @return true if the element is found
+     */
+    // #### This code has been generated. Please do not make any changes here.
+    // #### Modify package 'de.jare.ndimcol.ref' and use 'GeneratePrimitiveJavaFiles'
+    @Override
+    public boolean contains(float element) {
+        return indexOf(element) >= 0;
+    }
+
+    /**
+     * Returns the number of elements in this set that are smaller than the specified element, or smaller or equal if
+     * inclusive is set. This is also the index of the first element that is not counted. The episode is found by a
+     * binary search over the first elements of the episodes, the element by a binary search inside the episode.
+     *
+     * @param element the element to compare with
+     * @param inclusive true to count the elements equal to the specified element too
+     * @return the number of elements in front of the specified element
+     */
+    // #### This code has been generated. Please do not make any changes here.
+    // #### Modify package 'de.jare.ndimcol.ref' and use 'GeneratePrimitiveJavaFiles'
+    public int headSize(float element, boolean inclusive) {
+        if (isEmpty()) {
+            return 0;
+        }
+        final float[] keys = fence();
+        int indexL = 0;
+        int indexR = data.size();
+        while (indexL < indexR) {
+            final int indexM = (indexL + indexR) >>> 1;
+            if (behind(keys[indexM], element, inclusive)) {
+                indexR = indexM;
+            } else {
+                indexL = indexM + 1;
+            }
+        }
+        if (indexL == 0) {
+            return 0;
+        }
+        final int episodeNo = indexL - 1;
+        final ArrayMovieFloat episode = data.get(episodeNo);
+        // the first element of this episode is not behind
+        indexL = 1;
+        indexR = episode.size();
+        while (indexL < indexR) {
+            final int indexM = (indexL + indexR) >>> 1;
+            if (behind(episode.get(indexM), element, inclusive)) {
+                indexR = indexM;
+            } else {
+                indexL = indexM + 1;
+            }
+        }
+        return episodeIndex().offsetOf(episodeNo) + indexL;
+    }
+
+    private boolean behind(float candidate, float element, boolean inclusive) {
+        return inclusive ? predicate.test(element, candidate) : !predicate.test(candidate, element);
+    }
+
+    /**
+     * Returns true if element1 is in front of element2 in the order of this set.
+     */
+    // #### This code has been generated. Please do not make any changes here.
+    // #### Modify package 'de.jare.ndimcol.ref' and use 'GeneratePrimitiveJavaFiles'
+    boolean before(float element1, float element2) {
+        return predicate.test(element1, element2);
+    }
+
+    /**
+     * Returns the element at the specified index.
+     */
+    // #### This code has been generated. Please do not make any changes here.
+    // #### Modify package 'de.jare.ndimcol.ref' and use 'GeneratePrimitiveJavaFiles'
+    float at(int index) {
+        return super.get(index);
+    }
+
+    /**
+     * Returns the first element in this set.
+     *
+     * @return the first element in this set
+     * @throws NoSuchElementException if this set is empty
+     */
+    // #### This code has been generated. Please do not make any changes here.
+    // #### Modify package 'de.jare.ndimcol.ref' and use 'GeneratePrimitiveJavaFiles'
+    @Override
+    public float first() {
+        if (isEmpty()) {
+            throw new NoSuchElementException("Set is empty.");
+        }
+        return super.first();
+    }
+
+    /**
+     * Returns the last element in this set.
+     *
+     * @return the last element in this set
+     * @throws NoSuchElementException if this set is empty
+     */
+    // #### This code has been generated. Please do not make any changes here.
+    // #### Modify package 'de.jare.ndimcol.ref' and use 'GeneratePrimitiveJavaFiles'
+    @Override
+    public float last() {
+        if (isEmpty()) {
+            throw new NoSuchElementException("Set is empty.");
+        }
+        return super.last();
+    }
+
+    /**
+     * Returns the greatest element in this set strictly less than the specified element, or null if there is no such
+     * element.
+     *
+     * @param element the element to compare with
+     * @return the greatest element less than the specified element, or null
+     */
+    // #### This code has been generated. Please do not make any changes here.
+    // #### Modify package 'de.jare.ndimcol.ref' and use 'GeneratePrimitiveJavaFiles'
+    public Float lower(float element) {
+        final int index = headSize(element, false) - 1;
+        return index < 0 ? null : at(index);
+    }
+
+    /**
+     * Returns the greatest element in this set less than or equal to the specified element, or null if there is no
+     * such element.
+     *
+     * @param element the element to compare with
+     * @return the greatest element less than or equal to the specified element, or null
+     */
+    // #### This code has been generated. Please do not make any changes here.
+    // #### Modify package 'de.jare.ndimcol.ref' and use 'GeneratePrimitiveJavaFiles'
+    public Float floor(float element) {
+        final int index = headSize(element, true) - 1;
+        return index < 0 ? null : at(index);
+    }
+
+    /**
+     * Returns the least element in this set greater than or equal to the specified element, or null if there is no
+     * such element.
+     *
+     * @param element the element to compare with
+     * @return the least element greater than or equal to the specified element, or null
+     */
+    // #### This code has been generated. Please do not make any changes here.
+    // #### Modify package 'de.jare.ndimcol.ref' and use 'GeneratePrimitiveJavaFiles'
+    public Float ceiling(float element) {
+        final int index = headSize(element, false);
+        return index < size ? at(index) : null;
+    }
+
+    /**
+     * Returns the least element in this set strictly greater than the specified element, or null if there is no such
+     * element.
+     *
+     * @param element the element to compare with
+     * @return the least element greater than the specified element, or null
+     */
+    // #### This code has been generated. Please do not make any changes here.
+    // #### Modify package 'de.jare.ndimcol.ref' and use 'GeneratePrimitiveJavaFiles'
+    public Float higher(float element) {
+        final int index = headSize(element, true);
+        return index < size ? at(index) : null;
+    }
+
+    /**
+     * Retrieves and removes the first element, or returns null if this set is empty.
+     *
+     * @return the first element, or null if this set is empty
+     */
+    // #### This code has been generated. Please do not make any changes here.
+    // #### Modify package 'de.jare.ndimcol.ref' and use 'GeneratePrimitiveJavaFiles'
+    public Float pollFirst() {
+        return isEmpty() ? null : removeAt(0);
+    }
+
+    /**
+     * Retrieves and removes the last element, or returns null if this set is empty.
+     *
+     * @return the last element, or null if this set is empty
+     */
+    // #### This code has been generated. Please do not make any changes here.
+    // #### Modify package 'de.jare.ndimcol.ref' and use 'GeneratePrimitiveJavaFiles'
+    public Float pollLast() {
+        return isEmpty() ? null : removeAt(size - 1);
+    }
+
+    /**
+     * Returns a live view of the elements of this set in descending order.
+     *
+     * @return a reverse order view of this set
+     */
+    // #### This code has been generated. Please do not make any changes here.
+    // #### Modify package 'de.jare.ndimcol.ref' and use 'GeneratePrimitiveJavaFiles'
+    public SortedSeasonSetViewFloat descendingSet() {
+        return new SortedSeasonSetViewFloat(this, true);
+    }
+
+    /**
+     * Returns an iterator over the elements of this set in descending order.
+     *
+     * @return an iterator in descending order
+     */
+    // #### This code has been generated. Please do not make any changes here.
+    // #### Modify package 'de.jare.ndimcol.ref' and use 'GeneratePrimitiveJavaFiles'
+    public IteratorFloat descendingIterator() {
+        return descendingSet().iterator();
+    }
+
+    /**
+     * Returns a live view of the portion of this set whose elements range from fromElement to toElement.
+     *
+     * @param fromElement low endpoint of the view
+     * @param fromInclusive true if the low endpoint is to be included in the view
+     * @param toElement high endpoint of the view
+     * @param toInclusive true if the high endpoint is to be included in the view
+     * @return a view of the portion of this set
+     * @throws IllegalArgumentException if fromElement is greater than toElement
+     */
+    // #### This code has been generated. Please do not make any changes here.
+    // #### Modify package 'de.jare.ndimcol.ref' and use 'GeneratePrimitiveJavaFiles'
+    public SortedSeasonSetViewFloat subSet(float fromElement, boolean fromInclusive, float toElement, boolean toInclusive) {
+        return new SortedSeasonSetViewFloat(this, false).subSet(fromElement, fromInclusive, toElement, toInclusive);
+    }
+
+    /**
+     * Returns a live view of the portion of this set whose elements are less than (or equal to, if inclusive is true)
+     * toElement.
+     *
+     * @param toElement high endpoint of the view
+     * @param inclusive true if the high endpoint is to be included in the view
+     * @return a view of the portion of this set
+     */
+    // #### This code has been generated. Please do not make any changes here.
+    // #### Modify package 'de.jare.ndimcol.ref' and use 'GeneratePrimitiveJavaFiles'
+    public SortedSeasonSetViewFloat headSet(float toElement, boolean inclusive) {
+        return new SortedSeasonSetViewFloat(this, false).headSet(toElement, inclusive);
+    }
+
+    /**
+     * Returns a live view of the portion of this set whose elements are greater than (or equal to, if inclusive is
+     * true) fromElement.
+     *
+     * @param fromElement low endpoint of the view
+     * @param inclusive true if the low endpoint is to be included in the view
+     * @return a view of the portion of this set
+     */
+    // #### This code has been generated. Please do not make any changes here.
+    // #### Modify package 'de.jare.ndimcol.ref' and use 'GeneratePrimitiveJavaFiles'
+    public SortedSeasonSetViewFloat tailSet(float fromElement, boolean inclusive) {
+        return new SortedSeasonSetViewFloat(this, false).tailSet(fromElement, inclusive);
+    }
+
+    /**
+     * Returns a live view of the portion of this set from fromElement, inclusive, to toElement, exclusive.
+     *
+     * @param fromElement low endpoint of the view
+     * @param toElement high endpoint of the view
+     * @return a view of the portion of this set
+     */
+    // #### This code has been generated. Please do not make any changes here.
+    // #### Modify package 'de.jare.ndimcol.ref' and use 'GeneratePrimitiveJavaFiles'
+    public SortedSeasonSetViewFloat subSet(float fromElement, float toElement) {
+        return subSet(fromElement, true, toElement, false);
+    }
+
+    /**
+     * Returns a live view of the portion of this set whose elements are strictly less than toElement.
+     *
+     * @param toElement high endpoint of the view
+     * @return a view of the portion of this set
+     */
+    // #### This code has been generated. Please do not make any changes here.
+    // #### Modify package 'de.jare.ndimcol.ref' and use 'GeneratePrimitiveJavaFiles'
+    public SortedSeasonSetViewFloat headSet(float toElement) {
+        return headSet(toElement, false);
+    }
+
+    /**
+     * Returns a live view of the portion of this set whose elements are greater than or equal to fromElement.
+     *
+     * @param fromElement low endpoint of the view
+     * @return a view of the portion of this set
+     */
+    // #### This code has been generated. Please do not make any changes here.
+    // #### Modify package 'de.jare.ndimcol.ref' and use 'GeneratePrimitiveJavaFiles'
+    public SortedSeasonSetViewFloat tailSet(float fromElement) {
+        return tailSet(fromElement, true);
+    }
+
     /**
      * Remove the specified element from this set.
      *
@@ -430,17 +1049,308 @@ public class SortedSeasonSetFloat extends ArraySeasonFloat  {
      */
     // #### This code has been generated. Please do not make any changes here.
     // #### Modify package 'de.jare.ndimcol.ref' and use 'GeneratePrimitiveJavaFiles'
+    @SuppressWarnings("unchecked")
     public SortedSeasonSetFloat union(ArrayMovieFloat os) {
         SortedSeasonSetFloat set = new SortedSeasonSetFloat(predicate, ambiguity);
-        de.jare.ndimcol.ref.IterTapeWalker<ArrayMovieFloat> dataWalker = data.softWalker();
-        while (dataWalker.hasNext()) {
-            set.addMovie(dataWalker.next().cloneMovie());
+        // both are merged in linear time, the elements of this set are sorted already
+        set.bulkAdd(toArray(), size);
+        set.bulkAdd(os.toArray(), os.size());
+        return set;
+    }
+
+    /**
+     * Returns a new set with the elements of this set and the other set. Sets with the same predicate are merged in
+     * one pass, episodes in front of the next element of the other set are copied whole. Of equal elements the one of
+     * this set is kept.
+     *
+     * @param other the other set
+     * @return a new set with the elements of both sets
+     */
+    // #### This code has been generated. Please do not make any changes here.
+    // #### Modify package 'de.jare.ndimcol.ref' and use 'GeneratePrimitiveJavaFiles'
+    public SortedSeasonSetFloat union(SortedSeasonSetFloat other) {
+        if (!sameOrder(other)) {
+            return union((ArrayMovieFloat) other);
         }
-        IteratorWalkerFloat walker = os.softWalker();
-        while (walker.hasNext()) {
-            set.add(walker.next());
+        return merge(other, true, true, true, size + other.size);
+    }
+
+    /**
+     * Returns a new set with the elements of this set that are also in the other set. Sets with the same predicate are
+     * merged in one pass, episodes in front of the next element of the other set are skipped whole.
+     *
+     * @param other the other set
+     * @return a new set with the common elements
+     */
+    // #### This code has been generated. Please do not make any changes here.
+    // #### Modify package 'de.jare.ndimcol.ref' and use 'GeneratePrimitiveJavaFiles'
+    public SortedSeasonSetFloat intersect(SortedSeasonSetFloat other) {
+        if (!sameOrder(other)) {
+            return filter(other, true);
+        }
+        return merge(other, false, false, true, Math.min(size, other.size));
+    }
+
+    /**
+     * Returns a new set with the elements of this set that are not in the other set. Sets with the same predicate are
+     * merged in one pass, episodes in front of the next element of the other set are copied whole.
+     *
+     * @param other the other set
+     * @return a new set with the elements only in this set
+     */
+    // #### This code has been generated. Please do not make any changes here.
+    // #### Modify package 'de.jare.ndimcol.ref' and use 'GeneratePrimitiveJavaFiles'
+    public SortedSeasonSetFloat minus(SortedSeasonSetFloat other) {
+        if (!sameOrder(other)) {
+            return filter(other, false);
+        }
+        return merge(other, true, false, false, size);
+    }
+
+    /**
+     * Returns a new set with the elements that are in exactly one of both sets. Sets with the same predicate are merged
+     * in one pass, episodes in front of the next element of the other set are copied whole.
+     *
+     * @param other the other set
+     * @return a new set with the elements only in this set or only in the other set
+     */
+    // #### This code has been generated. Please do not make any changes here.
+    // #### Modify package 'de.jare.ndimcol.ref' and use 'GeneratePrimitiveJavaFiles'
+    public SortedSeasonSetFloat xor(SortedSeasonSetFloat other) {
+        if (!sameOrder(other)) {
+            return minus(other).union((ArrayMovieFloat) other.minus(this));
+        }
+        return merge(other, true, true, false, size + other.size);
+    }
+
+    private boolean sameOrder(SortedSeasonSetFloat other) {
+        return predicate.equals(other.predicate);
+    }
+
+    /**
+     * Returns a new set with the elements of this set that are contained or not contained in the other set, for sets
+     * of a different order.
+     */
+    // #### This code has been generated. Please do not make any changes here.
+    // #### Modify package 'de.jare.ndimcol.ref' and use 'GeneratePrimitiveJavaFiles'
+    @SuppressWarnings("unchecked")
+    private SortedSeasonSetFloat filter(SortedSeasonSetFloat other, boolean contained) {
+        final float[] kept = new float[size];
+        int count = 0;
+        for (Cursor cursor = new Cursor(this); cursor.episode != null; cursor.advance()) {
+            final float element = cursor.element();
+            if (other.contains(element) == contained) {
+                kept[count++] = element;
+            }
+        }
+        final SortedSeasonSetFloat result = new SortedSeasonSetFloat(predicate, ambiguity);
+        result.bulkAdd(kept, count);
+        return result;
+    }
+
+    /**
+     * Merges this set and the other set of the same order into a new set.
+     *
+     * @param other the other set
+     * @param onlyThis true to keep the elements only in this set
+     * @param onlyOther true to keep the elements only in the other set
+     * @param both true to keep the elements in both sets, the element of this set is taken
+     * @param estimate the expected size of the new set
+     * @return the new set
+     */
+    // #### This code has been generated. Please do not make any changes here.
+    // #### Modify package 'de.jare.ndimcol.ref' and use 'GeneratePrimitiveJavaFiles'
+    private SortedSeasonSetFloat merge(SortedSeasonSetFloat other, boolean onlyThis, boolean onlyOther, boolean both,
+            int estimate) {
+        final SortedSeasonSetFloat result = new SortedSeasonSetFloat(predicate, ambiguity);
+        final int target = result.episodeTarget(estimate);
+        final Cursor cursorA = new Cursor(this);
+        final Cursor cursorB = new Cursor(other);
+        final ArrayTapeFloat groupA = new ArrayTapeFloat();
+        final ArrayTapeFloat groupB = new ArrayTapeFloat();
+        while (cursorA.episode != null && cursorB.episode != null) {
+            final float elementA = cursorA.element();
+            final float elementB = cursorB.element();
+            if (predicate.test(elementA, elementB)) {
+                result.appendRun(cursorA, elementB, onlyThis, target);
+            } else if (predicate.test(elementB, elementA)) {
+                result.appendRun(cursorB, elementA, onlyOther, target);
+            } else {
+                // equal elements, with ambiguity there can be more than one on each side
+                groupA.clear();
+                groupB.clear();
+                while (cursorA.episode != null && !predicate.test(elementA, cursorA.element())) {
+                    groupA.add(cursorA.element());
+                    cursorA.advance();
+                }
+                while (cursorB.episode != null && !predicate.test(elementA, cursorB.element())) {
+                    groupB.add(cursorB.element());
+                    cursorB.advance();
+                }
+                for (int i = 0; i < groupA.size(); i++) {
+                    final float element = groupA.get(i);
+                    if (matches(element, groupB, true) ? both : onlyThis) {
+                        result.appendSorted(element, target);
+                    }
+                }
+                if (onlyOther) {
+                    for (int i = 0; i < groupB.size(); i++) {
+                        final float element = groupB.get(i);
+                        if (!matches(element, groupA, false)) {
+                            result.appendSorted(element, target);
+                        }
+                    }
+                }
+            }
+        }
+        result.appendRest(cursorA, onlyThis, target);
+        result.appendRest(cursorB, onlyOther, target);
+        result.updateCounter++;
+        result.deepChanged();
+        result.recalculateScope();
+        result.splitOrGlue();
+        return result;
+    }
+
+    /**
+     * Returns true if an element of the group is equal to the element. The element of the other set is tested against
+     * the element of this set, like add would test it.
+     */
+    // #### This code has been generated. Please do not make any changes here.
+    // #### Modify package 'de.jare.ndimcol.ref' and use 'GeneratePrimitiveJavaFiles'
+    private boolean matches(float element, ArrayTapeFloat group, boolean elementOfThis) {
+        if (ambiguity == null) {
+            return !group.isEmpty();
+        }
+        for (int i = 0; i < group.size(); i++) {
+            if (elementOfThis ? ambiguity.test(group.get(i), element) : ambiguity.test(element, group.get(i))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Appends or skips the elements of the cursor in front of the bound. Episodes that are completely in front of the
+     * bound are appended whole.
+     */
+    // #### This code has been generated. Please do not make any changes here.
+    // #### Modify package 'de.jare.ndimcol.ref' and use 'GeneratePrimitiveJavaFiles'
+    private void appendRun(Cursor cursor, float bound, boolean append, int target) {
+        while (cursor.episode != null) {
+            final ArrayMovieFloat episode = cursor.episode;
+            final int episodeSize = episode.size();
+            if (predicate.test(episode.last(), bound)) {
+                if (append) {
+                    appendRange(episode, cursor.index, episodeSize, target);
+                }
+                cursor.nextEpisode();
+            } else {
+                // the last element is not in front of the bound
+                int indexL = cursor.index;
+                int indexR = episodeSize - 1;
+                while (indexL < indexR) {
+                    final int indexM = (indexL + indexR) >>> 1;
+                    if (predicate.test(episode.get(indexM), bound)) {
+                        indexL = indexM + 1;
+                    } else {
+                        indexR = indexM;
+                    }
+                }
+                if (append) {
+                    appendRange(episode, cursor.index, indexL, target);
+                }
+                cursor.index = indexL;
+                return;
+            }
+        }
+    }
+
+    private void appendRest(Cursor cursor, boolean append, int target) {
+        if (append) {
+            while (cursor.episode != null) {
+                appendRange(cursor.episode, cursor.index, cursor.episode.size(), target);
+                cursor.nextEpisode();
+            }
+        }
+    }
+
+    /**
+     * Appends a range of the episode behind the last element of this set. A whole episode is copied at once.
+     */
+    // #### This code has been generated. Please do not make any changes here.
+    // #### Modify package 'de.jare.ndimcol.ref' and use 'GeneratePrimitiveJavaFiles'
+    private void appendRange(ArrayMovieFloat episode, int from, int to, int target) {
+        if (from > 0 || to < episode.size()) {
+            for (int i = from; i < to; i++) {
+                appendSorted(episode.get(i), target);
+            }
+            return;
+        }
+        final ArrayMovieFloat last = data.isEmpty() ? null : data.last();
+        if (last != null && last.size() + episode.size() <= target) {
+            last.addMovie(episode);
+        } else {
+            final ArrayMovieFloat copy = buildInnerMovie(size);
+            copy.addMovie(episode);
+            data.add(copy);
+        }
+        size += episode.size();
+    }
+
+    /**
+     * Appends the element behind the last element of this set. The caller has to update the counters and the episode
+     * index at the end.
+     */
+    // #### This code has been generated. Please do not make any changes here.
+    // #### Modify package 'de.jare.ndimcol.ref' and use 'GeneratePrimitiveJavaFiles'
+    private void appendSorted(float element, int target) {
+        ArrayMovieFloat last = data.isEmpty() ? null : data.last();
+        if (last == null || last.size() >= target) {
+            last = buildInnerMovie(size);
+            data.add(last);
+        }
+        last.add(element);
+        size++;
+    }
+
+    /**
+     * Position in the episodes of a set for the merge of two sets. Empty episodes are skipped.
+     */
+    // #### This code has been generated. Please do not make any changes here.
+    // #### Modify package 'de.jare.ndimcol.ref' and use 'GeneratePrimitiveJavaFiles'
+    private final class Cursor {
+
+        private final de.jare.ndimcol.ref.ArrayTape<ArrayMovieFloat> episodes;
+        private int episodeNo = -1;
+        private ArrayMovieFloat episode;
+        private int index;
+
+        Cursor(SortedSeasonSetFloat set) {
+            this.episodes = set.data;
+            nextEpisode();
+        }
+
+        void nextEpisode() {
+            episode = null;
+            index = 0;
+            while (++episodeNo < episodes.size()) {
+                if (!episodes.get(episodeNo).isEmpty()) {
+                    episode = episodes.get(episodeNo);
+                    return;
+                }
+            }
+        }
+
+        float element() {
+            return episode.get(index);
+        }
+
+        void advance() {
+            if (++index == episode.size()) {
+                nextEpisode();
+            }
         }
-        return set;
     }
 
 }
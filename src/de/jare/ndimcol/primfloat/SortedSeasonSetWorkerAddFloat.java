@@ -33,8 +33,9 @@ public class SortedSeasonSetWorkerAddFloat extends SortedSeasonSetWorkerFloat {
     boolean elementToSmallDo(final SortedSeasonSetFloat caller, final ArrayMovieFloat episode, final float element) {
         episode.addAt(0, element);
         caller.size++;
+        caller.workerChanged(episodeNo, episode, 0, 1);
         if (episode.size() > caller.maxEpisodeSize) {
-            caller.splitOrGlue();
+            caller.splitOrGlue(episodeNo);
         }
         return true;
     }
@@ -43,8 +44,9 @@ public class SortedSeasonSetWorkerAddFloat extends SortedSeasonSetWorkerFloat {
     boolean elementToBigDo(final SortedSeasonSetFloat caller, final ArrayMovieFloat episode, final float element) {
         episode.add(element);
         caller.size++;
+        caller.workerChanged(episodeNo, episode, episode.size() - 1, 1);
         if (episode.size() > caller.maxEpisodeSize) {
-            caller.splitOrGlue();
+            caller.splitOrGlue(episodeNo);
         }
         return true;
     }
@@ -53,8 +55,9 @@ public class SortedSeasonSetWorkerAddFloat extends SortedSeasonSetWorkerFloat {
     boolean elementPassedDo(final SortedSeasonSetFloat caller, final ArrayMovieFloat episode, final int index, final float element) {
         episode.addAt(index, element);
         caller.size++;
+        caller.workerChanged(episodeNo, episode, index, 1);
         if (episode.size() > caller.maxEpisodeSize) {
-            caller.splitOrGlue();
+            caller.splitOrGlue(episodeNo);
         }
         return true;
     }
@@ -19,6 +19,9 @@ import de.jare.ndimcol.ref.ArrayMovie;
     // #### Modify package 'de.jare.ndimcol.ref' and use 'GeneratePrimitiveJavaFiles'
 public abstract class SortedSeasonSetWorkerFloat {
 
+    // the number of the episode handed to this worker by the set
+    int episodeNo;
+
     boolean episodeDo(final SortedSeasonSetFloat caller, final ArrayMovieFloat episode, final float element) {
         return caller.workEpisode(this, episode, element);
     }
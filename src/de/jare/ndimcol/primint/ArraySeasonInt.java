@@ -12,9 +12,17 @@ package de.jare.ndimcol.primint;
 import static de.jare.ndimcol.RentenatusHashable._combine;
 import static de.jare.ndimcol.ref.HashStrategy._equals;
 import static de.jare.ndimcol.ref.HashStrategy._hashCode;
+import de.jare.ndimcol.BatchScope;
+import de.jare.ndimcol.EpisodeExecutor;
+import de.jare.ndimcol.EpisodeIndex;
 import java.io.PrintStream;
 import java.lang.reflect.Array;
 import java.util.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.BiFunction;
+import java.util.function.BinaryOperator;
 import java.util.function.IntConsumer;
 import java.util.function.IntConsumer;
 import java.util.function.IntPredicate;
@@ -44,8 +52,9 @@ public class ArraySeasonInt implements ArrayMovieInt {
     int midEpisodeSize;
     int minEpisodeGlue;
     int updateCounter;
-    private int lastAccumulatedSize = 0;
-    private ArrayMovieInt lastEpisode = null;
+    int batchDepth;
+    private final EpisodeIndex episodeIndex = new EpisodeIndex();
+    private EpisodeExecutor executor = EpisodeExecutor.COMMON_POOL;
     private IterSeasonWalkerInt softWalker;
 
     ArraySeasonInt(de.jare.ndimcol.ref.ArrayTape<ArrayMovieInt> data, int size) {
@@ -121,12 +130,14 @@ public class ArraySeasonInt implements ArrayMovieInt {
             nextFree.add(element); // add to empty episode need not be checked
             size++;
             this.updateCounter++;
+            episodeIndex.append(1);
             recalculateScope();
             return true;
         }
         episode.add(element);
         size++;
         this.updateCounter++;
+        episodeIndex.update(data.size() - 1, 1);
         return true;
     }
 
@@ -148,14 +159,16 @@ public class ArraySeasonInt implements ArrayMovieInt {
             }
             size++;
             nextFree.add(element); // add to empty episode need not be checked
+            this.episodeIndex.append(1);
         } else {
             ArrayMovieInt episode = data.get(episodeIndex);
             if (!episode.add(element)) {
                 return false;
             }
             size++;
+            this.episodeIndex.update(episodeIndex, 1);
             if (episode.size() > maxEpisodeSize) {
-                splitOrGlue();
+                splitOrGlue(episodeIndex);
             }
         }
         this.updateCounter++;
@@ -174,69 +187,25 @@ public class ArraySeasonInt implements ArrayMovieInt {
     // #### Modify package 'de.jare.ndimcol.ref' and use 'GeneratePrimitiveJavaFiles'
     @Override
     public boolean addAt(int index, int element) {
-        if (lastEpisode != null
-                && lastAccumulatedSize <= index
-                && index < lastAccumulatedSize + lastEpisode.size()) {
-            if (!lastEpisode.addAt(index - lastAccumulatedSize, element)) {
-                return false;
-            }
-            updateCounter++;
-            size++;
-            if (lastEpisode.size() >= maxEpisodeSize) {
-                splitOrGlue();
-            }
-            return true;
-        }
         if (index < 0 || index >= size) {
             throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size + ".");
         }
-        int accumulatedSize = 0;
-        final int dataSize = data.size();
-        {
-            final ArrayMovieInt episode = data.get(0);
-            int episodeSize = episode.size();
-            if (index < episodeSize) {
-                lastEpisode = null;
-                if (!episode.addAt(index, element)) {
-                    return false;
-                }
-                updateCounter++;
-                size++;
-                if (episode.size() >= midEpisodeSize && episode.pageSpaceLeft() <= 8) {
-                    splitOrGlue();
-                }
-                return true;
-            }
-            accumulatedSize = episodeSize;
+        final EpisodeIndex episodes = episodeIndex();
+        final int episodeNo = episodes.episodeAt(index);
+        final ArrayMovieInt episode = data.get(episodeNo);
+        if (!episode.addAt(index - episodes.offsetOf(episodeNo), element)) {
+            return false;
         }
-        for (int i = 1; i < dataSize; i++) {
-            final ArrayMovieInt episode = data.get(i);
-            int episodeSize = episode.size();
-            if (index < accumulatedSize + episodeSize) {
-                lastAccumulatedSize = accumulatedSize;
-                lastEpisode = episode;
-                if (!episode.addAt(index - lastAccumulatedSize, element)) {
-                    return false;
-                }
-                updateCounter++;
-                size++;
-                if (episode.size() >= midEpisodeSize && episode.pageSpaceLeft() <= 8) {
-                    splitOrGlue();
-                }
-                return true;
-            }
-            accumulatedSize += episodeSize;
+        updateCounter++;
+        size++;
+        episodes.update(episodeNo, 1);
+        episodeChanged(episode);
+        final int episodeSize = episode.size();
+        if (episodeSize >= maxEpisodeSize
+                || (episodeSize >= midEpisodeSize && episode.pageSpaceLeft() <= 8)) {
+            splitOrGlue(episodeNo);
         }
-        throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size + ".");
-
-//        IteratorWalker<T> walker = getWalkerAtIndex(index);
-//        if (walker.add(element)) {
-//            if (walker.size() > maxEpisodeSize) {
-//                splitOrGlue();
-//            }
-//            return true;
-//        }
-//        return false;
+        return true;
     }
 
     /**
@@ -287,6 +256,7 @@ public class ArraySeasonInt implements ArrayMovieInt {
         boolean modified = episode.addAll(col);
         size += col.size();
         this.updateCounter++;
+        episodeIndex.update(data.size() - 1, col.size());
         if (episode.size() > maxEpisodeSize) {
             splitOrGlue();
         }
@@ -311,7 +281,7 @@ public class ArraySeasonInt implements ArrayMovieInt {
         if (arr.length == 0) {
             return false;
         }
-        final ArrayTapeInt episode = new ArrayTapeInt(arr.length);
+        final ArrayMovieInt episode = buildInnerMovie(0);
         episode.addAll(arr);
         boolean modified = glueMovie(episode);
         if (episode.size() > maxEpisodeSize) {
@@ -330,7 +300,7 @@ public class ArraySeasonInt implements ArrayMovieInt {
     // #### Modify package 'de.jare.ndimcol.ref' and use 'GeneratePrimitiveJavaFiles'
     @Override
     public boolean addMovie(ArrayMovieInt movie) {
-        final ArrayTapeInt episode = new ArrayTapeInt(movie.size());
+        final ArrayMovieInt episode = buildInnerMovie(0);
         episode.addMovie(movie);
         boolean modified = glueMovie(episode);
         if (episode.size() > maxEpisodeSize) {
@@ -357,6 +327,7 @@ public class ArraySeasonInt implements ArrayMovieInt {
         episode.assimilateInto(data);
         size += episode.size();
         this.updateCounter++;
+        episodeIndex.invalidate();
         return true;
     }
 
@@ -456,16 +427,67 @@ public class ArraySeasonInt implements ArrayMovieInt {
     }
 
     /**
-     * Returns the element at the specified index in this collection.
+     * Returns the cumulative size index over the episodes. The index is rebuilt if a structural change like
+     * splitOrGlue has invalidated it or if it does not match the episodes anymore.
+     *
+     * @return the valid episode index of this season
+     */
+    // #### This code has been generated. Please do not make any changes here.
+    // #### Modify package 'de.jare.ndimcol.ref' and use 'GeneratePrimitiveJavaFiles'
+    EpisodeIndex episodeIndex() {
+        final int dataSize = data.size();
+        if (!episodeIndex.isValid(dataSize, size)) {
+            if (!mayRebuild()) {
+                throw new ConcurrentModificationException();
+            }
+            episodeIndex.reset(dataSize);
+            for (int i = 0; i < dataSize; i++) {
+                episodeIndex.put(i, data.get(i).size());
+            }
+            episodeIndex.build();
+        }
+        return episodeIndex;
+    }
+
+    /**
+     * Returns true if the current thread may rebuild the lazy indexes of this season. A concurrent season allows it
+     * only to the writing thread, readers must find the indexes prepared by {@link #prepareReads()}.
+     *
+     * @return true if the indexes may be rebuilt
+     */
+    // #### This code has been generated. Please do not make any changes here.
+    // #### Modify package 'de.jare.ndimcol.ref' and use 'GeneratePrimitiveJavaFiles'
+    boolean mayRebuild() {
+        return true;
+    }
+
+    /**
+     * Builds the lazy indexes of this season, so a following read does not change this season.
+     */
+    // #### This code has been generated. Please do not make any changes here.
+    // #### Modify package 'de.jare.ndimcol.ref' and use 'GeneratePrimitiveJavaFiles'
+    void prepareReads() {
+        episodeIndex();
+    }
+
+    /**
+     * Returns the element at the specified index in this collection. The element is read directly from its episode,
+     * no walker is created.
      *
      * @param index the index of the element to return
      * @return the element at the specified index in this collection
+     * @throws IndexOutOfBoundsException if the index is out of range (index &lt; 0 || index &gt;= size)
      */
     // #### This code has been generated. Please do not make any changes here.
     // #### Modify package 'de.jare.ndimcol.ref' and use 'GeneratePrimitiveJavaFiles'
     @Override
     public int get(int index) {
-        return getWalkerAtIndex(index).next();
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size + ".");
+        }
+        final EpisodeIndex episodes = episodeIndex();
+        final int episodeNo = episodes.episodeAt(index);
+        return data.get(episodeNo).get(index - episodes.offsetOf(episodeNo));
     }
 
     /**
@@ -513,6 +535,8 @@ public class ArraySeasonInt implements ArrayMovieInt {
             if (episode.remove(element)) {
                 size--;
                 updateCounter++;
+                episodeIndex.update(i, -1);
+                episodeChanged(episode);
                 return true;
             }
         }
@@ -529,63 +553,21 @@ public class ArraySeasonInt implements ArrayMovieInt {
     // #### Modify package 'de.jare.ndimcol.ref' and use 'GeneratePrimitiveJavaFiles'
     @Override
     public int removeAt(int index) {
-        if (lastEpisode != null
-                && lastAccumulatedSize <= index
-                && index < lastAccumulatedSize + lastEpisode.size()) {
-            int ret = lastEpisode.removeAt(index - lastAccumulatedSize);
-            updateCounter++;
-            size--;
-            if (lastEpisode.size() < minEpisodeGlue) {
-                splitOrGlue();
-            }
-            return ret;
-        }
         if (index < 0 || index >= size) {
             throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size + ".");
         }
-        int accumulatedSize = 0;
-        final int dataSize = data.size();
-        {
-            final ArrayMovieInt episode = data.get(0);
-            int episodeSize = episode.size();
-            if (index < episodeSize) {
-                lastEpisode = null;
-                int ret = episode.removeAt(index);
-                updateCounter++;
-                size--;
-                if (episode.size() < minEpisodeGlue) {
-                    splitOrGlue();
-                }
-                return ret;
-            }
-            accumulatedSize = episodeSize;
-        }
-        for (int i = 1; i < dataSize; i++) {
-            final ArrayMovieInt episode = data.get(i);
-            int episodeSize = episode.size();
-            if (index < accumulatedSize + episodeSize) {
-                lastAccumulatedSize = accumulatedSize;
-                lastEpisode = episode;
-                int ret = episode.removeAt(index - lastAccumulatedSize);
-                updateCounter++;
-                size--;
-                if (episode.size() < minEpisodeGlue) {
-                    splitOrGlue();
-                }
-                return ret;
-            }
-            accumulatedSize += episodeSize;
+        final EpisodeIndex episodes = episodeIndex();
+        final int episodeNo = episodes.episodeAt(index);
+        final ArrayMovieInt episode = data.get(episodeNo);
+        int ret = episode.removeAt(index - episodes.offsetOf(episodeNo));
+        updateCounter++;
+        size--;
+        episodes.update(episodeNo, -1);
+        episodeChanged(episode);
+        if (episode.size() < minEpisodeGlue) {
+            splitOrGlue(episodeNo);
         }
-        throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size + ".");
-
-//        IteratorWalker<T> walker = getWalkerAtIndex(index);
-//        // walker ist a CoverWalker, not a leaf walker
-//        // walker push observer.size--; and observer.updateCounter++;
-//        T removedElement = walker.removeBackward();
-//        if (walker.isEmpty()) {
-//            splitOrGlue();
-//        }
-//        return removedElement;
+        return ret;
     }
 
     /**
@@ -599,6 +581,10 @@ public class ArraySeasonInt implements ArrayMovieInt {
     // #### Modify package 'de.jare.ndimcol.ref' and use 'GeneratePrimitiveJavaFiles'
     @Override
     public void splitOrGlue() {
+        if (batchDepth > 0) {
+            dropEmptyEpisodes();
+            return;
+        }
         int lastSize = maxEpisodeSize;
         for (int i = 0; i < data.size(); i++) {
             ArrayMovieInt episode = data.get(i);
@@ -607,7 +593,6 @@ public class ArraySeasonInt implements ArrayMovieInt {
                 data.removeAt(i);
                 i--; // Move back to recheck the merged episode
             } else if (episodeSize > maxEpisodeSize) {
-                lastEpisode = null;
                 ArrayMovieInt newEpisode = episode.splitInHalf();
                 if (newEpisode == null) {
                     continue;
@@ -618,7 +603,6 @@ public class ArraySeasonInt implements ArrayMovieInt {
             } else if ((lastSize + episodeSize < minEpisodeGlue
                     || episodeSize < 8
                     || lastSize < 8) && i > 0) {
-                lastEpisode = null;
                 data.removeAt(i);
                 i--; // Move back to recheck the merged episode
                 final ArrayMovieInt prevEpisode = data.get(i);
@@ -629,9 +613,158 @@ public class ArraySeasonInt implements ArrayMovieInt {
                 episode.splitOrGlue();
             }
         }
+        episodeIndex.invalidate();
         recalculateScope();
     }
 
+    /**
+     * Splits or glues only the episode at the given number. An episode larger than the maximum size is split in half,
+     * an empty episode is removed and a small episode is glued to its previous or next episode by the rules of
+     * {@link #splitOrGlue()}. The other episodes are not visited and the episode index is shifted instead of rebuilt,
+     * so a single insertion or removal does not pay for all episodes.
+     *
+     * @param episodeNo the number of the changed episode
+     */
+    // #### This code has been generated. Please do not make any changes here.
+    // #### Modify package 'de.jare.ndimcol.ref' and use 'GeneratePrimitiveJavaFiles'
+    void splitOrGlue(int episodeNo) {
+        final ArrayMovieInt episode = data.get(episodeNo);
+        final int episodeSize = episode.size();
+        if (episodeSize == 0) {
+            data.removeAt(episodeNo);
+            episodeIndex.remove(episodeNo);
+            episodeRemoved(episodeNo);
+        } else if (batchDepth > 0) {
+            return;
+        } else if (episodeSize > maxEpisodeSize) {
+            final ArrayMovieInt newEpisode = episode.splitInHalf();
+            if (newEpisode == null) {
+                return;
+            }
+            data.addAt(episodeNo + 1, newEpisode);
+            episodeIndex.update(episodeNo, -newEpisode.size());
+            episodeIndex.insert(episodeNo + 1, newEpisode.size());
+            episodeInserted(episodeNo + 1);
+        } else if (episodeNo > 0 && isGlueable(data.get(episodeNo - 1).size(), episodeSize)) {
+            glueEpisodes(episodeNo - 1);
+        } else if (episodeNo + 1 < data.size() && isGlueable(episodeSize, data.get(episodeNo + 1).size())) {
+            glueEpisodes(episodeNo);
+        } else {
+            return;
+        }
+        recalculateScope();
+    }
+
+    /**
+     * Removes the empty episodes, the only rebalancing done inside a batch.
+     */
+    // #### This code has been generated. Please do not make any changes here.
+    // #### Modify package 'de.jare.ndimcol.ref' and use 'GeneratePrimitiveJavaFiles'
+    private void dropEmptyEpisodes() {
+        for (int i = data.size() - 1; i >= 0; i--) {
+            if (data.get(i).isEmpty()) {
+                data.removeAt(i);
+                episodeIndex.remove(i);
+                episodeRemoved(i);
+            }
+        }
+    }
+
+    /**
+     * Starts a batch of changes. Inside a batch, insertions and removals do not split or glue episodes, so episodes may
+     * grow past their limits; only empty episodes are dropped. Hashable seasons stop maintaining their hash. Batches
+     * can be nested, the outermost {@link #endBatch()} restores the limits. A snapshot rejects batches like any other
+     * change.
+     */
+    // #### This code has been generated. Please do not make any changes here.
+    // #### Modify package 'de.jare.ndimcol.ref' and use 'GeneratePrimitiveJavaFiles'
+    public void beginBatch() {
+        batchDepth++;
+    }
+
+    /**
+     * Ends a batch of changes. When the outermost batch ends, the episodes are split and glued until all of them are
+     * within their limits again.
+     *
+     * @throws IllegalStateException if no batch was started
+     */
+    // #### This code has been generated. Please do not make any changes here.
+    // #### Modify package 'de.jare.ndimcol.ref' and use 'GeneratePrimitiveJavaFiles'
+    public void endBatch() {
+        if (batchDepth == 0) {
+            throw new IllegalStateException("No batch to end.");
+        }
+        batchDepth--;
+        if (batchDepth == 0) {
+            do {
+                splitOrGlue();
+            } while (hasOversizedEpisode());
+        }
+    }
+
+    /**
+     * Returns true if a batch of changes is running.
+     *
+     * @return true between beginBatch and the matching endBatch
+     */
+    // #### This code has been generated. Please do not make any changes here.
+    // #### Modify package 'de.jare.ndimcol.ref' and use 'GeneratePrimitiveJavaFiles'
+    public boolean isInBatch() {
+        return batchDepth > 0;
+    }
+
+    /**
+     * Starts a batch of changes that is ended by closing the returned scope, see {@link #beginBatch()}. Closing the
+     * scope a second time has no effect.
+     *
+     * @return the scope to close at the end of the batch
+     */
+    // #### This code has been generated. Please do not make any changes here.
+    // #### Modify package 'de.jare.ndimcol.ref' and use 'GeneratePrimitiveJavaFiles'
+    public BatchScope batch() {
+        beginBatch();
+        return new BatchScope() {
+            private boolean closed = false;
+
+            @Override
+            public void close() {
+                if (!closed) {
+                    closed = true;
+                    endBatch();
+                }
+            }
+        };
+    }
+
+    private boolean hasOversizedEpisode() {
+        for (int i = 0; i < data.size(); i++) {
+            if (data.get(i).size() > maxEpisodeSize) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean isGlueable(int firstSize, int secondSize) {
+        return firstSize + secondSize < minEpisodeGlue || firstSize < 8 || secondSize < 8;
+    }
+
+    /**
+     * Glues the episode after the given episode to the given episode.
+     *
+     * @param episodeNo the number of the episode that takes the elements of its next episode
+     */
+    // #### This code has been generated. Please do not make any changes here.
+    // #### Modify package 'de.jare.ndimcol.ref' and use 'GeneratePrimitiveJavaFiles'
+    private void glueEpisodes(int episodeNo) {
+        final ArrayMovieInt second = data.removeAt(episodeNo + 1);
+        final int secondSize = second.size();
+        data.get(episodeNo).glueMovie(second);
+        episodeIndex.remove(episodeNo + 1);
+        episodeIndex.update(episodeNo, secondSize);
+        episodeRemoved(episodeNo + 1);
+    }
+
     /**
      * Recalculates the maximum episode size and minimum episode glue size based on the current number of episodes in
      * this collection.
@@ -645,6 +778,31 @@ public class ArraySeasonInt implements ArrayMovieInt {
         midEpisodeSize = maxEpisodeSize - ArrayTapeInt.DEFAULT_PAGE;
     }
 
+    /**
+     * Returns an episode size for appending the given number of elements in full episodes. The size stays below the
+     * maximum episode size of the season with these episodes, so a following {@link #splitOrGlue()} does not split
+     * them again.
+     *
+     * @param moreElements the number of elements to append
+     * @return the episode size
+     */
+    // #### This code has been generated. Please do not make any changes here.
+    // #### Modify package 'de.jare.ndimcol.ref' and use 'GeneratePrimitiveJavaFiles'
+    int fillEpisodeSize(long moreElements) {
+        int low = Math.max(midEpisodeSize, 1);
+        int high = (int) Math.max(low, Math.min(moreElements, Integer.MAX_VALUE - 8));
+        while (low < high) {
+            final int mid = low + ((high - low + 1) >>> 1);
+            final long episodes = data.size() + (moreElements + mid - 1) / mid;
+            if (mid <= screenplay.getMaxEpisodeSize((int) episodes) - ArrayTapeInt.DEFAULT_PAGE) {
+                low = mid;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return low;
+    }
+
     /**
      * Returns the index of the first free episode in this collection.If no free episode is found, it returns -1. Free
      * movies are those that have a size less than the maximum episode size.
@@ -672,23 +830,13 @@ public class ArraySeasonInt implements ArrayMovieInt {
     // #### This code has been generated. Please do not make any changes here.
     // #### Modify package 'de.jare.ndimcol.ref' and use 'GeneratePrimitiveJavaFiles'
     protected IteratorWalkerInt getWalkerAtIndex(int index) {
-        if (lastEpisode != null
-                && lastAccumulatedSize <= index
-                && index < lastAccumulatedSize + lastEpisode.size()) {
-            return new IterCoverWalkerInt(this, lastEpisode.leafWalker(index - lastAccumulatedSize));
-        }
-        int accumulatedSize = 0;
-        for (int i = 0; i < data.size(); i++) {
-            final ArrayMovieInt episode = data.get(i);
-            int episodeSize = episode.size();
-            if (index < accumulatedSize + episodeSize) {
-                lastAccumulatedSize = accumulatedSize;
-                lastEpisode = episode;
-                return new IterCoverWalkerInt(this, episode.leafWalker(index - accumulatedSize));
-            }
-            accumulatedSize += episodeSize;
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size + ".");
         }
-        throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size + ".");
+        final EpisodeIndex episodes = episodeIndex();
+        final int episodeNo = episodes.episodeAt(index);
+        final ArrayMovieInt episode = data.get(episodeNo);
+        return new IterCoverWalkerInt(this, episode.leafWalker(index - episodes.offsetOf(episodeNo)));
     }
 
     /**
@@ -856,6 +1004,113 @@ public class ArraySeasonInt implements ArrayMovieInt {
         };
     }
 
+    /**
+     * Returns a spliterator over the elements of this season. It reports ORDERED, SIZED and SUBSIZED. The ranges of
+     * episodes are split in halves; a single episode is split by its own spliterator, so nested seasons of a 3d
+     * screenplay are split on their episodes as well.
+     *
+     * @return a spliterator over the elements of this season
+     */
+    // #### This code has been generated. Please do not make any changes here.
+    // #### Modify package 'de.jare.ndimcol.ref' and use 'GeneratePrimitiveJavaFiles'
+    @Override
+     public Spliterator.OfInt spliterator() {
+        return new SeasonSpliterator(episodeIndex(), 0, data.size(), updateCounter);
+    }
+
+    /**
+     * Spliterator over the episodes from episode (inclusive) to fence (exclusive) of the season. The episode in
+     * progress is held as its own spliterator. The episode index is only read, so the parts can be split and traversed
+     * by different threads.
+     */
+    // #### This code has been generated. Please do not make any changes here.
+    // #### Modify package 'de.jare.ndimcol.ref' and use 'GeneratePrimitiveJavaFiles'
+     final class SeasonSpliterator implements Spliterator.OfInt {
+
+        private final EpisodeIndex episodes;
+        private int episode;
+        private final int fence;
+         private Spliterator.OfInt current;
+        private final int expectedUpdateCounter;
+
+        SeasonSpliterator(EpisodeIndex episodes, int origin, int fence, int expectedUpdateCounter) {
+            this.episodes = episodes;
+            this.episode = origin;
+            this.fence = fence;
+            this.expectedUpdateCounter = expectedUpdateCounter;
+        }
+
+        @Override
+         public Spliterator.OfInt trySplit() {
+            if (current == null) {
+                if (fence - episode >= 2) {
+                    final int mid = (episode + fence) >>> 1;
+                    final int origin = episode;
+                    episode = mid;
+                    return new SeasonSpliterator(episodes, origin, mid, expectedUpdateCounter);
+                }
+                if (episode == fence) {
+                    return null;
+                }
+                current = data.get(episode++).spliterator();
+            } else if (episode < fence) {
+                // the episode in progress is the prefix of the remaining episodes
+                 final Spliterator.OfInt prefix = current;
+                current = null;
+                return prefix;
+            }
+            return current.trySplit();
+        }
+
+        @Override
+         public boolean tryAdvance(java.util.function.IntConsumer action) {
+            if (action == null) {
+                throw new NullPointerException("Action cannot be null.");
+            }
+            while (current == null || !current.tryAdvance(action)) {
+                if (episode >= fence) {
+                    current = null;
+                    checkUpdateCounter();
+                    return false;
+                }
+                current = data.get(episode++).spliterator();
+            }
+            return true;
+        }
+
+        @Override
+         public void forEachRemaining(java.util.function.IntConsumer action) {
+            if (action == null) {
+                throw new NullPointerException("Action cannot be null.");
+            }
+            if (current != null) {
+                current.forEachRemaining(action);
+                current = null;
+            }
+            while (episode < fence) {
+                data.get(episode++).spliterator().forEachRemaining(action);
+            }
+            checkUpdateCounter();
+        }
+
+        @Override
+        public long estimateSize() {
+            final long rest = (long) episodes.offsetOf(fence) - episodes.offsetOf(episode);
+            return current == null ? rest : rest + current.estimateSize();
+        }
+
+        @Override
+        public int characteristics() {
+            return Spliterator.ORDERED | Spliterator.SIZED | Spliterator.SUBSIZED;
+        }
+
+        private void checkUpdateCounter() {
+            if (expectedUpdateCounter != updateCounter) {
+                throw new ConcurrentModificationException("ArraySeasson was modified during iteration.");
+            }
+        }
+    }
+
     /**
      * Returns an array containing all elements in this collection.
      *
@@ -969,6 +1224,25 @@ public class ArraySeasonInt implements ArrayMovieInt {
         return new ArraySeasonInt(screenplay);
     }
 
+    /**
+     * Returns a read-only snapshot of this season. The snapshot takes a snapshot of each episode, so it costs one step
+     * per episode and no element is copied. After the snapshot, this season copies an episode the first time it writes
+     * into it, all untouched episodes stay shared.
+     *
+     * @return a read-only season with the current elements of this season
+     */
+    // #### This code has been generated. Please do not make any changes here.
+    // #### Modify package 'de.jare.ndimcol.ref' and use 'GeneratePrimitiveJavaFiles'
+    @Override
+    public ArraySeasonInt snapshot() {
+        final int count = data.size();
+        final de.jare.ndimcol.ref.ArrayTape<ArrayMovieInt> episodes = data.emptyMovie(count);
+        for (int i = 0; i < count; i++) {
+            episodes.add(data.get(i).snapshot());
+        }
+        return new ArraySeasonSnapshotInt(screenplay, episodes, size);
+    }
+
     @Override
     public boolean containsAll(Collection<?> col) {
         if (col == null) {
@@ -987,15 +1261,8 @@ public class ArraySeasonInt implements ArrayMovieInt {
         if (col == null) {
             throw new NullPointerException("Collection cannot be null.");
         }
-        boolean modified = false;
-        for (Object ob : col) {
-            if (ob instanceof Integer) {
-                while (remove((int) ob)) {
-                    modified = true;
-                }
-            }
-        }
-        return modified;
+         final int[] keys = ArrayTapeInt.sortedKeys(col);
+         return removeIf(element -> ArrayTapeInt.containsKey(keys, element));
     }
 
     @Override
@@ -1006,18 +1273,51 @@ public class ArraySeasonInt implements ArrayMovieInt {
         if (col.isEmpty()) {
             clear();
             return true;
+        }
+         final int[] keys = ArrayTapeInt.sortedKeys(col);
+         return removeIf(element -> !ArrayTapeInt.containsKey(keys, element));
+    }
+
+    /**
+     * Removes all elements of this season that match the given predicate. Every episode is compacted in a single pass,
+     * then the emptied and small episodes are dropped or glued in one rebalance.
+     *
+     * @param filter the predicate which returns true for the elements to be removed
+     * @return true if any elements were removed
+     */
+    // #### This code has been generated. Please do not make any changes here.
+    // #### Modify package 'de.jare.ndimcol.ref' and use 'GeneratePrimitiveJavaFiles'
+    @Override
+    public boolean removeIf(IntPredicate filter) {
+        if (filter == null) {
+            throw new NullPointerException("Predicate cannot be null.");
         }
         int accumulatedSize = 0;
         boolean modified = false;
-        for (int i = 0; i < data.size(); i++) {
-            final ArrayMovieInt episode = data.get(i);
-            if (episode.retainAll(col)) {
+        int i = 0;
+        try {
+            for (; i < data.size(); i++) {
+                final ArrayMovieInt episode = data.get(i);
+                if (episode.removeIf(filter)) {
+                    modified = true;
+                }
+                accumulatedSize += episode.size();
+            }
+        } finally {
+            if (i < data.size()) {
+                // the predicate has thrown, the episodes visited so far are compacted already
                 modified = true;
+                for (; i < data.size(); i++) {
+                    accumulatedSize += data.get(i).size();
+                }
+            }
+            if (modified) {
+                size = accumulatedSize;
+                this.updateCounter++;
+                episodeIndex.invalidate();
+                splitOrGlue();
             }
-            accumulatedSize += episode.size();
         }
-        size = accumulatedSize;
-        this.updateCounter++;
         return modified;
     }
 
@@ -1026,8 +1326,7 @@ public class ArraySeasonInt implements ArrayMovieInt {
         data = new de.jare.ndimcol.ref.ArrayTape<>(screenplay.getDefaultSize());
         size = 0;
         this.updateCounter++;
-        lastAccumulatedSize = 0;
-        lastEpisode = null;
+        episodeIndex.invalidate();
     }
 
     /**
@@ -1036,13 +1335,58 @@ public class ArraySeasonInt implements ArrayMovieInt {
     // #### This code has been generated. Please do not make any changes here.
     // #### Modify package 'de.jare.ndimcol.ref' and use 'GeneratePrimitiveJavaFiles'
     void deepChanged() {
-        //NoOp
+        episodeIndex.invalidate();
     }
 
     void replaced(int index, int ret, int element) {
         //NoOp
     }
 
+    /**
+     * Here the season is informed that the content of a single episode has been changed by this season.
+     *
+     * @param episode the changed episode
+     */
+    // #### This code has been generated. Please do not make any changes here.
+    // #### Modify package 'de.jare.ndimcol.ref' and use 'GeneratePrimitiveJavaFiles'
+    void episodeChanged(ArrayMovieInt episode) {
+        //NoOp
+    }
+
+    /**
+     * Here the season is informed that the size of a single episode has been changed by delta from outside.
+     *
+     * @param episodeNo the number of the changed episode
+     * @param delta the change of the size
+     */
+    // #### This code has been generated. Please do not make any changes here.
+    // #### Modify package 'de.jare.ndimcol.ref' and use 'GeneratePrimitiveJavaFiles'
+    void episodeResized(int episodeNo, int delta) {
+        episodeIndex.update(episodeNo, delta);
+    }
+
+    /**
+     * Here the season is informed that a new episode was inserted by {@link #splitOrGlue(int)}.
+     *
+     * @param episodeNo the number of the new episode
+     */
+    // #### This code has been generated. Please do not make any changes here.
+    // #### Modify package 'de.jare.ndimcol.ref' and use 'GeneratePrimitiveJavaFiles'
+    void episodeInserted(int episodeNo) {
+        //NoOp
+    }
+
+    /**
+     * Here the season is informed that an episode was removed by {@link #splitOrGlue(int)}.
+     *
+     * @param episodeNo the former number of the removed episode
+     */
+    // #### This code has been generated. Please do not make any changes here.
+    // #### Modify package 'de.jare.ndimcol.ref' and use 'GeneratePrimitiveJavaFiles'
+    void episodeRemoved(int episodeNo) {
+        //NoOp
+    }
+
     /**
      * Splits this season into two. This season contains the first half of the elements, and the second season contains
      * the second half of the elements. Half is to be understood colloquially; it is not guaranteed that the size of
@@ -1057,8 +1401,7 @@ public class ArraySeasonInt implements ArrayMovieInt {
         if (data.isEmpty()) {
             return null;
         }
-        lastEpisode = null;
-        lastAccumulatedSize = 0;
+        episodeIndex.invalidate();
         this.updateCounter++;
         ArraySeasonInt ret = emptyMovie((size >> 1) + screenplay.getDefaultSize());
         ret.screenplay = screenplay;
@@ -1082,6 +1425,7 @@ public class ArraySeasonInt implements ArrayMovieInt {
     }
 
     protected void updateSize() {
+        deepChanged();
         int oldSize = size;
         size = 0;
         for (int i = 0; i < data.size(); i++) {
@@ -1177,7 +1521,7 @@ public class ArraySeasonInt implements ArrayMovieInt {
         ArraySeasonInt ret = emptyMovie(data.size() << 3);
         de.jare.ndimcol.ref.IterTapeWalker<ArrayMovieInt> walker = data.walker();
         while (walker.hasNext()) {
-            ArrayMovieInt elements = walker.next();
+            ArrayMovieInt elements = walker.next().filterAll(predicate);
             if (elements.hasRecord()) {
                 ret.data.add(elements);
             }
@@ -1287,36 +1631,385 @@ public class ArraySeasonInt implements ArrayMovieInt {
         }
     }
 
+    /**
+     * Performs a reduction on the elements in the order of the season, starting with the identity value.
+     *
+     * @param identity the identity value for the combiner
+     * @param accumulator function adding one element to a partial result
+     * @param combiner function combining two partial results
+     * @return the result of the reduction
+     */
+    // #### This code has been generated. Please do not make any changes here.
+    // #### Modify package 'de.jare.ndimcol.ref' and use 'GeneratePrimitiveJavaFiles'
+    @Override
+    public <U> U reduce(U identity, BiFunction<U, ? super Integer, U> accumulator, BinaryOperator<U> combiner) {
+        U result = identity;
+        for (int i = 0; i < data.size(); i++) {
+            result = data.get(i).reduce(result, accumulator, combiner);
+        }
+        return result;
+    }
+
+    /**
+     * Returns true if any element matches the predicate. The search stops at the first hit.
+     *
+     * @param predicate the predicate to be used for the search
+     * @return true if at least one element matches
+     */
+    // #### This code has been generated. Please do not make any changes here.
+    // #### Modify package 'de.jare.ndimcol.ref' and use 'GeneratePrimitiveJavaFiles'
+    @Override
+    public boolean anyMatch(IntPredicate predicate) {
+        for (int i = 0; i < data.size(); i++) {
+            if (data.get(i).anyMatch(predicate)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public int min() {
+        if (size == 0) {
+            throw new IndexOutOfBoundsException("Season is empty.");
+        }
+        int min = first();
+        for (int i = 0; i < data.size(); i++) {
+            ArrayMovieInt episode = data.get(i);
+            if (episode.hasRecord()) {
+                min = Math.min(min, episode.min());
+            }
+        }
+        return min;
+    }
+
+    @Override
+    public int max() {
+        if (size == 0) {
+            throw new IndexOutOfBoundsException("Season is empty.");
+        }
+        int max = first();
+        for (int i = 0; i < data.size(); i++) {
+            ArrayMovieInt episode = data.get(i);
+            if (episode.hasRecord()) {
+                max = Math.max(max, episode.max());
+            }
+        }
+        return max;
+    }
+
+    @Override
+    public long sum() {
+        long sum = 0;
+        for (int i = 0; i < data.size(); i++) {
+            sum += data.get(i).sum();
+        }
+        return sum;
+    }
+
+    @Override
+    public ArrayMovieInt filterRange(int low, int high) {
+        ArraySeasonInt ret = emptyMovie(data.size() << 3);
+        for (int i = 0; i < data.size(); i++) {
+            ArrayMovieInt elements = data.get(i).filterRange(low, high);
+            if (elements.hasRecord()) {
+                ret.data.add(elements);
+            }
+        }
+        ret.updateSize();
+        return ret;
+    }
+
+    /**
+     * Returns the executor used by the parallel operations of this season.
+     *
+     * @return the executor, by default {@link EpisodeExecutor#COMMON_POOL}
+     */
+    // #### This code has been generated. Please do not make any changes here.
+    // #### Modify package 'de.jare.ndimcol.ref' and use 'GeneratePrimitiveJavaFiles'
+    public EpisodeExecutor getExecutor() {
+        return executor;
+    }
+
+    /**
+     * Sets the executor used by the parallel operations of this season.
+     *
+     * @param executor the executor running the ranges of episodes
+     */
+    // #### This code has been generated. Please do not make any changes here.
+    // #### Modify package 'de.jare.ndimcol.ref' and use 'GeneratePrimitiveJavaFiles'
+    public void setExecutor(EpisodeExecutor executor) {
+        if (executor == null) {
+            throw new NullPointerException("Executor cannot be null.");
+        }
+        this.executor = executor;
+    }
+
+    /**
+     * Performs the given action for each element. The episodes are processed in parallel by the executor of this
+     * season, so the order of the actions is not defined and the action has to be thread-safe.
+     *
+     * @param action The action to be performed for each element
+     * @throws NullPointerException if the specified action is null
+     */
+    // #### This code has been generated. Please do not make any changes here.
+    // #### Modify package 'de.jare.ndimcol.ref' and use 'GeneratePrimitiveJavaFiles'
+    @Override
+    public void parallelForEach(IntConsumer action) {
+        if (action == null) {
+            throw new NullPointerException("Action cannot be null.");
+        }
+        executor.run(data.size(), (fromEpisode, toEpisode) -> {
+            for (int i = fromEpisode; i < toEpisode; i++) {
+                data.get(i).forEach(action);
+            }
+        });
+    }
+
+    /**
+     * Executes the given action for each element that satisfies the predicate. The episodes are processed in parallel
+     * by the executor of this season, so the order of the actions is not defined and the action has to be thread-safe.
+     *
+     * @param predicate The condition to test each element against
+     * @param thenAction The action to perform on each element that satisfies the predicate
+     * @throws NullPointerException if {@code predicate} or {@code action} is {@code null}
+     */
+    // #### This code has been generated. Please do not make any changes here.
+    // #### Modify package 'de.jare.ndimcol.ref' and use 'GeneratePrimitiveJavaFiles'
+    @Override
+    public void parallelForEach(IntPredicate predicate, IntConsumer thenAction) {
+        if (predicate == null) {
+            throw new NullPointerException("Predicate cannot be null.");
+        }
+        executor.run(data.size(), (fromEpisode, toEpisode) -> {
+            for (int i = fromEpisode; i < toEpisode; i++) {
+                data.get(i).forEach(predicate, thenAction);
+            }
+        });
+    }
+
+    /**
+     * Executes the given actions for each element that satisfies the predicate. The index action receives the index of
+     * the element in this season plus startOffset. The episodes are processed in parallel by the executor of this
+     * season, so the order of the actions is not defined and the actions have to be thread-safe.
+     *
+     * @param predicate The condition to test each element against
+     * @param thenActionOrNull The action to perform on each element that satisfies the predicate
+     * @param startOffset index offset
+     * @param thenIndexActionOrNull The action to perform on index thus element
+     * @throws NullPointerException if {@code predicate} is {@code null}
+     */
+    // #### This code has been generated. Please do not make any changes here.
+    // #### Modify package 'de.jare.ndimcol.ref' and use 'GeneratePrimitiveJavaFiles'
+    @Override
+    public void parallelForEach(IntPredicate predicate, IntConsumer thenActionOrNull,
+            int startOffset, IntConsumer thenIndexActionOrNull) {
+        if (predicate == null) {
+            throw new NullPointerException("Predicate cannot be null.");
+        }
+        final EpisodeIndex episodes = episodeIndex();
+        executor.run(data.size(), (fromEpisode, toEpisode) -> {
+            int offset = startOffset + episodes.offsetOf(fromEpisode);
+            for (int i = fromEpisode; i < toEpisode; i++) {
+                final ArrayMovieInt episode = data.get(i);
+                episode.forEach(predicate, thenActionOrNull, offset, thenIndexActionOrNull);
+                offset += episode.size();
+            }
+        });
+    }
+
+    /**
+     * Executes one of the given actions for each element, depending on the result of the predicate. The episodes are
+     * processed in parallel by the executor of this season, so the order of the actions is not defined and the actions
+     * have to be thread-safe.
+     *
+     * @param predicate The condition to test each element against
+     * @param thenAction The action to perform on elements that satisfy the predicate
+     * @param elseAction The action to perform on elements that do not satisfy the predicate
+     * @throws NullPointerException if {@code predicate}, {@code thenAction}, or {@code elseAction} is {@code null}
+     */
+    // #### This code has been generated. Please do not make any changes here.
+    // #### Modify package 'de.jare.ndimcol.ref' and use 'GeneratePrimitiveJavaFiles'
+    @Override
+    public void parallelForEach(IntPredicate predicate,
+            IntConsumer thenAction, IntConsumer elseAction) {
+        if (predicate == null) {
+            throw new NullPointerException("Predicate cannot be null.");
+        }
+        executor.run(data.size(), (fromEpisode, toEpisode) -> {
+            for (int i = fromEpisode; i < toEpisode; i++) {
+                data.get(i).forEach(predicate, thenAction, elseAction);
+            }
+        });
+    }
+
+    /**
+     * Performs a reduction on the elements. Each range of episodes is reduced by one task of the executor of this
+     * season, the partial results are combined in the order of the episodes.
+     *
+     * @param identity the identity value for the combiner
+     * @param accumulator function adding one element to a partial result
+     * @param combiner function combining two partial results
+     * @return the result of the reduction
+     */
+    // #### This code has been generated. Please do not make any changes here.
+    // #### Modify package 'de.jare.ndimcol.ref' and use 'GeneratePrimitiveJavaFiles'
+    @Override
+    public <U> U parallelReduce(U identity, BiFunction<U, ? super Integer, U> accumulator, BinaryOperator<U> combiner) {
+        if (accumulator == null || combiner == null) {
+            throw new NullPointerException("Accumulator and combiner cannot be null.");
+        }
+        final int dataSize = data.size();
+        final AtomicReferenceArray<U> partial = new AtomicReferenceArray<>(dataSize);
+        final boolean[] reduced = new boolean[dataSize];
+        executor.run(dataSize, (fromEpisode, toEpisode) -> {
+            U result = identity;
+            for (int i = fromEpisode; i < toEpisode; i++) {
+                result = data.get(i).reduce(result, accumulator, combiner);
+            }
+            partial.set(fromEpisode, result);
+            reduced[fromEpisode] = true;
+        });
+        U result = identity;
+        for (int i = 0; i < dataSize; i++) {
+            if (reduced[i]) {
+                result = combiner.apply(result, partial.get(i));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns true if any element matches the predicate. The episodes are searched in parallel by the executor of this
+     * season; all tasks stop as soon as one hit is found.
+     *
+     * @param predicate the predicate to be used for the search
+     * @return true if at least one element matches
+     */
+    // #### This code has been generated. Please do not make any changes here.
+    // #### Modify package 'de.jare.ndimcol.ref' and use 'GeneratePrimitiveJavaFiles'
+    @Override
+    public boolean parallelAnyMatch(IntPredicate predicate) {
+        if (predicate == null) {
+            throw new NullPointerException("Predicate cannot be null.");
+        }
+        final AtomicBoolean found = new AtomicBoolean();
+        executor.run(data.size(), (fromEpisode, toEpisode) -> {
+            for (int i = fromEpisode; i < toEpisode && !found.get(); i++) {
+                if (data.get(i).anyMatch(predicate)) {
+                    found.set(true);
+                }
+            }
+        });
+        return found.get();
+    }
+
+    /**
+     * Returns the index of the first occurrence of the specified element, or -1 if the element is not found. The
+     * episodes are searched in parallel by the executor of this season. A task stops as soon as an episode before its
+     * current episode has a hit.
+     *
+     * @param element the element to search for
+     * @return the index of the first occurrence of the specified element, or -1 if the element is not found
+     */
+    // #### This code has been generated. Please do not make any changes here.
+    // #### Modify package 'de.jare.ndimcol.ref' and use 'GeneratePrimitiveJavaFiles'
+    @Override
+    public int parallelIndexOf(int element) {
+        final int dataSize = data.size();
+        final AtomicInteger firstEpisode = new AtomicInteger(dataSize);
+        final int[] hits = new int[dataSize];
+        executor.run(dataSize, (fromEpisode, toEpisode) -> {
+            for (int i = fromEpisode; i < toEpisode && i < firstEpisode.get(); i++) {
+                final int hit = data.get(i).indexOf(element);
+                if (hit >= 0) {
+                    hits[i] = hit;
+                    firstEpisode.accumulateAndGet(i, Math::min);
+                    return;
+                }
+            }
+        });
+        final int episode = firstEpisode.get();
+        if (episode == dataSize) {
+            return -1;
+        }
+        return episodeIndex().offsetOf(episode) + hits[episode];
+    }
+
+    /**
+     * Returns the index of the last occurrence of the specified element, or -1 if the element is not found. The
+     * episodes are searched backwards in parallel by the executor of this season. A task stops as soon as an episode
+     * after its current episode has a hit.
+     *
+     * @param element the element to search for
+     * @return the index of the last occurrence of the specified element, or -1 if the element is not found
+     */
+    // #### This code has been generated. Please do not make any changes here.
+    // #### Modify package 'de.jare.ndimcol.ref' and use 'GeneratePrimitiveJavaFiles'
+    @Override
+    public int parallelLastIndexOf(int element) {
+        final int dataSize = data.size();
+        final AtomicInteger lastEpisode = new AtomicInteger(-1);
+        final int[] hits = new int[dataSize];
+        executor.run(dataSize, (fromEpisode, toEpisode) -> {
+            for (int i = toEpisode - 1; i >= fromEpisode && i > lastEpisode.get(); i--) {
+                final int hit = data.get(i).lastIndexOf(element);
+                if (hit >= 0) {
+                    hits[i] = hit;
+                    lastEpisode.accumulateAndGet(i, Math::max);
+                    return;
+                }
+            }
+        });
+        final int episode = lastEpisode.get();
+        if (episode < 0) {
+            return -1;
+        }
+        return episodeIndex().offsetOf(episode) + hits[episode];
+    }
+
     /**
      * Return a new movie containing all elements that match the given predicate.
      * <p>
-     * This method uses multiple threads to filter the elements in parallel.
+     * The episodes are filtered in parallel by the executor of this season.
      *
      * @param predicate the predicate to be used for the filter
      * @return a new movie containing all elements that match the given predicate
      */
     // #### This code has been generated. Please do not make any changes here.
     // #### Modify package 'de.jare.ndimcol.ref' and use 'GeneratePrimitiveJavaFiles'
-    @SuppressWarnings("unchecked")
     public ArrayMovieInt filterParallel(IntPredicate predicate) {
-        Thread[] threads = new Thread[data.size()];
-        Runnable[] tasks = new Runnable[data.size()];
-        for (int i = 0; i < data.size(); i++) {
-            tasks[i] = new PredicateAllRunnableInt(predicate, data.get(i));
-            threads[i] = new Thread(tasks[i]);
-            threads[i].start();
+        return filterParallel(predicate, executor);
+    }
+
+    /**
+     * Return a new movie containing all elements that match the given predicate.
+     * <p>
+     * The episodes are split into ranges which are filtered in parallel by the given executor. The results are
+     * concatenated in the order of the episodes.
+     *
+     * @param predicate the predicate to be used for the filter
+     * @param executor the executor running the ranges
+     * @return a new movie containing all elements that match the given predicate
+     */
+    // #### This code has been generated. Please do not make any changes here.
+    // #### Modify package 'de.jare.ndimcol.ref' and use 'GeneratePrimitiveJavaFiles'
+    @SuppressWarnings("unchecked")
+    public ArrayMovieInt filterParallel(IntPredicate predicate, EpisodeExecutor executor) {
+        if (predicate == null) {
+            throw new NullPointerException("Predicate cannot be null.");
         }
-        ArraySeasonInt ret = emptyMovie(data.size() << 3);
-        for (int i = 0; i < data.size(); i++) {
-            try {
-                threads[i].join();
-                ArrayMovieInt elements = ((PredicateAllRunnableInt) tasks[i]).getElements();
-                if (elements.hasRecord()) {
-                    ret.data.add(elements);
-                }
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
-                throw new RuntimeException("Thread interrupted.", e);
+        final int dataSize = data.size();
+        final ArrayMovieInt[] parts = new ArrayMovieInt[dataSize];
+        executor.run(dataSize, (fromEpisode, toEpisode) -> {
+            for (int i = fromEpisode; i < toEpisode; i++) {
+                parts[i] = data.get(i).filterAll(predicate);
+            }
+        });
+        ArraySeasonInt ret = emptyMovie(dataSize << 3);
+        for (ArrayMovieInt part : parts) {
+            if (part.hasRecord()) {
+                ret.data.add(part);
             }
         }
         ret.updateSize();
@@ -11,6 +11,7 @@ package de.jare.ndimcol.primint;
 
 import java.util.Collection;
 import java.util.List;
+import java.util.function.IntPredicate;
 import de.jare.ndimcol.RentenatusHashable;
 
 /**
@@ -276,6 +277,15 @@ public class ArrayTapeHashableInt extends ArrayTapeInt implements RentenatusHash
         return ret;
     }
 
+    @Override
+    public boolean removeIf(IntPredicate filter) {
+        boolean ret = super.removeIf(filter);
+        if (ret) {
+            hashComputed = false;
+        }
+        return ret;
+    }
+
     @Override
     protected int removeFast(int index) {
         hashComputed = false;
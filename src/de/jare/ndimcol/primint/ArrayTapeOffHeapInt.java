@@ -0,0 +1,1001 @@
+/**
+ * <copyright>
+ * Copyright (c) 2025, Janusch Rentenatus. This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v2.0 which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ * </copyright>
+ */
+package de.jare.ndimcol.primint;
+
+import static de.jare.ndimcol.RentenatusHashable._combine;
+import static de.jare.ndimcol.ref.HashStrategy._hashCode;
+import de.jare.ndimcol.OffHeapArena;
+import java.io.PrintStream;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.util.Collection;
+import java.util.ConcurrentModificationException;
+import java.util.Spliterator;
+import java.util.function.BiFunction;
+import java.util.function.BinaryOperator;
+import java.util.function.IntConsumer;
+import java.util.function.IntPredicate;
+/**
+ * A tape of primitive {@code int} values held off-heap in memory of an {@link OffHeapArena}. It is used like an
+ * {@link ArrayTapeInt}, the walkers and all methods of {@link ArrayMovieInt} work unchanged. Episodes split from or
+ * created by this tape are allocated from the same arena.
+ * <p>
+ * The tape lives until it or its arena is closed. After that every access to the elements throws an
+ * IllegalStateException.
+ *
+ * @author Janusch Rentenatus
+ */
+public final class ArrayTapeOffHeapInt implements ArrayMovieInt, OffHeapArena.Resident {
+
+    private final OffHeapArena arena;
+    private ByteBuffer memory;
+    private IntBuffer elementData;
+    private int size;
+    private int updateCounter;
+
+    /**
+     * Constructs an empty tape with the default capacity.
+     *
+     * @param arena the arena holding the memory of this tape
+     */
+    public ArrayTapeOffHeapInt(OffHeapArena arena) {
+        this(arena, ArrayTapeInt.DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Constructs an empty tape with the given capacity.
+     *
+     * @param arena the arena holding the memory of this tape
+     * @param initialCapacityOrZero the initial capacity, or zero for the default capacity
+     */
+    public ArrayTapeOffHeapInt(OffHeapArena arena, int initialCapacityOrZero) {
+        this.arena = arena;
+        this.elementData = allocate(initialCapacityOrZero > 0 ? initialCapacityOrZero : ArrayTapeInt.DEFAULT_CAPACITY);
+        this.size = 0;
+        this.updateCounter = 0;
+        arena.register(this);
+    }
+
+    /**
+     * Constructs a tape on memory allocated by the arena before, for example on an episode of a file mapped again. The
+     * first elements of the memory are the elements of the tape, the tape frees the memory when it is closed.
+     *
+     * @param arena the arena holding the memory of this tape
+     * @param memory memory of the arena in native byte order
+     * @param size the number of elements already in the memory
+     */
+    ArrayTapeOffHeapInt(OffHeapArena arena, ByteBuffer memory, int size) {
+        if (size < 0 || size > memory.capacity() / Integer.BYTES) {
+            throw new IndexOutOfBoundsException("Size: " + size + ", Capacity: " + memory.capacity() / Integer.BYTES + ".");
+        }
+        this.arena = arena;
+        this.memory = memory;
+        this.elementData = memory.asIntBuffer();
+        this.size = size;
+        this.updateCounter = 0;
+        arena.register(this);
+    }
+
+    private IntBuffer allocate(int capacity) {
+        memory = arena.allocate(capacity * Integer.BYTES);
+        return memory.asIntBuffer();
+    }
+
+    private IntBuffer live() {
+        final IntBuffer buffer = elementData;
+        if (buffer == null) {
+            throw new IllegalStateException("Tape is closed.");
+        }
+        return buffer;
+    }
+
+    private void grow(int minCapacity) {
+        final IntBuffer buffer = live();
+        if (buffer.capacity() < minCapacity) {
+            final ByteBuffer oldMemory = memory;
+            final IntBuffer newBuffer = allocate(minCapacity + ArrayTapeInt.DEFAULT_PAGE + (size >> 2));
+            newBuffer.put(0, buffer, 0, size);
+            elementData = newBuffer;
+            arena.free(oldMemory);
+        }
+    }
+
+    /**
+     * Returns the arena holding the memory of this tape.
+     *
+     * @return the arena
+     */
+    public OffHeapArena getArena() {
+        return arena;
+    }
+
+    /**
+     * Returns the memory of the arena holding the elements of this tape. It changes when the tape grows and is freed
+     * when the tape is closed, so it is only handed to the writers of this package and never kept.
+     *
+     * @return the memory of this tape
+     * @throws IllegalStateException if this tape is closed
+     */
+    ByteBuffer getMemory() {
+        live();
+        return memory;
+    }
+
+    /**
+     * Returns the number of times this tape has been updated.
+     *
+     * @return the update counter
+     */
+    public int getUpdateCounter() {
+        return updateCounter;
+    }
+
+    /**
+     * Returns {@code true} if this tape is not closed.
+     *
+     * @return {@code true} if this tape is not closed
+     */
+    public boolean isAlive() {
+        return elementData != null;
+    }
+
+    /**
+     * Closes this tape and frees its memory. Closing a closed tape has no effect. The tape must not be closed while
+     * another thread works on it.
+     */
+    @Override
+    public void close() {
+        final ByteBuffer oldMemory = memory;
+        memory = null;
+        elementData = null;
+        updateCounter++;
+        if (oldMemory != null) {
+            arena.free(oldMemory);
+        }
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public boolean hasRecord() {
+        return size > 0;
+    }
+
+    @Override
+    public int get(int index) {
+        if (index >= size || index < 0) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size + ".");
+        }
+        return live().get(index);
+    }
+
+    @Override
+    public int first() {
+        if (size == 0) {
+            throw new IndexOutOfBoundsException("Tape is empty.");
+        }
+        return live().get(0);
+    }
+
+    @Override
+    public int last() {
+        if (size == 0) {
+            throw new IndexOutOfBoundsException("Tape is empty.");
+        }
+        return live().get(size - 1);
+    }
+
+    public int set(int index, int element) {
+        if (index >= size || index < 0) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size + ".");
+        }
+        final IntBuffer buffer = live();
+        final int oldValue = buffer.get(index);
+        buffer.put(index, element);
+        updateCounter++;
+        return oldValue;
+    }
+
+    @Override
+    public boolean add(int element) {
+        grow(size + 1);
+        elementData.put(size++, element);
+        updateCounter++;
+        return true;
+    }
+
+    @Override
+    public boolean addAt(int index, int element) {
+        if (index < 0 || index > size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size + ".");
+        }
+        grow(size + 1);
+        elementData.put(index + 1, elementData, index, size - index);
+        elementData.put(index, element);
+        size++;
+        updateCounter++;
+        return true;
+    }
+
+    @Override
+    public boolean addAll(Collection<? extends Integer> col) {
+        if (col == null) {
+            throw new NullPointerException("Collection cannot be null.");
+        }
+        if (col.isEmpty()) {
+            return false;
+        }
+        grow(size + col.size());
+        for (int element : col) {
+            add(element);
+        }
+        return true;
+    }
+
+    public boolean addAll(int index, Collection<? extends Integer> col) {
+        if (col == null) {
+            throw new NullPointerException("Collection cannot be null.");
+        }
+        if (col.isEmpty()) {
+            return false;
+        }
+        if (index < 0 || index > size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size + ".");
+        }
+        // the collection is copied first, so the tail is moved only once
+        final int[] arr = new int[col.size()];
+        int i = 0;
+        for (int element : col) {
+            arr[i++] = element;
+        }
+        grow(size + arr.length);
+        elementData.put(index + arr.length, elementData, index, size - index);
+        elementData.put(index, arr);
+        size += arr.length;
+        updateCounter++;
+        return true;
+    }
+
+    @Override
+    public boolean addAll(int[] arr) {
+        if (arr == null) {
+            throw new NullPointerException("Array cannot be null.");
+        }
+        if (arr.length == 0) {
+            return false;
+        }
+        grow(size + arr.length);
+        elementData.put(size, arr);
+        size += arr.length;
+        updateCounter++;
+        return true;
+    }
+
+    @Override
+    public boolean addMovie(ArrayMovieInt movie) {
+        if (movie.isEmpty()) {
+            return false;
+        }
+        final int movieSize = movie.size();
+        grow(size + movieSize);
+        if (movie instanceof ArrayTapeOffHeapInt tape) {
+            elementData.put(size, tape.live(), 0, movieSize);
+        } else {
+            elementData.put(size, movie.toArray());
+        }
+        size += movieSize;
+        updateCounter++;
+        return true;
+    }
+
+    @Override
+    public boolean glueMovie(ArrayMovieInt movie) {
+        return addMovie(movie);
+    }
+
+    @Override
+    public void assimilateInto(de.jare.ndimcol.ref.ArrayTape<ArrayMovieInt> othersData) {
+        othersData.add(this);
+    }
+
+    @Override
+    public int removeAt(int index) {
+        if (index >= size || index < 0) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size + ".");
+        }
+        final IntBuffer buffer = live();
+        final int ret = buffer.get(index);
+        buffer.put(index, buffer, index + 1, size - index - 1);
+        size--;
+        updateCounter++;
+        return ret;
+    }
+
+    @Override
+    public boolean remove(int element) {
+        final int index = indexOf(element);
+        if (index < 0) {
+            return false;
+        }
+        removeAt(index);
+        return true;
+    }
+
+    @Override
+    public boolean removeIf(IntPredicate filter) {
+        if (filter == null) {
+            throw new NullPointerException("Predicate cannot be null.");
+        }
+        final IntBuffer buffer = live();
+        final int startUpdateCounter = updateCounter;
+        int kept = 0;
+        int i = 0;
+        try {
+            for (; i < size; i++) {
+                final int element = buffer.get(i);
+                if (!filter.test(element)) {
+                    buffer.put(kept++, element);
+                }
+            }
+        } finally {
+            if (i < size) {
+                // the predicate has thrown, the untested elements stay
+                buffer.put(kept, buffer, i, size - i);
+                kept += size - i;
+            }
+        }
+        if (startUpdateCounter != updateCounter) {
+            throw new ConcurrentModificationException("ArrayTape was modified during iteration.");
+        }
+        if (kept == size) {
+            return false;
+        }
+        size = kept;
+        updateCounter++;
+        return true;
+    }
+
+    @Override
+    public boolean removeAll(Collection<?> col) {
+        if (col == null) {
+            throw new NullPointerException("Collection cannot be null.");
+        }
+        final int[] keys = ArrayTapeInt.sortedKeys(col);
+        return removeIf(element -> ArrayTapeInt.containsKey(keys, element));
+    }
+
+    @Override
+    public boolean retainAll(Collection<?> col) {
+        if (col == null) {
+            throw new NullPointerException("Collection cannot be null.");
+        }
+        if (col.isEmpty()) {
+            clear();
+            return false;
+        }
+        final int[] keys = ArrayTapeInt.sortedKeys(col);
+        return removeIf(element -> !ArrayTapeInt.containsKey(keys, element));
+    }
+
+    @Override
+    public void clear() {
+        live();
+        size = 0;
+        updateCounter++;
+    }
+
+    @Override
+    public int indexOf(int element) {
+        final IntBuffer buffer = live();
+        for (int i = 0; i < size; i++) {
+            if (buffer.get(i) == element) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public int lastIndexOf(int element) {
+        final IntBuffer buffer = live();
+        for (int i = size - 1; i >= 0; i--) {
+            if (buffer.get(i) == element) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public boolean contains(int element) {
+        return indexOf(element) > -1;
+    }
+
+    @Override
+    public boolean containsAll(Collection<?> col) {
+        if (col == null) {
+            throw new NullPointerException("Collection cannot be null.");
+        }
+        for (Object element : col) {
+            if (!(element instanceof Integer key) || indexOf(key) == -1) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public void copyToArray(int[] array, int offset) {
+        if (array == null) {
+            throw new NullPointerException("Target array cannot be null.");
+        }
+        if (offset < 0 || offset + size > array.length) {
+            throw new IndexOutOfBoundsException("Offset out of bounds: " + offset + ".");
+        }
+        live().get(0, array, offset, size);
+    }
+
+    @Override
+    public int[] toArray() {
+        final int[] ret = new int[size];
+        live().get(0, ret, 0, size);
+        return ret;
+    }
+
+    @Override
+    public int[] toArray(int[] arr) {
+        if (arr.length < size) {
+            return toArray();
+        }
+        live().get(0, arr, 0, size);
+        return arr;
+    }
+
+    @Override
+    public ArrayTapeOffHeapInt splitInHalf() {
+        if (size <= 1) {
+            return null;
+        }
+        final int halfSize = size / 2;
+        final ArrayTapeOffHeapInt newTape = emptyMovie(size - halfSize + ArrayTapeInt.DEFAULT_PAGE);
+        newTape.elementData.put(0, live(), halfSize, size - halfSize);
+        newTape.size = size - halfSize;
+        size = halfSize;
+        updateCounter++;
+        return newTape;
+    }
+
+    @Override
+    public void splitOrGlue() {
+        // NoOp
+    }
+
+    @Override
+    public ArrayMovieInt subMovie(int fromIndex, int toIndex) {
+        if (fromIndex >= size || fromIndex < 0) {
+            throw new IndexOutOfBoundsException("fromIndex: " + fromIndex + ", Size: " + size + ".");
+        }
+        if (toIndex > size || toIndex <= 0) {
+            throw new IndexOutOfBoundsException("toIndex: " + toIndex + ", Size: " + size + ".");
+        }
+        if (fromIndex > toIndex) {
+            throw new IndexOutOfBoundsException("fromIndex: " + fromIndex + ", toIndex: " + toIndex + ".");
+        }
+        final int newSize = toIndex - fromIndex;
+        final ArrayTapeOffHeapInt subMovie = emptyMovie(newSize);
+        subMovie.elementData.put(0, live(), fromIndex, newSize);
+        subMovie.size = newSize;
+        return subMovie;
+    }
+
+    @Override
+    public ArrayTapeOffHeapInt emptyMovie(int initialCapacityOrZero) {
+        return new ArrayTapeOffHeapInt(arena, initialCapacityOrZero);
+    }
+
+    @Override
+    public int debug(PrintStream out, String prefix, int offset) {
+        final IntBuffer buffer = live();
+        for (int i = 0; i < size; i++) {
+            out.println(prefix + "o[" + i + "] =[" + (offset + i) + "]= '" + buffer.get(i) + "'");
+        }
+        return offset + size;
+    }
+
+    @Override
+    public int pageSpaceLeft() {
+        return live().capacity() - size;
+    }
+
+    @Override
+    public IteratorWalkerInt softWalker() {
+        return new Walker(0);
+    }
+
+    @Override
+    public IteratorWalkerInt softWalkerBackwards() {
+        return new Walker(0).goLast();
+    }
+
+    @Override
+    public IteratorWalkerInt leafWalker(int atIndex) {
+        return new Walker(atIndex);
+    }
+
+    @Override
+    public IteratorInt iterator() {
+        return new IteratorInt() {
+            private final int expectedUpdateCounter = updateCounter;
+            private int currentIndex = 0;
+
+            @Override
+            public boolean hasNext() {
+                return currentIndex < size;
+            }
+
+            @Override
+            public int next() {
+                if (!hasNext()) {
+                    throw new IndexOutOfBoundsException("No more elements in the tape.");
+                }
+                if (expectedUpdateCounter != updateCounter) {
+                    throw new ConcurrentModificationException("ArrayTape was modified during iteration.");
+                }
+                return live().get(currentIndex++);
+            }
+
+            @Override
+            public void remove() {
+                throw new UnsupportedOperationException();
+            }
+        };
+    }
+
+    @Override
+    public Spliterator.OfInt spliterator() {
+        return new TapeSpliterator(0, size, updateCounter);
+    }
+
+    final class TapeSpliterator implements Spliterator.OfInt {
+
+        private int index;
+        private final int fence;
+        private final int expectedUpdateCounter;
+
+        TapeSpliterator(int origin, int fence, int expectedUpdateCounter) {
+            this.index = origin;
+            this.fence = fence;
+            this.expectedUpdateCounter = expectedUpdateCounter;
+        }
+
+        @Override
+        public TapeSpliterator trySplit() {
+            final int mid = (index + fence) >>> 1;
+            if (mid <= index) {
+                return null;
+            }
+            final TapeSpliterator prefix = new TapeSpliterator(index, mid, expectedUpdateCounter);
+            index = mid;
+            return prefix;
+        }
+
+        @Override
+        public boolean tryAdvance(java.util.function.IntConsumer action) {
+            if (action == null) {
+                throw new NullPointerException("Action cannot be null.");
+            }
+            if (index >= fence) {
+                return false;
+            }
+            action.accept(live().get(index++));
+            if (expectedUpdateCounter != updateCounter) {
+                throw new ConcurrentModificationException("ArrayTape was modified during iteration.");
+            }
+            return true;
+        }
+
+        @Override
+        public void forEachRemaining(java.util.function.IntConsumer action) {
+            if (action == null) {
+                throw new NullPointerException("Action cannot be null.");
+            }
+            final IntBuffer buffer = live();
+            for (int i = index; i < fence; i++) {
+                action.accept(buffer.get(i));
+            }
+            index = fence;
+            if (expectedUpdateCounter != updateCounter) {
+                throw new ConcurrentModificationException("ArrayTape was modified during iteration.");
+            }
+        }
+
+        @Override
+        public long estimateSize() {
+            return fence - index;
+        }
+
+        @Override
+        public int characteristics() {
+            return Spliterator.ORDERED | Spliterator.SIZED | Spliterator.SUBSIZED;
+        }
+    }
+
+    @Override
+    public IteratorWalkerInt filterFirst(IntPredicate predicate) {
+        if (predicate == null) {
+            throw new NullPointerException("Predicate cannot be null.");
+        }
+        final IntBuffer buffer = live();
+        final int startUpdateCounter = updateCounter;
+        for (int i = 0; i < size; i++) {
+            if (predicate.test(buffer.get(i))) {
+                if (startUpdateCounter != updateCounter) {
+                    throw new ConcurrentModificationException("ArrayTape was modified during iteration.");
+                }
+                return new Walker(i);
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public IteratorWalkerInt filterLast(IntPredicate predicate) {
+        if (predicate == null) {
+            throw new NullPointerException("Predicate cannot be null.");
+        }
+        final IntBuffer buffer = live();
+        final int startUpdateCounter = updateCounter;
+        for (int i = size - 1; i >= 0; i--) {
+            if (predicate.test(buffer.get(i))) {
+                if (startUpdateCounter != updateCounter) {
+                    throw new ConcurrentModificationException("ArrayTape was modified during iteration.");
+                }
+                return new Walker(i);
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public ArrayMovieInt filterAll(IntPredicate predicate) {
+        if (predicate == null) {
+            throw new NullPointerException("Predicate cannot be null.");
+        }
+        final IntBuffer buffer = live();
+        final int startUpdateCounter = updateCounter;
+        final ArrayMovieInt ret = emptyMovie(size >> 4);
+        for (int i = 0; i < size; i++) {
+            final int element = buffer.get(i);
+            if (predicate.test(element)) {
+                ret.add(element);
+            }
+        }
+        if (startUpdateCounter != updateCounter) {
+            throw new ConcurrentModificationException("ArrayTape was modified during iteration.");
+        }
+        return ret;
+    }
+
+    @Override
+    public de.jare.ndimcol.primint.ArrayMovieInt filterAllIndexes(IntPredicate predicate) {
+        if (predicate == null) {
+            throw new NullPointerException("Predicate cannot be null.");
+        }
+        final IntBuffer buffer = live();
+        final int startUpdateCounter = updateCounter;
+        final de.jare.ndimcol.primint.ArrayMovieInt ret = new de.jare.ndimcol.primint.ArrayTapeInt();
+        for (int i = 0; i < size; i++) {
+            if (predicate.test(buffer.get(i))) {
+                ret.add(i);
+            }
+        }
+        if (startUpdateCounter != updateCounter) {
+            throw new ConcurrentModificationException("ArrayTape was modified during iteration.");
+        }
+        return ret;
+    }
+
+    @Override
+    public void forEach(IntConsumer action) {
+        final IntBuffer buffer = live();
+        final int startUpdateCounter = updateCounter;
+        for (int i = 0; i < size; i++) {
+            action.accept(buffer.get(i));
+        }
+        if (startUpdateCounter != updateCounter) {
+            throw new ConcurrentModificationException("ArrayTape was modified during iteration.");
+        }
+    }
+
+    @Override
+    public void forEach(IntPredicate predicate, IntConsumer thenAction) {
+        forEach(predicate, thenAction, 0, null);
+    }
+
+    @Override
+    public void forEach(IntPredicate predicate, IntConsumer thenActionOrNull,
+            int offset, IntConsumer thenIndexActionOrNull) {
+        if (predicate == null) {
+            throw new NullPointerException("Predicate cannot be null.");
+        }
+        final IntBuffer buffer = live();
+        final int startUpdateCounter = updateCounter;
+        for (int i = 0; i < size; i++) {
+            final int element = buffer.get(i);
+            if (predicate.test(element)) {
+                if (thenActionOrNull != null) {
+                    thenActionOrNull.accept(element);
+                }
+                if (thenIndexActionOrNull != null) {
+                    thenIndexActionOrNull.accept(i + offset);
+                }
+            }
+        }
+        if (startUpdateCounter != updateCounter) {
+            throw new ConcurrentModificationException("ArrayTape was modified during iteration.");
+        }
+    }
+
+    @Override
+    public void forEach(IntPredicate predicate,
+            IntConsumer thenAction, IntConsumer elseAction) {
+        if (predicate == null) {
+            throw new NullPointerException("Predicate cannot be null.");
+        }
+        final IntBuffer buffer = live();
+        final int startUpdateCounter = updateCounter;
+        for (int i = 0; i < size; i++) {
+            final int element = buffer.get(i);
+            if (predicate.test(element)) {
+                thenAction.accept(element);
+            } else {
+                elseAction.accept(element);
+            }
+        }
+        if (startUpdateCounter != updateCounter) {
+            throw new ConcurrentModificationException("ArrayTape was modified during iteration.");
+        }
+    }
+
+    @Override
+    public <U> U reduce(U identity, BiFunction<U, ? super Integer, U> accumulator, BinaryOperator<U> combiner) {
+        final IntBuffer buffer = live();
+        final int startUpdateCounter = updateCounter;
+        U result = identity;
+        for (int i = 0; i < size; i++) {
+            result = accumulator.apply(result, buffer.get(i));
+        }
+        if (startUpdateCounter != updateCounter) {
+            throw new ConcurrentModificationException("ArrayTape was modified during iteration.");
+        }
+        return result;
+    }
+
+    @Override
+    public int min() {
+        if (size == 0) {
+            throw new IndexOutOfBoundsException("Tape is empty.");
+        }
+        final IntBuffer buffer = live();
+        int min = buffer.get(0);
+        for (int i = 1; i < size; i++) {
+            min = Math.min(min, buffer.get(i));
+        }
+        return min;
+    }
+
+    @Override
+    public int max() {
+        if (size == 0) {
+            throw new IndexOutOfBoundsException("Tape is empty.");
+        }
+        final IntBuffer buffer = live();
+        int max = buffer.get(0);
+        for (int i = 1; i < size; i++) {
+            max = Math.max(max, buffer.get(i));
+        }
+        return max;
+    }
+
+    @Override
+    public long sum() {
+        final IntBuffer buffer = live();
+        long sum = 0;
+        for (int i = 0; i < size; i++) {
+            sum += buffer.get(i);
+        }
+        return sum;
+    }
+
+    @Override
+    public ArrayTapeOffHeapInt filterRange(int low, int high) {
+        final IntBuffer buffer = live();
+        final ArrayTapeOffHeapInt ret = emptyMovie(size);
+        int count = 0;
+        for (int i = 0; i < size; i++) {
+            final int value = buffer.get(i);
+            if (value >= low && value <= high) {
+                ret.elementData.put(count++, value);
+            }
+        }
+        ret.size = count;
+        return ret;
+    }
+
+    @Override
+    public boolean equals(Object ob) {
+        if (!(ob instanceof ArrayMovieInt movie)) {
+            return false;
+        }
+        if (size != movie.size()) {
+            return false;
+        }
+        final IntBuffer buffer = live();
+        final IteratorWalkerInt walker = movie.softWalker();
+        for (int i = 0; i < size; i++) {
+            if (buffer.get(i) != walker.next()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        final IntBuffer buffer = live();
+        int hashCode = 0;
+        for (int i = 0; i < size; i++) {
+            hashCode = _combine(hashCode, _hashCode(buffer.get(i)));
+        }
+        return hashCode;
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + "[size=" + size + (isAlive() ? "" : ", closed") + "]";
+    }
+
+    /**
+     * A walker over this tape. It reads and writes through the methods of the tape, so it fails in the same way once
+     * the tape is closed.
+     */
+    final class Walker implements IteratorWalkerInt {
+
+        private int currentIndex;
+        private boolean forward;
+
+        Walker(int atIndex) {
+            this.currentIndex = atIndex;
+            this.forward = true;
+        }
+
+        @Override
+        public ArrayMovieInt getRelatedMovie() {
+            return ArrayTapeOffHeapInt.this;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return currentIndex < size;
+        }
+
+        @Override
+        public int next() {
+            if (!hasNext()) {
+                throw new IndexOutOfBoundsException("No more elements in the tape.");
+            }
+            forward = true;
+            return get(currentIndex++);
+        }
+
+        @Override
+        public boolean hasPrevious() {
+            return currentIndex > 0;
+        }
+
+        @Override
+        public int previous() {
+            if (!hasPrevious()) {
+                throw new IndexOutOfBoundsException("No previous elements in the tape.");
+            }
+            forward = false;
+            return get(--currentIndex);
+        }
+
+        @Override
+        public boolean add(int element) {
+            return addAt(currentIndex, element);
+        }
+
+        @Override
+        public boolean add(Collection<? extends Integer> col) {
+            return addAll(currentIndex, col);
+        }
+
+        @Override
+        public int set(int element) {
+            return ArrayTapeOffHeapInt.this.set(currentIndex, element);
+        }
+
+        @Override
+        public int removeForward() {
+            return removeAt(--currentIndex);
+        }
+
+        @Override
+        public int removeBackward() {
+            return removeAt(currentIndex);
+        }
+
+        @Override
+        public int remove() {
+            return forward ? removeForward() : removeBackward();
+        }
+
+        @Override
+        public Walker goFirst() {
+            currentIndex = 0;
+            forward = true;
+            return this;
+        }
+
+        @Override
+        public Walker goLast() {
+            currentIndex = size;
+            forward = false;
+            return this;
+        }
+
+        @Override
+        public Walker gotoIndex(int index, boolean headForward) {
+            if (index < 0 || index >= size) {
+                throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size + ".");
+            }
+            forward = headForward;
+            currentIndex = headForward ? index : index + 1;
+            return this;
+        }
+
+        @Override
+        public Walker goLeafIndex(int index) {
+            if (index < 0 || index >= size) {
+                throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size + ".");
+            }
+            currentIndex = index;
+            return this;
+        }
+
+        @Override
+        public int getCurrentIndex() {
+            return currentIndex;
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return size == 0;
+        }
+
+        @Override
+        public boolean hasRecord() {
+            return size > 0;
+        }
+    }
+}
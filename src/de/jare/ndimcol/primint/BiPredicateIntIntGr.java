@@ -13,6 +13,8 @@ package de.jare.ndimcol.primint;
  */
 public class BiPredicateIntIntGr implements BiPredicateIntInt {
 
+    public final static BiPredicateIntIntGr INSTANCE = new BiPredicateIntIntGr();
+
     /**
      * Evaluates this predicate e2 greater as e1.
      *
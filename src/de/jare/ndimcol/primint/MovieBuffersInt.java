@@ -0,0 +1,243 @@
+/**
+ * <copyright>
+ * Copyright (c) 2025, Janusch Rentenatus. This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v2.0 which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ * </copyright>
+ */
+package de.jare.ndimcol.primint;
+
+import de.jare.ndimcol.ref.MovieFormat;
+import java.io.IOException;
+import java.nio.BufferOverflowException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.util.ArrayList;
+
+/**
+ * Bulk copies between movies or matrices of int values and NIO buffers or channels. Every episode is copied with one
+ * bulk operation instead of a copy through {@code toArray()}. The memory of an {@link ArrayTapeOffHeapInt} goes to a
+ * channel without a copy on little-endian platforms.
+ * <p>
+ * Channels carry the raw values in little-endian order without a header; {@link MovieFormatInt} writes a format that
+ * knows its size and kind.
+ *
+ * @author Janusch Rentenatus
+ */
+public final class MovieBuffersInt {
+
+    private MovieBuffersInt() {
+    }
+
+    /**
+     * Copies the values of the movie to the buffer, starting at its position.
+     *
+     * @param movie the movie
+     * @param buffer the buffer
+     * @throws BufferOverflowException if the buffer has not enough space
+     */
+    public static void copyTo(ArrayMovieInt movie, IntBuffer buffer) {
+        if (buffer.remaining() < movie.size()) {
+            throw new BufferOverflowException();
+        }
+        final ArrayList<ArrayMovieInt> episodes = new ArrayList<>();
+        MovieFormatInt.collectEpisodes(movie, episodes);
+        for (ArrayMovieInt episode : episodes) {
+            if (episode instanceof ArrayTapeInt tape) {
+                buffer.put(tape.getBufferData(), 0, tape.size());
+            } else if (episode instanceof ArrayTapeOffHeapInt offHeap) {
+                buffer.put(offHeap.getMemory().asIntBuffer().limit(offHeap.size()));
+            } else {
+                buffer.put(episode.toArray());
+            }
+        }
+    }
+
+    /**
+     * Copies the values of the matrix row by row to the buffer, starting at its position.
+     *
+     * @param matrix the matrix
+     * @param buffer the buffer
+     * @throws BufferOverflowException if the buffer has not enough space
+     */
+    public static void copyTo(ArrayMatrixInt matrix, IntBuffer buffer) {
+        copyTo(matrix.cover, buffer);
+    }
+
+    /**
+     * Returns a new season with the remaining values of the buffer. The position of the buffer is moved to its limit.
+     *
+     * @param buffer the buffer
+     * @return a new season
+     */
+    public static ArraySeasonInt wrap(IntBuffer buffer) {
+        return wrapInto(new ArraySeasonInt(), buffer);
+    }
+
+    /**
+     * Appends the remaining values of the buffer to the season in episodes of a size the season keeps. For a sorted
+     * set, the values must be sorted and come after the values of the set.
+     *
+     * @param <S> the type of the season
+     * @param season the season
+     * @param buffer the buffer
+     * @return the season
+     */
+    public static <S extends ArraySeasonInt> S wrapInto(S season, IntBuffer buffer) {
+        final int episodeSize = season.fillEpisodeSize(buffer.remaining());
+        while (buffer.hasRemaining()) {
+            final int[] values = new int[Math.min(episodeSize, buffer.remaining())];
+            buffer.get(values);
+            final ArrayTapeInt episode = new ArrayTapeInt(0);
+            episode.setBufferData(values);
+            season.glueMovie(episode);
+        }
+        season.recalculateScope();
+        season.splitOrGlue();
+        return season;
+    }
+
+    /**
+     * Returns a new matrix with values of the buffer, row by row. The position of the buffer is moved by
+     * {@code cols * rows}.
+     *
+     * @param cols number of columns
+     * @param rows number of rows
+     * @param buffer the buffer
+     * @return a new matrix
+     * @throws BufferUnderflowException if the buffer has less values than the matrix
+     */
+    public static ArrayMatrixInt wrap(int cols, int rows, IntBuffer buffer) {
+        if (buffer.remaining() < (long) cols * rows) {
+            throw new BufferUnderflowException();
+        }
+        final ArrayMatrixInt matrix = new ArrayMatrixInt(cols, rows, 0);
+        for (ArrayTapeInt row : matrix.content) {
+            final int[] values = new int[cols];
+            buffer.get(values);
+            row.setBufferData(values);
+        }
+        return matrix;
+    }
+
+    /**
+     * Writes the values of the movie to the channel.
+     *
+     * @param movie the movie
+     * @param channel the channel
+     * @throws IOException if the channel fails
+     */
+    public static void writeTo(ArrayMovieInt movie, WritableByteChannel channel) throws IOException {
+        final ArrayList<ArrayMovieInt> episodes = new ArrayList<>();
+        MovieFormatInt.collectEpisodes(movie, episodes);
+        final MovieFormat.GatherWriter writer = new MovieFormat.GatherWriter(channel);
+        for (ArrayMovieInt episode : episodes) {
+            writer.add(littleEndianBytes(episode));
+        }
+        writer.flush();
+    }
+
+    /**
+     * Returns the values of an episode in little-endian order, the memory of an off-heap tape on little-endian
+     * platforms without a copy.
+     */
+    static ByteBuffer littleEndianBytes(ArrayMovieInt episode) {
+        final int episodeSize = episode.size();
+        if (episode instanceof ArrayTapeOffHeapInt offHeap && ByteOrder.nativeOrder() == ByteOrder.LITTLE_ENDIAN) {
+            return offHeap.getMemory().slice(0, episodeSize * Integer.BYTES);
+        }
+        final ByteBuffer bytes = ByteBuffer.allocate(episodeSize * Integer.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        if (episode instanceof ArrayTapeInt tape) {
+            bytes.asIntBuffer().put(tape.getBufferData(), 0, episodeSize);
+        } else {
+            bytes.asIntBuffer().put(episode.toArray());
+        }
+        return bytes;
+    }
+
+    /**
+     * Writes the values of the matrix row by row to the channel.
+     *
+     * @param matrix the matrix
+     * @param channel the channel
+     * @throws IOException if the channel fails
+     */
+    public static void writeTo(ArrayMatrixInt matrix, WritableByteChannel channel) throws IOException {
+        writeTo(matrix.cover, channel);
+    }
+
+    /**
+     * Reads values until the end of the channel into a new season.
+     *
+     * @param channel the channel
+     * @return a new season
+     * @throws IOException if the channel fails or ends inside a value
+     */
+    public static ArraySeasonInt readFrom(ReadableByteChannel channel) throws IOException {
+        return readInto(new ArraySeasonInt(), channel);
+    }
+
+    /**
+     * Reads values until the end of the channel and appends them to the season. For a sorted set, the values must be
+     * sorted and come after the values of the set.
+     *
+     * @param <S> the type of the season
+     * @param season the season
+     * @param channel the channel
+     * @return the season
+     * @throws IOException if the channel fails or ends inside a value
+     */
+    public static <S extends ArraySeasonInt> S readInto(S season, ReadableByteChannel channel) throws IOException {
+        final long expected = channel instanceof SeekableByteChannel seekable
+                ? (seekable.size() - seekable.position()) / Integer.BYTES : 0;
+        final int episodeSize = season.fillEpisodeSize(expected);
+        final ByteBuffer bytes = ByteBuffer.allocateDirect(episodeSize * Integer.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        boolean end = false;
+        while (!end) {
+            bytes.clear();
+            while (bytes.hasRemaining() && !end) {
+                end = channel.read(bytes) < 0;
+            }
+            if (bytes.position() % Integer.BYTES != 0) {
+                throw new IOException("Channel ends inside a value.");
+            }
+            if (bytes.position() > 0) {
+                bytes.flip();
+                final int[] values = new int[bytes.remaining() / Integer.BYTES];
+                bytes.asIntBuffer().get(values);
+                final ArrayTapeInt episode = new ArrayTapeInt(0);
+                episode.setBufferData(values);
+                season.glueMovie(episode);
+            }
+        }
+        season.recalculateScope();
+        season.splitOrGlue();
+        return season;
+    }
+
+    /**
+     * Reads a matrix row by row from the channel.
+     *
+     * @param cols number of columns
+     * @param rows number of rows
+     * @param channel the channel
+     * @return a new matrix
+     * @throws IOException if the channel fails or ends before
+     */
+    public static ArrayMatrixInt readFrom(int cols, int rows, ReadableByteChannel channel) throws IOException {
+        final ArrayMatrixInt matrix = new ArrayMatrixInt(cols, rows, 0);
+        final ByteBuffer bytes = ByteBuffer.allocateDirect(cols * Integer.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        for (ArrayTapeInt row : matrix.content) {
+            MovieFormat.readFully(channel, bytes.clear());
+            final int[] values = new int[cols];
+            bytes.flip().asIntBuffer().get(values);
+            row.setBufferData(values);
+        }
+        return matrix;
+    }
+}
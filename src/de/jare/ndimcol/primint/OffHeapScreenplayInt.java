@@ -0,0 +1,46 @@
+/**
+ * <copyright>
+ * Copyright (c) 2025, Janusch Rentenatus. This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v2.0 which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ * </copyright>
+ */
+package de.jare.ndimcol.primint;
+
+import de.jare.ndimcol.OffHeapArena;
+
+/**
+ * A screenplay of two dimensions whose episodes are {@link ArrayTapeOffHeapInt}s of one arena. A season built with it
+ * holds its elements off-heap:
+ * <pre>
+ * ArraySeasonInt season = new ArraySeasonInt(new OffHeapScreenplayInt(arena));
+ * </pre> Closing the arena closes all episodes of the season. A hashable season gets the same off-heap episodes, they
+ * compute their hash codes like the tapes on the heap.
+ *
+ * @author Janusch Rentenatus
+ */
+public class OffHeapScreenplayInt extends Screenplay2dInt {
+
+    private final OffHeapArena arena;
+
+    public OffHeapScreenplayInt(OffHeapArena arena) {
+        if (arena == null) {
+            throw new NullPointerException("Arena cannot be null.");
+        }
+        this.arena = arena;
+    }
+
+    public OffHeapArena getArena() {
+        return arena;
+    }
+
+    @Override
+    public ArrayMovieInt buildMovie(final int parentSize) {
+        return new ArrayTapeOffHeapInt(arena);
+    }
+
+    @Override
+    public ArrayMovieInt buildMovieHashable(final int parentSize) {
+        return buildMovie(parentSize);
+    }
+}
@@ -26,8 +26,9 @@ public class SortedSeasonSetWorkerRemoveInt extends SortedSeasonSetWorkerInt {
             System.out.println(rem + ":::" + element);
         }
         caller.size--;
+        caller.workerChanged(episodeNo, episode, index, -1);
         if (episode.size() < 8) {
-            caller.splitOrGlue();
+            caller.splitOrGlue(episodeNo);
         }
         return true;
     }
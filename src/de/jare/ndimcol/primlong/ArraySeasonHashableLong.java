@@ -10,9 +10,17 @@
 package de.jare.ndimcol.primlong;
 
 import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+import java.util.function.LongPredicate;
+import de.jare.ndimcol.EpisodeExecutor;
 import de.jare.ndimcol.RentenatusHashable;
 
 /**
+ * A season with a cached rolling hash. Besides the hash of the whole season, the hashes of the episodes are cached, so
+ * after addAt, removeAt or set only the changed episodes are hashed again. The episodes missing in the cache can be
+ * hashed in parallel with {@link #parallelHashCode()}.
  *
  * @author Janusch Rentenatus
  */
@@ -20,9 +28,17 @@ import de.jare.ndimcol.RentenatusHashable;
     // #### Modify package 'de.jare.ndimcol.ref' and use 'GeneratePrimitiveJavaFiles'
 public class ArraySeasonHashableLong extends ArraySeasonLong implements RentenatusHashable, StrategicHashableLong {
 
+    // episodes are searched this far ahead in the cache, split and glue shift them only by a few positions
+    private static final int CACHE_WINDOW = 4;
+
     private int hashCode;
     private boolean hashComputed;
     protected HashStrategyLong strategy;
+    // hash cache per episode, null if unknown
+    private ArrayMovieLong[] hashedEpisodes;
+    private int[] hashedSizes;
+    private int[] episodeHashes;
+    private final Set<ArrayMovieLong> dirtyEpisodes = Collections.newSetFromMap(new IdentityHashMap<>());
 
     /**
      * Constructs an empty ArrayTape with an initial capacity of ten and a default page size of thirty. The update
@@ -108,21 +124,140 @@ public class ArraySeasonHashableLong extends ArraySeasonLong implements Rentenat
 
     @Override
     public int hashCode() {
-        if (hashComputed) {
-            return hashCode;
+        if (!hashComputed) {
+            rehash(null);
         }
-        hashCode = 0;
-        de.jare.ndimcol.ref.IterTapeWalker<ArrayMovieLong> walker = data.softWalker();
-        while (walker.hasNext()) {
-            ArrayMovieLong nextMovie = walker.next();
-            hashCode = combine(hashCode,
-                    nextMovie.size(),
-                    nextMovie.hashCode());
+        return hashCode;
+    }
+
+    /**
+     * Returns the same hash code as {@link #hashCode()}. If the hash has to be computed again, the episodes missing in
+     * the hash cache are hashed in parallel by the executor of this season, then the episode hashes are combined in
+     * order. Worthwhile for very large seasons after bulk changes.
+     *
+     * @return the hash code of this season
+     */
+    // #### This code has been generated. Please do not make any changes here.
+    // #### Modify package 'de.jare.ndimcol.ref' and use 'GeneratePrimitiveJavaFiles'
+    public int parallelHashCode() {
+        if (!hashComputed) {
+            rehash(getExecutor());
         }
-        hashComputed = true;
         return hashCode;
     }
 
+    /**
+     * Computes the hash of this season from the hashes of its episodes. An episode keeps its cached hash if it is the
+     * same object with the same size and was not reported as changed.
+     *
+     * @param executor the executor to hash the missing episodes in parallel or null
+     */
+    // #### This code has been generated. Please do not make any changes here.
+    // #### Modify package 'de.jare.ndimcol.ref' and use 'GeneratePrimitiveJavaFiles'
+    private void rehash(EpisodeExecutor executor) {
+        final int episodeCount = data.size();
+        final ArrayMovieLong[] episodes = new ArrayMovieLong[episodeCount];
+        final int[] sizes = new int[episodeCount];
+        final int[] hashes = new int[episodeCount];
+        final boolean[] missing = new boolean[episodeCount];
+        int missingCount = 0;
+        int cachePos = 0;
+        for (int i = 0; i < episodeCount; i++) {
+            final ArrayMovieLong episode = data.get(i);
+            episodes[i] = episode;
+            sizes[i] = episode.size();
+            final int cached = findHashed(episode, cachePos);
+            if (cached >= 0) {
+                cachePos = cached + 1;
+            }
+            if (cached >= 0 && hashedSizes[cached] == sizes[i] && !dirtyEpisodes.contains(episode)) {
+                hashes[i] = episodeHashes[cached];
+            } else {
+                missing[i] = true;
+                missingCount++;
+            }
+        }
+        if (executor != null && missingCount > 1) {
+            executor.run(episodeCount, (fromEpisode, toEpisode) -> {
+                for (int i = fromEpisode; i < toEpisode; i++) {
+                    if (missing[i]) {
+                        hashes[i] = episodes[i].hashCode();
+                    }
+                }
+            });
+        } else {
+            for (int i = 0; i < episodeCount; i++) {
+                if (missing[i]) {
+                    hashes[i] = episodes[i].hashCode();
+                }
+            }
+        }
+        int hash = 0;
+        for (int i = 0; i < episodeCount; i++) {
+            hash = combine(hash, sizes[i], hashes[i]);
+        }
+        hashedEpisodes = episodes;
+        hashedSizes = sizes;
+        episodeHashes = hashes;
+        dirtyEpisodes.clear();
+        hashCode = hash;
+        hashComputed = true;
+    }
+
+    private int findHashed(ArrayMovieLong episode, int from) {
+        if (hashedEpisodes == null) {
+            return -1;
+        }
+        final int to = Math.min(from + CACHE_WINDOW, hashedEpisodes.length);
+        for (int j = from; j < to; j++) {
+            if (hashedEpisodes[j] == episode) {
+                return j;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Forgets the hash of this season and of all its episodes.
+     */
+    // #### This code has been generated. Please do not make any changes here.
+    // #### Modify package 'de.jare.ndimcol.ref' and use 'GeneratePrimitiveJavaFiles'
+    private void dropHashes() {
+        hashComputed = false;
+        hashedEpisodes = null;
+        hashedSizes = null;
+        episodeHashes = null;
+        dirtyEpisodes.clear();
+    }
+
+    /**
+     * Starts a batch of changes. The hash of this season and of its episodes is dropped at the start of the outermost
+     * batch, so the changes inside the batch do not maintain it.
+     */
+    // #### This code has been generated. Please do not make any changes here.
+    // #### Modify package 'de.jare.ndimcol.ref' and use 'GeneratePrimitiveJavaFiles'
+    @Override
+    public void beginBatch() {
+        if (!isInBatch()) {
+            dropHashes();
+        }
+        super.beginBatch();
+    }
+
+    /**
+     * Ends a batch of changes. At the end of the outermost batch, the episodes are rebalanced and the hash is computed
+     * once, in parallel by the executor of this season.
+     */
+    // #### This code has been generated. Please do not make any changes here.
+    // #### Modify package 'de.jare.ndimcol.ref' and use 'GeneratePrimitiveJavaFiles'
+    @Override
+    public void endBatch() {
+        super.endBatch();
+        if (!isInBatch() && !hashComputed) {
+            rehash(getExecutor());
+        }
+    }
+
     /**
      * Incorporates the hash of this list into an existing rolling hash value.
      * <p>
@@ -182,12 +317,6 @@ public class ArraySeasonHashableLong extends ArraySeasonLong implements Rentenat
         return super.addAll(index, col);
     }
 
-    @Override
-    public boolean addAt(int index, long element) {
-        hashComputed = false;
-        return super.addAt(index, element);
-    }
-
     @Override
     public boolean addMovie(ArrayMovieLong movie) {
         if (movie.isEmpty()) {
@@ -214,6 +343,7 @@ public class ArraySeasonHashableLong extends ArraySeasonLong implements Rentenat
 
     @Override
     public void clear() {
+        dropHashes();
         this.hashCode = 0;
         this.hashComputed = true;
         super.clear();
@@ -226,7 +356,8 @@ public class ArraySeasonHashableLong extends ArraySeasonLong implements Rentenat
     // #### Modify package 'de.jare.ndimcol.ref' and use 'GeneratePrimitiveJavaFiles'
     @Override
     void deepChanged() {
-        hashComputed = false;
+        super.deepChanged();
+        dropHashes();
     }
 
     @Override
@@ -237,6 +368,22 @@ public class ArraySeasonHashableLong extends ArraySeasonLong implements Rentenat
                     strategy.hashCode(old),
                     strategy.hashCode(element));
         }
+        if (hashedEpisodes != null) {
+            dirtyEpisodes.add(data.get(episodeIndex().episodeAt(index)));
+        }
+    }
+
+    /**
+     * Here the season is informed that one episode has been changed, only this episode is hashed again.
+     */
+    // #### This code has been generated. Please do not make any changes here.
+    // #### Modify package 'de.jare.ndimcol.ref' and use 'GeneratePrimitiveJavaFiles'
+    @Override
+    void episodeChanged(ArrayMovieLong episode) {
+        hashComputed = false;
+        if (hashedEpisodes != null) {
+            dirtyEpisodes.add(episode);
+        }
     }
 
     @Override
@@ -257,6 +404,20 @@ public class ArraySeasonHashableLong extends ArraySeasonLong implements Rentenat
         return ret;
     }
 
+    @Override
+    public boolean removeIf(LongPredicate filter) {
+        boolean ret = true;
+        try {
+            ret = super.removeIf(filter);
+        } finally {
+            // also after a throwing predicate, the season may have lost elements
+            if (ret) {
+                hashComputed = false;
+            }
+        }
+        return ret;
+    }
+
     /**
      * Creates a new empty season with the same screenplay. The new movie is not a copy of this movie.
      *
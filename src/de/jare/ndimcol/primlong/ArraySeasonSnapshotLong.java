@@ -0,0 +1,157 @@
+/**
+ * <copyright>
+ * Copyright (c) 2025, Janusch Rentenatus. This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v2.0 which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ * </copyright>
+ */
+    // #### This code has been generated. Please do not make any changes here.
+    // #### Modify package 'de.jare.ndimcol.ref' and use 'GeneratePrimitiveJavaFiles'
+package de.jare.ndimcol.primlong;
+
+import java.util.Collection;
+import java.util.function.LongPredicate;
+
+/**
+ * A read-only season built by {@link ArraySeason#snapshot()}. Its episodes are snapshots of the episodes of the
+ * original season and share their arrays with them. The original copies an episode only when it writes into it for
+ * the first time after the snapshot, so the snapshot keeps the elements of the moment it was taken.
+ * <p>
+ * All methods changing the season throw an UnsupportedOperationException. The walkers of the snapshot can read, a
+ * write through a walker is rejected by the episode.
+ *
+ * @author Janusch Rentenatus
+ */
+    // #### This code has been generated. Please do not make any changes here.
+    // #### Modify package 'de.jare.ndimcol.ref' and use 'GeneratePrimitiveJavaFiles'
+public class ArraySeasonSnapshotLong extends ArraySeasonLong {
+
+    ArraySeasonSnapshotLong(final ScreenplayLong screenplay, de.jare.ndimcol.ref.ArrayTape<ArrayMovieLong> episodes, int size) {
+        super(episodes, size);
+        this.screenplay = screenplay;
+        recalculateScope();
+    }
+
+    private UnsupportedOperationException readOnly() {
+        return new UnsupportedOperationException("Not supported in " + getClass().getSimpleName() + ".");
+    }
+
+    /**
+     * A snapshot does not change, so it is its own snapshot.
+     *
+     * @return this snapshot
+     */
+    // #### This code has been generated. Please do not make any changes here.
+    // #### Modify package 'de.jare.ndimcol.ref' and use 'GeneratePrimitiveJavaFiles'
+    @Override
+    public ArraySeasonLong snapshot() {
+        return this;
+    }
+
+    @Override
+    public boolean add(long element) {
+        throw readOnly();
+    }
+
+    @Override
+    public boolean addFirstFree(long element) {
+        throw readOnly();
+    }
+
+    @Override
+    public boolean addAt(int index, long element) {
+        throw readOnly();
+    }
+
+    @Override
+    public boolean addAll(int index, Collection<? extends Long> col) {
+        throw readOnly();
+    }
+
+    @Override
+    public boolean addAll(Collection<? extends Long> col) {
+        throw readOnly();
+    }
+
+    @Override
+    public boolean addAll(long[] arr) {
+        throw readOnly();
+    }
+
+    @Override
+    public boolean addMovie(ArrayMovieLong movie) {
+        throw readOnly();
+    }
+
+    @Override
+    public boolean glueMovie(ArrayMovieLong episode) {
+        throw readOnly();
+    }
+
+    /**
+     * Hands over writable copies of the episodes, the episodes of this snapshot stay read-only.
+     *
+     * @param othersData the episodes of the season gluing this snapshot
+     */
+    // #### This code has been generated. Please do not make any changes here.
+    // #### Modify package 'de.jare.ndimcol.ref' and use 'GeneratePrimitiveJavaFiles'
+    @Override
+    public void assimilateInto(de.jare.ndimcol.ref.ArrayTape<ArrayMovieLong> othersData) {
+        for (int i = 0; i < data.size(); i++) {
+            final ArrayMovieLong episode = data.get(i);
+            final ArrayMovieLong copy = episode.emptyMovie(episode.size());
+            copy.addMovie(episode);
+            othersData.add(copy);
+        }
+    }
+
+    @Override
+    public long set(int index, long element) {
+        throw readOnly();
+    }
+
+    @Override
+    public boolean remove(long element) {
+        throw readOnly();
+    }
+
+    @Override
+    public long removeAt(int index) {
+        throw readOnly();
+    }
+
+    @Override
+    public void splitOrGlue() {
+        throw readOnly();
+    }
+
+    @Override
+    public void beginBatch() {
+        throw readOnly();
+    }
+
+    @Override
+    public boolean removeAll(Collection<?> col) {
+        throw readOnly();
+    }
+
+    @Override
+    public boolean retainAll(Collection<?> col) {
+        throw readOnly();
+    }
+
+    @Override
+    public boolean removeIf(LongPredicate filter) {
+        throw readOnly();
+    }
+
+    @Override
+    public void clear() {
+        throw readOnly();
+    }
+
+    @Override
+    public ArrayMovieLong splitInHalf() {
+        throw readOnly();
+    }
+}
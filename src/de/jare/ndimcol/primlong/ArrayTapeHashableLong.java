@@ -11,6 +11,7 @@ package de.jare.ndimcol.primlong;
 
 import java.util.Collection;
 import java.util.List;
+import java.util.function.LongPredicate;
 import de.jare.ndimcol.RentenatusHashable;
 
 /**
@@ -276,6 +277,15 @@ public class ArrayTapeHashableLong extends ArrayTapeLong implements RentenatusHa
         return ret;
     }
 
+    @Override
+    public boolean removeIf(LongPredicate filter) {
+        boolean ret = super.removeIf(filter);
+        if (ret) {
+            hashComputed = false;
+        }
+        return ret;
+    }
+
     @Override
     protected long removeFast(int index) {
         hashComputed = false;
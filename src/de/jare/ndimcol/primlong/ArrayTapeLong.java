@@ -17,11 +17,17 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.ConcurrentModificationException;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.function.BiFunction;
+import java.util.function.BinaryOperator;
 import java.util.function.LongConsumer;
 import java.util.function.IntConsumer;
 import java.util.function.LongPredicate;
+ import de.jare.ndimcol.TapeKernels;
 
 /**
  * An ArrayTape is a dynamic array implementation that allows for efficient insertion, deletion, and iteration of
@@ -48,6 +54,10 @@ public class ArrayTapeLong implements ArrayMovieLong {
     private int updateCounter;
     private int trimCountDown;
     private IterTapeWalkerLong softWalker;
+    // elementData is shared with a snapshot, the next write copies it first
+    private boolean shared;
+    // this tape is a snapshot, a write is not supported
+    private boolean frozen;
 
     /**
      * Constructs an empty ArrayTape with an initial capacity of ten and a default page size of thirty. The update
@@ -136,13 +146,26 @@ public class ArrayTapeLong implements ArrayMovieLong {
     }
 
     public void setBufferData(final long[] elementData) {
+        unshare();
         this.elementData = elementData;
         this.size = elementData.length;
-        this.updateCounter = 0;
+        this.updateCounter++;
         this.trimCountDown = DEFAULT_COUNTDOWN; // Reset trim countdown
         deepChanged();
     }
 
+    /**
+     * Returns the internal array for bulk copies. Only the first {@link #size()} elements are valid, the array must
+     * not be changed.
+     *
+     * @return the internal array
+     */
+    // #### This code has been generated. Please do not make any changes here.
+    // #### Modify package 'de.jare.ndimcol.ref' and use 'GeneratePrimitiveJavaFiles'
+    long[] getBufferData() {
+        return elementData;
+    }
+
     /**
      * Clears the ArrayTape by resetting the elementData array to its default capacity, setting the size to zero,
      * incrementing the update counter, and initializing the trim countdown. This effectively removes all elements from
@@ -152,6 +175,7 @@ public class ArrayTapeLong implements ArrayMovieLong {
     // #### Modify package 'de.jare.ndimcol.ref' and use 'GeneratePrimitiveJavaFiles'
     @Override
     public void clear() {
+        unshare();
         this.elementData = new long[DEFAULT_CAPACITY];
         this.size = 0;
         this.updateCounter++;
@@ -179,6 +203,9 @@ public class ArrayTapeLong implements ArrayMovieLong {
         if (size() != movie.size()) {
             return false;
         }
+         if (movie instanceof ArrayTapeLong tape) {
+             return TapeKernels.INSTANCE.mismatch(elementData, 0, tape.elementData, 0, size) < 0;
+         }
         IteratorWalkerLong mWalker = movie.softWalker();
         IterTapeWalkerLong walker = softWalker();
         while (walker.hasNext()) {
@@ -271,6 +298,7 @@ public class ArrayTapeLong implements ArrayMovieLong {
     // #### Modify package 'de.jare.ndimcol.ref' and use 'GeneratePrimitiveJavaFiles'
     @Override
     public boolean add(long element) {
+        unshare();
         // ensureCapacity():fast:Sorry for redundant code.
         if (size >= elementData.length) {
             int newCapacity = elementData.length + page + (size >> 2);
@@ -299,6 +327,7 @@ public class ArrayTapeLong implements ArrayMovieLong {
         if (index < 0 || index > size) {
             throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
         }
+        unshare();
         if (size >= elementData.length) {
             int newCapacity = elementData.length + page + (size >> 2);
             long[] newArray = new long[newCapacity];
@@ -336,6 +365,7 @@ public class ArrayTapeLong implements ArrayMovieLong {
         if (col.isEmpty()) {
             return false;
         }
+        unshare();
             for (long element : col) {
                 add(element);
             }
@@ -361,6 +391,7 @@ public class ArrayTapeLong implements ArrayMovieLong {
         if (arr.length == 0) {
             return false;
         }
+        unshare();
         int newSize = size + arr.length;
         ensureCapacity(newSize);
         System.arraycopy(arr, 0, elementData, size, arr.length);
@@ -382,6 +413,7 @@ public class ArrayTapeLong implements ArrayMovieLong {
         if (movie.isEmpty()) {
             return false;
         }
+        unshare();
         int newSize = size + movie.size();
         ensureCapacity(newSize);
         movie.copyToArray(elementData, size);
@@ -429,6 +461,7 @@ public class ArrayTapeLong implements ArrayMovieLong {
         if (index < 0 || index > size) {
             throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size + ".");
         }
+        unshare();
         int colSize = col.size();
         int ns = size + colSize - 1;
         if (ns >= elementData.length || size <= col.size()) {
@@ -474,6 +507,7 @@ public class ArrayTapeLong implements ArrayMovieLong {
     // #### This code has been generated. Please do not make any changes here.
     // #### Modify package 'de.jare.ndimcol.ref' and use 'GeneratePrimitiveJavaFiles'
     public void ensureCapacity(int minCapacity) {
+        unshare();
         if (elementData.length < minCapacity) {
             int newCapacity = minCapacity + page + (size >> 2);
             elementData = Arrays.copyOf(elementData, newCapacity);
@@ -535,8 +569,8 @@ public class ArrayTapeLong implements ArrayMovieLong {
 
     /**
      * Replaces the element at the specified position in the ArrayTape with the specified element. Returns the element
-     * previously at the specified position. Increments the update counter if the element at the specified position is
-     * not equal to the new element. Throws an IndexOutOfBoundsException if the index is out of range.
+     * previously at the specified position. Increments the update counter even if the new element equals the old one,
+     * so a checkpoint sees the replaced object. Throws an IndexOutOfBoundsException if the index is out of range.
      *
      * @param index the index of the element to replace
      * @param element the element to be stored at the specified position
@@ -549,12 +583,11 @@ public class ArrayTapeLong implements ArrayMovieLong {
         if (index >= size || index < 0) {
             throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size + ".");
         }
+        unshare();
         @SuppressWarnings("unchecked")
         long oldElement = elementData[index];
         elementData[index] = element;
-        if (!equals(oldElement, element)) {
-            updateCounter++;
-        }
+        updateCounter++;
         return oldElement;
     }
 
@@ -587,21 +620,117 @@ public class ArrayTapeLong implements ArrayMovieLong {
     // #### This code has been generated. Please do not make any changes here.
     // #### Modify package 'de.jare.ndimcol.ref' and use 'GeneratePrimitiveJavaFiles'
     public boolean removeAll(long element) {
-        int removed = 0;
-        for (int i = 0; i < size; i++) {
-            if (element == elementData[i]) {
-                int numMoved = size - i - 1;
-                if (numMoved > 0) {
-                    System.arraycopy(elementData, i + 1, elementData, i, numMoved);
+        int kept = indexOf(element);
+        if (kept < 0) {
+            return false;
+        }
+        unshare();
+        // compact the rest in one pass instead of one arraycopy per hit
+        for (int i = kept + 1; i < size; i++) {
+             if (element != elementData[i]) {
+                elementData[kept++] = elementData[i];
+            }
+        }
+        return truncate(kept);
+    }
+
+    /**
+     * Removes all elements of this ArrayTape that match the given predicate. The elements are compacted in a single
+     * pass. If the predicate throws an exception, the elements tested so far are removed and the others stay in place.
+     *
+     * @param filter the predicate which returns true for the elements to be removed
+     * @return true if any elements were removed, false otherwise
+     */
+    // #### This code has been generated. Please do not make any changes here.
+    // #### Modify package 'de.jare.ndimcol.ref' and use 'GeneratePrimitiveJavaFiles'
+    @SuppressWarnings("unchecked")
+    @Override
+    public boolean removeIf(LongPredicate filter) {
+        if (filter == null) {
+            throw new NullPointerException("Predicate cannot be null.");
+        }
+        unshare();
+        int startupdateCounter = updateCounter;
+        int kept = 0;
+        int i = 0;
+        boolean modified = false;
+        long element;
+        try {
+            for (; i < size; i++) {
+                // this notation helps to generate primitives
+                element = elementData[i];
+                if (!filter.test(element)) {
+                    elementData[kept++] = element;
                 }
-                size--;
-                i--; // stay at the same index to check for more matching elements
-                removed++;
             }
+        } finally {
+            if (i < size) {
+                // the predicate has thrown, the untested elements stay
+                System.arraycopy(elementData, i, elementData, kept, size - i);
+                kept += size - i;
+            }
+            if (startupdateCounter == updateCounter) {
+                modified = truncate(kept);
+            }
+        }
+        if (!modified && startupdateCounter != updateCounter) {
+            throw new ConcurrentModificationException("ArrayTape was modified during iteration.");
         }
+        return modified;
+    }
+
+    /**
+     * Cuts this ArrayTape after the first kept elements, the end of a compacting pass.
+     *
+     * @param kept the number of elements left at the start of the array
+     * @return true if elements were cut off
+     */
+    // #### This code has been generated. Please do not make any changes here.
+    // #### Modify package 'de.jare.ndimcol.ref' and use 'GeneratePrimitiveJavaFiles'
+    private boolean truncate(int kept) {
+        final int removed = size - kept;
+        if (removed == 0) {
+            return false;
+        }
+        size = kept;
         updateCounter++;
         trimCountDown -= removed;
-        return removed > 0;
+        return true;
+    }
+
+    /**
+     * Returns the primitive elements of col as a sorted array for {@link #containsKey}.
+     *
+     * @param col the collection to look up
+     * @return the sorted keys
+     */
+    static long[] sortedKeys(Collection<?> col) {
+        long[] keys = new long[col.size()];
+        int count = 0;
+        for (Object ob : col) {
+            if (ob instanceof Long key) {
+                keys[count++] = key;
+            }
+        }
+        keys = Arrays.copyOf(keys, count);
+        Arrays.sort(keys);
+        return keys;
+    }
+
+    /**
+     * Looks up an element in keys from {@link #sortedKeys} with == as the tape itself, so NaN is never found and
+     * 0.0 finds -0.0.
+     *
+     * @param keys the sorted keys
+     * @param element the element to look up
+     * @return true if keys contains the element
+     */
+    static boolean containsKey(long[] keys, long element) {
+        int pos = Arrays.binarySearch(keys, element);
+        if (pos < 0 && element == 0) {
+            pos = Arrays.binarySearch(keys, -element);
+        }
+        return pos >= 0 && keys[pos] == element;
     }
 
     /**
@@ -615,12 +744,11 @@ public class ArrayTapeLong implements ArrayMovieLong {
     // #### Modify package 'de.jare.ndimcol.ref' and use 'GeneratePrimitiveJavaFiles'
     @Override
     public boolean removeAll(Collection<?> col) {
-        boolean modified = false;
-         for (Object element : col) {
-             if (element instanceof Long && removeAll((long)element)) {
-                modified = true;
-            }
+        if (col == null) {
+            throw new NullPointerException("Collection cannot be null.");
         }
+         final long[] keys = sortedKeys(col);
+         boolean modified = removeIf(element -> containsKey(keys, element));
         if (trimCountDown < 0) {
             trimCapacity();
         }
@@ -646,16 +774,8 @@ public class ArrayTapeLong implements ArrayMovieLong {
             clear();
             return false;
         }
-        boolean modified = false;
-        IterTapeWalkerLong walker = softWalker();
-        while (walker.hasNext()) {
-            long element = walker.next();
-            if (!col.contains(element)) {
-                walker.removeBackward();
-                modified = true;
-            }
-        }
-        return modified;
+         final long[] keys = sortedKeys(col);
+         return removeIf(element -> !containsKey(keys, element));
     }
 
     /**
@@ -672,6 +792,7 @@ public class ArrayTapeLong implements ArrayMovieLong {
         if (index >= size || index < 0) {
             throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size + ".");
         }
+        unshare();
         @SuppressWarnings("unchecked")
         long ret = elementData[index];
         int numElementsToMove = size - index - 1;
@@ -698,6 +819,7 @@ public class ArrayTapeLong implements ArrayMovieLong {
         if (index >= size || index < 0) {
             throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size + ".");
         }
+        unshare();
         @SuppressWarnings("unchecked")
         long ret = elementData[index];
         long[] newElementData = new long[size + page - 1];
@@ -730,12 +852,7 @@ public class ArrayTapeLong implements ArrayMovieLong {
     // #### Modify package 'de.jare.ndimcol.ref' and use 'GeneratePrimitiveJavaFiles'
     @Override
     public int indexOf(long element) {
-         for (int i = 0; i < size; i++) {
-             if (element == elementData[i]) {
-                 return i;
-             }
-         }
-        return -1;
+         return TapeKernels.INSTANCE.indexOf(elementData, 0, size, element);
     }
 
     /**
@@ -749,12 +866,7 @@ public class ArrayTapeLong implements ArrayMovieLong {
     // #### Modify package 'de.jare.ndimcol.ref' and use 'GeneratePrimitiveJavaFiles'
     @Override
     public int lastIndexOf(long element) {
-         for (int i = size - 1; i >= 0; i--) {
-             if (element == elementData[i]) {
-                 return i;
-             }
-         }
-        return -1;
+         return TapeKernels.INSTANCE.lastIndexOf(elementData, 0, size, element);
     }
 
     /**
@@ -841,6 +953,7 @@ public class ArrayTapeLong implements ArrayMovieLong {
     // #### This code has been generated. Please do not make any changes here.
     // #### Modify package 'de.jare.ndimcol.ref' and use 'GeneratePrimitiveJavaFiles'
     protected void trimCapacity() {
+        unshare();
         int newCapacity = elementData.length + page;
         elementData = Arrays.copyOf(elementData, newCapacity);
         this.trimCountDown = DEFAULT_COUNTDOWN;
@@ -1025,6 +1138,93 @@ public class ArrayTapeLong implements ArrayMovieLong {
         };
     }
 
+    /**
+     * Returns a spliterator over the elements of the ArrayTape. It reports ORDERED, SIZED and SUBSIZED and splits the
+     * range of the tape in halves, so parallel streams get balanced parts.
+     *
+     * @return a spliterator over the elements of the ArrayTape
+     */
+    // #### This code has been generated. Please do not make any changes here.
+    // #### Modify package 'de.jare.ndimcol.ref' and use 'GeneratePrimitiveJavaFiles'
+    @Override
+     public Spliterator.OfLong spliterator() {
+        return new TapeSpliterator(0, size, updateCounter);
+    }
+
+    /**
+     * Spliterator over the index range from index (inclusive) to fence (exclusive) of the ArrayTape.
+     */
+    // #### This code has been generated. Please do not make any changes here.
+    // #### Modify package 'de.jare.ndimcol.ref' and use 'GeneratePrimitiveJavaFiles'
+    @SuppressWarnings("unchecked")
+     final class TapeSpliterator implements Spliterator.OfLong {
+
+        private int index;
+        private final int fence;
+        private final int expectedUpdateCounter;
+
+        TapeSpliterator(int origin, int fence, int expectedUpdateCounter) {
+            this.index = origin;
+            this.fence = fence;
+            this.expectedUpdateCounter = expectedUpdateCounter;
+        }
+
+        @Override
+        public TapeSpliterator trySplit() {
+            final int mid = (index + fence) >>> 1;
+            if (mid <= index) {
+                return null;
+            }
+            final TapeSpliterator prefix = new TapeSpliterator(index, mid, expectedUpdateCounter);
+            index = mid;
+            return prefix;
+        }
+
+        @Override
+         public boolean tryAdvance(java.util.function.LongConsumer action) {
+            if (action == null) {
+                throw new NullPointerException("Action cannot be null.");
+            }
+            if (index >= fence) {
+                return false;
+            }
+            // this notation helps to generate primitives
+            final long element = elementData[index++];
+            action.accept(element);
+            if (expectedUpdateCounter != updateCounter) {
+                throw new ConcurrentModificationException("ArrayTape was modified during iteration.");
+            }
+            return true;
+        }
+
+        @Override
+         public void forEachRemaining(java.util.function.LongConsumer action) {
+            if (action == null) {
+                throw new NullPointerException("Action cannot be null.");
+            }
+            long element;
+            for (int i = index; i < fence; i++) {
+                // this notation helps to generate primitives
+                element = elementData[i];
+                action.accept(element);
+            }
+            index = fence;
+            if (expectedUpdateCounter != updateCounter) {
+                throw new ConcurrentModificationException("ArrayTape was modified during iteration.");
+            }
+        }
+
+        @Override
+        public long estimateSize() {
+            return fence - index;
+        }
+
+        @Override
+        public int characteristics() {
+            return Spliterator.ORDERED | Spliterator.SIZED | Spliterator.SUBSIZED;
+        }
+    }
+
     /**
      * ArrayTape does not support splitting or gluing. This method is a no-op.
      */
@@ -1048,6 +1248,7 @@ public class ArrayTapeLong implements ArrayMovieLong {
         if (size <= 1) {
             return null;
         }
+        unshare();
         int halfSize = size / 2;
         ArrayTapeLong newTape = emptyMovie(size - halfSize + page);
         newTape.size = size - halfSize;
@@ -1060,6 +1261,7 @@ public class ArrayTapeLong implements ArrayMovieLong {
         System.arraycopy(elementData, 0, newElementData, 0, halfSize);
         elementData = newElementData;
         size = halfSize;
+        updateCounter++;
 
         // Adjust the leafWalker if necessary
         if (softWalker != null) {
@@ -1127,6 +1329,47 @@ public class ArrayTapeLong implements ArrayMovieLong {
         return ret;
     }
 
+    /**
+     * Returns a read-only snapshot of this tape. The snapshot shares the array of this tape, so it is taken in constant
+     * time. The next write to this tape copies the array once, the snapshot keeps the old one.
+     *
+     * @return a read-only tape with the current elements of this tape, or this tape if it is a snapshot itself
+     */
+    // #### This code has been generated. Please do not make any changes here.
+    // #### Modify package 'de.jare.ndimcol.ref' and use 'GeneratePrimitiveJavaFiles'
+    @Override
+    public ArrayTapeLong snapshot() {
+        if (frozen) {
+            return this;
+        }
+        final ArrayTapeLong ret = new ArrayTapeLong();
+        ret.elementData = elementData;
+        ret.size = size;
+        ret.page = page;
+        ret.updateCounter = updateCounter;
+        ret.shared = true;
+        ret.frozen = true;
+        shared = true;
+        return ret;
+    }
+
+    /**
+     * Gives this tape an own array before a write, if the array is shared with a snapshot.
+     *
+     * @throws UnsupportedOperationException if this tape is a snapshot
+     */
+    // #### This code has been generated. Please do not make any changes here.
+    // #### Modify package 'de.jare.ndimcol.ref' and use 'GeneratePrimitiveJavaFiles'
+    private void unshare() {
+        if (shared) {
+            if (frozen) {
+                throw new UnsupportedOperationException("Not supported in " + getClass().getSimpleName() + " snapshot.");
+            }
+            elementData = Arrays.copyOf(elementData, elementData.length);
+            shared = false;
+        }
+    }
+
     /**
      * Returns the number of times the ArrayTape has been updated.
      *
@@ -1396,4 +1639,82 @@ public class ArrayTapeLong implements ArrayMovieLong {
             throw new ConcurrentModificationException("ArrayTape was modified during iteration.");
         }
     }
+
+    /**
+     * Returns true if any element matches the predicate. The search stops at the first hit.
+     *
+     * @param predicate the predicate to be used for the search
+     * @return true if at least one element matches
+     */
+    // #### This code has been generated. Please do not make any changes here.
+    // #### Modify package 'de.jare.ndimcol.ref' and use 'GeneratePrimitiveJavaFiles'
+    @Override
+    public boolean anyMatch(LongPredicate predicate) {
+        if (predicate == null) {
+            throw new NullPointerException("Predicate cannot be null.");
+        }
+        long element;
+        for (int i = 0; i < size; i++) {
+            // this notation helps to generate primitives
+            element = elementData[i];
+            if (predicate.test(element)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Performs a reduction on the elements in the order of the ArrayTape, starting with the identity value.
+     *
+     * @param identity the identity value for the combiner
+     * @param accumulator function adding one element to a partial result
+     * @param combiner function combining two partial results, not needed for a single ArrayTape
+     * @return the result of the reduction
+     */
+    // #### This code has been generated. Please do not make any changes here.
+    // #### Modify package 'de.jare.ndimcol.ref' and use 'GeneratePrimitiveJavaFiles'
+    @Override
+    public <U> U reduce(U identity, BiFunction<U, ? super Long, U> accumulator, BinaryOperator<U> combiner) {
+        int startupdateCounter = updateCounter;
+        U result = identity;
+        long element;
+        for (int i = 0; i < size; i++) {
+            // this notation helps to generate primitives
+            element = elementData[i];
+            result = accumulator.apply(result, element);
+        }
+        if (startupdateCounter != updateCounter) {
+            throw new ConcurrentModificationException("ArrayTape was modified during iteration.");
+        }
+        return result;
+    }
+
+    @Override
+    public long min() {
+        if (size == 0) {
+            throw new IndexOutOfBoundsException("Tape is empty.");
+        }
+        return TapeKernels.INSTANCE.min(elementData, 0, size);
+    }
+
+    @Override
+    public long max() {
+        if (size == 0) {
+            throw new IndexOutOfBoundsException("Tape is empty.");
+        }
+        return TapeKernels.INSTANCE.max(elementData, 0, size);
+    }
+
+    @Override
+    public long sum() {
+        return TapeKernels.INSTANCE.sum(elementData, 0, size);
+    }
+
+    @Override
+    public ArrayTapeLong filterRange(long low, long high) {
+        ArrayTapeLong ret = emptyMovie(size);
+        ret.size = TapeKernels.INSTANCE.filterRange(elementData, 0, size, low, high, ret.elementData);
+        return ret;
+    }
 }
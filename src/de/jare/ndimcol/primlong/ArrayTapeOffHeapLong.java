@@ -0,0 +1,1002 @@
+/**
+ * <copyright>
+ * Copyright (c) 2025, Janusch Rentenatus. This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v2.0 which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ * </copyright>
+ */
+package de.jare.ndimcol.primlong;
+
+import static de.jare.ndimcol.RentenatusHashable._combine;
+import static de.jare.ndimcol.ref.HashStrategy._hashCode;
+import de.jare.ndimcol.OffHeapArena;
+import java.io.PrintStream;
+import java.nio.ByteBuffer;
+import java.nio.LongBuffer;
+import java.util.Collection;
+import java.util.ConcurrentModificationException;
+import java.util.Spliterator;
+import java.util.function.BiFunction;
+import java.util.function.BinaryOperator;
+import java.util.function.IntConsumer;
+import java.util.function.LongConsumer;
+import java.util.function.LongPredicate;
+/**
+ * A tape of primitive {@code long} values held off-heap in memory of an {@link OffHeapArena}. It is used like an
+ * {@link ArrayTapeLong}, the walkers and all methods of {@link ArrayMovieLong} work unchanged. Episodes split from or
+ * created by this tape are allocated from the same arena.
+ * <p>
+ * The tape lives until it or its arena is closed. After that every access to the elements throws an
+ * IllegalStateException.
+ *
+ * @author Janusch Rentenatus
+ */
+public final class ArrayTapeOffHeapLong implements ArrayMovieLong, OffHeapArena.Resident {
+
+    private final OffHeapArena arena;
+    private ByteBuffer memory;
+    private LongBuffer elementData;
+    private int size;
+    private int updateCounter;
+
+    /**
+     * Constructs an empty tape with the default capacity.
+     *
+     * @param arena the arena holding the memory of this tape
+     */
+    public ArrayTapeOffHeapLong(OffHeapArena arena) {
+        this(arena, ArrayTapeLong.DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Constructs an empty tape with the given capacity.
+     *
+     * @param arena the arena holding the memory of this tape
+     * @param initialCapacityOrZero the initial capacity, or zero for the default capacity
+     */
+    public ArrayTapeOffHeapLong(OffHeapArena arena, int initialCapacityOrZero) {
+        this.arena = arena;
+        this.elementData = allocate(initialCapacityOrZero > 0 ? initialCapacityOrZero : ArrayTapeLong.DEFAULT_CAPACITY);
+        this.size = 0;
+        this.updateCounter = 0;
+        arena.register(this);
+    }
+
+    /**
+     * Constructs a tape on memory allocated by the arena before, for example on an episode of a file mapped again. The
+     * first elements of the memory are the elements of the tape, the tape frees the memory when it is closed.
+     *
+     * @param arena the arena holding the memory of this tape
+     * @param memory memory of the arena in native byte order
+     * @param size the number of elements already in the memory
+     */
+    ArrayTapeOffHeapLong(OffHeapArena arena, ByteBuffer memory, int size) {
+        if (size < 0 || size > memory.capacity() / Long.BYTES) {
+            throw new IndexOutOfBoundsException("Size: " + size + ", Capacity: " + memory.capacity() / Long.BYTES + ".");
+        }
+        this.arena = arena;
+        this.memory = memory;
+        this.elementData = memory.asLongBuffer();
+        this.size = size;
+        this.updateCounter = 0;
+        arena.register(this);
+    }
+
+    private LongBuffer allocate(int capacity) {
+        memory = arena.allocate(capacity * Long.BYTES);
+        return memory.asLongBuffer();
+    }
+
+    private LongBuffer live() {
+        final LongBuffer buffer = elementData;
+        if (buffer == null) {
+            throw new IllegalStateException("Tape is closed.");
+        }
+        return buffer;
+    }
+
+    private void grow(int minCapacity) {
+        final LongBuffer buffer = live();
+        if (buffer.capacity() < minCapacity) {
+            final ByteBuffer oldMemory = memory;
+            final LongBuffer newBuffer = allocate(minCapacity + ArrayTapeLong.DEFAULT_PAGE + (size >> 2));
+            newBuffer.put(0, buffer, 0, size);
+            elementData = newBuffer;
+            arena.free(oldMemory);
+        }
+    }
+
+    /**
+     * Returns the arena holding the memory of this tape.
+     *
+     * @return the arena
+     */
+    public OffHeapArena getArena() {
+        return arena;
+    }
+
+    /**
+     * Returns the memory of the arena holding the elements of this tape. It changes when the tape grows and is freed
+     * when the tape is closed, so it is only handed to the writers of this package and never kept.
+     *
+     * @return the memory of this tape
+     * @throws IllegalStateException if this tape is closed
+     */
+    ByteBuffer getMemory() {
+        live();
+        return memory;
+    }
+
+    /**
+     * Returns the number of times this tape has been updated.
+     *
+     * @return the update counter
+     */
+    public int getUpdateCounter() {
+        return updateCounter;
+    }
+
+    /**
+     * Returns {@code true} if this tape is not closed.
+     *
+     * @return {@code true} if this tape is not closed
+     */
+    public boolean isAlive() {
+        return elementData != null;
+    }
+
+    /**
+     * Closes this tape and frees its memory. Closing a closed tape has no effect. The tape must not be closed while
+     * another thread works on it.
+     */
+    @Override
+    public void close() {
+        final ByteBuffer oldMemory = memory;
+        memory = null;
+        elementData = null;
+        updateCounter++;
+        if (oldMemory != null) {
+            arena.free(oldMemory);
+        }
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public boolean hasRecord() {
+        return size > 0;
+    }
+
+    @Override
+    public long get(int index) {
+        if (index >= size || index < 0) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size + ".");
+        }
+        return live().get(index);
+    }
+
+    @Override
+    public long first() {
+        if (size == 0) {
+            throw new IndexOutOfBoundsException("Tape is empty.");
+        }
+        return live().get(0);
+    }
+
+    @Override
+    public long last() {
+        if (size == 0) {
+            throw new IndexOutOfBoundsException("Tape is empty.");
+        }
+        return live().get(size - 1);
+    }
+
+    public long set(int index, long element) {
+        if (index >= size || index < 0) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size + ".");
+        }
+        final LongBuffer buffer = live();
+        final long oldValue = buffer.get(index);
+        buffer.put(index, element);
+        updateCounter++;
+        return oldValue;
+    }
+
+    @Override
+    public boolean add(long element) {
+        grow(size + 1);
+        elementData.put(size++, element);
+        updateCounter++;
+        return true;
+    }
+
+    @Override
+    public boolean addAt(int index, long element) {
+        if (index < 0 || index > size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size + ".");
+        }
+        grow(size + 1);
+        elementData.put(index + 1, elementData, index, size - index);
+        elementData.put(index, element);
+        size++;
+        updateCounter++;
+        return true;
+    }
+
+    @Override
+    public boolean addAll(Collection<? extends Long> col) {
+        if (col == null) {
+            throw new NullPointerException("Collection cannot be null.");
+        }
+        if (col.isEmpty()) {
+            return false;
+        }
+        grow(size + col.size());
+        for (long element : col) {
+            add(element);
+        }
+        return true;
+    }
+
+    public boolean addAll(int index, Collection<? extends Long> col) {
+        if (col == null) {
+            throw new NullPointerException("Collection cannot be null.");
+        }
+        if (col.isEmpty()) {
+            return false;
+        }
+        if (index < 0 || index > size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size + ".");
+        }
+        // the collection is copied first, so the tail is moved only once
+        final long[] arr = new long[col.size()];
+        int i = 0;
+        for (long element : col) {
+            arr[i++] = element;
+        }
+        grow(size + arr.length);
+        elementData.put(index + arr.length, elementData, index, size - index);
+        elementData.put(index, arr);
+        size += arr.length;
+        updateCounter++;
+        return true;
+    }
+
+    @Override
+    public boolean addAll(long[] arr) {
+        if (arr == null) {
+            throw new NullPointerException("Array cannot be null.");
+        }
+        if (arr.length == 0) {
+            return false;
+        }
+        grow(size + arr.length);
+        elementData.put(size, arr);
+        size += arr.length;
+        updateCounter++;
+        return true;
+    }
+
+    @Override
+    public boolean addMovie(ArrayMovieLong movie) {
+        if (movie.isEmpty()) {
+            return false;
+        }
+        final int movieSize = movie.size();
+        grow(size + movieSize);
+        if (movie instanceof ArrayTapeOffHeapLong tape) {
+            elementData.put(size, tape.live(), 0, movieSize);
+        } else {
+            elementData.put(size, movie.toArray());
+        }
+        size += movieSize;
+        updateCounter++;
+        return true;
+    }
+
+    @Override
+    public boolean glueMovie(ArrayMovieLong movie) {
+        return addMovie(movie);
+    }
+
+    @Override
+    public void assimilateInto(de.jare.ndimcol.ref.ArrayTape<ArrayMovieLong> othersData) {
+        othersData.add(this);
+    }
+
+    @Override
+    public long removeAt(int index) {
+        if (index >= size || index < 0) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size + ".");
+        }
+        final LongBuffer buffer = live();
+        final long ret = buffer.get(index);
+        buffer.put(index, buffer, index + 1, size - index - 1);
+        size--;
+        updateCounter++;
+        return ret;
+    }
+
+    @Override
+    public boolean remove(long element) {
+        final int index = indexOf(element);
+        if (index < 0) {
+            return false;
+        }
+        removeAt(index);
+        return true;
+    }
+
+    @Override
+    public boolean removeIf(LongPredicate filter) {
+        if (filter == null) {
+            throw new NullPointerException("Predicate cannot be null.");
+        }
+        final LongBuffer buffer = live();
+        final int startUpdateCounter = updateCounter;
+        int kept = 0;
+        int i = 0;
+        try {
+            for (; i < size; i++) {
+                final long element = buffer.get(i);
+                if (!filter.test(element)) {
+                    buffer.put(kept++, element);
+                }
+            }
+        } finally {
+            if (i < size) {
+                // the predicate has thrown, the untested elements stay
+                buffer.put(kept, buffer, i, size - i);
+                kept += size - i;
+            }
+        }
+        if (startUpdateCounter != updateCounter) {
+            throw new ConcurrentModificationException("ArrayTape was modified during iteration.");
+        }
+        if (kept == size) {
+            return false;
+        }
+        size = kept;
+        updateCounter++;
+        return true;
+    }
+
+    @Override
+    public boolean removeAll(Collection<?> col) {
+        if (col == null) {
+            throw new NullPointerException("Collection cannot be null.");
+        }
+        final long[] keys = ArrayTapeLong.sortedKeys(col);
+        return removeIf(element -> ArrayTapeLong.containsKey(keys, element));
+    }
+
+    @Override
+    public boolean retainAll(Collection<?> col) {
+        if (col == null) {
+            throw new NullPointerException("Collection cannot be null.");
+        }
+        if (col.isEmpty()) {
+            clear();
+            return false;
+        }
+        final long[] keys = ArrayTapeLong.sortedKeys(col);
+        return removeIf(element -> !ArrayTapeLong.containsKey(keys, element));
+    }
+
+    @Override
+    public void clear() {
+        live();
+        size = 0;
+        updateCounter++;
+    }
+
+    @Override
+    public int indexOf(long element) {
+        final LongBuffer buffer = live();
+        for (int i = 0; i < size; i++) {
+            if (buffer.get(i) == element) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public int lastIndexOf(long element) {
+        final LongBuffer buffer = live();
+        for (int i = size - 1; i >= 0; i--) {
+            if (buffer.get(i) == element) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public boolean contains(long element) {
+        return indexOf(element) > -1;
+    }
+
+    @Override
+    public boolean containsAll(Collection<?> col) {
+        if (col == null) {
+            throw new NullPointerException("Collection cannot be null.");
+        }
+        for (Object element : col) {
+            if (!(element instanceof Long key) || indexOf(key) == -1) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public void copyToArray(long[] array, int offset) {
+        if (array == null) {
+            throw new NullPointerException("Target array cannot be null.");
+        }
+        if (offset < 0 || offset + size > array.length) {
+            throw new IndexOutOfBoundsException("Offset out of bounds: " + offset + ".");
+        }
+        live().get(0, array, offset, size);
+    }
+
+    @Override
+    public long[] toArray() {
+        final long[] ret = new long[size];
+        live().get(0, ret, 0, size);
+        return ret;
+    }
+
+    @Override
+    public long[] toArray(long[] arr) {
+        if (arr.length < size) {
+            return toArray();
+        }
+        live().get(0, arr, 0, size);
+        return arr;
+    }
+
+    @Override
+    public ArrayTapeOffHeapLong splitInHalf() {
+        if (size <= 1) {
+            return null;
+        }
+        final int halfSize = size / 2;
+        final ArrayTapeOffHeapLong newTape = emptyMovie(size - halfSize + ArrayTapeLong.DEFAULT_PAGE);
+        newTape.elementData.put(0, live(), halfSize, size - halfSize);
+        newTape.size = size - halfSize;
+        size = halfSize;
+        updateCounter++;
+        return newTape;
+    }
+
+    @Override
+    public void splitOrGlue() {
+        // NoOp
+    }
+
+    @Override
+    public ArrayMovieLong subMovie(int fromIndex, int toIndex) {
+        if (fromIndex >= size || fromIndex < 0) {
+            throw new IndexOutOfBoundsException("fromIndex: " + fromIndex + ", Size: " + size + ".");
+        }
+        if (toIndex > size || toIndex <= 0) {
+            throw new IndexOutOfBoundsException("toIndex: " + toIndex + ", Size: " + size + ".");
+        }
+        if (fromIndex > toIndex) {
+            throw new IndexOutOfBoundsException("fromIndex: " + fromIndex + ", toIndex: " + toIndex + ".");
+        }
+        final int newSize = toIndex - fromIndex;
+        final ArrayTapeOffHeapLong subMovie = emptyMovie(newSize);
+        subMovie.elementData.put(0, live(), fromIndex, newSize);
+        subMovie.size = newSize;
+        return subMovie;
+    }
+
+    @Override
+    public ArrayTapeOffHeapLong emptyMovie(int initialCapacityOrZero) {
+        return new ArrayTapeOffHeapLong(arena, initialCapacityOrZero);
+    }
+
+    @Override
+    public int debug(PrintStream out, String prefix, int offset) {
+        final LongBuffer buffer = live();
+        for (int i = 0; i < size; i++) {
+            out.println(prefix + "o[" + i + "] =[" + (offset + i) + "]= '" + buffer.get(i) + "'");
+        }
+        return offset + size;
+    }
+
+    @Override
+    public int pageSpaceLeft() {
+        return live().capacity() - size;
+    }
+
+    @Override
+    public IteratorWalkerLong softWalker() {
+        return new Walker(0);
+    }
+
+    @Override
+    public IteratorWalkerLong softWalkerBackwards() {
+        return new Walker(0).goLast();
+    }
+
+    @Override
+    public IteratorWalkerLong leafWalker(int atIndex) {
+        return new Walker(atIndex);
+    }
+
+    @Override
+    public IteratorLong iterator() {
+        return new IteratorLong() {
+            private final int expectedUpdateCounter = updateCounter;
+            private int currentIndex = 0;
+
+            @Override
+            public boolean hasNext() {
+                return currentIndex < size;
+            }
+
+            @Override
+            public long next() {
+                if (!hasNext()) {
+                    throw new IndexOutOfBoundsException("No more elements in the tape.");
+                }
+                if (expectedUpdateCounter != updateCounter) {
+                    throw new ConcurrentModificationException("ArrayTape was modified during iteration.");
+                }
+                return live().get(currentIndex++);
+            }
+
+            @Override
+            public void remove() {
+                throw new UnsupportedOperationException();
+            }
+        };
+    }
+
+    @Override
+    public Spliterator.OfLong spliterator() {
+        return new TapeSpliterator(0, size, updateCounter);
+    }
+
+    final class TapeSpliterator implements Spliterator.OfLong {
+
+        private int index;
+        private final int fence;
+        private final int expectedUpdateCounter;
+
+        TapeSpliterator(int origin, int fence, int expectedUpdateCounter) {
+            this.index = origin;
+            this.fence = fence;
+            this.expectedUpdateCounter = expectedUpdateCounter;
+        }
+
+        @Override
+        public TapeSpliterator trySplit() {
+            final int mid = (index + fence) >>> 1;
+            if (mid <= index) {
+                return null;
+            }
+            final TapeSpliterator prefix = new TapeSpliterator(index, mid, expectedUpdateCounter);
+            index = mid;
+            return prefix;
+        }
+
+        @Override
+        public boolean tryAdvance(java.util.function.LongConsumer action) {
+            if (action == null) {
+                throw new NullPointerException("Action cannot be null.");
+            }
+            if (index >= fence) {
+                return false;
+            }
+            action.accept(live().get(index++));
+            if (expectedUpdateCounter != updateCounter) {
+                throw new ConcurrentModificationException("ArrayTape was modified during iteration.");
+            }
+            return true;
+        }
+
+        @Override
+        public void forEachRemaining(java.util.function.LongConsumer action) {
+            if (action == null) {
+                throw new NullPointerException("Action cannot be null.");
+            }
+            final LongBuffer buffer = live();
+            for (int i = index; i < fence; i++) {
+                action.accept(buffer.get(i));
+            }
+            index = fence;
+            if (expectedUpdateCounter != updateCounter) {
+                throw new ConcurrentModificationException("ArrayTape was modified during iteration.");
+            }
+        }
+
+        @Override
+        public long estimateSize() {
+            return fence - index;
+        }
+
+        @Override
+        public int characteristics() {
+            return Spliterator.ORDERED | Spliterator.SIZED | Spliterator.SUBSIZED;
+        }
+    }
+
+    @Override
+    public IteratorWalkerLong filterFirst(LongPredicate predicate) {
+        if (predicate == null) {
+            throw new NullPointerException("Predicate cannot be null.");
+        }
+        final LongBuffer buffer = live();
+        final int startUpdateCounter = updateCounter;
+        for (int i = 0; i < size; i++) {
+            if (predicate.test(buffer.get(i))) {
+                if (startUpdateCounter != updateCounter) {
+                    throw new ConcurrentModificationException("ArrayTape was modified during iteration.");
+                }
+                return new Walker(i);
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public IteratorWalkerLong filterLast(LongPredicate predicate) {
+        if (predicate == null) {
+            throw new NullPointerException("Predicate cannot be null.");
+        }
+        final LongBuffer buffer = live();
+        final int startUpdateCounter = updateCounter;
+        for (int i = size - 1; i >= 0; i--) {
+            if (predicate.test(buffer.get(i))) {
+                if (startUpdateCounter != updateCounter) {
+                    throw new ConcurrentModificationException("ArrayTape was modified during iteration.");
+                }
+                return new Walker(i);
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public ArrayMovieLong filterAll(LongPredicate predicate) {
+        if (predicate == null) {
+            throw new NullPointerException("Predicate cannot be null.");
+        }
+        final LongBuffer buffer = live();
+        final int startUpdateCounter = updateCounter;
+        final ArrayMovieLong ret = emptyMovie(size >> 4);
+        for (int i = 0; i < size; i++) {
+            final long element = buffer.get(i);
+            if (predicate.test(element)) {
+                ret.add(element);
+            }
+        }
+        if (startUpdateCounter != updateCounter) {
+            throw new ConcurrentModificationException("ArrayTape was modified during iteration.");
+        }
+        return ret;
+    }
+
+    @Override
+    public de.jare.ndimcol.primint.ArrayMovieInt filterAllIndexes(LongPredicate predicate) {
+        if (predicate == null) {
+            throw new NullPointerException("Predicate cannot be null.");
+        }
+        final LongBuffer buffer = live();
+        final int startUpdateCounter = updateCounter;
+        final de.jare.ndimcol.primint.ArrayMovieInt ret = new de.jare.ndimcol.primint.ArrayTapeInt();
+        for (int i = 0; i < size; i++) {
+            if (predicate.test(buffer.get(i))) {
+                ret.add(i);
+            }
+        }
+        if (startUpdateCounter != updateCounter) {
+            throw new ConcurrentModificationException("ArrayTape was modified during iteration.");
+        }
+        return ret;
+    }
+
+    @Override
+    public void forEach(LongConsumer action) {
+        final LongBuffer buffer = live();
+        final int startUpdateCounter = updateCounter;
+        for (int i = 0; i < size; i++) {
+            action.accept(buffer.get(i));
+        }
+        if (startUpdateCounter != updateCounter) {
+            throw new ConcurrentModificationException("ArrayTape was modified during iteration.");
+        }
+    }
+
+    @Override
+    public void forEach(LongPredicate predicate, LongConsumer thenAction) {
+        forEach(predicate, thenAction, 0, null);
+    }
+
+    @Override
+    public void forEach(LongPredicate predicate, LongConsumer thenActionOrNull,
+            int offset, IntConsumer thenIndexActionOrNull) {
+        if (predicate == null) {
+            throw new NullPointerException("Predicate cannot be null.");
+        }
+        final LongBuffer buffer = live();
+        final int startUpdateCounter = updateCounter;
+        for (int i = 0; i < size; i++) {
+            final long element = buffer.get(i);
+            if (predicate.test(element)) {
+                if (thenActionOrNull != null) {
+                    thenActionOrNull.accept(element);
+                }
+                if (thenIndexActionOrNull != null) {
+                    thenIndexActionOrNull.accept(i + offset);
+                }
+            }
+        }
+        if (startUpdateCounter != updateCounter) {
+            throw new ConcurrentModificationException("ArrayTape was modified during iteration.");
+        }
+    }
+
+    @Override
+    public void forEach(LongPredicate predicate,
+            LongConsumer thenAction, LongConsumer elseAction) {
+        if (predicate == null) {
+            throw new NullPointerException("Predicate cannot be null.");
+        }
+        final LongBuffer buffer = live();
+        final int startUpdateCounter = updateCounter;
+        for (int i = 0; i < size; i++) {
+            final long element = buffer.get(i);
+            if (predicate.test(element)) {
+                thenAction.accept(element);
+            } else {
+                elseAction.accept(element);
+            }
+        }
+        if (startUpdateCounter != updateCounter) {
+            throw new ConcurrentModificationException("ArrayTape was modified during iteration.");
+        }
+    }
+
+    @Override
+    public <U> U reduce(U identity, BiFunction<U, ? super Long, U> accumulator, BinaryOperator<U> combiner) {
+        final LongBuffer buffer = live();
+        final int startUpdateCounter = updateCounter;
+        U result = identity;
+        for (int i = 0; i < size; i++) {
+            result = accumulator.apply(result, buffer.get(i));
+        }
+        if (startUpdateCounter != updateCounter) {
+            throw new ConcurrentModificationException("ArrayTape was modified during iteration.");
+        }
+        return result;
+    }
+
+    @Override
+    public long min() {
+        if (size == 0) {
+            throw new IndexOutOfBoundsException("Tape is empty.");
+        }
+        final LongBuffer buffer = live();
+        long min = buffer.get(0);
+        for (int i = 1; i < size; i++) {
+            min = Math.min(min, buffer.get(i));
+        }
+        return min;
+    }
+
+    @Override
+    public long max() {
+        if (size == 0) {
+            throw new IndexOutOfBoundsException("Tape is empty.");
+        }
+        final LongBuffer buffer = live();
+        long max = buffer.get(0);
+        for (int i = 1; i < size; i++) {
+            max = Math.max(max, buffer.get(i));
+        }
+        return max;
+    }
+
+    @Override
+    public long sum() {
+        final LongBuffer buffer = live();
+        long sum = 0;
+        for (int i = 0; i < size; i++) {
+            sum += buffer.get(i);
+        }
+        return sum;
+    }
+
+    @Override
+    public ArrayTapeOffHeapLong filterRange(long low, long high) {
+        final LongBuffer buffer = live();
+        final ArrayTapeOffHeapLong ret = emptyMovie(size);
+        int count = 0;
+        for (int i = 0; i < size; i++) {
+            final long value = buffer.get(i);
+            if (value >= low && value <= high) {
+                ret.elementData.put(count++, value);
+            }
+        }
+        ret.size = count;
+        return ret;
+    }
+
+    @Override
+    public boolean equals(Object ob) {
+        if (!(ob instanceof ArrayMovieLong movie)) {
+            return false;
+        }
+        if (size != movie.size()) {
+            return false;
+        }
+        final LongBuffer buffer = live();
+        final IteratorWalkerLong walker = movie.softWalker();
+        for (int i = 0; i < size; i++) {
+            if (buffer.get(i) != walker.next()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        final LongBuffer buffer = live();
+        int hashCode = 0;
+        for (int i = 0; i < size; i++) {
+            hashCode = _combine(hashCode, _hashCode(buffer.get(i)));
+        }
+        return hashCode;
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + "[size=" + size + (isAlive() ? "" : ", closed") + "]";
+    }
+
+    /**
+     * A walker over this tape. It reads and writes through the methods of the tape, so it fails in the same way once
+     * the tape is closed.
+     */
+    final class Walker implements IteratorWalkerLong {
+
+        private int currentIndex;
+        private boolean forward;
+
+        Walker(int atIndex) {
+            this.currentIndex = atIndex;
+            this.forward = true;
+        }
+
+        @Override
+        public ArrayMovieLong getRelatedMovie() {
+            return ArrayTapeOffHeapLong.this;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return currentIndex < size;
+        }
+
+        @Override
+        public long next() {
+            if (!hasNext()) {
+                throw new IndexOutOfBoundsException("No more elements in the tape.");
+            }
+            forward = true;
+            return get(currentIndex++);
+        }
+
+        @Override
+        public boolean hasPrevious() {
+            return currentIndex > 0;
+        }
+
+        @Override
+        public long previous() {
+            if (!hasPrevious()) {
+                throw new IndexOutOfBoundsException("No previous elements in the tape.");
+            }
+            forward = false;
+            return get(--currentIndex);
+        }
+
+        @Override
+        public boolean add(long element) {
+            return addAt(currentIndex, element);
+        }
+
+        @Override
+        public boolean add(Collection<? extends Long> col) {
+            return addAll(currentIndex, col);
+        }
+
+        @Override
+        public long set(long element) {
+            return ArrayTapeOffHeapLong.this.set(currentIndex, element);
+        }
+
+        @Override
+        public long removeForward() {
+            return removeAt(--currentIndex);
+        }
+
+        @Override
+        public long removeBackward() {
+            return removeAt(currentIndex);
+        }
+
+        @Override
+        public long remove() {
+            return forward ? removeForward() : removeBackward();
+        }
+
+        @Override
+        public Walker goFirst() {
+            currentIndex = 0;
+            forward = true;
+            return this;
+        }
+
+        @Override
+        public Walker goLast() {
+            currentIndex = size;
+            forward = false;
+            return this;
+        }
+
+        @Override
+        public Walker gotoIndex(int index, boolean headForward) {
+            if (index < 0 || index >= size) {
+                throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size + ".");
+            }
+            forward = headForward;
+            currentIndex = headForward ? index : index + 1;
+            return this;
+        }
+
+        @Override
+        public Walker goLeafIndex(int index) {
+            if (index < 0 || index >= size) {
+                throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size + ".");
+            }
+            currentIndex = index;
+            return this;
+        }
+
+        @Override
+        public int getCurrentIndex() {
+            return currentIndex;
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return size == 0;
+        }
+
+        @Override
+        public boolean hasRecord() {
+            return size > 0;
+        }
+    }
+}
@@ -13,6 +13,8 @@ package de.jare.ndimcol.primlong;
  */
 public class BiPredicateLongLongGr implements BiPredicateLongLong {
 
+    public final static BiPredicateLongLongGr INSTANCE = new BiPredicateLongLongGr();
+
     /**
      * Evaluates this predicate e2 greater as e1.
      *
@@ -0,0 +1,117 @@
+/**
+ * <copyright>
+ * Copyright (c) 2025, Janusch Rentenatus. This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v2.0 which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ * </copyright>
+ */
+package de.jare.ndimcol.primlong;
+
+import de.jare.ndimcol.MappedArena;
+import de.jare.ndimcol.ref.ArrayTape;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+
+/**
+ * A season of primitive {@code long} values kept in a file. Every episode is an {@link ArrayTapeOffHeapLong} on a region
+ * of the memory-mapped file, so the season can be larger than the heap and is paged in on demand. An insertion grows
+ * only the region of its episode.
+ * <pre>
+ * try (MappedSeasonLong season = MappedSeasonLong.open(file)) {
+ *     season.add(value);
+ * }
+ * </pre> {@link #open(Path)} maps the stored episodes again without reading their elements. {@link #sync()} and
+ * {@link #close()} store the order and sizes of the episodes, only then does the file describe the season.
+ *
+ * @author Janusch Rentenatus
+ */
+public class MappedSeasonLong extends ArraySeasonLong implements Closeable {
+
+    private final MappedArena arena;
+
+    MappedSeasonLong(MappedArena arena, ArrayTape<ArrayMovieLong> episodes, int size) {
+        super(episodes, size);
+        this.arena = arena;
+        this.screenplay = new OffHeapScreenplayLong(arena);
+        recalculateScope();
+    }
+
+    /**
+     * Opens the season of a file, or an empty season if the file is new.
+     *
+     * @param file the file
+     * @return the season of the file
+     * @throws IOException if the file cannot be opened or holds no season of {@code long} values
+     */
+    public static MappedSeasonLong open(Path file) throws IOException {
+        final MappedArena arena = new MappedArena(file, long.class);
+        try {
+            final int count = arena.getStoredCount();
+            final ArrayTape<ArrayMovieLong> episodes = new ArrayTape<>(count + Screenplay2dLong.DEFAULT_SIZE_2D);
+            int size = 0;
+            for (int i = 0; i < count; i++) {
+                final int episodeSize = arena.getStoredSize(i);
+                episodes.add(new ArrayTapeOffHeapLong(arena, arena.mapStored(i), episodeSize));
+                size += episodeSize;
+            }
+            return new MappedSeasonLong(arena, episodes, size);
+        } catch (IOException | RuntimeException ex) {
+            arena.close();
+            throw ex;
+        }
+    }
+
+    /**
+     * Returns the arena of the file.
+     *
+     * @return the arena
+     */
+    public MappedArena getArena() {
+        return arena;
+    }
+
+    /**
+     * Stores the order and sizes of the episodes and forces the file to the storage device. An episode glued in from
+     * outside the file is copied into the file first.
+     *
+     * @throws IOException if the file cannot be written
+     */
+    public void sync() throws IOException {
+        final int count = data.size();
+        final ByteBuffer[] memories = new ByteBuffer[count];
+        final int[] sizes = new int[count];
+        for (int i = 0; i < count; i++) {
+            final ArrayMovieLong episode = data.get(i);
+            final ArrayTapeOffHeapLong tape;
+            if (episode instanceof ArrayTapeOffHeapLong offHeap && offHeap.getArena() == arena) {
+                tape = offHeap;
+            } else {
+                tape = new ArrayTapeOffHeapLong(arena, episode.size());
+                tape.addMovie(episode);
+                data.set(i, tape);
+            }
+            memories[i] = tape.getMemory();
+            sizes[i] = tape.size();
+        }
+        arena.writeDirectory(memories, sizes);
+    }
+
+    /**
+     * Stores the season with {@link #sync()} and closes the file. The season can not be used afterwards.
+     *
+     * @throws IOException if the file cannot be written
+     */
+    @Override
+    public void close() throws IOException {
+        if (!arena.isAlive()) {
+            return;
+        }
+        try {
+            sync();
+        } finally {
+            arena.close();
+        }
+    }
+}
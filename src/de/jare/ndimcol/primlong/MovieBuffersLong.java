@@ -0,0 +1,243 @@
+/**
+ * <copyright>
+ * Copyright (c) 2025, Janusch Rentenatus. This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v2.0 which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ * </copyright>
+ */
+package de.jare.ndimcol.primlong;
+
+import de.jare.ndimcol.ref.MovieFormat;
+import java.io.IOException;
+import java.nio.BufferOverflowException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.LongBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.util.ArrayList;
+
+/**
+ * Bulk copies between movies or matrices of long values and NIO buffers or channels. Every episode is copied with one
+ * bulk operation instead of a copy through {@code toArray()}. The memory of an {@link ArrayTapeOffHeapLong} goes to a
+ * channel without a copy on little-endian platforms.
+ * <p>
+ * Channels carry the raw values in little-endian order without a header; {@link MovieFormatLong} writes a format that
+ * knows its size and kind.
+ *
+ * @author Janusch Rentenatus
+ */
+public final class MovieBuffersLong {
+
+    private MovieBuffersLong() {
+    }
+
+    /**
+     * Copies the values of the movie to the buffer, starting at its position.
+     *
+     * @param movie the movie
+     * @param buffer the buffer
+     * @throws BufferOverflowException if the buffer has not enough space
+     */
+    public static void copyTo(ArrayMovieLong movie, LongBuffer buffer) {
+        if (buffer.remaining() < movie.size()) {
+            throw new BufferOverflowException();
+        }
+        final ArrayList<ArrayMovieLong> episodes = new ArrayList<>();
+        MovieFormatLong.collectEpisodes(movie, episodes);
+        for (ArrayMovieLong episode : episodes) {
+            if (episode instanceof ArrayTapeLong tape) {
+                buffer.put(tape.getBufferData(), 0, tape.size());
+            } else if (episode instanceof ArrayTapeOffHeapLong offHeap) {
+                buffer.put(offHeap.getMemory().asLongBuffer().limit(offHeap.size()));
+            } else {
+                buffer.put(episode.toArray());
+            }
+        }
+    }
+
+    /**
+     * Copies the values of the matrix row by row to the buffer, starting at its position.
+     *
+     * @param matrix the matrix
+     * @param buffer the buffer
+     * @throws BufferOverflowException if the buffer has not enough space
+     */
+    public static void copyTo(ArrayMatrixLong matrix, LongBuffer buffer) {
+        copyTo(matrix.cover, buffer);
+    }
+
+    /**
+     * Returns a new season with the remaining values of the buffer. The position of the buffer is moved to its limit.
+     *
+     * @param buffer the buffer
+     * @return a new season
+     */
+    public static ArraySeasonLong wrap(LongBuffer buffer) {
+        return wrapInto(new ArraySeasonLong(), buffer);
+    }
+
+    /**
+     * Appends the remaining values of the buffer to the season in episodes of a size the season keeps. For a sorted
+     * set, the values must be sorted and come after the values of the set.
+     *
+     * @param <S> the type of the season
+     * @param season the season
+     * @param buffer the buffer
+     * @return the season
+     */
+    public static <S extends ArraySeasonLong> S wrapInto(S season, LongBuffer buffer) {
+        final int episodeSize = season.fillEpisodeSize(buffer.remaining());
+        while (buffer.hasRemaining()) {
+            final long[] values = new long[Math.min(episodeSize, buffer.remaining())];
+            buffer.get(values);
+            final ArrayTapeLong episode = new ArrayTapeLong(0);
+            episode.setBufferData(values);
+            season.glueMovie(episode);
+        }
+        season.recalculateScope();
+        season.splitOrGlue();
+        return season;
+    }
+
+    /**
+     * Returns a new matrix with values of the buffer, row by row. The position of the buffer is moved by
+     * {@code cols * rows}.
+     *
+     * @param cols number of columns
+     * @param rows number of rows
+     * @param buffer the buffer
+     * @return a new matrix
+     * @throws BufferUnderflowException if the buffer has less values than the matrix
+     */
+    public static ArrayMatrixLong wrap(int cols, int rows, LongBuffer buffer) {
+        if (buffer.remaining() < (long) cols * rows) {
+            throw new BufferUnderflowException();
+        }
+        final ArrayMatrixLong matrix = new ArrayMatrixLong(cols, rows, 0L);
+        for (ArrayTapeLong row : matrix.content) {
+            final long[] values = new long[cols];
+            buffer.get(values);
+            row.setBufferData(values);
+        }
+        return matrix;
+    }
+
+    /**
+     * Writes the values of the movie to the channel.
+     *
+     * @param movie the movie
+     * @param channel the channel
+     * @throws IOException if the channel fails
+     */
+    public static void writeTo(ArrayMovieLong movie, WritableByteChannel channel) throws IOException {
+        final ArrayList<ArrayMovieLong> episodes = new ArrayList<>();
+        MovieFormatLong.collectEpisodes(movie, episodes);
+        final MovieFormat.GatherWriter writer = new MovieFormat.GatherWriter(channel);
+        for (ArrayMovieLong episode : episodes) {
+            writer.add(littleEndianBytes(episode));
+        }
+        writer.flush();
+    }
+
+    /**
+     * Returns the values of an episode in little-endian order, the memory of an off-heap tape on little-endian
+     * platforms without a copy.
+     */
+    static ByteBuffer littleEndianBytes(ArrayMovieLong episode) {
+        final int episodeSize = episode.size();
+        if (episode instanceof ArrayTapeOffHeapLong offHeap && ByteOrder.nativeOrder() == ByteOrder.LITTLE_ENDIAN) {
+            return offHeap.getMemory().slice(0, episodeSize * Long.BYTES);
+        }
+        final ByteBuffer bytes = ByteBuffer.allocate(episodeSize * Long.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        if (episode instanceof ArrayTapeLong tape) {
+            bytes.asLongBuffer().put(tape.getBufferData(), 0, episodeSize);
+        } else {
+            bytes.asLongBuffer().put(episode.toArray());
+        }
+        return bytes;
+    }
+
+    /**
+     * Writes the values of the matrix row by row to the channel.
+     *
+     * @param matrix the matrix
+     * @param channel the channel
+     * @throws IOException if the channel fails
+     */
+    public static void writeTo(ArrayMatrixLong matrix, WritableByteChannel channel) throws IOException {
+        writeTo(matrix.cover, channel);
+    }
+
+    /**
+     * Reads values until the end of the channel into a new season.
+     *
+     * @param channel the channel
+     * @return a new season
+     * @throws IOException if the channel fails or ends inside a value
+     */
+    public static ArraySeasonLong readFrom(ReadableByteChannel channel) throws IOException {
+        return readInto(new ArraySeasonLong(), channel);
+    }
+
+    /**
+     * Reads values until the end of the channel and appends them to the season. For a sorted set, the values must be
+     * sorted and come after the values of the set.
+     *
+     * @param <S> the type of the season
+     * @param season the season
+     * @param channel the channel
+     * @return the season
+     * @throws IOException if the channel fails or ends inside a value
+     */
+    public static <S extends ArraySeasonLong> S readInto(S season, ReadableByteChannel channel) throws IOException {
+        final long expected = channel instanceof SeekableByteChannel seekable
+                ? (seekable.size() - seekable.position()) / Long.BYTES : 0;
+        final int episodeSize = season.fillEpisodeSize(expected);
+        final ByteBuffer bytes = ByteBuffer.allocateDirect(episodeSize * Long.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        boolean end = false;
+        while (!end) {
+            bytes.clear();
+            while (bytes.hasRemaining() && !end) {
+                end = channel.read(bytes) < 0;
+            }
+            if (bytes.position() % Long.BYTES != 0) {
+                throw new IOException("Channel ends inside a value.");
+            }
+            if (bytes.position() > 0) {
+                bytes.flip();
+                final long[] values = new long[bytes.remaining() / Long.BYTES];
+                bytes.asLongBuffer().get(values);
+                final ArrayTapeLong episode = new ArrayTapeLong(0);
+                episode.setBufferData(values);
+                season.glueMovie(episode);
+            }
+        }
+        season.recalculateScope();
+        season.splitOrGlue();
+        return season;
+    }
+
+    /**
+     * Reads a matrix row by row from the channel.
+     *
+     * @param cols number of columns
+     * @param rows number of rows
+     * @param channel the channel
+     * @return a new matrix
+     * @throws IOException if the channel fails or ends before
+     */
+    public static ArrayMatrixLong readFrom(int cols, int rows, ReadableByteChannel channel) throws IOException {
+        final ArrayMatrixLong matrix = new ArrayMatrixLong(cols, rows, 0L);
+        final ByteBuffer bytes = ByteBuffer.allocateDirect(cols * Long.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        for (ArrayTapeLong row : matrix.content) {
+            MovieFormat.readFully(channel, bytes.clear());
+            final long[] values = new long[cols];
+            bytes.flip().asLongBuffer().get(values);
+            row.setBufferData(values);
+        }
+        return matrix;
+    }
+}
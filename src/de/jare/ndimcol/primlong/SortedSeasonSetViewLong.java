@@ -0,0 +1,410 @@
+/**
+ * <copyright>
+ * Copyright (c) 2025, Janusch Rentenatus. This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v2.0 which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ * </copyright>
+ */
+    // #### This code has been generated. Please do not make any changes here.
+    // #### Modify package 'de.jare.ndimcol.ref' and use 'GeneratePrimitiveJavaFiles'
+package de.jare.ndimcol.primlong;
+
+import de.jare.ndimcol.EpisodeIndex;
+import java.util.AbstractSet;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NavigableSet;
+import java.util.NoSuchElementException;
+
+/**
+ * A live range view of a SortedSeasonSet, as returned by headSet, tailSet, subSet and descendingSet. The view holds
+ * only its bounding elements. On every access the bounds are turned into an index range of the set by the binary
+ * search of {@link SortedSeasonSet#headSize}, so changes of the set are always visible in the view and vice versa.
+ *
+ * @author Janusch Rentenatus
+ */
+    // #### This code has been generated. Please do not make any changes here.
+    // #### Modify package 'de.jare.ndimcol.ref' and use 'GeneratePrimitiveJavaFiles'
+public class SortedSeasonSetViewLong {
+
+    private final SortedSeasonSetLong set;
+    private final boolean fromStart;
+    private final long lo;
+    private final boolean loInclusive;
+    private final boolean toEnd;
+    private final long hi;
+    private final boolean hiInclusive;
+    private final boolean descending;
+
+    /**
+     * Constructs an unbounded view of the whole set.
+     *
+     * @param set the backing set
+     * @param descending true for the view in descending order
+     */
+    // #### This code has been generated. Please do not make any changes here.
+    // #### Modify package 'de.jare.ndimcol.ref' and use 'GeneratePrimitiveJavaFiles'
+    SortedSeasonSetViewLong(final SortedSeasonSetLong set, boolean descending) {
+        this.set = set;
+        this.fromStart = true;
+        this.lo = 0;
+        this.loInclusive = true;
+        this.toEnd = true;
+        this.hi = 0;
+        this.hiInclusive = true;
+        this.descending = descending;
+    }
+
+    private SortedSeasonSetViewLong(final SortedSeasonSetLong set, boolean fromStart, long lo, boolean loInclusive,
+            boolean toEnd, long hi, boolean hiInclusive, boolean descending) {
+        this.set = set;
+        this.fromStart = fromStart;
+        this.lo = lo;
+        this.loInclusive = loInclusive;
+        this.toEnd = toEnd;
+        this.hi = hi;
+        this.hiInclusive = hiInclusive;
+        this.descending = descending;
+    }
+
+    /**
+     * Returns the index of the first element of the set inside this view.
+     *
+     * @return the first index of the range in the set
+     */
+    // #### This code has been generated. Please do not make any changes here.
+    // #### Modify package 'de.jare.ndimcol.ref' and use 'GeneratePrimitiveJavaFiles'
+    private int fromIndex() {
+        return fromStart ? 0 : set.headSize(lo, !loInclusive);
+    }
+
+    /**
+     * Returns the index behind the last element of the set inside this view.
+     *
+     * @return the index behind the range in the set, never smaller than {@link #fromIndex()}
+     */
+    // #### This code has been generated. Please do not make any changes here.
+    // #### Modify package 'de.jare.ndimcol.ref' and use 'GeneratePrimitiveJavaFiles'
+    private int toIndex() {
+        final int to = toEnd ? set.size() : set.headSize(hi, hiInclusive);
+        return Math.max(to, fromIndex());
+    }
+
+    /**
+     * Checks whether the element lies inside the bounds of this view. An exclusive bound of the view is accepted only
+     * as an exclusive bound of a new view.
+     *
+     * @param element the element to check
+     * @param inclusive false if the element is used as exclusive bound
+     * @return true if the element is inside the bounds
+     */
+    // #### This code has been generated. Please do not make any changes here.
+    // #### Modify package 'de.jare.ndimcol.ref' and use 'GeneratePrimitiveJavaFiles'
+    private boolean inBounds(long element, boolean inclusive) {
+        if (!fromStart && (set.before(element, lo) || (inclusive && !loInclusive && !set.before(lo, element)))) {
+            return false;
+        }
+        return toEnd || !(set.before(hi, element) || (inclusive && !hiInclusive && !set.before(element, hi)));
+    }
+
+    /**
+     * Returns the index of the last element in this view in front of the given element, in ascending order.
+     *
+     * @param element the element to compare with
+     * @param inclusive true if an element equal to the given element is accepted
+     * @return the index in the set or -1
+     */
+    // #### This code has been generated. Please do not make any changes here.
+    // #### Modify package 'de.jare.ndimcol.ref' and use 'GeneratePrimitiveJavaFiles'
+    private int lowerIndex(long element, boolean inclusive) {
+        final int index = Math.min(set.headSize(element, inclusive), toIndex()) - 1;
+        return index >= fromIndex() ? index : -1;
+    }
+
+    /**
+     * Returns the index of the first element in this view behind the given element, in ascending order.
+     *
+     * @param element the element to compare with
+     * @param inclusive true if an element equal to the given element is accepted
+     * @return the index in the set or -1
+     */
+    // #### This code has been generated. Please do not make any changes here.
+    // #### Modify package 'de.jare.ndimcol.ref' and use 'GeneratePrimitiveJavaFiles'
+    private int higherIndex(long element, boolean inclusive) {
+        final int index = Math.max(set.headSize(element, !inclusive), fromIndex());
+        return index < toIndex() ? index : -1;
+    }
+
+    private Long elementAt(int index) {
+        return index < 0 ? null : set.at(index);
+    }
+
+    /**
+     * Returns a new view with the given bounds in ascending order. A kept bound is taken from this view, a new bound
+     * has to lie inside the bounds of this view.
+     *
+     * @param keepLo true to keep the low bound of this view
+     * @param newLo the new low bound
+     * @param newLoInclusive true if the new low bound belongs to the new view
+     * @param keepHi true to keep the high bound of this view
+     * @param newHi the new high bound
+     * @param newHiInclusive true if the new high bound belongs to the new view
+     * @return the new view with the same order as this view
+     * @throws IllegalArgumentException if a new bound is out of range or the low bound is behind the high bound
+     */
+    // #### This code has been generated. Please do not make any changes here.
+    // #### Modify package 'de.jare.ndimcol.ref' and use 'GeneratePrimitiveJavaFiles'
+    private SortedSeasonSetViewLong range(boolean keepLo, long newLo, boolean newLoInclusive,
+            boolean keepHi, long newHi, boolean newHiInclusive) {
+        if (!keepLo && !inBounds(newLo, newLoInclusive)) {
+            throw new IllegalArgumentException("Element out of range.");
+        }
+        if (!keepHi && !inBounds(newHi, newHiInclusive)) {
+            throw new IllegalArgumentException("Element out of range.");
+        }
+        if (!keepLo && !keepHi && set.before(newHi, newLo)) {
+            throw new IllegalArgumentException("From element is behind to element.");
+        }
+        return new SortedSeasonSetViewLong(set,
+                keepLo && fromStart, keepLo ? lo : newLo, keepLo ? loInclusive : newLoInclusive,
+                keepHi && toEnd, keepHi ? hi : newHi, keepHi ? hiInclusive : newHiInclusive,
+                descending);
+    }
+
+    /**
+     * Returns the number of elements in this view. The bounds are searched in the set.
+     *
+     * @return the number of elements in this view
+     */
+    // #### This code has been generated. Please do not make any changes here.
+    // #### Modify package 'de.jare.ndimcol.ref' and use 'GeneratePrimitiveJavaFiles'
+    
+    public int size() {
+        return toIndex() - fromIndex();
+    }
+
+    
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    @SuppressWarnings("unchecked")
+    
+    public boolean contains(long o) {
+        final long element = o;
+        return inBounds(element, true) && set.contains(element);
+    }
+
+    /**
+     * Adds the element to the set.
+     *
+     * @param element element to be added
+     * @return true if the set changed as a result of the call
+     * @throws IllegalArgumentException if the element is out of the range of this view
+     */
+    // #### This code has been generated. Please do not make any changes here.
+    // #### Modify package 'de.jare.ndimcol.ref' and use 'GeneratePrimitiveJavaFiles'
+    
+    public boolean add(long element) {
+        if (!inBounds(element, true)) {
+            throw new IllegalArgumentException("Element out of range.");
+        }
+        return set.add(element);
+    }
+
+    @SuppressWarnings("unchecked")
+    
+    public boolean remove(long o) {
+        final long element = o;
+        return inBounds(element, true) && set.remove(element);
+    }
+
+    /**
+     * Removes all elements of this view from the set.
+     */
+    // #### This code has been generated. Please do not make any changes here.
+    // #### Modify package 'de.jare.ndimcol.ref' and use 'GeneratePrimitiveJavaFiles'
+    
+    public void clear() {
+        final int from = fromIndex();
+        for (int count = toIndex() - from; count > 0; count--) {
+            set.removeAt(from);
+        }
+    }
+
+    
+    public long first() {
+        final int from = fromIndex();
+        final int to = toIndex();
+        if (from == to) {
+            throw new NoSuchElementException("Set is empty.");
+        }
+        return set.at(descending ? to - 1 : from);
+    }
+
+    
+    public long last() {
+        final int from = fromIndex();
+        final int to = toIndex();
+        if (from == to) {
+            throw new NoSuchElementException("Set is empty.");
+        }
+        return set.at(descending ? from : to - 1);
+    }
+
+    
+    public Long lower(long element) {
+        return elementAt(descending ? higherIndex(element, false) : lowerIndex(element, false));
+    }
+
+    
+    public Long floor(long element) {
+        return elementAt(descending ? higherIndex(element, true) : lowerIndex(element, true));
+    }
+
+    
+    public Long ceiling(long element) {
+        return elementAt(descending ? lowerIndex(element, true) : higherIndex(element, true));
+    }
+
+    
+    public Long higher(long element) {
+        return elementAt(descending ? lowerIndex(element, false) : higherIndex(element, false));
+    }
+
+    
+    public Long pollFirst() {
+        final int from = fromIndex();
+        final int to = toIndex();
+        if (from == to) {
+            return null;
+        }
+        return set.removeAt(descending ? to - 1 : from);
+    }
+
+    
+    public Long pollLast() {
+        final int from = fromIndex();
+        final int to = toIndex();
+        if (from == to) {
+            return null;
+        }
+        return set.removeAt(descending ? from : to - 1);
+    }
+
+    /**
+     * Returns an iterator over the elements of this view in its order. The range is fixed when the iterator is created,
+     * only removes by the iterator itself are taken into account; any other change of the set makes the iterator
+     * throw a ConcurrentModificationException.
+     *
+     * @return an iterator over the elements of this view
+     */
+    // #### This code has been generated. Please do not make any changes here.
+    // #### Modify package 'de.jare.ndimcol.ref' and use 'GeneratePrimitiveJavaFiles'
+    
+    public IteratorLong iterator() {
+        final int from = fromIndex();
+        final int to = toIndex();
+        return new IteratorLong() {
+            private int next = descending ? to - 1 : from;
+            private int end = descending ? from - 1 : to;
+            private int lastIndex = -1;
+            private ArrayMovieLong episode;
+            private int offset;
+            private int expectedUpdateCounter = set.updateCounter;
+
+            private void checkForConcurrentModification() {
+                if (expectedUpdateCounter != set.updateCounter) {
+                    throw new ConcurrentModificationException("SortedSeasonSet was modified during iteration.");
+                }
+            }
+
+            
+            public boolean hasNext() {
+                return descending ? next > end : next < end;
+            }
+
+            
+            public long next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                checkForConcurrentModification();
+                lastIndex = next;
+                next += descending ? -1 : 1;
+                if (episode == null || lastIndex < offset || lastIndex >= offset + episode.size()) {
+                    final EpisodeIndex episodes = set.episodeIndex();
+                    final int episodeNo = episodes.episodeAt(lastIndex);
+                    episode = set.data.get(episodeNo);
+                    offset = episodes.offsetOf(episodeNo);
+                }
+                return episode.get(lastIndex - offset);
+            }
+
+            
+            public void remove() {
+                if (lastIndex < 0) {
+                    throw new IllegalStateException();
+                }
+                checkForConcurrentModification();
+                set.removeAt(lastIndex);
+                expectedUpdateCounter = set.updateCounter;
+                if (!descending) {
+                    next--;
+                    end--;
+                }
+                lastIndex = -1;
+                episode = null;
+            }
+        };
+    }
+
+    
+    public IteratorLong descendingIterator() {
+        return descendingSet().iterator();
+    }
+
+    
+    public SortedSeasonSetViewLong descendingSet() {
+        return new SortedSeasonSetViewLong(set, fromStart, lo, loInclusive, toEnd, hi, hiInclusive, !descending);
+    }
+
+    
+    public SortedSeasonSetViewLong subSet(long fromElement, boolean fromInclusive, long toElement, boolean toInclusive) {
+        return descending
+                ? range(false, toElement, toInclusive, false, fromElement, fromInclusive)
+                : range(false, fromElement, fromInclusive, false, toElement, toInclusive);
+    }
+
+    
+    public SortedSeasonSetViewLong headSet(long toElement, boolean inclusive) {
+        return descending
+                ? range(false, toElement, inclusive, true, hi, hiInclusive)
+                : range(true, lo, loInclusive, false, toElement, inclusive);
+    }
+
+    
+    public SortedSeasonSetViewLong tailSet(long fromElement, boolean inclusive) {
+        return descending
+                ? range(true, lo, loInclusive, false, fromElement, inclusive)
+                : range(false, fromElement, inclusive, true, hi, hiInclusive);
+    }
+
+    
+    public SortedSeasonSetViewLong subSet(long fromElement, long toElement) {
+        return subSet(fromElement, true, toElement, false);
+    }
+
+    
+    public SortedSeasonSetViewLong headSet(long toElement) {
+        return headSet(toElement, false);
+    }
+
+    
+    public SortedSeasonSetViewLong tailSet(long fromElement) {
+        return tailSet(fromElement, true);
+    }
+
+}
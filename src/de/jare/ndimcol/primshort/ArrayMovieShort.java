@@ -16,6 +16,9 @@ import de.jare.ndimcol.primint.ArraySeasonInt;
 import java.io.PrintStream;
 import java.util.Collection;
 import java.util.Iterator;
+import java.util.Spliterator;
+import java.util.function.BiFunction;
+import java.util.function.BinaryOperator;
 // ShortConsumer is unfortunately not available in java.util.function
 import java.util.function.IntConsumer;
 // ShortPredicate is unfortunately not available in java.util.function
@@ -227,6 +230,19 @@ public interface ArrayMovieShort   {
     
     boolean retainAll(Collection<?> col);
 
+    /**
+     * Removes all of the elements of this movie that satisfy the given predicate. Each tape is compacted in a single
+     * pass, a season rebalances its episodes once at the end.
+     *
+     * @param filter a predicate which returns {@code true} for elements to be removed
+     * @return {@code true} if any elements were removed
+     * @throws NullPointerException if the specified filter is null
+     */
+    // #### This code has been generated. Please do not make any changes here.
+    // #### Modify package 'de.jare.ndimcol.ref' and use 'GeneratePrimitiveJavaFiles'
+    
+    boolean removeIf(ShortPredicate filter);
+
     /**
      * Removes all of the elements from this collection (optional operation). The collection will be empty after this
      * method returns.
@@ -321,6 +337,70 @@ public interface ArrayMovieShort   {
     
     IteratorShort iterator();
 
+    /**
+     * Returns a spliterator over the elements of this movie. It reports ORDERED, SIZED and SUBSIZED. A season splits on
+     * the boundaries of its episodes, a single tape splits its range in halves.
+     *
+     * @return a spliterator over the elements of this movie
+     */
+    // #### This code has been generated. Please do not make any changes here.
+    // #### Modify package 'de.jare.ndimcol.ref' and use 'GeneratePrimitiveJavaFiles'
+    
+     Spliterator.OfInt spliterator();
+
+     /**
+      * Returns a sequential IntStream over the elements of this movie. The values are read from the arrays of
+      * the episodes without boxing.
+      *
+      * @return a sequential IntStream over the elements of this movie
+      */
+     default java.util.stream.IntStream intStream() {
+         return java.util.stream.StreamSupport.intStream(spliterator(), false);
+     }
+    
+     /**
+      * Returns a parallel IntStream over the elements of this movie. A season is split on the boundaries of
+      * its episodes.
+      *
+      * @return a parallel IntStream over the elements of this movie
+      */
+     default java.util.stream.IntStream parallelIntStream() {
+         return java.util.stream.StreamSupport.intStream(spliterator(), true);
+     }
+    
+     /**
+      * Returns the smallest element of this movie.
+      *
+      * @return the smallest element
+      * @throws IndexOutOfBoundsException if this movie is empty
+      */
+     short min();
+    
+     /**
+      * Returns the largest element of this movie.
+      *
+      * @return the largest element
+      * @throws IndexOutOfBoundsException if this movie is empty
+      */
+     short max();
+    
+     /**
+      * Returns the sum of all elements, 0 for an empty movie.
+      *
+      * @return the sum of all elements
+      */
+     long sum();
+    
+     /**
+      * Return a new movie containing all elements with low &lt;= element &lt;= high. Unlike filterAll this needs no
+      * predicate, so the tapes can scan their arrays with SIMD kernels.
+      *
+      * @param low lower bound (inclusive)
+      * @param high upper bound (inclusive)
+      * @return a new movie containing all elements in the range
+      */
+     ArrayMovieShort filterRange(short low, short high);
+
     /**
      * Index of the first equal element in the movie. If the specified element is null, it checks for null elements in
      * the ArrayTape.
@@ -482,6 +562,21 @@ public interface ArrayMovieShort   {
     // #### Modify package 'de.jare.ndimcol.ref' and use 'GeneratePrimitiveJavaFiles'
     ArrayMovieShort emptyMovie(int initialCapacityOrZero);
 
+    /**
+     * Returns a snapshot of the current elements of this movie. Later changes of this movie are not seen by the
+     * snapshot. Tapes and seasons share their arrays with the snapshot and copy them only on the next write, this
+     * default copies all elements.
+     *
+     * @return a movie with the current elements of this movie
+     */
+    // #### This code has been generated. Please do not make any changes here.
+    // #### Modify package 'de.jare.ndimcol.ref' and use 'GeneratePrimitiveJavaFiles'
+    default ArrayMovieShort snapshot() {
+        final ArrayMovieShort ret = emptyMovie(size());
+        ret.addMovie(this);
+        return ret;
+    }
+
     /**
      * Check if the movies in a season are to big and need to be split or if they are to small and need be glued
      * together. Nothing to do for a movie itself.
@@ -622,6 +717,172 @@ public interface ArrayMovieShort   {
     public void forEach(ShortPredicate predicate,
             ShortConsumer thenAction, ShortConsumer elseAction);
 
+    /**
+     * Performs the given action for each element. A season processes its episodes in parallel, so the order of the
+     * actions is not defined and the action has to be thread-safe. A single movie falls back to
+     * {@link #forEach(Consumer)}.
+     *
+     * @param action The action to be performed for each element
+     * @throws NullPointerException if the specified action is null
+     */
+    // #### This code has been generated. Please do not make any changes here.
+    // #### Modify package 'de.jare.ndimcol.ref' and use 'GeneratePrimitiveJavaFiles'
+    default void parallelForEach(ShortConsumer action) {
+        forEach(action);
+    }
+
+    /**
+     * Executes the given action for each element that satisfies the predicate. A season processes its episodes in
+     * parallel, so the order of the actions is not defined and the action has to be thread-safe.
+     *
+     * @param predicate The condition to test each element against
+     * @param thenAction The action to perform on each element that satisfies the predicate
+     * @throws NullPointerException if {@code predicate} or {@code action} is {@code null}
+     */
+    // #### This code has been generated. Please do not make any changes here.
+    // #### Modify package 'de.jare.ndimcol.ref' and use 'GeneratePrimitiveJavaFiles'
+    default void parallelForEach(ShortPredicate predicate, ShortConsumer thenAction) {
+        forEach(predicate, thenAction);
+    }
+
+    /**
+     * Executes the given actions for each element that satisfies the predicate. The index action receives the index of
+     * the element plus offset. A season processes its episodes in parallel, so the order of the actions is not defined
+     * and the actions have to be thread-safe.
+     *
+     * @param predicate The condition to test each element against
+     * @param thenActionOrNull The action to perform on each element that satisfies the predicate
+     * @param offset index offset
+     * @param thenIndexActionOrNull The action to perform on index thus element
+     * @throws NullPointerException if {@code predicate} is {@code null}
+     */
+    // #### This code has been generated. Please do not make any changes here.
+    // #### Modify package 'de.jare.ndimcol.ref' and use 'GeneratePrimitiveJavaFiles'
+    default void parallelForEach(ShortPredicate predicate, ShortConsumer thenActionOrNull,
+            int offset, IntConsumer thenIndexActionOrNull) {
+        forEach(predicate, thenActionOrNull, offset, thenIndexActionOrNull);
+    }
+
+    /**
+     * Executes one of the given actions for each element, depending on the result of the predicate. A season processes
+     * its episodes in parallel, so the order of the actions is not defined and the actions have to be thread-safe.
+     *
+     * @param predicate The condition to test each element against
+     * @param thenAction The action to perform on elements that satisfy the predicate
+     * @param elseAction The action to perform on elements that do not satisfy the predicate
+     * @throws NullPointerException if {@code predicate}, {@code thenAction}, or {@code elseAction} is {@code null}
+     */
+    // #### This code has been generated. Please do not make any changes here.
+    // #### Modify package 'de.jare.ndimcol.ref' and use 'GeneratePrimitiveJavaFiles'
+    default void parallelForEach(ShortPredicate predicate,
+            ShortConsumer thenAction, ShortConsumer elseAction) {
+        forEach(predicate, thenAction, elseAction);
+    }
+
+    /**
+     * Performs a reduction on the elements in the order of the movie, starting with the identity value.
+     *
+     * @param identity the identity value for the combiner
+     * @param accumulator function adding one element to a partial result
+     * @param combiner function combining two partial results
+     * @return the result of the reduction
+     */
+    // #### This code has been generated. Please do not make any changes here.
+    // #### Modify package 'de.jare.ndimcol.ref' and use 'GeneratePrimitiveJavaFiles'
+    <U> U reduce(U identity, BiFunction<U, ? super Short, U> accumulator, BinaryOperator<U> combiner);
+
+    /**
+     * Performs a reduction on the elements. A season reduces its episodes in parallel and combines the partial results
+     * in the order of the episodes, so the accumulator and the combiner have to be associative and the identity has to
+     * be an identity for the combiner.
+     *
+     * @param identity the identity value for the combiner
+     * @param accumulator function adding one element to a partial result
+     * @param combiner function combining two partial results
+     * @return the result of the reduction
+     */
+    // #### This code has been generated. Please do not make any changes here.
+    // #### Modify package 'de.jare.ndimcol.ref' and use 'GeneratePrimitiveJavaFiles'
+    default <U> U parallelReduce(U identity, BiFunction<U, ? super Short, U> accumulator, BinaryOperator<U> combiner) {
+        return reduce(identity, accumulator, combiner);
+    }
+
+    /**
+     * Returns true if any element matches the predicate. The search stops at the first hit.
+     *
+     * @param predicate the predicate to be used for the search
+     * @return true if at least one element matches
+     */
+    // #### This code has been generated. Please do not make any changes here.
+    // #### Modify package 'de.jare.ndimcol.ref' and use 'GeneratePrimitiveJavaFiles'
+    default boolean anyMatch(ShortPredicate predicate) {
+        return filterFirst(predicate) != null;
+    }
+
+    /**
+     * Returns true if all elements match the predicate or if the movie is empty. The search stops at the first miss.
+     *
+     * @param predicate the predicate to be used for the search
+     * @return true if no element fails the predicate
+     */
+    // #### This code has been generated. Please do not make any changes here.
+    // #### Modify package 'de.jare.ndimcol.ref' and use 'GeneratePrimitiveJavaFiles'
+    default boolean allMatch(ShortPredicate predicate) {
+        return !anyMatch(predicate.negate());
+    }
+
+    /**
+     * Returns true if any element matches the predicate. A season searches its episodes in parallel and all searches
+     * stop as soon as one hit is found.
+     *
+     * @param predicate the predicate to be used for the search
+     * @return true if at least one element matches
+     */
+    // #### This code has been generated. Please do not make any changes here.
+    // #### Modify package 'de.jare.ndimcol.ref' and use 'GeneratePrimitiveJavaFiles'
+    default boolean parallelAnyMatch(ShortPredicate predicate) {
+        return anyMatch(predicate);
+    }
+
+    /**
+     * Returns true if all elements match the predicate or if the movie is empty. A season searches its episodes in
+     * parallel and all searches stop as soon as one miss is found.
+     *
+     * @param predicate the predicate to be used for the search
+     * @return true if no element fails the predicate
+     */
+    // #### This code has been generated. Please do not make any changes here.
+    // #### Modify package 'de.jare.ndimcol.ref' and use 'GeneratePrimitiveJavaFiles'
+    default boolean parallelAllMatch(ShortPredicate predicate) {
+        return !parallelAnyMatch(predicate.negate());
+    }
+
+    /**
+     * Returns the index of the first occurrence of the specified element, or -1 if the element is not found. A season
+     * searches its episodes in parallel.
+     *
+     * @param element the element to search for
+     * @return the index of the first occurrence of the specified element, or -1 if the element is not found
+     */
+    // #### This code has been generated. Please do not make any changes here.
+    // #### Modify package 'de.jare.ndimcol.ref' and use 'GeneratePrimitiveJavaFiles'
+    default int parallelIndexOf(short element) {
+        return indexOf(element);
+    }
+
+    /**
+     * Returns the index of the last occurrence of the specified element, or -1 if the element is not found. A season
+     * searches its episodes in parallel.
+     *
+     * @param element the element to search for
+     * @return the index of the last occurrence of the specified element, or -1 if the element is not found
+     */
+    // #### This code has been generated. Please do not make any changes here.
+    // #### Modify package 'de.jare.ndimcol.ref' and use 'GeneratePrimitiveJavaFiles'
+    default int parallelLastIndexOf(short element) {
+        return lastIndexOf(element);
+    }
+
     /**
      * Validates the contents of this {@code ArrayMovie<T>} (expected values) against an observed {@code ArrayMovie<T>},
      * using a list of individual validators and a fallback default validator.
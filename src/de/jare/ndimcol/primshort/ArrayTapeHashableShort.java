@@ -11,6 +11,7 @@ package de.jare.ndimcol.primshort;
 
 import java.util.Collection;
 import java.util.List;
+// ShortPredicate is unfortunately not available in java.util.function
 import de.jare.ndimcol.RentenatusHashable;
 
 /**
@@ -276,6 +277,15 @@ public class ArrayTapeHashableShort extends ArrayTapeShort implements Rentenatus
         return ret;
     }
 
+    @Override
+    public boolean removeIf(ShortPredicate filter) {
+        boolean ret = super.removeIf(filter);
+        if (ret) {
+            hashComputed = false;
+        }
+        return ret;
+    }
+
     @Override
     protected short removeFast(int index) {
         hashComputed = false;
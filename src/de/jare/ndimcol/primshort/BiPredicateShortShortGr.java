@@ -13,6 +13,8 @@ package de.jare.ndimcol.primshort;
  */
 public class BiPredicateShortShortGr implements BiPredicateShortShort {
 
+    public final static BiPredicateShortShortGr INSTANCE = new BiPredicateShortShortGr();
+
     /**
      * Evaluates this predicate e2 greater as e1.
      *
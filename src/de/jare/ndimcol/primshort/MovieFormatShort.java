@@ -0,0 +1,200 @@
+/**
+ * <copyright>
+ * Copyright (c) 2025, Janusch Rentenatus. This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v2.0 which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ * </copyright>
+ */
+package de.jare.ndimcol.primshort;
+
+import de.jare.ndimcol.ref.MovieFormat;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.util.ArrayList;
+
+/**
+ * The binary format of {@link MovieFormat} for movies of short values. Every block holds the raw little-endian values of
+ * an episode. The memory of an {@link ArrayTapeOffHeapShort} is written without a copy on little-endian platforms, a
+ * read episode is filled with one bulk copy per block.
+ *
+ * @author Janusch Rentenatus
+ */
+public final class MovieFormatShort {
+
+    public static final int KIND = 'S';
+
+    private MovieFormatShort() {
+    }
+
+    /**
+     * Writes the movie to the channel.
+     *
+     * @param movie the movie
+     * @param channel the channel
+     * @throws IOException if the channel fails
+     */
+    public static void write(ArrayMovieShort movie, WritableByteChannel channel) throws IOException {
+        final ArrayList<ArrayMovieShort> episodes = new ArrayList<>();
+        collectEpisodes(movie, episodes);
+        long blocks = 0;
+        for (ArrayMovieShort episode : episodes) {
+            blocks += (episode.size() + MovieFormat.BLOCK_ELEMENTS - 1) / MovieFormat.BLOCK_ELEMENTS;
+        }
+        final MovieFormat.GatherWriter writer = new MovieFormat.GatherWriter(channel);
+        writer.add(MovieFormat.header(KIND, movie.size(), (int) blocks));
+        final boolean littleEndian = ByteOrder.nativeOrder() == ByteOrder.LITTLE_ENDIAN;
+        for (ArrayMovieShort episode : episodes) {
+            final int episodeSize = episode.size();
+            final ByteBuffer memory = littleEndian && episode instanceof ArrayTapeOffHeapShort offHeap
+                    ? offHeap.getMemory() : null;
+            final short[] values = memory == null ? episode.toArray() : null;
+            for (int from = 0; from < episodeSize; from += MovieFormat.BLOCK_ELEMENTS) {
+                final int count = Math.min(MovieFormat.BLOCK_ELEMENTS, episodeSize - from);
+                if (memory != null) {
+                    final ByteBuffer blockHeader = ByteBuffer.allocate(MovieFormat.BLOCK_HEADER_BYTES)
+                            .order(ByteOrder.LITTLE_ENDIAN);
+                    blockHeader.putInt(0, count);
+                    blockHeader.putInt(4, count * Short.BYTES);
+                    writer.add(blockHeader);
+                    writer.add(memory.slice(from * Short.BYTES, count * Short.BYTES));
+                } else {
+                    final ByteBuffer block = ByteBuffer.allocate(MovieFormat.BLOCK_HEADER_BYTES + count * Short.BYTES)
+                            .order(ByteOrder.LITTLE_ENDIAN);
+                    block.putInt(0, count);
+                    block.putInt(4, count * Short.BYTES);
+                    block.position(MovieFormat.BLOCK_HEADER_BYTES);
+                    block.slice().order(ByteOrder.LITTLE_ENDIAN).asShortBuffer().put(values, from, count);
+                    block.position(0);
+                    writer.add(block);
+                }
+            }
+        }
+        writer.flush();
+    }
+
+    /**
+     * Reads a movie as one tape.
+     *
+     * @param channel the channel
+     * @return a tape with all values
+     * @throws IOException if the channel fails, or the data is not of this format
+     */
+    public static ArrayTapeShort readTape(ReadableByteChannel channel) throws IOException {
+        final MovieFormat.Header header = MovieFormat.readHeader(channel, KIND);
+        if (header.size() > Integer.MAX_VALUE - 8) {
+            throw new IOException("Size " + header.size() + " does not fit into a tape.");
+        }
+        final short[] values = new short[(int) header.size()];
+        final Reader reader = new Reader(channel);
+        int offset = 0;
+        for (int b = 0; b < header.blocks(); b++) {
+            final int count = reader.readCount(b);
+            if (offset + count > values.length) {
+                throw new IOException("Block " + b + " holds more elements than announced.");
+            }
+            reader.readValues(values, offset, count);
+            offset += count;
+        }
+        if (offset != values.length) {
+            throw new IOException("Blocks hold " + offset + " of " + values.length + " elements.");
+        }
+        final ArrayTapeShort tape = new ArrayTapeShort(0);
+        tape.setBufferData(values);
+        return tape;
+    }
+
+    /**
+     * Reads a movie as a season.
+     *
+     * @param channel the channel
+     * @return a season with all values
+     * @throws IOException if the channel fails, or the data is not of this format
+     */
+    public static ArraySeasonShort readSeason(ReadableByteChannel channel) throws IOException {
+        return readInto(new ArraySeasonShort(), channel);
+    }
+
+    /**
+     * Reads a movie as an ascending sorted set. The movie must have been written from a set of the same order.
+     *
+     * @param channel the channel
+     * @return a sorted set with all values
+     * @throws IOException if the channel fails, or the data is not of this format
+     */
+    public static SortedSeasonSetShort readSortedSet(ReadableByteChannel channel) throws IOException {
+        return readInto(new SortedSeasonSetShort(), channel);
+    }
+
+    /**
+     * Reads a movie and glues its blocks as episodes behind the episodes of the given season. For a sorted set, the
+     * set must be empty or its values must come before the read values.
+     *
+     * @param <S> the type of the season
+     * @param season the season
+     * @param channel the channel
+     * @return the season
+     * @throws IOException if the channel fails, or the data is not of this format
+     */
+    public static <S extends ArraySeasonShort> S readInto(S season, ReadableByteChannel channel) throws IOException {
+        final MovieFormat.Header header = MovieFormat.readHeader(channel, KIND);
+        final Reader reader = new Reader(channel);
+        for (int b = 0; b < header.blocks(); b++) {
+            final short[] values = new short[reader.readCount(b)];
+            reader.readValues(values, 0, values.length);
+            final ArrayTapeShort episode = new ArrayTapeShort(0);
+            episode.setBufferData(values);
+            season.glueMovie(episode);
+        }
+        season.splitOrGlue();
+        return season;
+    }
+
+    static void collectEpisodes(ArrayMovieShort movie, ArrayList<ArrayMovieShort> episodes) {
+        if (movie instanceof ArraySeasonShort season) {
+            for (int i = 0; i < season.data.size(); i++) {
+                collectEpisodes(season.data.get(i), episodes);
+            }
+        } else if (!movie.isEmpty()) {
+            episodes.add(movie);
+        }
+    }
+
+    /**
+     * Reads blocks through one direct buffer, so the channel reads without an extra copy.
+     */
+    private static final class Reader {
+
+        private final ReadableByteChannel channel;
+        private final ByteBuffer blockHeader;
+        private ByteBuffer buffer;
+
+        Reader(ReadableByteChannel channel) {
+            this.channel = channel;
+            this.blockHeader = ByteBuffer.allocate(MovieFormat.BLOCK_HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            this.buffer = null;
+        }
+
+        int readCount(int blockNo) throws IOException {
+            MovieFormat.readFully(channel, blockHeader.clear());
+            final int count = blockHeader.getInt(0);
+            if (count <= 0 || count > MovieFormat.BLOCK_ELEMENTS || blockHeader.getInt(4) != count * Short.BYTES) {
+                throw new IOException("Block " + blockNo + " is corrupt.");
+            }
+            return count;
+        }
+
+        void readValues(short[] values, int offset, int count) throws IOException {
+            final int bytes = count * Short.BYTES;
+            if (buffer == null || buffer.capacity() < bytes) {
+                buffer = ByteBuffer.allocateDirect(bytes).order(ByteOrder.LITTLE_ENDIAN);
+            }
+            buffer.clear().limit(bytes);
+            MovieFormat.readFully(channel, buffer);
+            buffer.flip();
+            buffer.asShortBuffer().get(values, offset, count);
+        }
+    }
+}
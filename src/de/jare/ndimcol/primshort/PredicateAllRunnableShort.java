@@ -1,55 +0,0 @@
-/**
- * <copyright>
- * Copyright (c) 2025, Janusch Rentenatus. This program and the accompanying materials are made available under the
- * terms of the Eclipse Public License v2.0 which accompanies this distribution, and is available at
- * http://www.eclipse.org/legal/epl-v20.html
- * </copyright>
- */
-    // #### This code has been generated. Please do not make any changes here.
-    // #### Modify package 'de.jare.ndimcol.ref' and use 'GeneratePrimitiveJavaFiles'
-package de.jare.ndimcol.primshort;
-
-import de.jare.ndimcol.ref.ArrayMovie;
-// ShortPredicate is unfortunately not available in java.util.function
-
-public class PredicateAllRunnableShort implements Runnable {
-
-    private final ShortPredicate predicate;
-    private final ArrayMovieShort episode;
-    private ArrayMovieShort elements;
-
-    /**
-     * Constructs a PredicateAllRunnable with the specified predicate and episode.
-     *
-     * @param predicate the predicate to be used for filtering
-     * @param episode the ArrayMovie to be filtered
-     */
-    // #### This code has been generated. Please do not make any changes here.
-    // #### Modify package 'de.jare.ndimcol.ref' and use 'GeneratePrimitiveJavaFiles'
-    public PredicateAllRunnableShort(ShortPredicate predicate, ArrayMovieShort episode) {
-        this.predicate = predicate;
-        this.episode = episode;
-    }
-
-    /**
-     * Runs the filter operation on the episode using the predicate.
-     */
-    // #### This code has been generated. Please do not make any changes here.
-    // #### Modify package 'de.jare.ndimcol.ref' and use 'GeneratePrimitiveJavaFiles'
-    @Override
-    public void run() {
-        elements = episode.filterAll(predicate);
-    }
-
-    /**
-     * Returns the ArrayMovie containing all elements that match the predicate.
-     *
-     * @return the ArrayMovie containing all elements that match the predicate
-     */
-    // #### This code has been generated. Please do not make any changes here.
-    // #### Modify package 'de.jare.ndimcol.ref' and use 'GeneratePrimitiveJavaFiles'
-    public ArrayMovieShort getElements() {
-        return elements;
-    }
-
-}
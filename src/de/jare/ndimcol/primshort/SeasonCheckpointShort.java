@@ -0,0 +1,186 @@
+/**
+ * <copyright>
+ * Copyright (c) 2025, Janusch Rentenatus. This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v2.0 which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ * </copyright>
+ */
+package de.jare.ndimcol.primshort;
+
+import de.jare.ndimcol.CheckpointLog;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+
+/**
+ * Incremental checkpoints of a movie of short values in a {@link CheckpointLog}. Every episode is remembered with the
+ * update counter it had when its block was written. A checkpoint writes the blocks of new and changed episodes only
+ * and refers to the blocks of the others, so its cost follows the changes and not the size of the movie. The log is
+ * compacted when half of it is garbage.
+ * <pre>
+ * try (SeasonCheckpointShort checkpoint = new SeasonCheckpointShort(path)) {
+ *     ArraySeasonShort season = checkpoint.recover();
+ *     // ... change the season
+ *     checkpoint.checkpoint(season);
+ * }
+ * </pre> Episodes are tracked by identity; an episode other than a tape is written with every checkpoint. The
+ * checkpoint holds the episodes of the last checkpoint strongly until the next one, also episodes the season has
+ * dropped since.
+ *
+ * @author Janusch Rentenatus
+ */
+public class SeasonCheckpointShort implements Closeable {
+
+    private final CheckpointLog log;
+    private IdentityHashMap<ArrayMovieShort, Block> written;
+    private Block[] committed;
+
+    /**
+     * Opens the checkpoints in the given file, a missing file is created.
+     *
+     * @param file the file of the log
+     * @throws IOException if the file cannot be opened or is not a log of short values
+     */
+    public SeasonCheckpointShort(Path file) throws IOException {
+        this.log = new CheckpointLog(file, MovieFormatShort.KIND);
+        this.written = new IdentityHashMap<>();
+        this.committed = new Block[0];
+    }
+
+    /**
+     * Returns a new season with the values of the last checkpoint.
+     *
+     * @return a new season
+     * @throws IOException if the log cannot be read
+     */
+    public ArraySeasonShort recover() throws IOException {
+        return recoverInto(new ArraySeasonShort());
+    }
+
+    /**
+     * Appends the values of the last checkpoint to the season. The read episodes count as written, so the next
+     * checkpoint of the season writes only the episodes changed after the recovery.
+     *
+     * @param <S> the type of the season
+     * @param season the season, for a sorted set an empty one
+     * @return the season
+     * @throws IOException if the log cannot be read
+     */
+    public <S extends ArraySeasonShort> S recoverInto(S season) throws IOException {
+        final IdentityHashMap<ArrayMovieShort, Block> recovered = new IdentityHashMap<>();
+        final Block[] blocks = new Block[log.getBlockCount()];
+        for (int b = 0; b < blocks.length; b++) {
+            final ByteBuffer payload = log.readBlock(b);
+            final short[] values = new short[log.getBlockSize(b)];
+            payload.asShortBuffer().get(values);
+            final ArrayTapeShort episode = new ArrayTapeShort(0);
+            episode.setBufferData(values);
+            blocks[b] = new Block(episode.getUpdateCounter(), log.getBlockOffset(b), values.length, payload.capacity());
+            recovered.put(episode, blocks[b]);
+            season.glueMovie(episode);
+        }
+        season.recalculateScope();
+        season.splitOrGlue();
+        written = recovered;
+        committed = blocks;
+        return season;
+    }
+
+    /**
+     * Writes a checkpoint of the movie. Only the blocks of episodes changed since the last checkpoint are written.
+     *
+     * @param movie the movie
+     * @return the number of bytes appended to the log
+     * @throws IOException if the log cannot be written
+     */
+    public long checkpoint(ArrayMovieShort movie) throws IOException {
+        final ArrayList<ArrayMovieShort> episodes = new ArrayList<>();
+        MovieFormatShort.collectEpisodes(movie, episodes);
+        final long before = log.getLogBytes();
+        final IdentityHashMap<ArrayMovieShort, Block> next = new IdentityHashMap<>();
+        final Block[] blocks = new Block[episodes.size()];
+        final long[] offsets = new long[blocks.length];
+        final int[] sizes = new int[blocks.length];
+        final int[] lengths = new int[blocks.length];
+        for (int i = 0; i < blocks.length; i++) {
+            final ArrayMovieShort episode = episodes.get(i);
+            final long generation = generationOf(episode);
+            Block block = written.get(episode);
+            if (block == null || generation < 0 || block.generation != generation) {
+                final ByteBuffer payload = MovieBuffersShort.littleEndianBytes(episode);
+                final int length = payload.remaining();
+                block = new Block(generation, log.appendBlock(payload, episode.size()), episode.size(), length);
+            }
+            next.put(episode, block);
+            blocks[i] = block;
+            offsets[i] = block.offset;
+            sizes[i] = block.size;
+            lengths[i] = block.length;
+        }
+        log.commit(offsets, sizes, lengths);
+        written = next;
+        committed = blocks;
+        final long appended = log.getLogBytes() - before;
+        if (log.needsCompaction()) {
+            compact();
+        }
+        return appended;
+    }
+
+    private static long generationOf(ArrayMovieShort episode) {
+        if (episode instanceof ArrayTapeShort tape) {
+            return tape.getUpdateCounter() & 0xffffffffL;
+        }
+        if (episode instanceof ArrayTapeOffHeapShort tape) {
+            return tape.getUpdateCounter() & 0xffffffffL;
+        }
+        return -1;
+    }
+
+    /**
+     * Rewrites the log with the blocks of the last checkpoint only.
+     *
+     * @throws IOException if the log cannot be written
+     */
+    public void compact() throws IOException {
+        log.compact();
+        for (int i = 0; i < committed.length; i++) {
+            committed[i].offset = log.getBlockOffset(i);
+        }
+    }
+
+    /**
+     * Returns the log of the checkpoints.
+     *
+     * @return the log
+     */
+    public CheckpointLog getLog() {
+        return log;
+    }
+
+    @Override
+    public void close() throws IOException {
+        log.close();
+    }
+
+    /**
+     * A written block and the update counter of its episode at that time.
+     */
+    private static final class Block {
+
+        private final long generation;
+        private long offset;
+        private final int size;
+        private final int length;
+
+        Block(long generation, long offset, int size, int length) {
+            this.generation = generation;
+            this.offset = offset;
+            this.size = size;
+            this.length = length;
+        }
+    }
+}
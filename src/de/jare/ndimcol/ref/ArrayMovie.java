@@ -14,6 +14,9 @@ import de.jare.ndimcol.primint.ArraySeasonInt;
 import java.io.PrintStream;
 import java.util.Collection;
 import java.util.Iterator;
+import java.util.Spliterator;
+import java.util.function.BiFunction;
+import java.util.function.BinaryOperator;
 import java.util.function.Consumer;
 import java.util.function.IntConsumer;
 import java.util.function.Predicate;
@@ -198,6 +201,17 @@ public interface ArrayMovie<T> extends Collection<T> {
     @Override
     boolean retainAll(Collection<?> col);
 
+    /**
+     * Removes all of the elements of this movie that satisfy the given predicate. Each tape is compacted in a single
+     * pass, a season rebalances its episodes once at the end.
+     *
+     * @param filter a predicate which returns {@code true} for elements to be removed
+     * @return {@code true} if any elements were removed
+     * @throws NullPointerException if the specified filter is null
+     */
+    @Override
+    boolean removeIf(Predicate<? super T> filter);
+
     /**
      * Removes all of the elements from this collection (optional operation). The collection will be empty after this
      * method returns.
@@ -274,6 +288,70 @@ public interface ArrayMovie<T> extends Collection<T> {
     @Override
     Iterator<T> iterator();
 
+    /**
+     * Returns a spliterator over the elements of this movie. It reports ORDERED, SIZED and SUBSIZED. A season splits on
+     * the boundaries of its episodes, a single tape splits its range in halves.
+     *
+     * @return a spliterator over the elements of this movie
+     */
+    @Override
+    //prim: Spliterator.Of_STREAM_ spliterator();
+    Spliterator<T> spliterator();
+
+    //prim: /**
+    //prim:  * Returns a sequential _STREAM_Stream over the elements of this movie. The values are read from the arrays of
+    //prim:  * the episodes without boxing.
+    //prim:  *
+    //prim:  * @return a sequential _STREAM_Stream over the elements of this movie
+    //prim:  */
+    //prim: default java.util.stream._STREAM_Stream _stream_Stream() {
+    //prim:     return java.util.stream.StreamSupport._stream_Stream(spliterator(), false);
+    //prim: }
+    //prim:
+    //prim: /**
+    //prim:  * Returns a parallel _STREAM_Stream over the elements of this movie. A season is split on the boundaries of
+    //prim:  * its episodes.
+    //prim:  *
+    //prim:  * @return a parallel _STREAM_Stream over the elements of this movie
+    //prim:  */
+    //prim: default java.util.stream._STREAM_Stream parallel_STREAM_Stream() {
+    //prim:     return java.util.stream.StreamSupport._stream_Stream(spliterator(), true);
+    //prim: }
+    //prim:
+    //prim: /**
+    //prim:  * Returns the smallest element of this movie.
+    //prim:  *
+    //prim:  * @return the smallest element
+    //prim:  * @throws IndexOutOfBoundsException if this movie is empty
+    //prim:  */
+    //prim: _PRIM_ min();
+    //prim:
+    //prim: /**
+    //prim:  * Returns the largest element of this movie.
+    //prim:  *
+    //prim:  * @return the largest element
+    //prim:  * @throws IndexOutOfBoundsException if this movie is empty
+    //prim:  */
+    //prim: _PRIM_ max();
+    //prim:
+    //prim: /**
+    //prim:  * Returns the sum of all elements, 0 for an empty movie.
+    //prim:  *
+    //prim:  * @return the sum of all elements
+    //prim:  */
+    //prim: _SUM_ sum();
+    //prim:
+    //prim: /**
+    //prim:  * Return a new movie containing all elements with low &lt;= element &lt;= high. Unlike filterAll this needs no
+    //prim:  * predicate, so the tapes can scan their arrays with SIMD kernels.
+    //prim:  *
+    //prim:  * @param low lower bound (inclusive)
+    //prim:  * @param high upper bound (inclusive)
+    //prim:  * @return a new movie containing all elements in the range
+    //prim:  */
+    //prim: ArrayMovie_APPEND_ filterRange(_PRIM_ low, _PRIM_ high);
+    //prim.end
+
     /**
      * Index of the first equal element in the movie. If the specified element is null, it checks for null elements in
      * the ArrayTape.
@@ -418,6 +496,19 @@ public interface ArrayMovie<T> extends Collection<T> {
      */
     ArrayMovie<T> emptyMovie(int initialCapacityOrZero);
 
+    /**
+     * Returns a snapshot of the current elements of this movie. Later changes of this movie are not seen by the
+     * snapshot. Tapes and seasons share their arrays with the snapshot and copy them only on the next write, this
+     * default copies all elements.
+     *
+     * @return a movie with the current elements of this movie
+     */
+    default ArrayMovie<T> snapshot() {
+        final ArrayMovie<T> ret = emptyMovie(size());
+        ret.addMovie(this);
+        return ret;
+    }
+
     /**
      * Check if the movies in a season are to big and need to be split or if they are to small and need be glued
      * together. Nothing to do for a movie itself.
@@ -534,6 +625,150 @@ public interface ArrayMovie<T> extends Collection<T> {
     public void forEach(Predicate<? super T> predicate,
             Consumer<? super T> thenAction, Consumer<? super T> elseAction);
 
+    /**
+     * Performs the given action for each element. A season processes its episodes in parallel, so the order of the
+     * actions is not defined and the action has to be thread-safe. A single movie falls back to
+     * {@link #forEach(Consumer)}.
+     *
+     * @param action The action to be performed for each element
+     * @throws NullPointerException if the specified action is null
+     */
+    default void parallelForEach(Consumer<? super T> action) {
+        forEach(action);
+    }
+
+    /**
+     * Executes the given action for each element that satisfies the predicate. A season processes its episodes in
+     * parallel, so the order of the actions is not defined and the action has to be thread-safe.
+     *
+     * @param predicate The condition to test each element against
+     * @param thenAction The action to perform on each element that satisfies the predicate
+     * @throws NullPointerException if {@code predicate} or {@code action} is {@code null}
+     */
+    default void parallelForEach(Predicate<? super T> predicate, Consumer<? super T> thenAction) {
+        forEach(predicate, thenAction);
+    }
+
+    /**
+     * Executes the given actions for each element that satisfies the predicate. The index action receives the index of
+     * the element plus offset. A season processes its episodes in parallel, so the order of the actions is not defined
+     * and the actions have to be thread-safe.
+     *
+     * @param predicate The condition to test each element against
+     * @param thenActionOrNull The action to perform on each element that satisfies the predicate
+     * @param offset index offset
+     * @param thenIndexActionOrNull The action to perform on index thus element
+     * @throws NullPointerException if {@code predicate} is {@code null}
+     */
+    default void parallelForEach(Predicate<? super T> predicate, Consumer<? super T> thenActionOrNull,
+            int offset, IntConsumer thenIndexActionOrNull) {
+        forEach(predicate, thenActionOrNull, offset, thenIndexActionOrNull);
+    }
+
+    /**
+     * Executes one of the given actions for each element, depending on the result of the predicate. A season processes
+     * its episodes in parallel, so the order of the actions is not defined and the actions have to be thread-safe.
+     *
+     * @param predicate The condition to test each element against
+     * @param thenAction The action to perform on elements that satisfy the predicate
+     * @param elseAction The action to perform on elements that do not satisfy the predicate
+     * @throws NullPointerException if {@code predicate}, {@code thenAction}, or {@code elseAction} is {@code null}
+     */
+    default void parallelForEach(Predicate<? super T> predicate,
+            Consumer<? super T> thenAction, Consumer<? super T> elseAction) {
+        forEach(predicate, thenAction, elseAction);
+    }
+
+    /**
+     * Performs a reduction on the elements in the order of the movie, starting with the identity value.
+     *
+     * @param <U> the type of the result
+     * @param identity the identity value for the combiner
+     * @param accumulator function adding one element to a partial result
+     * @param combiner function combining two partial results
+     * @return the result of the reduction
+     */
+    <U> U reduce(U identity, BiFunction<U, ? super T, U> accumulator, BinaryOperator<U> combiner);
+
+    /**
+     * Performs a reduction on the elements. A season reduces its episodes in parallel and combines the partial results
+     * in the order of the episodes, so the accumulator and the combiner have to be associative and the identity has to
+     * be an identity for the combiner.
+     *
+     * @param <U> the type of the result
+     * @param identity the identity value for the combiner
+     * @param accumulator function adding one element to a partial result
+     * @param combiner function combining two partial results
+     * @return the result of the reduction
+     */
+    default <U> U parallelReduce(U identity, BiFunction<U, ? super T, U> accumulator, BinaryOperator<U> combiner) {
+        return reduce(identity, accumulator, combiner);
+    }
+
+    /**
+     * Returns true if any element matches the predicate. The search stops at the first hit.
+     *
+     * @param predicate the predicate to be used for the search
+     * @return true if at least one element matches
+     */
+    default boolean anyMatch(Predicate<? super T> predicate) {
+        return filterFirst(predicate) != null;
+    }
+
+    /**
+     * Returns true if all elements match the predicate or if the movie is empty. The search stops at the first miss.
+     *
+     * @param predicate the predicate to be used for the search
+     * @return true if no element fails the predicate
+     */
+    default boolean allMatch(Predicate<? super T> predicate) {
+        return !anyMatch(predicate.negate());
+    }
+
+    /**
+     * Returns true if any element matches the predicate. A season searches its episodes in parallel and all searches
+     * stop as soon as one hit is found.
+     *
+     * @param predicate the predicate to be used for the search
+     * @return true if at least one element matches
+     */
+    default boolean parallelAnyMatch(Predicate<? super T> predicate) {
+        return anyMatch(predicate);
+    }
+
+    /**
+     * Returns true if all elements match the predicate or if the movie is empty. A season searches its episodes in
+     * parallel and all searches stop as soon as one miss is found.
+     *
+     * @param predicate the predicate to be used for the search
+     * @return true if no element fails the predicate
+     */
+    default boolean parallelAllMatch(Predicate<? super T> predicate) {
+        return !parallelAnyMatch(predicate.negate());
+    }
+
+    /**
+     * Returns the index of the first occurrence of the specified element, or -1 if the element is not found. A season
+     * searches its episodes in parallel.
+     *
+     * @param element the element to search for
+     * @return the index of the first occurrence of the specified element, or -1 if the element is not found
+     */
+    default int parallelIndexOf(Object element) {
+        return indexOf(element);
+    }
+
+    /**
+     * Returns the index of the last occurrence of the specified element, or -1 if the element is not found. A season
+     * searches its episodes in parallel.
+     *
+     * @param element the element to search for
+     * @return the index of the last occurrence of the specified element, or -1 if the element is not found
+     */
+    default int parallelLastIndexOf(Object element) {
+        return lastIndexOf(element);
+    }
+
     /**
      * Validates the contents of this {@code ArrayMovie<T>} (expected values) against an observed {@code ArrayMovie<T>},
      * using a list of individual validators and a fallback default validator.
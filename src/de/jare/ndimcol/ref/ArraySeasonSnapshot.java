@@ -0,0 +1,150 @@
+/**
+ * <copyright>
+ * Copyright (c) 2025, Janusch Rentenatus. This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v2.0 which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ * </copyright>
+ */
+package de.jare.ndimcol.ref;
+
+import java.util.Collection;
+import java.util.function.Predicate;
+
+/**
+ * A read-only season built by {@link ArraySeason#snapshot()}. Its episodes are snapshots of the episodes of the
+ * original season and share their arrays with them. The original copies an episode only when it writes into it for
+ * the first time after the snapshot, so the snapshot keeps the elements of the moment it was taken.
+ * <p>
+ * All methods changing the season throw an UnsupportedOperationException. The walkers of the snapshot can read, a
+ * write through a walker is rejected by the episode.
+ *
+ * @author Janusch Rentenatus
+ * @param <T> the type of elements in this season
+ */
+public class ArraySeasonSnapshot<T> extends ArraySeason<T> {
+
+    ArraySeasonSnapshot(final Screenplay screenplay, ArrayTape<ArrayMovie<T>> episodes, int size) {
+        super(episodes, size);
+        this.screenplay = screenplay;
+        recalculateScope();
+    }
+
+    private UnsupportedOperationException readOnly() {
+        return new UnsupportedOperationException("Not supported in " + getClass().getSimpleName() + ".");
+    }
+
+    /**
+     * A snapshot does not change, so it is its own snapshot.
+     *
+     * @return this snapshot
+     */
+    @Override
+    public ArraySeason<T> snapshot() {
+        return this;
+    }
+
+    @Override
+    public boolean add(T element) {
+        throw readOnly();
+    }
+
+    @Override
+    public boolean addFirstFree(T element) {
+        throw readOnly();
+    }
+
+    @Override
+    public boolean addAt(int index, T element) {
+        throw readOnly();
+    }
+
+    @Override
+    public boolean addAll(int index, Collection<? extends T> col) {
+        throw readOnly();
+    }
+
+    @Override
+    public boolean addAll(Collection<? extends T> col) {
+        throw readOnly();
+    }
+
+    @Override
+    public boolean addAll(T[] arr) {
+        throw readOnly();
+    }
+
+    @Override
+    public boolean addMovie(ArrayMovie<T> movie) {
+        throw readOnly();
+    }
+
+    @Override
+    public boolean glueMovie(ArrayMovie<T> episode) {
+        throw readOnly();
+    }
+
+    /**
+     * Hands over writable copies of the episodes, the episodes of this snapshot stay read-only.
+     *
+     * @param othersData the episodes of the season gluing this snapshot
+     */
+    @Override
+    public void assimilateInto(ArrayTape<ArrayMovie<T>> othersData) {
+        for (int i = 0; i < data.size(); i++) {
+            final ArrayMovie<T> episode = data.get(i);
+            final ArrayMovie<T> copy = episode.emptyMovie(episode.size());
+            copy.addMovie(episode);
+            othersData.add(copy);
+        }
+    }
+
+    @Override
+    public T set(int index, T element) {
+        throw readOnly();
+    }
+
+    @Override
+    public boolean remove(Object element) {
+        throw readOnly();
+    }
+
+    @Override
+    public T removeAt(int index) {
+        throw readOnly();
+    }
+
+    @Override
+    public void splitOrGlue() {
+        throw readOnly();
+    }
+
+    @Override
+    public void beginBatch() {
+        throw readOnly();
+    }
+
+    @Override
+    public boolean removeAll(Collection<?> col) {
+        throw readOnly();
+    }
+
+    @Override
+    public boolean retainAll(Collection<?> col) {
+        throw readOnly();
+    }
+
+    @Override
+    public boolean removeIf(Predicate<? super T> filter) {
+        throw readOnly();
+    }
+
+    @Override
+    public void clear() {
+        throw readOnly();
+    }
+
+    @Override
+    public ArrayMovie<T> splitInHalf() {
+        throw readOnly();
+    }
+}
@@ -15,11 +15,18 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.ConcurrentModificationException;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.function.BiFunction;
+import java.util.function.BinaryOperator;
 import java.util.function.Consumer;
 import java.util.function.IntConsumer;
 import java.util.function.Predicate;
+//prim: import de.jare.ndimcol.TapeKernels;
+//prim.end
 
 /**
  * An ArrayTape is a dynamic array implementation that allows for efficient insertion, deletion, and iteration of
@@ -45,6 +52,10 @@ public class ArrayTape<T> implements ArrayMovie<T> {
     private int updateCounter;
     private int trimCountDown;
     private IterTapeWalker<T> softWalker;
+    // elementData is shared with a snapshot, the next write copies it first
+    private boolean shared;
+    // this tape is a snapshot, a write is not supported
+    private boolean frozen;
 
     /**
      * Constructs an empty ArrayTape with an initial capacity of ten and a default page size of thirty. The update
@@ -123,13 +134,24 @@ public class ArrayTape<T> implements ArrayMovie<T> {
     }
 
     public void setBufferData(final Object[] elementData) {
+        unshare();
         this.elementData = elementData;
         this.size = elementData.length;
-        this.updateCounter = 0;
+        this.updateCounter++;
         this.trimCountDown = DEFAULT_COUNTDOWN; // Reset trim countdown
         deepChanged();
     }
 
+    /**
+     * Returns the internal array for bulk copies. Only the first {@link #size()} elements are valid, the array must
+     * not be changed.
+     *
+     * @return the internal array
+     */
+    Object[] getBufferData() {
+        return elementData;
+    }
+
     /**
      * Clears the ArrayTape by resetting the elementData array to its default capacity, setting the size to zero,
      * incrementing the update counter, and initializing the trim countdown. This effectively removes all elements from
@@ -137,6 +159,7 @@ public class ArrayTape<T> implements ArrayMovie<T> {
      */
     @Override
     public void clear() {
+        unshare();
         this.elementData = new Object[DEFAULT_CAPACITY];
         this.size = 0;
         this.updateCounter++;
@@ -168,6 +191,10 @@ public class ArrayTape<T> implements ArrayMovie<T> {
         if (size() != movie.size()) {
             return false;
         }
+        //prim: if (movie instanceof ArrayTape_APPEND_ tape) {
+        //prim:     return TapeKernels.INSTANCE.mismatch(elementData, 0, tape.elementData, 0, size) < 0;
+        //prim: }
+        //prim.end
         IteratorWalker<?> mWalker = movie.softWalker();
         IterTapeWalker<T> walker = softWalker();
         while (walker.hasNext()) {
@@ -253,6 +280,7 @@ public class ArrayTape<T> implements ArrayMovie<T> {
      */
     @Override
     public boolean add(T element) {
+        unshare();
         // ensureCapacity():fast:Sorry for redundant code.
         if (size >= elementData.length) {
             int newCapacity = elementData.length + page + (size >> 2);
@@ -279,6 +307,7 @@ public class ArrayTape<T> implements ArrayMovie<T> {
         if (index < 0 || index > size) {
             throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
         }
+        unshare();
         if (size >= elementData.length) {
             int newCapacity = elementData.length + page + (size >> 2);
             Object[] newArray = new Object[newCapacity];
@@ -314,6 +343,7 @@ public class ArrayTape<T> implements ArrayMovie<T> {
         if (col.isEmpty()) {
             return false;
         }
+        unshare();
         //noprim.start  
         if (col instanceof ArrayTape<? extends T>) {
             ArrayTape<T> tape = (ArrayTape<T>) col;
@@ -353,6 +383,7 @@ public class ArrayTape<T> implements ArrayMovie<T> {
         if (arr.length == 0) {
             return false;
         }
+        unshare();
         int newSize = size + arr.length;
         ensureCapacity(newSize);
         System.arraycopy(arr, 0, elementData, size, arr.length);
@@ -372,6 +403,7 @@ public class ArrayTape<T> implements ArrayMovie<T> {
         if (movie.isEmpty()) {
             return false;
         }
+        unshare();
         int newSize = size + movie.size();
         ensureCapacity(newSize);
         movie.copyToArray(elementData, size);
@@ -415,6 +447,7 @@ public class ArrayTape<T> implements ArrayMovie<T> {
         if (index < 0 || index > size) {
             throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size + ".");
         }
+        unshare();
         int colSize = col.size();
         int ns = size + colSize - 1;
         if (ns >= elementData.length || size <= col.size()) {
@@ -458,6 +491,7 @@ public class ArrayTape<T> implements ArrayMovie<T> {
      * @throws OutOfMemoryError if there is not enough memory to create a new array with the increased capacity
      */
     public void ensureCapacity(int minCapacity) {
+        unshare();
         if (elementData.length < minCapacity) {
             int newCapacity = minCapacity + page + (size >> 2);
             elementData = Arrays.copyOf(elementData, newCapacity);
@@ -513,8 +547,8 @@ public class ArrayTape<T> implements ArrayMovie<T> {
 
     /**
      * Replaces the element at the specified position in the ArrayTape with the specified element. Returns the element
-     * previously at the specified position. Increments the update counter if the element at the specified position is
-     * not equal to the new element. Throws an IndexOutOfBoundsException if the index is out of range.
+     * previously at the specified position. Increments the update counter even if the new element equals the old one,
+     * so a checkpoint sees the replaced object. Throws an IndexOutOfBoundsException if the index is out of range.
      *
      * @param index the index of the element to replace
      * @param element the element to be stored at the specified position
@@ -525,12 +559,11 @@ public class ArrayTape<T> implements ArrayMovie<T> {
         if (index >= size || index < 0) {
             throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size + ".");
         }
+        unshare();
         @SuppressWarnings("unchecked")
         T oldElement = (T) elementData[index];
         elementData[index] = element;
-        if (!equals(oldElement, element)) {
-            updateCounter++;
-        }
+        updateCounter++;
         return oldElement;
     }
 
@@ -559,51 +592,136 @@ public class ArrayTape<T> implements ArrayMovie<T> {
      * @return true if any elements were removed, false otherwise
      */
     public boolean removeAll(Object element) {
-        int removed = 0;
-        //noprim.start  
-        if (element == null) {
-            for (int i = 0; i < size; i++) {
-                if (elementData[i] == null) {
-                    int numMoved = size - i - 1;
-                    if (numMoved > 0) {
-                        System.arraycopy(elementData, i + 1, elementData, i, numMoved);
-                    }
-                    elementData[--size] = null; // clear to let GC do its work
-                    i--; // stay at the same index to check for more null elements
-                    removed++;
-                }
+        int kept = indexOf(element);
+        if (kept < 0) {
+            return false;
+        }
+        unshare();
+        // compact the rest in one pass instead of one arraycopy per hit
+        for (int i = kept + 1; i < size; i++) {
+            //prim: if (element != elementData[i]) {
+            if (element == null ? elementData[i] != null : !element.equals(elementData[i])) {
+                elementData[kept++] = elementData[i];
             }
-        } else {
-            for (int i = 0; i < size; i++) {
-                if (element.equals(elementData[i])) {
-                    int numMoved = size - i - 1;
-                    if (numMoved > 0) {
-                        System.arraycopy(elementData, i + 1, elementData, i, numMoved);
-                    }
-                    elementData[--size] = null; // clear to let GC do its work
-                    i--; // stay at the same index to check for more matching elements
-                    removed++;
+        }
+        return truncate(kept);
+    }
+
+    /**
+     * Removes all elements of this ArrayTape that match the given predicate. The elements are compacted in a single
+     * pass. If the predicate throws an exception, the elements tested so far are removed and the others stay in place.
+     *
+     * @param filter the predicate which returns true for the elements to be removed
+     * @return true if any elements were removed, false otherwise
+     */
+    @SuppressWarnings("unchecked")
+    @Override
+    public boolean removeIf(Predicate<? super T> filter) {
+        if (filter == null) {
+            throw new NullPointerException("Predicate cannot be null.");
+        }
+        unshare();
+        int startupdateCounter = updateCounter;
+        int kept = 0;
+        int i = 0;
+        boolean modified = false;
+        T element;
+        try {
+            for (; i < size; i++) {
+                // this notation helps to generate primitives
+                element = (T) elementData[i];
+                if (!filter.test(element)) {
+                    elementData[kept++] = element;
                 }
             }
+        } finally {
+            if (i < size) {
+                // the predicate has thrown, the untested elements stay
+                System.arraycopy(elementData, i, elementData, kept, size - i);
+                kept += size - i;
+            }
+            if (startupdateCounter == updateCounter) {
+                modified = truncate(kept);
+            }
         }
-        //noprim.end  
-        //prim:for (int i = 0; i < size; i++) {
-        //prim:    if (element == elementData[i]) {
-        //prim:        int numMoved = size - i - 1;
-        //prim:        if (numMoved > 0) {
-        //prim:            System.arraycopy(elementData, i + 1, elementData, i, numMoved);
-        //prim:        }
-        //prim:        size--;
-        //prim:        i--; // stay at the same index to check for more matching elements
-        //prim:        removed++;
-        //prim:    }
-        //prim:}
-        //prim.end
+        if (!modified && startupdateCounter != updateCounter) {
+            throw new ConcurrentModificationException("ArrayTape was modified during iteration.");
+        }
+        return modified;
+    }
+
+    /**
+     * Cuts this ArrayTape after the first kept elements, the end of a compacting pass.
+     *
+     * @param kept the number of elements left at the start of the array
+     * @return true if elements were cut off
+     */
+    private boolean truncate(int kept) {
+        final int removed = size - kept;
+        if (removed == 0) {
+            return false;
+        }
+        //noprim.start
+        Arrays.fill(elementData, kept, size, null); // clear to let GC do its work
+        //noprim.end
+        size = kept;
         updateCounter++;
         trimCountDown -= removed;
-        return removed > 0;
+        return true;
     }
 
+    //noprim.start
+    /**
+     * Returns a collection with the same elements as col whose contains is fast. A list answers contains by a scan,
+     * so a larger one is hashed once.
+     *
+     * @param col the collection to look up
+     * @param self the movie changed during the lookups
+     * @return col itself or a hash set of its elements
+     */
+    static Collection<?> membership(Collection<?> col, Collection<?> self) {
+        if (col != self && (col instanceof Set<?> || col.size() <= 8)) {
+            return col;
+        }
+        return new HashSet<>(col);
+    }
+    //noprim.end
+    //prim:/**
+    //prim: * Returns the primitive elements of col as a sorted array for {@link #containsKey}.
+    //prim: *
+    //prim: * @param col the collection to look up
+    //prim: * @return the sorted keys
+    //prim: */
+    //prim:static _PRIM_[] sortedKeys(Collection<?> col) {
+    //prim:    _PRIM_[] keys = new _PRIM_[col.size()];
+    //prim:    int count = 0;
+    //prim:    for (Object ob : col) {
+    //prim:        if (ob instanceof _PRIMBOX_ key) {
+    //prim:            keys[count++] = key;
+    //prim:        }
+    //prim:    }
+    //prim:    keys = Arrays.copyOf(keys, count);
+    //prim:    Arrays.sort(keys);
+    //prim:    return keys;
+    //prim:}
+//prim:
+    //prim:/**
+    //prim: * Looks up an element in keys from {@link #sortedKeys} with == as the tape itself, so NaN is never found and
+    //prim: * 0.0 finds -0.0.
+    //prim: *
+    //prim: * @param keys the sorted keys
+    //prim: * @param element the element to look up
+    //prim: * @return true if keys contains the element
+    //prim: */
+    //prim:static boolean containsKey(_PRIM_[] keys, _PRIM_ element) {
+    //prim:    int pos = Arrays.binarySearch(keys, element);
+    //prim:    if (pos < 0 && element == 0) {
+    //prim:        pos = Arrays.binarySearch(keys, _NARROW_-element);
+    //prim:    }
+    //prim:    return pos >= 0 && keys[pos] == element;
+    //prim:}
+    //prim.end
+
     /**
      * Removes from this ArrayTape all of its elements that are contained in the specified collection.
      *
@@ -613,14 +731,13 @@ public class ArrayTape<T> implements ArrayMovie<T> {
      */
     @Override
     public boolean removeAll(Collection<?> col) {
-        boolean modified = false;
-        //prim: for (Object element : col) {
-        for (Object element : col) {
-            //prim: if (element instanceof _PRIMBOX_ && removeAll((_PRIM_)element)) {
-            if (removeAll(element)) {
-                modified = true;
-            }
+        if (col == null) {
+            throw new NullPointerException("Collection cannot be null.");
         }
+        //prim: final _PRIM_[] keys = sortedKeys(col);
+        final Collection<?> keys = membership(col, this);
+        //prim: boolean modified = removeIf(element -> containsKey(keys, element));
+        boolean modified = removeIf(element -> keys.contains(element));
         if (trimCountDown < 0) {
             trimCapacity();
         }
@@ -644,16 +761,10 @@ public class ArrayTape<T> implements ArrayMovie<T> {
             clear();
             return false;
         }
-        boolean modified = false;
-        IterTapeWalker<T> walker = softWalker();
-        while (walker.hasNext()) {
-            T element = walker.next();
-            if (!col.contains(element)) {
-                walker.removeBackward();
-                modified = true;
-            }
-        }
-        return modified;
+        //prim: final _PRIM_[] keys = sortedKeys(col);
+        final Collection<?> keys = membership(col, this);
+        //prim: return removeIf(element -> !containsKey(keys, element));
+        return removeIf(element -> !keys.contains(element));
     }
 
     /**
@@ -668,6 +779,7 @@ public class ArrayTape<T> implements ArrayMovie<T> {
         if (index >= size || index < 0) {
             throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size + ".");
         }
+        unshare();
         @SuppressWarnings("unchecked")
         T ret = (T) elementData[index];
         int numElementsToMove = size - index - 1;
@@ -693,6 +805,7 @@ public class ArrayTape<T> implements ArrayMovie<T> {
         if (index >= size || index < 0) {
             throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size + ".");
         }
+        unshare();
         @SuppressWarnings("unchecked")
         T ret = (T) elementData[index];
         Object[] newElementData = new Object[size + page - 1];
@@ -738,12 +851,7 @@ public class ArrayTape<T> implements ArrayMovie<T> {
             }
         }
         //noprim.end  
-        //prim: for (int i = 0; i < size; i++) {
-        //prim:     if (element == elementData[i]) {
-        //prim:         return i;
-        //prim:     }
-        //prim: }
-        //prim.end
+        //prim: return TapeKernels.INSTANCE.indexOf(elementData, 0, size, element);
         return -1;
     }
 
@@ -771,12 +879,7 @@ public class ArrayTape<T> implements ArrayMovie<T> {
             }
         }
         //noprim.end  
-        //prim: for (int i = size - 1; i >= 0; i--) {
-        //prim:     if (element == elementData[i]) {
-        //prim:         return i;
-        //prim:     }
-        //prim: }
-        //prim.end
+        //prim: return TapeKernels.INSTANCE.lastIndexOf(elementData, 0, size, element);
         return -1;
     }
 
@@ -856,6 +959,7 @@ public class ArrayTape<T> implements ArrayMovie<T> {
      * @throws OutOfMemoryError if there is not enough memory to create a new array with the increased capacity
      */
     protected void trimCapacity() {
+        unshare();
         int newCapacity = elementData.length + page;
         elementData = Arrays.copyOf(elementData, newCapacity);
         this.trimCountDown = DEFAULT_COUNTDOWN;
@@ -1030,6 +1134,93 @@ public class ArrayTape<T> implements ArrayMovie<T> {
         };
     }
 
+    /**
+     * Returns a spliterator over the elements of the ArrayTape. It reports ORDERED, SIZED and SUBSIZED and splits the
+     * range of the tape in halves, so parallel streams get balanced parts.
+     *
+     * @return a spliterator over the elements of the ArrayTape
+     */
+    @Override
+    //prim: public Spliterator.Of_STREAM_ spliterator() {
+    public Spliterator<T> spliterator() {
+        return new TapeSpliterator(0, size, updateCounter);
+    }
+
+    /**
+     * Spliterator over the index range from index (inclusive) to fence (exclusive) of the ArrayTape.
+     */
+    @SuppressWarnings("unchecked")
+    //prim: final class TapeSpliterator implements Spliterator.Of_STREAM_ {
+    final class TapeSpliterator implements Spliterator<T> {
+
+        private int index;
+        private final int fence;
+        private final int expectedUpdateCounter;
+
+        TapeSpliterator(int origin, int fence, int expectedUpdateCounter) {
+            this.index = origin;
+            this.fence = fence;
+            this.expectedUpdateCounter = expectedUpdateCounter;
+        }
+
+        @Override
+        public TapeSpliterator trySplit() {
+            final int mid = (index + fence) >>> 1;
+            if (mid <= index) {
+                return null;
+            }
+            final TapeSpliterator prefix = new TapeSpliterator(index, mid, expectedUpdateCounter);
+            index = mid;
+            return prefix;
+        }
+
+        @Override
+        //prim: public boolean tryAdvance(java.util.function._STREAM_Consumer action) {
+        public boolean tryAdvance(Consumer<? super T> action) {
+            if (action == null) {
+                throw new NullPointerException("Action cannot be null.");
+            }
+            if (index >= fence) {
+                return false;
+            }
+            // this notation helps to generate primitives
+            final T element = (T) elementData[index++];
+            action.accept(element);
+            if (expectedUpdateCounter != updateCounter) {
+                throw new ConcurrentModificationException("ArrayTape was modified during iteration.");
+            }
+            return true;
+        }
+
+        @Override
+        //prim: public void forEachRemaining(java.util.function._STREAM_Consumer action) {
+        public void forEachRemaining(Consumer<? super T> action) {
+            if (action == null) {
+                throw new NullPointerException("Action cannot be null.");
+            }
+            T element;
+            for (int i = index; i < fence; i++) {
+                // this notation helps to generate primitives
+                element = (T) elementData[i];
+                action.accept(element);
+            }
+            index = fence;
+            if (expectedUpdateCounter != updateCounter) {
+                throw new ConcurrentModificationException("ArrayTape was modified during iteration.");
+            }
+        }
+
+        @Override
+        public long estimateSize() {
+            return fence - index;
+        }
+
+        @Override
+        public int characteristics() {
+            return Spliterator.ORDERED | Spliterator.SIZED | Spliterator.SUBSIZED;
+        }
+    }
+
     /**
      * ArrayTape does not support splitting or gluing. This method is a no-op.
      */
@@ -1049,6 +1240,7 @@ public class ArrayTape<T> implements ArrayMovie<T> {
         if (size <= 1) {
             return null;
         }
+        unshare();
         int halfSize = size / 2;
         ArrayTape<T> newTape = emptyMovie(size - halfSize + page);
         newTape.size = size - halfSize;
@@ -1061,6 +1253,7 @@ public class ArrayTape<T> implements ArrayMovie<T> {
         System.arraycopy(elementData, 0, newElementData, 0, halfSize);
         elementData = newElementData;
         size = halfSize;
+        updateCounter++;
 
         // Adjust the leafWalker if necessary
         if (softWalker != null) {
@@ -1124,6 +1317,43 @@ public class ArrayTape<T> implements ArrayMovie<T> {
         return ret;
     }
 
+    /**
+     * Returns a read-only snapshot of this tape. The snapshot shares the array of this tape, so it is taken in constant
+     * time. The next write to this tape copies the array once, the snapshot keeps the old one.
+     *
+     * @return a read-only tape with the current elements of this tape, or this tape if it is a snapshot itself
+     */
+    @Override
+    public ArrayTape<T> snapshot() {
+        if (frozen) {
+            return this;
+        }
+        final ArrayTape<T> ret = new ArrayTape<>();
+        ret.elementData = elementData;
+        ret.size = size;
+        ret.page = page;
+        ret.updateCounter = updateCounter;
+        ret.shared = true;
+        ret.frozen = true;
+        shared = true;
+        return ret;
+    }
+
+    /**
+     * Gives this tape an own array before a write, if the array is shared with a snapshot.
+     *
+     * @throws UnsupportedOperationException if this tape is a snapshot
+     */
+    private void unshare() {
+        if (shared) {
+            if (frozen) {
+                throw new UnsupportedOperationException("Not supported in " + getClass().getSimpleName() + " snapshot.");
+            }
+            elementData = Arrays.copyOf(elementData, elementData.length);
+            shared = false;
+        }
+    }
+
     /**
      * Returns the number of times the ArrayTape has been updated.
      *
@@ -1375,4 +1605,80 @@ public class ArrayTape<T> implements ArrayMovie<T> {
             throw new ConcurrentModificationException("ArrayTape was modified during iteration.");
         }
     }
+
+    /**
+     * Returns true if any element matches the predicate. The search stops at the first hit.
+     *
+     * @param predicate the predicate to be used for the search
+     * @return true if at least one element matches
+     */
+    @Override
+    public boolean anyMatch(Predicate<? super T> predicate) {
+        if (predicate == null) {
+            throw new NullPointerException("Predicate cannot be null.");
+        }
+        T element;
+        for (int i = 0; i < size; i++) {
+            // this notation helps to generate primitives
+            element = (T) elementData[i];
+            if (predicate.test(element)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Performs a reduction on the elements in the order of the ArrayTape, starting with the identity value.
+     *
+     * @param <U> the type of the result
+     * @param identity the identity value for the combiner
+     * @param accumulator function adding one element to a partial result
+     * @param combiner function combining two partial results, not needed for a single ArrayTape
+     * @return the result of the reduction
+     */
+    @Override
+    public <U> U reduce(U identity, BiFunction<U, ? super T, U> accumulator, BinaryOperator<U> combiner) {
+        int startupdateCounter = updateCounter;
+        U result = identity;
+        T element;
+        for (int i = 0; i < size; i++) {
+            // this notation helps to generate primitives
+            element = (T) elementData[i];
+            result = accumulator.apply(result, element);
+        }
+        if (startupdateCounter != updateCounter) {
+            throw new ConcurrentModificationException("ArrayTape was modified during iteration.");
+        }
+        return result;
+    }
+
+    //prim:@Override
+    //prim:public _PRIM_ min() {
+    //prim:    if (size == 0) {
+    //prim:        throw new IndexOutOfBoundsException("Tape is empty.");
+    //prim:    }
+    //prim:    return TapeKernels.INSTANCE.min(elementData, 0, size);
+    //prim:}
+//prim:
+    //prim:@Override
+    //prim:public _PRIM_ max() {
+    //prim:    if (size == 0) {
+    //prim:        throw new IndexOutOfBoundsException("Tape is empty.");
+    //prim:    }
+    //prim:    return TapeKernels.INSTANCE.max(elementData, 0, size);
+    //prim:}
+//prim:
+    //prim:@Override
+    //prim:public _SUM_ sum() {
+    //prim:    return TapeKernels.INSTANCE.sum(elementData, 0, size);
+    //prim:}
+//prim:
+    //prim:@Override
+    //prim:public ArrayTape_APPEND_ filterRange(_PRIM_ low, _PRIM_ high) {
+    //prim:    ArrayTape_APPEND_ ret = emptyMovie(size);
+    //prim:    ret.size = TapeKernels.INSTANCE.filterRange(elementData, 0, size, low, high, ret.elementData);
+    //prim:    return ret;
+    //prim:}
+    //prim.end
 }
@@ -9,6 +9,7 @@ package de.jare.ndimcol.ref;
 
 import java.util.Collection;
 import java.util.List;
+import java.util.function.Predicate;
 import de.jare.ndimcol.RentenatusHashable;
 
 /**
@@ -266,6 +267,15 @@ public class ArrayTapeHashable<T> extends ArrayTape<T> implements RentenatusHash
         return ret;
     }
 
+    @Override
+    public boolean removeIf(Predicate<? super T> filter) {
+        boolean ret = super.removeIf(filter);
+        if (ret) {
+            hashComputed = false;
+        }
+        return ret;
+    }
+
     @Override
     protected T removeFast(int index) {
         hashComputed = false;
@@ -0,0 +1,557 @@
+/**
+ * <copyright>
+ * Copyright (c) 2025, Janusch Rentenatus. This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v2.0 which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ * </copyright>
+ */
+package de.jare.ndimcol.ref;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.Predicate;
+
+/**
+ * A thread-safe season in which every episode has its own StampedLock. add, addAt, set and removeAt lock only the
+ * episode they change, so writers on different episodes run in parallel. get is an optimistic read of its episode.
+ * <p>
+ * The array of the episodes is replaced only by splitOrGlue, clear and removeIf. These take the structural lock and
+ * the locks of all episodes, then publish a new array. An operation that finds the array replaced after it has locked
+ * its episode looks up the episode again.
+ * <p>
+ * An index is resolved with the episode sizes at the moment of the call. A writer in a front episode running at the
+ * same time can shift it, as in every list shared by several writers. The iterator walks over a copy of the elements
+ * and does not support remove.
+ *
+ * @author Janusch Rentenatus
+ * @param <T> the type of elements in this season
+ */
+public class ConcurrentArraySeason<T> extends AbstractList<T> {
+
+    private final Screenplay screenplay;
+    private final ReentrantLock structure = new ReentrantLock();
+    private volatile Episode<T>[] episodes;
+    private volatile int maxEpisodeSize;
+    private volatile int minEpisodeGlue;
+
+    /**
+     * Constructs an empty season with the two-dimensional screenplay.
+     */
+    public ConcurrentArraySeason() {
+        this(Screenplay2d.INSTANCE);
+    }
+
+    /**
+     * Constructs an empty season. The screenplay gives the sizes of the episodes, the episodes are always tapes.
+     *
+     * @param screenplay the screenplay to be used for this season
+     */
+    public ConcurrentArraySeason(final Screenplay screenplay) {
+        this.screenplay = screenplay;
+        this.episodes = newEpisodes(1);
+        this.episodes[0] = new Episode<>(new ArrayTape<>(screenplay.getDefaultSize()));
+        recalculateScope(1);
+    }
+
+    /**
+     * An episode with its own lock. The size is written under the lock and read without it to resolve an index.
+     */
+    private static final class Episode<T> {
+
+        final StampedLock lock = new StampedLock();
+        final ArrayTape<T> tape;
+        volatile int size;
+
+        Episode(ArrayTape<T> tape) {
+            this.tape = tape;
+            this.size = tape.size();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> Episode<T>[] newEpisodes(int count) {
+        return (Episode<T>[]) new Episode<?>[count];
+    }
+
+    private void recalculateScope(int fac) {
+        maxEpisodeSize = screenplay.getMaxEpisodeSize(fac);
+        minEpisodeGlue = screenplay.getMinEpisodeGlue(fac);
+    }
+
+    /**
+     * Returns the number of the episode and the index inside it, packed into a long, or -1 if the index is out of
+     * range. If append is set, the index behind the last element is found in the last episode.
+     */
+    private static long locate(Episode<?>[] eps, int index, boolean append) {
+        if (index < 0) {
+            return -1L;
+        }
+        int offset = 0;
+        for (int i = 0; i < eps.length; i++) {
+            final int episodeSize = eps[i].size;
+            if (index < offset + episodeSize || (append && i == eps.length - 1 && index == offset + episodeSize)) {
+                return ((long) i << 32) | (index - offset);
+            }
+            offset += episodeSize;
+        }
+        return -1L;
+    }
+
+    private IndexOutOfBoundsException outOfBounds(int index) {
+        return new IndexOutOfBoundsException("Index: " + index + ", Size: " + size() + ".");
+    }
+
+    /**
+     * Returns the number of elements in this season. The sizes of the episodes are added without locks.
+     *
+     * @return the number of elements in this season
+     */
+    @Override
+    public int size() {
+        int sum = 0;
+        for (Episode<T> episode : episodes) {
+            sum += episode.size;
+        }
+        return sum;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     * Returns the element at the specified index. The episode is read optimistically and read again under its read
+     * lock only if a writer came in between.
+     *
+     * @param index the index of the element to return
+     * @return the element at the specified index
+     * @throws IndexOutOfBoundsException if the index is out of range (index &lt; 0 || index &gt;= size)
+     */
+    @Override
+    public T get(int index) {
+        while (true) {
+            final Episode<T>[] eps = episodes;
+            final long pos = locate(eps, index, false);
+            if (pos < 0) {
+                throw outOfBounds(index);
+            }
+            final Episode<T> episode = eps[(int) (pos >>> 32)];
+            final int local = (int) pos;
+            long stamp = episode.lock.tryOptimisticRead();
+            if (stamp != 0L) {
+                try {
+                    final T ret = local < episode.tape.size() ? episode.tape.get(local) : null;
+                    if (episode.lock.validate(stamp) && eps == episodes && local < episode.size) {
+                        return ret;
+                    }
+                } catch (RuntimeException ex) {
+                    // the episode was changed while reading, read again under the lock
+                }
+            }
+            stamp = episode.lock.readLock();
+            try {
+                if (eps == episodes && local < episode.size) {
+                    return episode.tape.get(local);
+                }
+            } finally {
+                episode.lock.unlockRead(stamp);
+            }
+        }
+    }
+
+    /**
+     * Replaces the element at the specified index. Only the episode of the index is locked.
+     *
+     * @param index index of the element to replace
+     * @param element element to be stored at the specified position
+     * @return the element previously at the specified position
+     * @throws IndexOutOfBoundsException if the index is out of range (index &lt; 0 || index &gt;= size)
+     */
+    @Override
+    public T set(int index, T element) {
+        while (true) {
+            final Episode<T>[] eps = episodes;
+            final long pos = locate(eps, index, false);
+            if (pos < 0) {
+                throw outOfBounds(index);
+            }
+            final Episode<T> episode = eps[(int) (pos >>> 32)];
+            final int local = (int) pos;
+            final long stamp = episode.lock.writeLock();
+            try {
+                if (eps == episodes && local < episode.size) {
+                    return episode.tape.set(local, element);
+                }
+            } finally {
+                episode.lock.unlockWrite(stamp);
+            }
+        }
+    }
+
+    /**
+     * Appends the element to the last episode.
+     *
+     * @param element the element to be added
+     * @return true
+     */
+    @Override
+    public boolean add(T element) {
+        while (true) {
+            final Episode<T>[] eps = episodes;
+            final Episode<T> episode = eps[eps.length - 1];
+            final boolean tooBig;
+            final long stamp = episode.lock.writeLock();
+            try {
+                if (eps != episodes) {
+                    continue;
+                }
+                episode.tape.add(element);
+                episode.size = episode.tape.size();
+                tooBig = episode.size > maxEpisodeSize;
+            } finally {
+                episode.lock.unlockWrite(stamp);
+            }
+            if (tooBig) {
+                splitOrGlue();
+            }
+            return true;
+        }
+    }
+
+    /**
+     * Inserts the element at the specified index. Only the episode of the index is locked. The index behind the last
+     * element appends the element.
+     *
+     * @param index index at which the specified element is to be inserted
+     * @param element element to be inserted
+     * @return true
+     * @throws IndexOutOfBoundsException if the index is out of range (index &lt; 0 || index &gt; size)
+     */
+    public boolean addAt(int index, T element) {
+        while (true) {
+            final Episode<T>[] eps = episodes;
+            final long pos = locate(eps, index, true);
+            if (pos < 0) {
+                throw outOfBounds(index);
+            }
+            final Episode<T> episode = eps[(int) (pos >>> 32)];
+            final int local = (int) pos;
+            final boolean tooBig;
+            final long stamp = episode.lock.writeLock();
+            try {
+                if (eps != episodes || local > episode.size) {
+                    continue;
+                }
+                episode.tape.addAt(local, element);
+                episode.size = episode.tape.size();
+                tooBig = episode.size > maxEpisodeSize;
+            } finally {
+                episode.lock.unlockWrite(stamp);
+            }
+            if (tooBig) {
+                splitOrGlue();
+            }
+            return true;
+        }
+    }
+
+    @Override
+    public void add(int index, T element) {
+        addAt(index, element);
+    }
+
+    /**
+     * Removes the element at the specified index. Only the episode of the index is locked.
+     *
+     * @param index the index of the element to remove
+     * @return the removed element
+     * @throws IndexOutOfBoundsException if the index is out of range (index &lt; 0 || index &gt;= size)
+     */
+    public T removeAt(int index) {
+        while (true) {
+            final Episode<T>[] eps = episodes;
+            final long pos = locate(eps, index, false);
+            if (pos < 0) {
+                throw outOfBounds(index);
+            }
+            final Episode<T> episode = eps[(int) (pos >>> 32)];
+            final int local = (int) pos;
+            final T ret;
+            final boolean tooSmall;
+            final long stamp = episode.lock.writeLock();
+            try {
+                if (eps != episodes || local >= episode.size) {
+                    continue;
+                }
+                ret = episode.tape.removeAt(local);
+                episode.size = episode.tape.size();
+                tooSmall = episode.size < minEpisodeGlue && eps.length > 1;
+            } finally {
+                episode.lock.unlockWrite(stamp);
+            }
+            if (tooSmall) {
+                splitOrGlue();
+            }
+            return ret;
+        }
+    }
+
+    @Override
+    public T remove(int index) {
+        return removeAt(index);
+    }
+
+    /**
+     * Removes the first occurrence of the element. The episodes are searched one after the other, each under its own
+     * lock.
+     *
+     * @param element element to be removed
+     * @return true if the element was found and removed
+     */
+    @Override
+    public boolean remove(Object element) {
+        retry:
+        while (true) {
+            final Episode<T>[] eps = episodes;
+            for (Episode<T> episode : eps) {
+                final boolean tooSmall;
+                final long stamp = episode.lock.writeLock();
+                try {
+                    if (eps != episodes) {
+                        continue retry;
+                    }
+                    final int local = episode.tape.indexOf(element);
+                    if (local < 0) {
+                        continue;
+                    }
+                    episode.tape.removeAt(local);
+                    episode.size = episode.tape.size();
+                    tooSmall = episode.size < minEpisodeGlue && eps.length > 1;
+                } finally {
+                    episode.lock.unlockWrite(stamp);
+                }
+                if (tooSmall) {
+                    splitOrGlue();
+                }
+                return true;
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Returns the index of the first occurrence of the element, or -1. The episodes are searched one after the other,
+     * each under its read lock.
+     *
+     * @param element the element to search for
+     * @return the index of the element or -1
+     */
+    @Override
+    public int indexOf(Object element) {
+        retry:
+        while (true) {
+            final Episode<T>[] eps = episodes;
+            int offset = 0;
+            for (Episode<T> episode : eps) {
+                final long stamp = episode.lock.readLock();
+                try {
+                    if (eps != episodes) {
+                        continue retry;
+                    }
+                    final int local = episode.tape.indexOf(element);
+                    if (local >= 0) {
+                        return offset + local;
+                    }
+                    offset += episode.size;
+                } finally {
+                    episode.lock.unlockRead(stamp);
+                }
+            }
+            return -1;
+        }
+    }
+
+    @Override
+    public boolean contains(Object element) {
+        return indexOf(element) >= 0;
+    }
+
+    /**
+     * Removes all elements that satisfy the predicate. The whole season is locked.
+     *
+     * @param filter a predicate which returns true for elements to be removed
+     * @return true if any elements were removed
+     */
+    @Override
+    public boolean removeIf(Predicate<? super T> filter) {
+        if (filter == null) {
+            throw new NullPointerException("Predicate cannot be null.");
+        }
+        return exclusive(eps -> {
+            boolean modified = false;
+            for (Episode<T> episode : eps) {
+                modified = episode.tape.removeIf(filter) || modified;
+            }
+            return modified;
+        });
+    }
+
+    @Override
+    public void clear() {
+        exclusive(eps -> {
+            for (Episode<T> episode : eps) {
+                episode.tape.clear();
+            }
+            return true;
+        });
+    }
+
+    /**
+     * Splits the episodes larger than the maximum size and glues the small ones to their predecessor. The structural
+     * lock and the locks of all episodes are held while the new array of episodes is built.
+     */
+    public void splitOrGlue() {
+        exclusive(eps -> true);
+    }
+
+    private boolean exclusive(Predicate<Episode<T>[]> change) {
+        structure.lock();
+        try {
+            final Episode<T>[] eps = episodes;
+            final long[] stamps = new long[eps.length];
+            for (int i = 0; i < eps.length; i++) {
+                stamps[i] = eps[i].lock.writeLock();
+            }
+            try {
+                try {
+                    return change.test(eps);
+                } finally {
+                    // also after a failed change, the tapes may have changed already
+                    rebalance(eps);
+                }
+            } finally {
+                for (int i = 0; i < eps.length; i++) {
+                    eps[i].lock.unlockWrite(stamps[i]);
+                }
+            }
+        } finally {
+            structure.unlock();
+        }
+    }
+
+    /**
+     * Builds and publishes the new array of episodes. Split episodes keep their first half, glued episodes are
+     * appended to their predecessor, so the index of an element inside a kept episode does not change.
+     */
+    private void rebalance(Episode<T>[] eps) {
+        final List<Episode<T>> next = new ArrayList<>(eps.length + 1);
+        int lastSize = maxEpisodeSize;
+        for (Episode<T> episode : eps) {
+            final int episodeSize = episode.tape.size();
+            if (episodeSize == 0) {
+                continue;
+            }
+            if (episodeSize > maxEpisodeSize) {
+                final ArrayTape<T> second = episode.tape.splitInHalf();
+                episode.size = episode.tape.size();
+                next.add(episode);
+                if (second != null) {
+                    next.add(new Episode<>(second));
+                }
+                lastSize = maxEpisodeSize;
+            } else if (!next.isEmpty()
+                    && (lastSize + episodeSize < minEpisodeGlue || episodeSize < 8 || lastSize < 8)) {
+                final Episode<T> prev = next.get(next.size() - 1);
+                prev.tape.addMovie(episode.tape);
+                prev.size = prev.tape.size();
+                lastSize = prev.size;
+            } else {
+                episode.size = episodeSize;
+                next.add(episode);
+                lastSize = episodeSize;
+            }
+        }
+        if (next.isEmpty()) {
+            next.add(new Episode<>(new ArrayTape<>(screenplay.getDefaultSize())));
+        }
+        recalculateScope(next.size());
+        episodes = next.toArray(newEpisodes(next.size()));
+    }
+
+    /**
+     * Returns a copy of the elements. The structural lock and the read locks of all episodes are held while copying,
+     * so the copy is a consistent state of this season.
+     *
+     * @return an array containing all elements in this season
+     */
+    @Override
+    public Object[] toArray() {
+        structure.lock();
+        try {
+            final Episode<T>[] eps = episodes;
+            final long[] stamps = new long[eps.length];
+            for (int i = 0; i < eps.length; i++) {
+                stamps[i] = eps[i].lock.readLock();
+            }
+            try {
+                int total = 0;
+                for (Episode<T> episode : eps) {
+                    total += episode.tape.size();
+                }
+                final Object[] ret = new Object[total];
+                int offset = 0;
+                for (Episode<T> episode : eps) {
+                    episode.tape.copyToArray(ret, offset);
+                    offset += episode.tape.size();
+                }
+                return ret;
+            } finally {
+                for (int i = 0; i < eps.length; i++) {
+                    eps[i].lock.unlockRead(stamps[i]);
+                }
+            }
+        } finally {
+            structure.unlock();
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <U> U[] toArray(U[] arr) {
+        final Object[] elements = toArray();
+        if (arr.length < elements.length) {
+            return (U[]) Arrays.copyOf(elements, elements.length, arr.getClass());
+        }
+        System.arraycopy(elements, 0, arr, 0, elements.length);
+        if (arr.length > elements.length) {
+            arr[elements.length] = null;
+        }
+        return arr;
+    }
+
+    /**
+     * Returns an iterator over a copy of the elements, see {@link #toArray()}.
+     *
+     * @return an iterator over the elements in this season in proper sequence
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public Iterator<T> iterator() {
+        return Arrays.asList((T[]) toArray()).iterator();
+    }
+
+    /**
+     * Returns the number of episodes.
+     *
+     * @return the number of episodes
+     */
+    public int episodeCount() {
+        return episodes.length;
+    }
+}
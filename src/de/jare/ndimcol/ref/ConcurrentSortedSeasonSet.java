@@ -0,0 +1,464 @@
+/**
+ * <copyright>
+ * Copyright (c) 2025, Janusch Rentenatus. This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v2.0 which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ * </copyright>
+ */
+package de.jare.ndimcol.ref;
+
+import java.util.AbstractSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.BiPredicate;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+import java.util.function.IntSupplier;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * A thread-safe sorted set backed by a {@link SortedSeasonSet}. Writers are serialized by the write lock of a
+ * StampedLock, only one thread changes the set at a time. Before the write lock is released, the episode index and
+ * the fence keys are built, so a read never changes the set.
+ * <p>
+ * Lookups are optimistic reads: they run without a lock and are validated against the stamp afterwards. Only if a
+ * writer came in between, the lookup is repeated under the read lock. So the read throughput scales with the cores as
+ * long as writes are rare. Bulk reads like toArray and forEach take the read lock directly.
+ * <p>
+ * The iterator walks over a copy of the elements taken under the read lock, it does not fail if the set is changed.
+ *
+ * @author Janusch Rentenatus
+ * @param <T> the type of elements in this set
+ */
+public class ConcurrentSortedSeasonSet<T> extends AbstractSet<T> {
+
+    private final StampedLock lock = new StampedLock();
+    private final LockedSet<T> set;
+
+    /**
+     * Constructor for ConcurrentSortedSeasonSet. The given comparator is morphed into a BiPredicate.
+     *
+     * @param compT a Comparator&lt;T&gt; to compare elements
+     * @param forward true for ascending order, false for descending order
+     */
+    public ConcurrentSortedSeasonSet(final Comparator<T> compT, boolean forward) {
+        this.set = new LockedSet<>(compT, forward);
+    }
+
+    /**
+     * Constructor for ConcurrentSortedSeasonSet.
+     *
+     * @param predicate a BiPredicate&lt;T, T&gt; to compare elements. If A is not smaller than B and A is not greater
+     * than B, then A is equal to B.
+     */
+    public ConcurrentSortedSeasonSet(final BiPredicate<T, T> predicate) {
+        this.set = new LockedSet<>(predicate, null);
+    }
+
+    /**
+     * Constructor for ConcurrentSortedSeasonSet.
+     *
+     * @param predicate a BiPredicate&lt;T, T&gt; to compare elements in their order
+     * @param ambiguity a BiPredicate&lt;T, T&gt; to compare elements in their equality
+     */
+    public ConcurrentSortedSeasonSet(final BiPredicate<T, T> predicate, final BiPredicate<T, T> ambiguity) {
+        this.set = new LockedSet<>(predicate, ambiguity);
+    }
+
+    /**
+     * The backing set. It allows to rebuild its lazy indexes only to the thread holding the write lock, a reader
+     * meeting a half-done change gets a ConcurrentModificationException and repeats its read under the read lock.
+     */
+    private static final class LockedSet<T> extends SortedSeasonSet<T> {
+
+        private Thread writer;
+
+        LockedSet(final Comparator<T> compT, boolean forward) {
+            super(compT, forward);
+        }
+
+        LockedSet(final BiPredicate<T, T> predicate, final BiPredicate<T, T> ambiguity) {
+            super(predicate, ambiguity);
+        }
+
+        @Override
+        boolean mayRebuild() {
+            return writer == Thread.currentThread();
+        }
+    }
+
+    private <R> R read(Supplier<R> reader) {
+        long stamp = lock.tryOptimisticRead();
+        if (stamp != 0L) {
+            try {
+                final R ret = reader.get();
+                if (lock.validate(stamp)) {
+                    return ret;
+                }
+            } catch (RuntimeException ex) {
+                if (lock.validate(stamp)) {
+                    throw ex;
+                }
+            }
+        }
+        stamp = lock.readLock();
+        try {
+            return reader.get();
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    private boolean readBoolean(BooleanSupplier reader) {
+        long stamp = lock.tryOptimisticRead();
+        if (stamp != 0L) {
+            try {
+                final boolean ret = reader.getAsBoolean();
+                if (lock.validate(stamp)) {
+                    return ret;
+                }
+            } catch (RuntimeException ex) {
+                if (lock.validate(stamp)) {
+                    throw ex;
+                }
+            }
+        }
+        stamp = lock.readLock();
+        try {
+            return reader.getAsBoolean();
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    private int readInt(IntSupplier reader) {
+        long stamp = lock.tryOptimisticRead();
+        if (stamp != 0L) {
+            try {
+                final int ret = reader.getAsInt();
+                if (lock.validate(stamp)) {
+                    return ret;
+                }
+            } catch (RuntimeException ex) {
+                if (lock.validate(stamp)) {
+                    throw ex;
+                }
+            }
+        }
+        stamp = lock.readLock();
+        try {
+            return reader.getAsInt();
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    private <R> R write(Supplier<R> writer) {
+        final long stamp = lock.writeLock();
+        try {
+            set.writer = Thread.currentThread();
+            return writer.get();
+        } finally {
+            set.prepareReads();
+            set.writer = null;
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    private boolean writeBoolean(BooleanSupplier writer) {
+        final long stamp = lock.writeLock();
+        try {
+            set.writer = Thread.currentThread();
+            return writer.getAsBoolean();
+        } finally {
+            set.prepareReads();
+            set.writer = null;
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public int size() {
+        return readInt(set::size);
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return readBoolean(set::isEmpty);
+    }
+
+    @Override
+    public boolean contains(Object element) {
+        return readBoolean(() -> set.contains(element));
+    }
+
+    /**
+     * Returns the element of this set that occupies the space of the specified element, or null if there is none.
+     *
+     * @param element the like element to search for
+     * @return the element found in this set or null
+     * @see SortedSeasonSet#get(Object)
+     */
+    public T get(Object element) {
+        return read(() -> set.get(element));
+    }
+
+    /**
+     * Returns the element at the specified index in the order of this set.
+     *
+     * @param index the index of the element to return
+     * @return the element at the specified index
+     * @throws IndexOutOfBoundsException if the index is out of range (index &lt; 0 || index &gt;= size)
+     */
+    public T get(int index) {
+        return read(() -> set.at(index));
+    }
+
+    /**
+     * Returns the number of elements in this set that are smaller than the specified element, or smaller or equal if
+     * inclusive is set.
+     *
+     * @param element the element to compare with
+     * @param inclusive true to count the elements equal to the specified element too
+     * @return the number of elements in front of the specified element
+     * @see SortedSeasonSet#headSize(Object, boolean)
+     */
+    public int headSize(T element, boolean inclusive) {
+        return readInt(() -> set.headSize(element, inclusive));
+    }
+
+    /**
+     * Returns a comparator built from the predicate of this set.
+     *
+     * @return the comparator of this set
+     */
+    public Comparator<? super T> comparator() {
+        return set.comparator();
+    }
+
+    /**
+     * Returns the first element in this set.
+     *
+     * @return the first element in this set
+     * @throws NoSuchElementException if this set is empty
+     */
+    public T first() {
+        return read(set::first);
+    }
+
+    /**
+     * Returns the last element in this set.
+     *
+     * @return the last element in this set
+     * @throws NoSuchElementException if this set is empty
+     */
+    public T last() {
+        return read(set::last);
+    }
+
+    /**
+     * Returns the greatest element in this set strictly less than the specified element, or null if there is no such
+     * element.
+     *
+     * @param element the element to compare with
+     * @return the greatest element less than the specified element, or null
+     */
+    public T lower(T element) {
+        return read(() -> set.lower(element));
+    }
+
+    /**
+     * Returns the greatest element in this set less than or equal to the specified element, or null if there is no
+     * such element.
+     *
+     * @param element the element to compare with
+     * @return the greatest element less than or equal to the specified element, or null
+     */
+    public T floor(T element) {
+        return read(() -> set.floor(element));
+    }
+
+    /**
+     * Returns the least element in this set greater than or equal to the specified element, or null if there is no
+     * such element.
+     *
+     * @param element the element to compare with
+     * @return the least element greater than or equal to the specified element, or null
+     */
+    public T ceiling(T element) {
+        return read(() -> set.ceiling(element));
+    }
+
+    /**
+     * Returns the least element in this set strictly greater than the specified element, or null if there is no such
+     * element.
+     *
+     * @param element the element to compare with
+     * @return the least element greater than the specified element, or null
+     */
+    public T higher(T element) {
+        return read(() -> set.higher(element));
+    }
+
+    @Override
+    public boolean add(T element) {
+        return writeBoolean(() -> set.add(element));
+    }
+
+    @Override
+    public boolean addAll(Collection<? extends T> col) {
+        if (col == null) {
+            throw new NullPointerException("Collection cannot be null.");
+        }
+        return writeBoolean(() -> set.addAll(col));
+    }
+
+    @Override
+    public boolean remove(Object element) {
+        return writeBoolean(() -> set.remove(element));
+    }
+
+    @Override
+    public boolean removeIf(Predicate<? super T> filter) {
+        if (filter == null) {
+            throw new NullPointerException("Predicate cannot be null.");
+        }
+        return writeBoolean(() -> set.removeIf(filter));
+    }
+
+    @Override
+    public boolean removeAll(Collection<?> col) {
+        if (col == null) {
+            throw new NullPointerException("Collection cannot be null.");
+        }
+        return writeBoolean(() -> set.removeAll(col));
+    }
+
+    @Override
+    public boolean retainAll(Collection<?> col) {
+        if (col == null) {
+            throw new NullPointerException("Collection cannot be null.");
+        }
+        return writeBoolean(() -> set.retainAll(col));
+    }
+
+    @Override
+    public void clear() {
+        writeBoolean(() -> {
+            set.clear();
+            return true;
+        });
+    }
+
+    /**
+     * Retrieves and removes the first element, or returns null if this set is empty.
+     *
+     * @return the first element, or null if this set is empty
+     */
+    public T pollFirst() {
+        return write(set::pollFirst);
+    }
+
+    /**
+     * Retrieves and removes the last element, or returns null if this set is empty.
+     *
+     * @return the last element, or null if this set is empty
+     */
+    public T pollLast() {
+        return write(set::pollLast);
+    }
+
+    @Override
+    public Object[] toArray() {
+        final long stamp = lock.readLock();
+        try {
+            return set.toArray();
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    @Override
+    public <U> U[] toArray(U[] arr) {
+        final long stamp = lock.readLock();
+        try {
+            return set.toArray(arr);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Returns a copy of this set taken under the read lock. The copy is not synchronized, it can be used for views,
+     * walkers and the set algebra of {@link SortedSeasonSet}.
+     *
+     * @return a new SortedSeasonSet with the elements of this set
+     */
+    public SortedSeasonSet<T> copy() {
+        final long stamp = lock.readLock();
+        try {
+            return set.union(set.emptyMovie(0));
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Performs the given action for each element of this set in order. The read lock is held during the whole loop,
+     * so the action must not change this set.
+     *
+     * @param action the action to be performed for each element
+     */
+    @Override
+    public void forEach(Consumer<? super T> action) {
+        final long stamp = lock.readLock();
+        try {
+            set.forEach(action);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Returns an iterator over a copy of the elements. The iterator removes elements from this set, but it does not
+     * see changes made after its creation.
+     *
+     * @return an iterator over the elements in this set in order
+     */
+    @Override
+    public Iterator<T> iterator() {
+        final Object[] elements = toArray();
+        return new Iterator<T>() {
+            private int cursor = 0;
+            private int lastRet = -1;
+
+            @Override
+            public boolean hasNext() {
+                return cursor < elements.length;
+            }
+
+            @Override
+            @SuppressWarnings("unchecked")
+            public T next() {
+                if (cursor >= elements.length) {
+                    throw new NoSuchElementException();
+                }
+                lastRet = cursor;
+                return (T) elements[cursor++];
+            }
+
+            @Override
+            public void remove() {
+                if (lastRet < 0) {
+                    throw new IllegalStateException();
+                }
+                ConcurrentSortedSeasonSet.this.remove(elements[lastRet]);
+                lastRet = -1;
+            }
+        };
+    }
+}
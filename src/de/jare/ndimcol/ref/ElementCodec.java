@@ -0,0 +1,103 @@
+/**
+ * <copyright>
+ * Copyright (c) 2025, Janusch Rentenatus. This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v2.0 which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ * </copyright>
+ */
+package de.jare.ndimcol.ref;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * Writes and reads single elements for a {@link MovieFormat}. A codec decides how its elements, including
+ * {@code null}, are written; the format only keeps the bytes of each episode together.
+ *
+ * @author Janusch Rentenatus
+ * @param <T> the type of elements
+ */
+public interface ElementCodec<T> {
+
+    /**
+     * A codec for strings in modified UTF-8 with a flag for {@code null}. Strings are limited to 65535 bytes.
+     */
+    ElementCodec<String> STRING = new ElementCodec<>() {
+        @Override
+        public void write(String element, DataOutput out) throws IOException {
+            out.writeBoolean(element != null);
+            if (element != null) {
+                out.writeUTF(element);
+            }
+        }
+
+        @Override
+        public String read(DataInput in) throws IOException {
+            return in.readBoolean() ? in.readUTF() : null;
+        }
+    };
+
+    /**
+     * A codec for integers. It does not support {@code null}.
+     */
+    ElementCodec<Integer> INTEGER = new ElementCodec<>() {
+        @Override
+        public void write(Integer element, DataOutput out) throws IOException {
+            out.writeInt(element);
+        }
+
+        @Override
+        public Integer read(DataInput in) throws IOException {
+            return in.readInt();
+        }
+    };
+
+    /**
+     * A codec for longs. It does not support {@code null}.
+     */
+    ElementCodec<Long> LONG = new ElementCodec<>() {
+        @Override
+        public void write(Long element, DataOutput out) throws IOException {
+            out.writeLong(element);
+        }
+
+        @Override
+        public Long read(DataInput in) throws IOException {
+            return in.readLong();
+        }
+    };
+
+    /**
+     * A codec for doubles. It does not support {@code null}.
+     */
+    ElementCodec<Double> DOUBLE = new ElementCodec<>() {
+        @Override
+        public void write(Double element, DataOutput out) throws IOException {
+            out.writeDouble(element);
+        }
+
+        @Override
+        public Double read(DataInput in) throws IOException {
+            return in.readDouble();
+        }
+    };
+
+    /**
+     * Writes one element.
+     *
+     * @param element the element
+     * @param out the output
+     * @throws IOException if the output fails
+     */
+    void write(T element, DataOutput out) throws IOException;
+
+    /**
+     * Reads one element written by {@link #write(Object, DataOutput)}.
+     *
+     * @param in the input
+     * @return the element
+     * @throws IOException if the input fails or ends
+     */
+    T read(DataInput in) throws IOException;
+}
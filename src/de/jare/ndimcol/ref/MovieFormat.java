@@ -0,0 +1,383 @@
+/**
+ * <copyright>
+ * Copyright (c) 2025, Janusch Rentenatus. This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v2.0 which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ * </copyright>
+ */
+package de.jare.ndimcol.ref;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.GatheringByteChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.util.ArrayList;
+import java.util.Arrays;
+
+/**
+ * A binary format for movies. The movie is written episode by episode, every episode as one block with its number of
+ * elements and its length in bytes in front, so a reader rebuilds the episodes without adding element by element.
+ * <pre>
+ * header, 32 bytes, little-endian:
+ *   int  magic "NDIM"
+ *   int  version
+ *   int  kind: 'I', 'J', 'S', 'F' for int, long, short, float; 'L' for elements of a codec
+ *   int  number of blocks
+ *   long number of elements
+ *   long reserved
+ * block:
+ *   int  number of elements
+ *   int  length of the payload in bytes
+ *   payload: little-endian values of a primitive kind, or the elements written by the codec
+ * </pre> An episode larger than {@link #BLOCK_ELEMENTS} is written as several blocks. The blocks are collected and
+ * written with gather writes when the channel supports them. Any file can be read as a tape, a season or a sorted
+ * set; a season splits or glues the read episodes to its own limits.
+ * <p>
+ * This class handles movies of references with an {@link ElementCodec}. The primitive packages have their own format
+ * classes, for example {@code MovieFormatInt}.
+ *
+ * @author Janusch Rentenatus
+ * @param <T> the type of elements
+ */
+public class MovieFormat<T> {
+
+    public static final int MAGIC = 0x4d49444e;
+    public static final int VERSION = 1;
+    public static final int KIND_REFERENCE = 'L';
+    public static final int HEADER_BYTES = 32;
+    public static final int BLOCK_HEADER_BYTES = 8;
+    public static final int BLOCK_ELEMENTS = 1 << 20;
+
+    private final ElementCodec<T> codec;
+
+    /**
+     * Creates a format for elements written and read by the given codec.
+     *
+     * @param codec the codec of the elements
+     */
+    public MovieFormat(ElementCodec<T> codec) {
+        if (codec == null) {
+            throw new NullPointerException("Codec cannot be null.");
+        }
+        this.codec = codec;
+    }
+
+    /**
+     * Writes the movie to the channel.
+     *
+     * @param movie the movie
+     * @param channel the channel
+     * @throws IOException if the channel or the codec fails
+     */
+    public void write(ArrayMovie<T> movie, WritableByteChannel channel) throws IOException {
+        final ArrayList<ArrayMovie<T>> episodes = new ArrayList<>();
+        collectEpisodes(movie, episodes);
+        final GatherWriter writer = new GatherWriter(channel);
+        writer.add(header(KIND_REFERENCE, movie.size(), countBlocks(episodes)));
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        final DataOutputStream out = new DataOutputStream(bytes);
+        for (ArrayMovie<T> episode : episodes) {
+            final int episodeSize = episode.size();
+            for (int from = 0; from < episodeSize; from += BLOCK_ELEMENTS) {
+                final int count = Math.min(BLOCK_ELEMENTS, episodeSize - from);
+                bytes.reset();
+                out.writeLong(0);
+                for (int i = from; i < from + count; i++) {
+                    codec.write(episode.get(i), out);
+                }
+                out.flush();
+                final ByteBuffer block = ByteBuffer.wrap(bytes.toByteArray()).order(ByteOrder.LITTLE_ENDIAN);
+                block.putInt(0, count);
+                block.putInt(4, block.capacity() - BLOCK_HEADER_BYTES);
+                writer.add(block);
+            }
+        }
+        writer.flush();
+    }
+
+    /**
+     * Reads a movie as one tape.
+     *
+     * @param channel the channel
+     * @return a tape with all elements
+     * @throws IOException if the channel or the codec fails, or the data is not of this format
+     */
+    public ArrayTape<T> readTape(ReadableByteChannel channel) throws IOException {
+        final Header header = readHeader(channel, KIND_REFERENCE);
+        if (header.size() > Integer.MAX_VALUE - 8) {
+            throw new IOException("Size " + header.size() + " does not fit into a tape.");
+        }
+        final Object[] elements = new Object[(int) header.size()];
+        final Reader<T> reader = new Reader<>(channel, codec);
+        int offset = 0;
+        for (int b = 0; b < header.blocks(); b++) {
+            final int count = reader.readCount(b);
+            if (offset + count > elements.length) {
+                throw new IOException("Block " + b + " holds more elements than announced.");
+            }
+            reader.readElements(b, elements, offset, count);
+            offset += count;
+        }
+        if (offset != elements.length) {
+            throw new IOException("Blocks hold " + offset + " of " + elements.length + " elements.");
+        }
+        final ArrayTape<T> tape = new ArrayTape<>(0);
+        tape.setBufferData(elements);
+        return tape;
+    }
+
+    /**
+     * Reads a movie as a season.
+     *
+     * @param channel the channel
+     * @return a season with all elements
+     * @throws IOException if the channel or the codec fails, or the data is not of this format
+     */
+    public ArraySeason<T> readSeason(ReadableByteChannel channel) throws IOException {
+        return readInto(new ArraySeason<>(), channel);
+    }
+
+    /**
+     * Reads a movie and glues its blocks as episodes behind the episodes of the given season. For a sorted set, the
+     * set must be empty or its elements must come before the read elements, and the order of the set must be the
+     * order of the written set.
+     *
+     * @param <S> the type of the season
+     * @param season the season, for example a new SortedSeasonSet with the order of the written set
+     * @param channel the channel
+     * @return the season
+     * @throws IOException if the channel or the codec fails, or the data is not of this format
+     */
+    public <S extends ArraySeason<T>> S readInto(S season, ReadableByteChannel channel) throws IOException {
+        final Header header = readHeader(channel, KIND_REFERENCE);
+        final Reader<T> reader = new Reader<>(channel, codec);
+        for (int b = 0; b < header.blocks(); b++) {
+            final Object[] elements = new Object[reader.readCount(b)];
+            reader.readElements(b, elements, 0, elements.length);
+            final ArrayTape<T> episode = new ArrayTape<>(0);
+            episode.setBufferData(elements);
+            season.glueMovie(episode);
+        }
+        season.splitOrGlue();
+        return season;
+    }
+
+    /**
+     * Collects the leaf episodes of the movie in order. A season is replaced by its episodes, any other movie is a
+     * leaf.
+     */
+    static <T> void collectEpisodes(ArrayMovie<T> movie, ArrayList<ArrayMovie<T>> episodes) {
+        if (movie instanceof ArraySeason<T> season) {
+            for (int i = 0; i < season.data.size(); i++) {
+                collectEpisodes(season.data.get(i), episodes);
+            }
+        } else if (!movie.isEmpty()) {
+            episodes.add(movie);
+        }
+    }
+
+    static <T> int countBlocks(ArrayList<ArrayMovie<T>> episodes) {
+        long blocks = 0;
+        for (ArrayMovie<T> episode : episodes) {
+            blocks += (episode.size() + BLOCK_ELEMENTS - 1) / BLOCK_ELEMENTS;
+        }
+        return (int) blocks;
+    }
+
+    /**
+     * Returns the header of a movie, ready to be written.
+     *
+     * @param kind the kind of the elements
+     * @param size the number of elements
+     * @param blocks the number of blocks
+     * @return the header
+     */
+    public static ByteBuffer header(int kind, long size, int blocks) {
+        final ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        header.putInt(0, MAGIC);
+        header.putInt(4, VERSION);
+        header.putInt(8, kind);
+        header.putInt(12, blocks);
+        header.putLong(16, size);
+        header.putLong(24, 0);
+        return header;
+    }
+
+    /**
+     * Reads and checks the header of a movie.
+     *
+     * @param channel the channel
+     * @param kind the expected kind of the elements
+     * @return the header
+     * @throws IOException if the channel fails, or the data is not of this format and kind
+     */
+    public static Header readHeader(ReadableByteChannel channel, int kind) throws IOException {
+        final ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        readFully(channel, header);
+        if (header.getInt(0) != MAGIC) {
+            throw new IOException("Data is not a movie.");
+        }
+        if (header.getInt(4) != VERSION) {
+            throw new IOException("Version " + header.getInt(4) + " is not supported.");
+        }
+        if (header.getInt(8) != kind) {
+            throw new IOException("Movie holds elements of kind " + (char) header.getInt(8) + ".");
+        }
+        final int blocks = header.getInt(12);
+        final long size = header.getLong(16);
+        if (blocks < 0 || size < 0) {
+            throw new IOException("Header is corrupt.");
+        }
+        return new Header(kind, size, blocks);
+    }
+
+    /**
+     * Reads from the channel until the buffer is full.
+     *
+     * @param channel the channel
+     * @param buffer the buffer
+     * @return the buffer
+     * @throws IOException if the channel fails or ends before
+     */
+    public static ByteBuffer readFully(ReadableByteChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer) < 0) {
+                throw new EOFException("Unexpected end of movie.");
+            }
+        }
+        return buffer;
+    }
+
+    /**
+     * The header of a movie.
+     *
+     * @param kind the kind of the elements
+     * @param size the number of elements
+     * @param blocks the number of blocks
+     */
+    public record Header(int kind, long size, int blocks) {
+
+    }
+
+    /**
+     * Reads the blocks of one movie. The read state belongs to one call, so a format can be shared by threads.
+     */
+    private static final class Reader<T> {
+
+        // the payload grows with the read bytes, a corrupt length does not allocate in advance
+        private static final int PAYLOAD_STEP = 1 << 16;
+
+        private final ReadableByteChannel channel;
+        private final ElementCodec<T> codec;
+        private final ByteBuffer blockHeader;
+        private int blockBytes;
+
+        Reader(ReadableByteChannel channel, ElementCodec<T> codec) {
+            this.channel = channel;
+            this.codec = codec;
+            this.blockHeader = ByteBuffer.allocate(BLOCK_HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            this.blockBytes = 0;
+        }
+
+        int readCount(int blockNo) throws IOException {
+            readFully(channel, blockHeader.clear());
+            final int count = blockHeader.getInt(0);
+            blockBytes = blockHeader.getInt(4);
+            if (count <= 0 || count > BLOCK_ELEMENTS || blockBytes < 0) {
+                throw new IOException("Block " + blockNo + " is corrupt.");
+            }
+            return count;
+        }
+
+        void readElements(int blockNo, Object[] elements, int offset, int count) throws IOException {
+            byte[] payload = new byte[Math.min(blockBytes, PAYLOAD_STEP)];
+            int read = 0;
+            while (read < blockBytes) {
+                if (read == payload.length) {
+                    payload = Arrays.copyOf(payload, (int) Math.min(blockBytes, (long) read << 1));
+                }
+                final ByteBuffer buffer = ByteBuffer.wrap(payload, read, payload.length - read);
+                readFully(channel, buffer);
+                read = buffer.position();
+            }
+            final ByteArrayInputStream bytes = new ByteArrayInputStream(payload);
+            final DataInputStream in = new DataInputStream(bytes);
+            for (int i = 0; i < count; i++) {
+                elements[offset + i] = codec.read(in);
+            }
+            if (bytes.available() != 0) {
+                throw new IOException("Block " + blockNo + " has " + bytes.available() + " bytes left.");
+            }
+        }
+    }
+
+    /**
+     * Collects buffers and writes them together. A gathering channel takes many buffers with one call.
+     */
+    public static final class GatherWriter {
+
+        private static final int FLUSH_BYTES = 1 << 23;
+
+        private final WritableByteChannel channel;
+        private ByteBuffer[] buffers;
+        private int count;
+        private long pending;
+
+        public GatherWriter(WritableByteChannel channel) {
+            this.channel = channel;
+            this.buffers = new ByteBuffer[64];
+            this.count = 0;
+            this.pending = 0;
+        }
+
+        /**
+         * Adds a buffer. The buffer must not be changed before it is written.
+         *
+         * @param buffer the buffer
+         * @throws IOException if the channel fails
+         */
+        public void add(ByteBuffer buffer) throws IOException {
+            if (count == buffers.length) {
+                buffers = Arrays.copyOf(buffers, count << 1);
+            }
+            buffers[count++] = buffer;
+            pending += buffer.remaining();
+            if (pending >= FLUSH_BYTES) {
+                flush();
+            }
+        }
+
+        /**
+         * Writes all added buffers.
+         *
+         * @throws IOException if the channel fails
+         */
+        public void flush() throws IOException {
+            if (channel instanceof GatheringByteChannel gathering) {
+                int first = 0;
+                while (first < count) {
+                    gathering.write(buffers, first, count - first);
+                    while (first < count && !buffers[first].hasRemaining()) {
+                        first++;
+                    }
+                }
+            } else {
+                for (int i = 0; i < count; i++) {
+                    while (buffers[i].hasRemaining()) {
+                        channel.write(buffers[i]);
+                    }
+                }
+            }
+            Arrays.fill(buffers, 0, count, null);
+            count = 0;
+            pending = 0;
+        }
+    }
+}
@@ -0,0 +1,200 @@
+/**
+ * <copyright>
+ * Copyright (c) 2025, Janusch Rentenatus. This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v2.0 which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ * </copyright>
+ */
+package de.jare.ndimcol.ref;
+
+import de.jare.ndimcol.CheckpointLog;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+
+/**
+ * Incremental checkpoints of a movie in a {@link CheckpointLog}, the elements written by an {@link ElementCodec}.
+ * Every episode is remembered with the update counter it had when its block was written. A checkpoint writes the
+ * blocks of new and changed episodes only and refers to the blocks of the others, so its cost follows the changes and
+ * not the size of the movie. The log is compacted when half of it is garbage.
+ * <pre>
+ * try (SeasonCheckpoint&lt;String&gt; checkpoint = new SeasonCheckpoint&lt;&gt;(path, ElementCodec.STRING)) {
+ *     ArraySeason&lt;String&gt; season = checkpoint.recover();
+ *     // ... change the season
+ *     checkpoint.checkpoint(season);
+ * }
+ * </pre> Episodes are tracked by identity; an episode other than a tape is written with every checkpoint. A change
+ * inside a mutable element is not seen by the update counter of its tape, replacing an element with an equal one is.
+ * The checkpoint holds the episodes of the last checkpoint strongly until the next one, also episodes the season has
+ * dropped since.
+ *
+ * @author Janusch Rentenatus
+ * @param <T> the type of elements
+ */
+public class SeasonCheckpoint<T> implements Closeable {
+
+    private final CheckpointLog log;
+    private final ElementCodec<T> codec;
+    private IdentityHashMap<ArrayMovie<T>, Block> written;
+    private Block[] committed;
+
+    /**
+     * Opens the checkpoints in the given file, a missing file is created.
+     *
+     * @param file the file of the log
+     * @param codec the codec of the elements
+     * @throws IOException if the file cannot be opened or is not a log of references
+     */
+    public SeasonCheckpoint(Path file, ElementCodec<T> codec) throws IOException {
+        if (codec == null) {
+            throw new NullPointerException("Codec cannot be null.");
+        }
+        this.log = new CheckpointLog(file, MovieFormat.KIND_REFERENCE);
+        this.codec = codec;
+        this.written = new IdentityHashMap<>();
+        this.committed = new Block[0];
+    }
+
+    /**
+     * Returns a new season with the elements of the last checkpoint.
+     *
+     * @return a new season
+     * @throws IOException if the log or the codec fails
+     */
+    public ArraySeason<T> recover() throws IOException {
+        return recoverInto(new ArraySeason<>());
+    }
+
+    /**
+     * Appends the elements of the last checkpoint to the season. The read episodes count as written, so the next
+     * checkpoint of the season writes only the episodes changed after the recovery.
+     *
+     * @param <S> the type of the season
+     * @param season the season, for a sorted set an empty one with the order of the written set
+     * @return the season
+     * @throws IOException if the log or the codec fails
+     */
+    public <S extends ArraySeason<T>> S recoverInto(S season) throws IOException {
+        final IdentityHashMap<ArrayMovie<T>, Block> recovered = new IdentityHashMap<>();
+        final Block[] blocks = new Block[log.getBlockCount()];
+        for (int b = 0; b < blocks.length; b++) {
+            final ByteBuffer payload = log.readBlock(b);
+            final DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload.array(),
+                    payload.arrayOffset(), payload.remaining()));
+            final Object[] elements = new Object[log.getBlockSize(b)];
+            for (int i = 0; i < elements.length; i++) {
+                elements[i] = codec.read(in);
+            }
+            final ArrayTape<T> episode = new ArrayTape<>(0);
+            episode.setBufferData(elements);
+            blocks[b] = new Block(episode.getUpdateCounter(), log.getBlockOffset(b), elements.length,
+                    payload.remaining());
+            recovered.put(episode, blocks[b]);
+            season.glueMovie(episode);
+        }
+        season.recalculateScope();
+        season.splitOrGlue();
+        written = recovered;
+        committed = blocks;
+        return season;
+    }
+
+    /**
+     * Writes a checkpoint of the movie. Only the blocks of episodes changed since the last checkpoint are written.
+     *
+     * @param movie the movie
+     * @return the number of bytes appended to the log
+     * @throws IOException if the log or the codec fails
+     */
+    public long checkpoint(ArrayMovie<T> movie) throws IOException {
+        final ArrayList<ArrayMovie<T>> episodes = new ArrayList<>();
+        MovieFormat.collectEpisodes(movie, episodes);
+        final long before = log.getLogBytes();
+        final IdentityHashMap<ArrayMovie<T>, Block> next = new IdentityHashMap<>();
+        final Block[] blocks = new Block[episodes.size()];
+        final long[] offsets = new long[blocks.length];
+        final int[] sizes = new int[blocks.length];
+        final int[] lengths = new int[blocks.length];
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        final DataOutputStream out = new DataOutputStream(bytes);
+        for (int i = 0; i < blocks.length; i++) {
+            final ArrayMovie<T> episode = episodes.get(i);
+            final long generation = episode instanceof ArrayTape<T> tape ? tape.getUpdateCounter() & 0xffffffffL : -1;
+            Block block = written.get(episode);
+            if (block == null || generation < 0 || block.generation != generation) {
+                bytes.reset();
+                for (int k = 0; k < episode.size(); k++) {
+                    codec.write(episode.get(k), out);
+                }
+                out.flush();
+                final ByteBuffer payload = ByteBuffer.wrap(bytes.toByteArray());
+                block = new Block(generation, log.appendBlock(payload, episode.size()), episode.size(),
+                        payload.capacity());
+            }
+            next.put(episode, block);
+            blocks[i] = block;
+            offsets[i] = block.offset;
+            sizes[i] = block.size;
+            lengths[i] = block.length;
+        }
+        log.commit(offsets, sizes, lengths);
+        written = next;
+        committed = blocks;
+        final long appended = log.getLogBytes() - before;
+        if (log.needsCompaction()) {
+            compact();
+        }
+        return appended;
+    }
+
+    /**
+     * Rewrites the log with the blocks of the last checkpoint only.
+     *
+     * @throws IOException if the log cannot be written
+     */
+    public void compact() throws IOException {
+        log.compact();
+        for (int i = 0; i < committed.length; i++) {
+            committed[i].offset = log.getBlockOffset(i);
+        }
+    }
+
+    /**
+     * Returns the log of the checkpoints.
+     *
+     * @return the log
+     */
+    public CheckpointLog getLog() {
+        return log;
+    }
+
+    @Override
+    public void close() throws IOException {
+        log.close();
+    }
+
+    /**
+     * A written block and the update counter of its episode at that time.
+     */
+    private static final class Block {
+
+        private final long generation;
+        private long offset;
+        private final int size;
+        private final int length;
+
+        Block(long generation, long offset, int size, int length) {
+            this.generation = generation;
+            this.offset = offset;
+            this.size = size;
+            this.length = length;
+        }
+    }
+}
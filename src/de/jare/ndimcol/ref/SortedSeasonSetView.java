@@ -0,0 +1,421 @@
+/**
+ * <copyright>
+ * Copyright (c) 2025, Janusch Rentenatus. This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v2.0 which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ * </copyright>
+ */
+package de.jare.ndimcol.ref;
+
+import de.jare.ndimcol.EpisodeIndex;
+import java.util.AbstractSet;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NavigableSet;
+import java.util.NoSuchElementException;
+
+/**
+ * A live range view of a SortedSeasonSet, as returned by headSet, tailSet, subSet and descendingSet. The view holds
+ * only its bounding elements. On every access the bounds are turned into an index range of the set by the binary
+ * search of {@link SortedSeasonSet#headSize}, so changes of the set are always visible in the view and vice versa.
+ *
+ * @author Janusch Rentenatus
+ * @param <T> the type of elements in this view
+ */
+//prim.nooverride
+//prim:public class SortedSeasonSetView_APPEND_ {
+public class SortedSeasonSetView<T> extends AbstractSet<T> implements NavigableSet<T> {
+
+    private final SortedSeasonSet<T> set;
+    private final boolean fromStart;
+    private final T lo;
+    private final boolean loInclusive;
+    private final boolean toEnd;
+    private final T hi;
+    private final boolean hiInclusive;
+    private final boolean descending;
+
+    /**
+     * Constructs an unbounded view of the whole set.
+     *
+     * @param set the backing set
+     * @param descending true for the view in descending order
+     */
+    //prim:SortedSeasonSetView_APPEND_(final SortedSeasonSet_APPEND_ set, boolean descending) {
+    SortedSeasonSetView(final SortedSeasonSet<T> set, boolean descending) {
+        this.set = set;
+        this.fromStart = true;
+        //prim:this.lo = 0;
+        this.lo = null;
+        this.loInclusive = true;
+        this.toEnd = true;
+        //prim:this.hi = 0;
+        this.hi = null;
+        this.hiInclusive = true;
+        this.descending = descending;
+    }
+
+    //prim:private SortedSeasonSetView_APPEND_(final SortedSeasonSet_APPEND_ set, boolean fromStart, _PRIM_ lo, boolean loInclusive,
+    private SortedSeasonSetView(final SortedSeasonSet<T> set, boolean fromStart, T lo, boolean loInclusive,
+            boolean toEnd, T hi, boolean hiInclusive, boolean descending) {
+        this.set = set;
+        this.fromStart = fromStart;
+        this.lo = lo;
+        this.loInclusive = loInclusive;
+        this.toEnd = toEnd;
+        this.hi = hi;
+        this.hiInclusive = hiInclusive;
+        this.descending = descending;
+    }
+
+    /**
+     * Returns the index of the first element of the set inside this view.
+     *
+     * @return the first index of the range in the set
+     */
+    private int fromIndex() {
+        return fromStart ? 0 : set.headSize(lo, !loInclusive);
+    }
+
+    /**
+     * Returns the index behind the last element of the set inside this view.
+     *
+     * @return the index behind the range in the set, never smaller than {@link #fromIndex()}
+     */
+    private int toIndex() {
+        final int to = toEnd ? set.size() : set.headSize(hi, hiInclusive);
+        return Math.max(to, fromIndex());
+    }
+
+    /**
+     * Checks whether the element lies inside the bounds of this view. An exclusive bound of the view is accepted only
+     * as an exclusive bound of a new view.
+     *
+     * @param element the element to check
+     * @param inclusive false if the element is used as exclusive bound
+     * @return true if the element is inside the bounds
+     */
+    private boolean inBounds(T element, boolean inclusive) {
+        if (!fromStart && (set.before(element, lo) || (inclusive && !loInclusive && !set.before(lo, element)))) {
+            return false;
+        }
+        return toEnd || !(set.before(hi, element) || (inclusive && !hiInclusive && !set.before(element, hi)));
+    }
+
+    /**
+     * Returns the index of the last element in this view in front of the given element, in ascending order.
+     *
+     * @param element the element to compare with
+     * @param inclusive true if an element equal to the given element is accepted
+     * @return the index in the set or -1
+     */
+    private int lowerIndex(T element, boolean inclusive) {
+        final int index = Math.min(set.headSize(element, inclusive), toIndex()) - 1;
+        return index >= fromIndex() ? index : -1;
+    }
+
+    /**
+     * Returns the index of the first element in this view behind the given element, in ascending order.
+     *
+     * @param element the element to compare with
+     * @param inclusive true if an element equal to the given element is accepted
+     * @return the index in the set or -1
+     */
+    private int higherIndex(T element, boolean inclusive) {
+        final int index = Math.max(set.headSize(element, !inclusive), fromIndex());
+        return index < toIndex() ? index : -1;
+    }
+
+    //prim:private _PRIMBOX_ elementAt(int index) {
+    private T elementAt(int index) {
+        return index < 0 ? null : set.at(index);
+    }
+
+    /**
+     * Returns a new view with the given bounds in ascending order. A kept bound is taken from this view, a new bound
+     * has to lie inside the bounds of this view.
+     *
+     * @param keepLo true to keep the low bound of this view
+     * @param newLo the new low bound
+     * @param newLoInclusive true if the new low bound belongs to the new view
+     * @param keepHi true to keep the high bound of this view
+     * @param newHi the new high bound
+     * @param newHiInclusive true if the new high bound belongs to the new view
+     * @return the new view with the same order as this view
+     * @throws IllegalArgumentException if a new bound is out of range or the low bound is behind the high bound
+     */
+    //prim:private SortedSeasonSetView_APPEND_ range(boolean keepLo, _PRIM_ newLo, boolean newLoInclusive,
+    private SortedSeasonSetView<T> range(boolean keepLo, T newLo, boolean newLoInclusive,
+            boolean keepHi, T newHi, boolean newHiInclusive) {
+        if (!keepLo && !inBounds(newLo, newLoInclusive)) {
+            throw new IllegalArgumentException("Element out of range.");
+        }
+        if (!keepHi && !inBounds(newHi, newHiInclusive)) {
+            throw new IllegalArgumentException("Element out of range.");
+        }
+        if (!keepLo && !keepHi && set.before(newHi, newLo)) {
+            throw new IllegalArgumentException("From element is behind to element.");
+        }
+        return new SortedSeasonSetView<>(set,
+                keepLo && fromStart, keepLo ? lo : newLo, keepLo ? loInclusive : newLoInclusive,
+                keepHi && toEnd, keepHi ? hi : newHi, keepHi ? hiInclusive : newHiInclusive,
+                descending);
+    }
+
+    /**
+     * Returns the number of elements in this view. The bounds are searched in the set.
+     *
+     * @return the number of elements in this view
+     */
+    @Override
+    public int size() {
+        return toIndex() - fromIndex();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public boolean contains(Object o) {
+        //noprim.start
+        if (o == null) {
+            return false;
+        }
+        //noprim.end
+        final T element = (T) o;
+        return inBounds(element, true) && set.contains(element);
+    }
+
+    /**
+     * Adds the element to the set.
+     *
+     * @param element element to be added
+     * @return true if the set changed as a result of the call
+     * @throws IllegalArgumentException if the element is out of the range of this view
+     */
+    @Override
+    public boolean add(T element) {
+        //noprim.start
+        if (element == null) {
+            return false;
+        }
+        //noprim.end
+        if (!inBounds(element, true)) {
+            throw new IllegalArgumentException("Element out of range.");
+        }
+        return set.add(element);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public boolean remove(Object o) {
+        //noprim.start
+        if (o == null) {
+            return false;
+        }
+        //noprim.end
+        final T element = (T) o;
+        return inBounds(element, true) && set.remove(element);
+    }
+
+    /**
+     * Removes all elements of this view from the set.
+     */
+    @Override
+    public void clear() {
+        final int from = fromIndex();
+        for (int count = toIndex() - from; count > 0; count--) {
+            set.removeAt(from);
+        }
+    }
+
+    //noprim.start
+    @Override
+    public Comparator<? super T> comparator() {
+        return descending ? Collections.reverseOrder(set.comparator()) : set.comparator();
+    }
+
+    //noprim.end
+    @Override
+    public T first() {
+        final int from = fromIndex();
+        final int to = toIndex();
+        if (from == to) {
+            throw new NoSuchElementException("Set is empty.");
+        }
+        return set.at(descending ? to - 1 : from);
+    }
+
+    @Override
+    public T last() {
+        final int from = fromIndex();
+        final int to = toIndex();
+        if (from == to) {
+            throw new NoSuchElementException("Set is empty.");
+        }
+        return set.at(descending ? from : to - 1);
+    }
+
+    @Override
+    //prim:public _PRIMBOX_ lower(_PRIM_ element) {
+    public T lower(T element) {
+        return elementAt(descending ? higherIndex(element, false) : lowerIndex(element, false));
+    }
+
+    @Override
+    //prim:public _PRIMBOX_ floor(_PRIM_ element) {
+    public T floor(T element) {
+        return elementAt(descending ? higherIndex(element, true) : lowerIndex(element, true));
+    }
+
+    @Override
+    //prim:public _PRIMBOX_ ceiling(_PRIM_ element) {
+    public T ceiling(T element) {
+        return elementAt(descending ? lowerIndex(element, true) : higherIndex(element, true));
+    }
+
+    @Override
+    //prim:public _PRIMBOX_ higher(_PRIM_ element) {
+    public T higher(T element) {
+        return elementAt(descending ? lowerIndex(element, false) : higherIndex(element, false));
+    }
+
+    @Override
+    //prim:public _PRIMBOX_ pollFirst() {
+    public T pollFirst() {
+        final int from = fromIndex();
+        final int to = toIndex();
+        if (from == to) {
+            return null;
+        }
+        return set.removeAt(descending ? to - 1 : from);
+    }
+
+    @Override
+    //prim:public _PRIMBOX_ pollLast() {
+    public T pollLast() {
+        final int from = fromIndex();
+        final int to = toIndex();
+        if (from == to) {
+            return null;
+        }
+        return set.removeAt(descending ? from : to - 1);
+    }
+
+    /**
+     * Returns an iterator over the elements of this view in its order. The range is fixed when the iterator is created,
+     * only removes by the iterator itself are taken into account; any other change of the set makes the iterator
+     * throw a ConcurrentModificationException.
+     *
+     * @return an iterator over the elements of this view
+     */
+    @Override
+    public Iterator<T> iterator() {
+        final int from = fromIndex();
+        final int to = toIndex();
+        return new Iterator<T>() {
+            private int next = descending ? to - 1 : from;
+            private int end = descending ? from - 1 : to;
+            private int lastIndex = -1;
+            private ArrayMovie<T> episode;
+            private int offset;
+            private int expectedUpdateCounter = set.updateCounter;
+
+            private void checkForConcurrentModification() {
+                if (expectedUpdateCounter != set.updateCounter) {
+                    throw new ConcurrentModificationException("SortedSeasonSet was modified during iteration.");
+                }
+            }
+
+            @Override
+            public boolean hasNext() {
+                return descending ? next > end : next < end;
+            }
+
+            @Override
+            public T next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                checkForConcurrentModification();
+                lastIndex = next;
+                next += descending ? -1 : 1;
+                if (episode == null || lastIndex < offset || lastIndex >= offset + episode.size()) {
+                    final EpisodeIndex episodes = set.episodeIndex();
+                    final int episodeNo = episodes.episodeAt(lastIndex);
+                    episode = set.data.get(episodeNo);
+                    offset = episodes.offsetOf(episodeNo);
+                }
+                return episode.get(lastIndex - offset);
+            }
+
+            @Override
+            public void remove() {
+                if (lastIndex < 0) {
+                    throw new IllegalStateException();
+                }
+                checkForConcurrentModification();
+                set.removeAt(lastIndex);
+                expectedUpdateCounter = set.updateCounter;
+                if (!descending) {
+                    next--;
+                    end--;
+                }
+                lastIndex = -1;
+                episode = null;
+            }
+        };
+    }
+
+    @Override
+    public Iterator<T> descendingIterator() {
+        return descendingSet().iterator();
+    }
+
+    @Override
+    public SortedSeasonSetView<T> descendingSet() {
+        return new SortedSeasonSetView<>(set, fromStart, lo, loInclusive, toEnd, hi, hiInclusive, !descending);
+    }
+
+    @Override
+    public SortedSeasonSetView<T> subSet(T fromElement, boolean fromInclusive, T toElement, boolean toInclusive) {
+        return descending
+                ? range(false, toElement, toInclusive, false, fromElement, fromInclusive)
+                : range(false, fromElement, fromInclusive, false, toElement, toInclusive);
+    }
+
+    @Override
+    public SortedSeasonSetView<T> headSet(T toElement, boolean inclusive) {
+        return descending
+                ? range(false, toElement, inclusive, true, hi, hiInclusive)
+                : range(true, lo, loInclusive, false, toElement, inclusive);
+    }
+
+    @Override
+    public SortedSeasonSetView<T> tailSet(T fromElement, boolean inclusive) {
+        return descending
+                ? range(true, lo, loInclusive, false, fromElement, inclusive)
+                : range(false, fromElement, inclusive, true, hi, hiInclusive);
+    }
+
+    @Override
+    public SortedSeasonSetView<T> subSet(T fromElement, T toElement) {
+        return subSet(fromElement, true, toElement, false);
+    }
+
+    @Override
+    public SortedSeasonSetView<T> headSet(T toElement) {
+        return headSet(toElement, false);
+    }
+
+    @Override
+    public SortedSeasonSetView<T> tailSet(T fromElement) {
+        return tailSet(fromElement, true);
+    }
+
+}
@@ -16,6 +16,9 @@ import de.jare.ndimcol.ref.ArrayMovie;
  */
 public abstract class SortedSeasonSetWorker<T> {
 
+    // the number of the episode handed to this worker by the set
+    int episodeNo;
+
     boolean episodeDo(final SortedSeasonSet<T> caller, final ArrayMovie<T> episode, final T element) {
         return caller.workEpisode(this, episode, element);
     }
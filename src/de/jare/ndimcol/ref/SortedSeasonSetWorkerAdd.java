@@ -30,8 +30,9 @@ public class SortedSeasonSetWorkerAdd<T> extends SortedSeasonSetWorker<T> {
     boolean elementToSmallDo(final SortedSeasonSet<T> caller, final ArrayMovie<T> episode, final T element) {
         episode.addAt(0, element);
         caller.size++;
+        caller.workerChanged(episodeNo, episode, 0, 1);
         if (episode.size() > caller.maxEpisodeSize) {
-            caller.splitOrGlue();
+            caller.splitOrGlue(episodeNo);
         }
         return true;
     }
@@ -40,8 +41,9 @@ public class SortedSeasonSetWorkerAdd<T> extends SortedSeasonSetWorker<T> {
     boolean elementToBigDo(final SortedSeasonSet<T> caller, final ArrayMovie<T> episode, final T element) {
         episode.add(element);
         caller.size++;
+        caller.workerChanged(episodeNo, episode, episode.size() - 1, 1);
         if (episode.size() > caller.maxEpisodeSize) {
-            caller.splitOrGlue();
+            caller.splitOrGlue(episodeNo);
         }
         return true;
     }
@@ -50,8 +52,9 @@ public class SortedSeasonSetWorkerAdd<T> extends SortedSeasonSetWorker<T> {
     boolean elementPassedDo(final SortedSeasonSet<T> caller, final ArrayMovie<T> episode, final int index, final T element) {
         episode.addAt(index, element);
         caller.size++;
+        caller.workerChanged(episodeNo, episode, index, 1);
         if (episode.size() > caller.maxEpisodeSize) {
-            caller.splitOrGlue();
+            caller.splitOrGlue(episodeNo);
         }
         return true;
     }
@@ -24,8 +24,9 @@ public class SortedSeasonSetWorkerRemove<T> extends SortedSeasonSetWorker<T> {
             System.out.println(rem + ":::" + element);
         }
         caller.size--;
+        caller.workerChanged(episodeNo, episode, index, -1);
         if (episode.size() < 8) {
-            caller.splitOrGlue();
+            caller.splitOrGlue(episodeNo);
         }
         return true;
     }
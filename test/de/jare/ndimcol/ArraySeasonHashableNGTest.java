@@ -12,6 +12,9 @@ import de.jare.ndimcol.ref.ArraySeason;
 import de.jare.ndimcol.ref.ArraySeasonHashable;
 import de.jare.ndimcol.ref.ArrayTape;
 import de.jare.ndimcol.ref.ArrayTapeHashable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
 import static org.testng.Assert.*;
 import org.testng.annotations.AfterClass;
 import org.testng.annotations.BeforeClass;
@@ -232,4 +235,107 @@ public class ArraySeasonHashableNGTest {
         System.out.println("Hash:" + hash);
         System.out.println("--------------");
     }
+
+    @Test
+    public void testEpisodeHashCache() {
+        ArraySeasonHashable<Integer> data = dataBigArray(50000);
+        data.hashCode();
+        java.util.Random rnd = new java.util.Random(4711);
+        for (int i = 0; i < 300; i++) {
+            int index = rnd.nextInt(data.size() - 1);
+            switch (i % 4) {
+                case 0 ->
+                    data.addAt(index, -i);
+                case 1 ->
+                    data.removeAt(index);
+                case 2 ->
+                    data.set(index, i);
+                default ->
+                    data.remove(data.get(index));
+            }
+            if (i % 10 == 0) {
+                assertEquals(data.hashCode(), rehashed(data).hashCode());
+            }
+        }
+        assertEquals(data.hashCode(), rehashed(data).hashCode());
+
+        data.addAll(1000, java.util.List.of(1, 2, 3));
+        data.removeAt(30000);
+        assertEquals(data.parallelHashCode(), rehashed(data).hashCode());
+        assertEquals(data.hashCode(), data.parallelHashCode());
+    }
+
+    private ArraySeasonHashable<Integer> rehashed(ArraySeasonHashable<Integer> data) {
+        ArraySeasonHashable<Integer> ret = new ArraySeasonHashable<>();
+        for (Integer element : data) {
+            ret.add(element);
+        }
+        return ret;
+    }
+
+    @Test
+    public void testBatch() {
+        ArraySeasonHashable<Integer> season = new ArraySeasonHashable<>();
+        List<Integer> expected = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) {
+            season.add(i);
+            expected.add(i);
+        }
+        final int hashBefore = season.hashCode();
+        Random rnd = new Random(4711);
+        try (BatchScope scope = season.batch()) {
+            season.beginBatch();
+            for (int i = 0; i < 20000; i++) {
+                final int index = rnd.nextInt(expected.size());
+                if (i % 3 == 2) {
+                    assertEquals(season.removeAt(index), expected.remove(index));
+                } else {
+                    season.addAt(index, -i);
+                    expected.add(index, -i);
+                }
+            }
+            season.endBatch();
+            assertTrue(season.isInBatch());
+            assertEquals(season.get(777), expected.get(777));
+        }
+        assertFalse(season.isInBatch());
+        assertThrows(IllegalStateException.class, () -> season.endBatch());
+        assertEquals(new ArrayList<>(season), expected);
+
+        ArraySeasonHashable<Integer> fresh = new ArraySeasonHashable<>();
+        fresh.addAll(expected);
+        assertNotEquals(season.hashCode(), hashBefore);
+        assertEquals(season.hashCode(), fresh.hashCode());
+        assertEquals(season, fresh);
+
+        season.addAt(10, 10);
+        expected.add(10, 10);
+        ArraySeason<Integer> plain = new ArraySeason<>();
+        plain.addAll(expected);
+        assertEquals(plain, season);
+    }
+
+    @Test
+    public void testBatchScopeClosedTwice() {
+        ArraySeasonHashable<Integer> season = new ArraySeasonHashable<>();
+        for (int i = 0; i < 5000; i++) {
+            season.add(i);
+        }
+        season.beginBatch();
+        BatchScope scope = season.batch();
+        scope.close();
+        // a second close does not end the enclosing batch
+        scope.close();
+        assertTrue(season.isInBatch());
+        season.endBatch();
+        assertFalse(season.isInBatch());
+        scope.close();
+        assertFalse(season.isInBatch());
+
+        ArraySeason<Integer> snapshot = season.snapshot();
+        assertThrows(UnsupportedOperationException.class, () -> snapshot.beginBatch());
+        assertThrows(UnsupportedOperationException.class, () -> snapshot.batch());
+        assertFalse(snapshot.isInBatch());
+    }
+
 }
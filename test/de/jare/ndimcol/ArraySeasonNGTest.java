@@ -7,8 +7,27 @@
  */
 package de.jare.ndimcol;
 
+import de.jare.ndimcol.primint.ArraySeasonInt;
+import de.jare.ndimcol.primint.ArrayMovieInt;
+import de.jare.ndimcol.primint.ArrayTapeInt;
 import de.jare.ndimcol.ref.ArraySeason;
 import de.jare.ndimcol.ref.ArrayMovie;
+import de.jare.ndimcol.ref.ArrayTape;
+import de.jare.ndimcol.ref.Screenplay;
+import de.jare.ndimcol.ref.Screenplay2d;
+import de.jare.ndimcol.ref.Screenplay3d;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 import static org.testng.Assert.*;
 import org.testng.annotations.AfterClass;
 import org.testng.annotations.BeforeClass;
@@ -182,4 +201,303 @@ public class ArraySeasonNGTest {
         assertNull(array[2999]);
     }
 
+    @Test
+    public void testRandomAccessManyEpisodes() {
+        for (Screenplay screenplay : new Screenplay[]{Screenplay2d.INSTANCE, Screenplay3d.INSTANCE}) {
+            Random random = new Random(4711);
+            ArraySeason<Integer> data = new ArraySeason<>(screenplay);
+            List<Integer> expected = new ArrayList<>();
+            for (int i = 0; i < 60000; i++) {
+                int op = random.nextInt(10);
+                if (op < 4 || expected.isEmpty()) {
+                    data.add(i);
+                    expected.add(i);
+                } else if (op < 6) {
+                    int index = random.nextInt(expected.size());
+                    data.add(index, i);
+                    expected.add(index, i);
+                } else if (op < 8) {
+                    int index = random.nextInt(expected.size());
+                    assertEquals(data.removeAt(index), expected.remove(index));
+                } else if (op < 9) {
+                    int index = random.nextInt(expected.size());
+                    assertEquals(data.get(index), expected.get(index));
+                } else {
+                    Integer element = expected.get(random.nextInt(expected.size()));
+                    assertTrue(data.remove(element));
+                    expected.remove(element);
+                }
+            }
+            assertEquals(data.size(), expected.size());
+            for (int i = 0; i < expected.size(); i += 7) {
+                assertEquals(data.get(i), expected.get(i));
+            }
+        }
+    }
+
+    @Test
+    public void testFilterParallel() {
+        ExecutorService pool = Executors.newFixedThreadPool(3);
+        try {
+            EpisodeExecutor[] executors = {EpisodeExecutor.COMMON_POOL,
+                EpisodeExecutor.virtualThreads(), EpisodeExecutor.of(pool)};
+            for (Screenplay screenplay : new Screenplay[]{Screenplay2d.INSTANCE, Screenplay3d.INSTANCE}) {
+                ArraySeason<Integer> data = new ArraySeason<>(screenplay);
+                for (int i = 0; i < 50000; i++) {
+                    data.add(i);
+                }
+                for (EpisodeExecutor executor : executors) {
+                    ArrayMovie<Integer> found = data.filterParallel(x -> x % 7 == 3, executor);
+                    assertEquals(found.size(), 7143);
+                    for (int i = 0; i < found.size(); i++) {
+                        assertEquals(found.get(i), Integer.valueOf(i * 7 + 3));
+                    }
+                }
+            }
+            ArraySeasonInt dataInt = new ArraySeasonInt();
+            for (int i = 0; i < 50000; i++) {
+                dataInt.add(i);
+            }
+            ArrayMovieInt foundInt = dataInt.filterParallel(x -> x % 7 == 3, EpisodeExecutor.virtualThreads());
+            assertEquals(foundInt.size(), 7143);
+            assertEquals(foundInt.last(), 49997);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void testMatchNull() {
+        ArraySeason<String> season = new ArraySeason<>();
+        ArrayTape<String> tape = new ArrayTape<>();
+        for (int i = 0; i < 5000; i++) {
+            season.add(i == 3210 ? null : "e" + i);
+            tape.add(i == 321 ? null : "e" + i);
+        }
+        // the null element fails the predicate
+        assertFalse(season.allMatch(Objects::nonNull));
+        assertFalse(season.parallelAllMatch(Objects::nonNull));
+        assertFalse(tape.allMatch(Objects::nonNull));
+        assertTrue(season.anyMatch(Objects::isNull));
+        assertTrue(tape.allMatch(e -> e == null || e.startsWith("e")));
+    }
+
+    @Test
+    public void testExecutorKeepsItsPool() {
+        ForkJoinPool pool = new ForkJoinPool(3);
+        try {
+            EpisodeExecutor executor = EpisodeExecutor.of(pool);
+            Set<ForkJoinPool> pools = ConcurrentHashMap.newKeySet();
+            // called from a worker of the common pool, the ranges still run in the configured pool
+            ForkJoinPool.commonPool().submit(() -> executor.run(100, (from, to) -> pools.add(ForkJoinTask.getPool())))
+                    .join();
+            assertEquals(pools, Set.of(pool));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void testParallelBulkOperations() {
+        ExecutorService pool = Executors.newFixedThreadPool(3);
+        try {
+            EpisodeExecutor[] executors = {EpisodeExecutor.COMMON_POOL,
+                EpisodeExecutor.virtualThreads(), EpisodeExecutor.of(pool)};
+            for (Screenplay screenplay : new Screenplay[]{Screenplay2d.INSTANCE, Screenplay3d.INSTANCE}) {
+                ArraySeason<Integer> data = new ArraySeason<>(screenplay);
+                for (int i = 0; i < 50000; i++) {
+                    data.add(i % 20000);
+                }
+                for (EpisodeExecutor executor : executors) {
+                    data.setExecutor(executor);
+                    LongAdder sum = new LongAdder();
+                    data.parallelForEach(x -> sum.add(x));
+                    assertEquals(sum.sum(), 2L * 199990000L + 49995000L);
+
+                    LongAdder hits = new LongAdder();
+                    LongAdder misses = new LongAdder();
+                    data.parallelForEach(x -> x % 7 == 3, x -> hits.increment());
+                    assertEquals(hits.sum(), 7143L);
+                    data.parallelForEach(x -> x % 7 == 3, x -> hits.increment(), x -> misses.increment());
+                    assertEquals(hits.sum() + misses.sum(), 7143L + 50000L);
+
+                    AtomicLong indexSum = new AtomicLong();
+                    data.parallelForEach(x -> x == 4711, null, 10, idx -> indexSum.addAndGet(idx));
+                    assertEquals(indexSum.get(), 4721L + 24721L + 44721L);
+
+                    long reduced = data.parallelReduce(0L, (acc, x) -> acc + x, Long::sum);
+                    assertEquals(reduced, 2L * 199990000L + 49995000L);
+                    String concatenated = data.parallelReduce("", (acc, x) -> x < 3 ? acc + x : acc, String::concat);
+                    assertEquals(concatenated, "012012012");
+
+                    assertTrue(data.parallelAnyMatch(x -> x == 19999));
+                    assertFalse(data.parallelAnyMatch(x -> x < 0));
+                    assertTrue(data.parallelAllMatch(x -> x < 20000));
+                    assertFalse(data.parallelAllMatch(x -> x != 9999));
+
+                    assertEquals(data.parallelIndexOf(4711), 4711);
+                    assertEquals(data.parallelLastIndexOf(4711), 44711);
+                    assertEquals(data.parallelIndexOf(0), 0);
+                    assertEquals(data.parallelLastIndexOf(9999), 49999);
+                    assertEquals(data.parallelIndexOf(-1), -1);
+                    assertEquals(data.parallelLastIndexOf(-1), -1);
+                }
+            }
+            ArraySeasonInt dataInt = new ArraySeasonInt();
+            for (int i = 0; i < 50000; i++) {
+                dataInt.add(i % 20000);
+            }
+            dataInt.setExecutor(EpisodeExecutor.virtualThreads());
+            assertEquals(dataInt.parallelIndexOf(4711), 4711);
+            assertEquals(dataInt.parallelLastIndexOf(4711), 44711);
+            assertTrue(dataInt.parallelAllMatch(x -> x >= 0));
+            assertEquals((long) dataInt.parallelReduce(0L, (acc, x) -> acc + x, Long::sum), 2L * 199990000L + 49995000L);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void testSnapshot() {
+        for (Screenplay screenplay : new Screenplay[]{Screenplay2d.INSTANCE, Screenplay3d.INSTANCE}) {
+            ArraySeason<Integer> season = new ArraySeason<>(screenplay);
+            List<Integer> expected = new ArrayList<>();
+            for (int i = 0; i < 20000; i++) {
+                season.add(i);
+                expected.add(i);
+            }
+            ArraySeason<Integer> snapshot = season.snapshot();
+            Random rnd = new Random(4711);
+            for (int i = 0; i < 2000; i++) {
+                final int index = rnd.nextInt(season.size() - 1);
+                switch (i % 3) {
+                    case 0 ->
+                        season.addAt(index, -i);
+                    case 1 ->
+                        season.removeAt(index);
+                    default ->
+                        season.set(index, -i);
+                }
+            }
+            season.removeIf(e -> e % 7 == 0);
+            assertEquals(snapshot.size(), expected.size());
+            assertEquals(new ArrayList<>(snapshot), expected);
+            assertEquals(snapshot.get(12345), Integer.valueOf(12345));
+            assertSame(snapshot.snapshot(), snapshot);
+
+            assertThrows(UnsupportedOperationException.class, () -> snapshot.add(1));
+            assertThrows(UnsupportedOperationException.class, () -> snapshot.set(0, 1));
+            assertThrows(UnsupportedOperationException.class, () -> snapshot.removeAt(0));
+            assertThrows(UnsupportedOperationException.class, () -> snapshot.clear());
+            assertThrows(UnsupportedOperationException.class, () -> snapshot.leafWalker(5).set(1));
+            assertEquals(snapshot.get(5), Integer.valueOf(5));
+        }
+
+        ArraySeasonInt seasonInt = new ArraySeasonInt();
+        for (int i = 0; i < 5000; i++) {
+            seasonInt.add(i);
+        }
+        ArraySeasonInt snapshotInt = seasonInt.snapshot();
+        seasonInt.set(0, -1);
+        seasonInt.clear();
+        assertEquals(snapshotInt.size(), 5000);
+        assertEquals(snapshotInt.get(0), 0);
+        assertEquals(snapshotInt.sum(), 4999L * 5000 / 2);
+    }
+
+    @Test
+    public void testSnapshotOfSnapshot() {
+        ArrayTape<Integer> tape = new ArrayTape<>();
+        for (int i = 0; i < 100; i++) {
+            tape.add(i);
+        }
+        ArrayTape<Integer> snapshot = tape.snapshot();
+        assertSame(snapshot.snapshot(), snapshot);
+        assertThrows(UnsupportedOperationException.class, () -> snapshot.set(0, 99));
+        assertEquals(tape.get(0), Integer.valueOf(0));
+        tape.set(1, 98);
+        assertEquals(snapshot.get(1), Integer.valueOf(1));
+
+        ArrayTapeInt tapeInt = new ArrayTapeInt();
+        tapeInt.add(7);
+        ArrayTapeInt snapshotInt = tapeInt.snapshot();
+        snapshotInt.snapshot();
+        assertThrows(UnsupportedOperationException.class, () -> snapshotInt.set(0, 99));
+        assertEquals(tapeInt.get(0), 7);
+    }
+
+    @Test
+    public void testGlueSnapshot() {
+        ArraySeason<Integer> season = dataBigArray(3000);
+        ArraySeason<Integer> snapshot = season.snapshot();
+        ArraySeason<Integer> other = dataMiniArray();
+        assertTrue(other.glueMovie(snapshot));
+        other.set(5, -1);
+        other.set(other.size() - 1, -2);
+        other.add(3000);
+        assertEquals(other.size(), 3006);
+        assertEquals(other.get(5), Integer.valueOf(-1));
+        assertEquals(snapshot.get(0), Integer.valueOf(0));
+        assertEquals(snapshot.get(2999), Integer.valueOf(2999));
+        assertEquals(season.get(2999), Integer.valueOf(2999));
+    }
+
+    @Test
+    public void testEpisodeIndexShift() {
+        EpisodeIndex index = new EpisodeIndex();
+        List<Integer> sizes = new ArrayList<>();
+        Random rnd = new Random(17);
+        index.reset(0);
+        index.build();
+        for (int i = 0; i < 3000; i++) {
+            final int episode = rnd.nextInt(sizes.size() + 1);
+            if (i % 3 == 2 && !sizes.isEmpty()) {
+                index.remove(episode % sizes.size());
+                sizes.remove(episode % sizes.size());
+            } else {
+                final int episodeSize = 1 + rnd.nextInt(50);
+                index.insert(episode, episodeSize);
+                sizes.add(episode, episodeSize);
+            }
+        }
+        assertEquals(index.getCount(), sizes.size());
+        int offset = 0;
+        for (int i = 0; i < sizes.size(); i++) {
+            assertEquals(index.offsetOf(i), offset);
+            assertEquals(index.episodeAt(offset), i);
+            offset += sizes.get(i);
+        }
+        assertEquals(index.getTotal(), offset);
+    }
+
+    @Test
+    public void testLocalSplitOrGlue() {
+        ArraySeason<Integer> season = new ArraySeason<>();
+        List<Integer> expected = new ArrayList<>();
+        Random rnd = new Random(4712);
+        for (int i = 0; i < 30000; i++) {
+            season.add(i);
+            expected.add(i);
+        }
+        for (int i = 0; i < 60000; i++) {
+            final int index = rnd.nextInt(expected.size() - 1);
+            if (i < 30000 || i % 2 == 0) {
+                season.addAt(index, -i);
+                expected.add(index, -i);
+            } else {
+                assertEquals(season.removeAt(index), expected.remove(index));
+            }
+            if (i % 1000 == 0) {
+                final int probe = rnd.nextInt(expected.size());
+                assertEquals(season.get(probe), expected.get(probe));
+            }
+        }
+        while (expected.size() > 100) {
+            final int index = rnd.nextInt(expected.size());
+            assertEquals(season.removeAt(index), expected.remove(index));
+        }
+        assertEquals(season.size(), expected.size());
+        assertEquals(new ArrayList<>(season), expected);
+    }
+
 }
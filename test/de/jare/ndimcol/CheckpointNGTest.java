@@ -0,0 +1,245 @@
+/**
+ * <copyright>
+ * Copyright (c) 2025, Janusch Rentenatus. This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v2.0 which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ * </copyright>
+ */
+package de.jare.ndimcol;
+
+import de.jare.ndimcol.primint.ArraySeasonInt;
+import de.jare.ndimcol.primint.SeasonCheckpointInt;
+import de.jare.ndimcol.primlong.SeasonCheckpointLong;
+import de.jare.ndimcol.ref.ArraySeason;
+import de.jare.ndimcol.ref.ElementCodec;
+import de.jare.ndimcol.ref.SeasonCheckpoint;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Random;
+import static org.testng.Assert.*;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+/**
+ *
+ * @author Janusch Rentenatus
+ */
+public class CheckpointNGTest {
+
+    public CheckpointNGTest() {
+    }
+
+    @BeforeClass
+    public static void setUpClass() throws Exception {
+        System.out.println("===============================================");
+        System.out.println("## Start CheckpointNGTest.");
+    }
+
+    @AfterClass
+    public static void tearDownClass() throws Exception {
+        System.out.println("## End CheckpointNGTest.");
+        System.out.println("===============================================");
+    }
+
+    @Test
+    public void testIncremental() throws IOException {
+        System.out.println("testIncremental");
+        final Path file = Files.createTempFile("ndimcol", ".log");
+        try {
+            ArraySeasonInt season = new ArraySeasonInt();
+            for (int i = 0; i < 100000; i++) {
+                season.add(i);
+            }
+            final long base;
+            try (SeasonCheckpointInt checkpoint = new SeasonCheckpointInt(file)) {
+                base = checkpoint.checkpoint(season);
+                assertTrue(base > 4L * season.size());
+
+                // one changed element writes one episode and the manifest
+                season.set(4711, -1);
+                final long delta = checkpoint.checkpoint(season);
+                assertTrue(delta < base / 10, "delta " + delta + " of " + base);
+                assertEquals(checkpoint.checkpoint(season), checkpoint.checkpoint(season));
+
+                Random random = new Random(4711);
+                for (int i = 0; i < 500; i++) {
+                    final int index = random.nextInt(season.size());
+                    if (random.nextBoolean()) {
+                        season.addAt(index, -i);
+                    } else {
+                        season.removeAt(index);
+                    }
+                }
+                checkpoint.checkpoint(season);
+            }
+            try (SeasonCheckpointInt checkpoint = new SeasonCheckpointInt(file)) {
+                ArraySeasonInt recovered = checkpoint.recover();
+                assertEquals(recovered, season);
+                // the recovered episodes count as written
+                assertTrue(checkpoint.checkpoint(recovered) < base / 10);
+                recovered.add(4711);
+                season.add(4711);
+                checkpoint.checkpoint(recovered);
+                checkpoint.compact();
+                assertEquals(checkpoint.getLog().getLogBytes(), checkpoint.getLog().getLiveBytes());
+                recovered.removeAt(0);
+                season.removeAt(0);
+                checkpoint.checkpoint(recovered);
+            }
+
+            // an unfinished checkpoint is cut off
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+                channel.write(ByteBuffer.wrap(new byte[]{'B', 0, 0, 0, 9, 0, 0, 0, 99}));
+            }
+            final long size = Files.size(file);
+            try (SeasonCheckpointInt checkpoint = new SeasonCheckpointInt(file)) {
+                assertEquals(checkpoint.recover(), season);
+                assertEquals(checkpoint.getLog().getLogBytes(), size - 9);
+            }
+            assertThrows(IOException.class, () -> new SeasonCheckpointLong(file));
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    public void testCompaction() throws IOException {
+        System.out.println("testCompaction");
+        final Path file = Files.createTempFile("ndimcol", ".log");
+        try (SeasonCheckpointInt checkpoint = new SeasonCheckpointInt(file)) {
+            ArraySeasonInt season = new ArraySeasonInt();
+            for (int i = 0; i < 200000; i++) {
+                season.add(i);
+            }
+            Random random = new Random(4711);
+            long maxBytes = 0;
+            for (int round = 0; round < 20; round++) {
+                for (int i = 0; i < 2000; i++) {
+                    season.set(random.nextInt(season.size()), round);
+                }
+                checkpoint.checkpoint(season);
+                maxBytes = Math.max(maxBytes, checkpoint.getLog().getLogBytes());
+            }
+            // the log stays below twice its live bytes plus one checkpoint
+            assertTrue(maxBytes < 3 * checkpoint.getLog().getLiveBytes(), maxBytes + " bytes");
+            try (SeasonCheckpointInt other = new SeasonCheckpointInt(file)) {
+                assertEquals(other.recover(), season);
+            }
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    public void testCompactionFails() throws IOException {
+        System.out.println("testCompactionFails");
+        final Path file = Files.createTempFile("ndimcol", ".log");
+        final Path compacted = file.resolveSibling(file.getFileName() + ".compact");
+        try (CheckpointLog log = new CheckpointLog(file, 'I')) {
+            final ByteBuffer payload = ByteBuffer.allocate(40);
+            final long offset = log.appendBlock(payload, 10);
+            // a manifest pointing behind the end of the log, the copy makes no progress there
+            log.commit(new long[]{offset, 1 << 20}, new int[]{10, 10}, new int[]{40, 40});
+            assertThrows(IOException.class, () -> log.compact());
+            assertFalse(Files.exists(compacted));
+
+            // the log is still open on the old file
+            final long next = log.appendBlock(payload.clear(), 10);
+            log.commit(new long[]{offset, next}, new int[]{10, 10}, new int[]{40, 40});
+            log.compact();
+            assertEquals(log.getBlockCount(), 2);
+            assertEquals(log.readBlock(1).remaining(), 40);
+        } finally {
+            Files.deleteIfExists(compacted);
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    public void testReference() throws IOException {
+        System.out.println("testReference");
+        final Path file = Files.createTempFile("ndimcol", ".log");
+        try {
+            ArraySeason<String> season = new ArraySeason<>();
+            for (int i = 0; i < 10000; i++) {
+                season.add("e" + i);
+            }
+            try (SeasonCheckpoint<String> checkpoint = new SeasonCheckpoint<>(file, ElementCodec.STRING)) {
+                final long base = checkpoint.checkpoint(season);
+                season.set(10, null);
+                season.addAt(5000, "x");
+                assertTrue(checkpoint.checkpoint(season) < base / 10);
+            }
+            try (SeasonCheckpoint<String> checkpoint = new SeasonCheckpoint<>(file, ElementCodec.STRING)) {
+                assertEquals(checkpoint.recover(), season);
+            }
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    public void testEqualReplacement() throws IOException {
+        System.out.println("testEqualReplacement");
+        final ElementCodec<Named> codec = new ElementCodec<>() {
+            @Override
+            public void write(Named element, DataOutput out) throws IOException {
+                out.writeInt(element.id);
+                out.writeUTF(element.name);
+            }
+
+            @Override
+            public Named read(DataInput in) throws IOException {
+                return new Named(in.readInt(), in.readUTF());
+            }
+        };
+        final Path file = Files.createTempFile("ndimcol", ".log");
+        try {
+            ArraySeason<Named> season = new ArraySeason<>();
+            for (int i = 0; i < 1000; i++) {
+                season.add(new Named(i, "old"));
+            }
+            try (SeasonCheckpoint<Named> checkpoint = new SeasonCheckpoint<>(file, codec)) {
+                checkpoint.checkpoint(season);
+                season.set(10, new Named(10, "new"));
+                assertTrue(checkpoint.checkpoint(season) > 0);
+            }
+            try (SeasonCheckpoint<Named> checkpoint = new SeasonCheckpoint<>(file, codec)) {
+                assertEquals(checkpoint.recover().get(10).name, "new");
+            }
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    /**
+     * An element equal to every element with the same id.
+     */
+    private static final class Named {
+
+        private final int id;
+        private final String name;
+
+        Named(int id, String name) {
+            this.id = id;
+            this.name = name;
+        }
+
+        @Override
+        public boolean equals(Object ob) {
+            return ob instanceof Named other && other.id == id;
+        }
+
+        @Override
+        public int hashCode() {
+            return id;
+        }
+    }
+}
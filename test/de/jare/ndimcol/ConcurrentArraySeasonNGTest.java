@@ -0,0 +1,150 @@
+/**
+ * <copyright>
+ * Copyright (c) 2025, Janusch Rentenatus. This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v2.0 which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ * </copyright>
+ */
+package de.jare.ndimcol;
+
+import de.jare.ndimcol.ref.ConcurrentArraySeason;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicReference;
+import static org.testng.Assert.*;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+/**
+ *
+ * @author Janusch Rentenatus
+ */
+public class ConcurrentArraySeasonNGTest {
+
+    public ConcurrentArraySeasonNGTest() {
+    }
+
+    @BeforeClass
+    public static void setUpClass() throws Exception {
+        System.out.println("===============================================");
+        System.out.println("## Start ConcurrentArraySeasonNGTest.");
+    }
+
+    @AfterClass
+    public static void tearDownClass() throws Exception {
+        System.out.println("## End ConcurrentArraySeasonNGTest.");
+        System.out.println("===============================================");
+    }
+
+    @Test
+    public void testSingleThread() {
+        ConcurrentArraySeason<Integer> season = new ConcurrentArraySeason<>();
+        List<Integer> expected = new ArrayList<>();
+        Random rnd = new Random(4711);
+        for (int i = 0; i < 20000; i++) {
+            season.add(i);
+            expected.add(i);
+        }
+        assertTrue(season.episodeCount() > 1);
+        for (int i = 0; i < 20000; i++) {
+            final int index = rnd.nextInt(expected.size());
+            switch (i % 4) {
+                case 0 -> {
+                    season.addAt(index, -i);
+                    expected.add(index, -i);
+                }
+                case 1 ->
+                    assertEquals(season.removeAt(index), expected.remove(index));
+                case 2 ->
+                    assertEquals(season.set(index, i), expected.set(index, i));
+                default ->
+                    assertEquals(season.get(index), expected.get(index));
+            }
+        }
+        assertEquals(season.size(), expected.size());
+        assertEquals(season, expected);
+        season.add(season.size(), 77);
+        expected.add(77);
+        assertEquals(season.indexOf(77), expected.indexOf(77));
+        assertTrue(season.remove(Integer.valueOf(77)));
+        expected.remove(Integer.valueOf(77));
+        assertTrue(season.removeIf(e -> e < 0));
+        expected.removeIf(e -> e < 0);
+        assertEquals(Arrays.asList(season.toArray()), expected);
+        assertThrows(IndexOutOfBoundsException.class, () -> season.get(expected.size()));
+
+        season.clear();
+        assertTrue(season.isEmpty());
+        assertEquals(season.episodeCount(), 1);
+        season.addAt(0, 5);
+        assertEquals(season.get(0), Integer.valueOf(5));
+    }
+
+    @Test
+    public void testParallelWriters() throws InterruptedException {
+        final ConcurrentArraySeason<Integer> season = new ConcurrentArraySeason<>();
+        final int threads = 4;
+        final int perThread = 20000;
+        for (int i = 0; i < 40000; i++) {
+            season.add(-1);
+        }
+        final AtomicReference<Throwable> failure = new AtomicReference<>();
+        final List<Thread> writers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            final int base = t * perThread;
+            Thread writer = new Thread(() -> {
+                Random rnd = new Random(base);
+                try {
+                    for (int i = 0; i < perThread; i++) {
+                        final int index = rnd.nextInt(30000);
+                        season.addAt(index, base + i);
+                        season.set(rnd.nextInt(30000), -1);
+                        if (season.get(index) == null) {
+                            failure.set(new AssertionError("null at " + index));
+                        }
+                        if (i % 2 == 1) {
+                            season.removeAt(rnd.nextInt(30000));
+                        }
+                    }
+                } catch (Throwable ex) {
+                    failure.set(ex);
+                }
+            });
+            writers.add(writer);
+            writer.start();
+        }
+        for (Thread writer : writers) {
+            writer.join();
+        }
+        assertNull(failure.get());
+        assertEquals(season.size(), 40000 + threads * perThread / 2);
+        assertEquals(season.toArray().length, season.size());
+        int count = 0;
+        for (Integer element : season) {
+            assertNotNull(element);
+            count++;
+        }
+        assertEquals(count, season.size());
+    }
+
+    @Test
+    public void testRemoveIfThrows() {
+        ConcurrentArraySeason<Integer> season = new ConcurrentArraySeason<>();
+        for (int i = 0; i < 5000; i++) {
+            season.add(i);
+        }
+        assertThrows(IllegalStateException.class, () -> season.removeIf(e -> {
+            if (e == 2000) {
+                throw new IllegalStateException();
+            }
+            return true;
+        }));
+        assertEquals(season.size(), season.toArray().length);
+        assertEquals(season.size(), 3000);
+        assertEquals(season.get(season.size() - 1), Integer.valueOf(4999));
+        assertEquals(season.get(0), Integer.valueOf(2000));
+    }
+}
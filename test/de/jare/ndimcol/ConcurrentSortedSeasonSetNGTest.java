@@ -0,0 +1,148 @@
+/**
+ * <copyright>
+ * Copyright (c) 2025, Janusch Rentenatus. This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v2.0 which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ * </copyright>
+ */
+package de.jare.ndimcol;
+
+import de.jare.ndimcol.ref.ConcurrentSortedSeasonSet;
+import de.jare.ndimcol.ref.SortedSeasonSet;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import static org.testng.Assert.*;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+/**
+ *
+ * @author Janusch Rentenatus
+ */
+public class ConcurrentSortedSeasonSetNGTest {
+
+    public ConcurrentSortedSeasonSetNGTest() {
+    }
+
+    @BeforeClass
+    public static void setUpClass() throws Exception {
+        System.out.println("===============================================");
+        System.out.println("## Start ConcurrentSortedSeasonSetNGTest.");
+    }
+
+    @AfterClass
+    public static void tearDownClass() throws Exception {
+        System.out.println("## End ConcurrentSortedSeasonSetNGTest.");
+        System.out.println("===============================================");
+    }
+
+    @Test
+    public void testSingleThread() {
+        ConcurrentSortedSeasonSet<Integer> set = new ConcurrentSortedSeasonSet<>(Comparator.<Integer>naturalOrder(), true);
+        TreeSet<Integer> tree = new TreeSet<>();
+        Random rnd = new Random(4711);
+        for (int i = 0; i < 20000; i++) {
+            final int value = rnd.nextInt(50000);
+            assertEquals(set.add(value), tree.add(value));
+        }
+        List<Integer> batch = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            batch.add(50000 + i * 3);
+        }
+        assertTrue(set.addAll(batch));
+        tree.addAll(batch);
+        assertEquals(set.size(), tree.size());
+        for (int i = -1; i < 54000; i += 7) {
+            assertEquals(set.contains(i), tree.contains(i), "contains " + i);
+            assertEquals(set.floor(i), tree.floor(i), "floor " + i);
+            assertEquals(set.higher(i), tree.higher(i), "higher " + i);
+        }
+        assertEquals(set.get(100), new ArrayList<>(tree).get(100));
+        assertEquals(set.first(), tree.first());
+        assertEquals(set.pollLast(), tree.pollLast());
+        assertTrue(set.removeIf(e -> e % 5 == 0));
+        tree.removeIf(e -> e % 5 == 0);
+        assertEquals(new ArrayList<>(set), new ArrayList<>(tree));
+
+        Iterator<Integer> it = set.iterator();
+        it.next();
+        it.remove();
+        tree.pollFirst();
+        assertEquals(set.first(), tree.first());
+
+        SortedSeasonSet<Integer> copy = set.copy();
+        set.clear();
+        assertTrue(set.isEmpty());
+        assertEquals(copy.size(), tree.size());
+        assertNull(set.ceiling(0));
+    }
+
+    @Test
+    public void testReadersWithWriter() throws InterruptedException {
+        final ConcurrentSortedSeasonSet<Integer> set = new ConcurrentSortedSeasonSet<>(Comparator.<Integer>naturalOrder(), true);
+        final int range = 200000;
+        for (int i = 0; i < range; i += 2) {
+            set.add(i);
+        }
+        final AtomicBoolean running = new AtomicBoolean(true);
+        final AtomicReference<String> failure = new AtomicReference<>();
+        final List<Thread> readers = new ArrayList<>();
+        for (int r = 0; r < 4; r++) {
+            final int seed = r;
+            Thread reader = new Thread(() -> {
+                Random rnd = new Random(seed);
+                try {
+                    while (running.get() && failure.get() == null) {
+                        // the even elements are never removed, the odd ones come and go
+                        final int even = rnd.nextInt(range / 2) * 2;
+                        if (!set.contains(even)) {
+                            failure.set("contains " + even);
+                        }
+                        final Integer floor = set.floor(even + 1);
+                        if (floor == null || floor < even || floor > even + 1) {
+                            failure.set("floor " + (even + 1) + " = " + floor);
+                        }
+                        final Integer higher = set.higher(even);
+                        if (even + 2 < range && (higher == null || higher > even + 2)) {
+                            failure.set("higher " + even + " = " + higher);
+                        }
+                    }
+                } catch (RuntimeException ex) {
+                    failure.set(ex.toString());
+                }
+            });
+            readers.add(reader);
+            reader.start();
+        }
+        Random rnd = new Random(815);
+        for (int i = 0; i < 100000 && failure.get() == null; i++) {
+            final int odd = rnd.nextInt(range / 2) * 2 + 1;
+            if (i % 3 == 2) {
+                set.remove(odd);
+            } else {
+                set.add(odd);
+            }
+        }
+        running.set(false);
+        for (Thread reader : readers) {
+            reader.join();
+        }
+        assertNull(failure.get());
+        int count = 0;
+        Integer prev = null;
+        for (Integer element : set) {
+            assertTrue(prev == null || prev < element);
+            prev = element;
+            count++;
+        }
+        assertEquals(count, set.size());
+    }
+
+}
@@ -13,9 +13,15 @@ import de.jare.ndimcol.primint.SortedSeasonSetInt;
 import de.jare.ndimcol.primlong.ArraySeasonLong;
 import de.jare.ndimcol.ref.ArrayMovie;
 import de.jare.ndimcol.ref.ArrayTape;
+import de.jare.ndimcol.ref.SortedSeasonSet;
+import de.jare.ndimcol.utils.BiPredicateAmbiguityEquals;
+import de.jare.ndimcol.utils.BiPredicateHashGr;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
 import static org.testng.Assert.*;
 import org.testng.annotations.AfterClass;
 import org.testng.annotations.BeforeClass;
@@ -113,4 +119,85 @@ public class MethodAddAllNGTest {
         fail("Sollte eine NullPointerException werfen");
     }
 
+    @Test
+    public void testSortedSetBulkAdd() {
+        SortedSeasonSet<Integer> set = new SortedSeasonSet<>(Comparator.<Integer>naturalOrder(), true);
+        TreeSet<Integer> tree = new TreeSet<>();
+        Random rnd = new Random(4711);
+        for (int round = 0; round < 4; round++) {
+            List<Integer> input = new ArrayList<>();
+            for (int i = 0; i < 30000; i++) {
+                input.add(rnd.nextInt(200000));
+            }
+            input.add(null);
+            assertTrue(set.addAll(input));
+            input.remove(null);
+            tree.addAll(input);
+            assertEquals(new ArrayList<>(set), new ArrayList<>(tree));
+        }
+        assertFalse(set.addAll(new ArrayList<>(tree)));
+
+        // presorted keys are appended behind the untouched episodes
+        for (int from = 200000; from < 400000; from += 50000) {
+            Integer[] input = new Integer[50000];
+            for (int i = 0; i < input.length; i++) {
+                input[i] = from + i;
+                tree.add(from + i);
+            }
+            assertTrue(set.addAll(input));
+        }
+        assertEquals(set.size(), tree.size());
+        assertEquals(new ArrayList<>(set), new ArrayList<>(tree));
+        assertEquals(set.get(tree.size() / 2), tree.toArray()[tree.size() / 2]);
+        assertEquals(set.headSize(300000, false), tree.headSet(300000).size());
+
+        // a small batch into a big set goes element by element
+        assertTrue(set.addAll(Arrays.asList(-1, -2, -3, 7, 8, 9, 10, 11, 12, 13, 14, 15, 16, 17, 18, 19, 20, 21, 22,
+                23, 24, 25, 26, 27, 28, 29, 30, 31, 32, 33, 34, 35, 36)));
+        assertEquals(set.first(), Integer.valueOf(-3));
+    }
+
+    @Test
+    public void testSortedSetBulkAmbiguity() {
+        // elements are sorted by hash code, equal hash codes are told apart by equals
+        List<String> input = new ArrayList<>();
+        input.add("Aa");
+        input.add("BB");
+        input.add("Aa");
+        for (int i = 0; i < 5000; i++) {
+            input.add("k" + (i % 3000));
+        }
+        SortedSeasonSet<String> bulk = new SortedSeasonSet<>(new BiPredicateHashGr<>(), new BiPredicateAmbiguityEquals<>());
+        SortedSeasonSet<String> single = new SortedSeasonSet<>(new BiPredicateHashGr<>(), new BiPredicateAmbiguityEquals<>());
+        assertTrue(bulk.addAll(input));
+        for (String element : input) {
+            single.add(element);
+        }
+        assertEquals(bulk.size(), 3002);
+        assertEquals(bulk.size(), single.size());
+        for (String element : single) {
+            assertTrue(bulk.contains(element), element);
+        }
+
+        SortedSeasonSet<String> union = bulk.union(new ArrayTape<>(Arrays.asList("BB", "Ab", "k1")));
+        assertEquals(union.size(), 3003);
+        assertEquals(bulk.size(), 3002);
+    }
+
+    @Test
+    public void testIntSortedSetBulkAdd() {
+        SortedSeasonSetInt set = new SortedSeasonSetInt();
+        int[] input = new int[100000];
+        for (int i = 0; i < input.length; i++) {
+            input[i] = (i * 7919) % 50000;
+        }
+        assertTrue(set.addAll(input));
+        assertEquals(set.size(), 50000);
+        assertEquals(set.first(), 0);
+        assertEquals(set.last(), 49999);
+        assertEquals(input[1], 7919);
+        assertFalse(set.addAll(new int[]{5, 6, 7}));
+        assertEquals(set.headSize(25000, false), 25000);
+    }
+
 }
@@ -0,0 +1,215 @@
+/**
+ * <copyright>
+ * Copyright (c) 2025, Janusch Rentenatus. This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v2.0 which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ * </copyright>
+ */
+package de.jare.ndimcol;
+
+import de.jare.ndimcol.primfloat.ArrayTapeFloat;
+import de.jare.ndimcol.primint.ArraySeasonInt;
+import de.jare.ndimcol.primint.ArrayTapeInt;
+import de.jare.ndimcol.ref.ArraySeason;
+import de.jare.ndimcol.ref.ArraySeasonHashable;
+import de.jare.ndimcol.ref.ArrayTape;
+import de.jare.ndimcol.ref.SortedSeasonSet;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import static org.testng.Assert.*;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+/**
+ *
+ * @author Janusch Rentenatus
+ */
+public class MethodRemoveNGTest {
+
+    public MethodRemoveNGTest() {
+    }
+
+    @BeforeClass
+    public static void setUpClass() throws Exception {
+        System.out.println("===============================================");
+        System.out.println("## Start MethodRemoveNGTest.");
+    }
+
+    @AfterClass
+    public static void tearDownClass() throws Exception {
+        System.out.println("## End MethodRemoveNGTest.");
+        System.out.println("===============================================");
+    }
+
+    @Test
+    public void testTapeRemoveIf() {
+        ArrayTape<Integer> tape = new ArrayTape<>();
+        List<Integer> expected = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            tape.add(i % 7 == 0 ? null : i);
+            expected.add(i % 7 == 0 ? null : i);
+        }
+        assertTrue(tape.removeIf(e -> e != null && e % 3 == 0));
+        expected.removeIf(e -> e != null && e % 3 == 0);
+        assertEquals(tape.toList(), expected);
+        assertFalse(tape.removeIf(e -> e != null && e % 3 == 0));
+
+        assertTrue(tape.removeAll((Object) null));
+        expected.removeIf(e -> e == null);
+        assertEquals(tape.toList(), expected);
+
+        // the predicate throws at the fourth element, the first three are tested
+        final int[] calls = {0};
+        assertThrows(IllegalStateException.class, () -> tape.removeIf(e -> {
+            if (++calls[0] == 4) {
+                throw new IllegalStateException();
+            }
+            return true;
+        }));
+        assertEquals(tape.toList(), expected.subList(3, expected.size()));
+    }
+
+    @Test
+    public void testTapeRemoveAllRetainAll() {
+        ArrayTape<Integer> tape = new ArrayTape<>();
+        for (int i = 0; i < 1000; i++) {
+            tape.add(i % 100);
+        }
+        List<Integer> list = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            list.add(i * 2);
+        }
+        assertTrue(tape.removeAll(list));
+        assertEquals(tape.size(), 500);
+        assertEquals(tape.indexOf(42), -1);
+        assertEquals(tape.get(0), Integer.valueOf(1));
+
+        Set<Integer> set = new HashSet<>(List.of(1, 3, 5));
+        assertTrue(tape.retainAll(set));
+        assertEquals(tape.size(), 30);
+        assertFalse(tape.retainAll(set));
+
+        assertTrue(tape.removeAll(tape));
+        assertTrue(tape.isEmpty());
+    }
+
+    @Test
+    public void testSeasonRemoveIf() {
+        ArraySeason<Integer> season = new ArraySeason<>();
+        List<Integer> expected = new ArrayList<>();
+        for (int i = 0; i < 200000; i++) {
+            season.add(i);
+            expected.add(i);
+        }
+        assertTrue(season.removeIf(e -> e % 10 == 0));
+        expected.removeIf(e -> e % 10 == 0);
+        assertEquals(season.size(), expected.size());
+        assertEquals(new ArrayList<>(season), expected);
+        assertEquals(season.get(123456), expected.get(123456));
+
+        // empties whole episodes, which are dropped or glued
+        assertTrue(season.removeIf(e -> e > 1000 && e < 150000));
+        expected.removeIf(e -> e > 1000 && e < 150000);
+        assertEquals(new ArrayList<>(season), expected);
+        assertEquals(season.get(1000), expected.get(1000));
+
+        List<Integer> list = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            list.add(i);
+        }
+        assertTrue(season.removeAll(list));
+        expected.removeAll(list);
+        assertEquals(new ArrayList<>(season), expected);
+        assertTrue(season.retainAll(new HashSet<>(List.of(150001, 199999, -1))));
+        assertEquals(new ArrayList<>(season), List.of(150001, 199999));
+    }
+
+    @Test
+    public void testSeasonRemoveIfThrows() {
+        ArraySeason<Integer> season = new ArraySeason<>();
+        for (int i = 0; i < 5000; i++) {
+            season.add(i);
+        }
+        // the predicate removes the first 2000 elements and throws at the next one
+        assertThrows(IllegalStateException.class, () -> season.removeIf(e -> {
+            if (e == 2000) {
+                throw new IllegalStateException();
+            }
+            return true;
+        }));
+        assertEquals(season.size(), 3000);
+        assertEquals(season.toArray().length, 3000);
+        assertEquals(season.get(0), Integer.valueOf(2000));
+        assertEquals(season.get(2999), Integer.valueOf(4999));
+
+        SortedSeasonSet<Integer> set = new SortedSeasonSet<>(Integer::compare, true);
+        for (int i = 0; i < 5000; i++) {
+            set.add(i);
+        }
+        assertThrows(IllegalStateException.class, () -> set.removeIf(e -> {
+            if (e == 2000) {
+                throw new IllegalStateException();
+            }
+            return e % 2 == 0;
+        }));
+        assertEquals(set.size(), 4000);
+        assertTrue(set.contains(4999));
+        assertFalse(set.contains(1000));
+        assertTrue(set.add(1000));
+    }
+
+    @Test
+    public void testHashableSeasonRemoveIf() {
+        ArraySeasonHashable<Integer> season = new ArraySeasonHashable<>();
+        for (int i = 0; i < 50000; i++) {
+            season.add(i);
+        }
+        season.hashCode();
+        assertTrue(season.removeIf(e -> e % 10 == 0 || (e > 20000 && e < 30000)));
+        ArraySeasonHashable<Integer> rehashed = new ArraySeasonHashable<>();
+        for (Integer element : season) {
+            rehashed.add(element);
+        }
+        assertEquals(season.hashCode(), rehashed.hashCode());
+    }
+
+    @Test
+    public void testPrimitiveRemove() {
+        ArraySeasonInt season = new ArraySeasonInt();
+        for (int i = 0; i < 100000; i++) {
+            season.add(i % 1000);
+        }
+        assertTrue(season.removeIf(e -> e >= 500));
+        assertEquals(season.size(), 50000);
+        List<Integer> list = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            list.add(i);
+        }
+        assertTrue(season.removeAll(list));
+        assertEquals(season.size(), 40000);
+        assertEquals(season.min(), 100);
+        assertTrue(season.retainAll(List.of(100, 499, 500)));
+        assertEquals(season.size(), 200);
+        assertEquals(season.sum(), 100L * (100 + 499));
+
+        ArrayTapeInt tape = new ArrayTapeInt();
+        for (int i = 0; i < 100; i++) {
+            tape.add(i % 10);
+        }
+        assertTrue(tape.removeAll(3));
+        assertEquals(tape.size(), 90);
+        assertFalse(tape.removeAll(3));
+
+        ArrayTapeFloat floats = new ArrayTapeFloat();
+        floats.add(-0.0f);
+        floats.add(Float.NaN);
+        floats.add(1.5f);
+        assertTrue(floats.removeAll(List.of(0.0f, Float.NaN)));
+        assertEquals(floats.size(), 2);
+        assertTrue(Float.isNaN(floats.get(0)));
+    }
+
+}
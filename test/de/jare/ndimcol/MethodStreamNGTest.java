@@ -0,0 +1,163 @@
+/**
+ * <copyright>
+ * Copyright (c) 2025, Janusch Rentenatus. This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v2.0 which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ * </copyright>
+ */
+package de.jare.ndimcol;
+
+import de.jare.ndimcol.primfloat.ArraySeasonFloat;
+import de.jare.ndimcol.primint.ArraySeasonInt;
+import de.jare.ndimcol.primint.Screenplay3dInt;
+import de.jare.ndimcol.primlong.ArraySeasonLong;
+import de.jare.ndimcol.primshort.ArraySeasonShort;
+import de.jare.ndimcol.ref.ArraySeason;
+import de.jare.ndimcol.ref.ArrayTape;
+import de.jare.ndimcol.ref.Screenplay;
+import de.jare.ndimcol.ref.Screenplay2d;
+import de.jare.ndimcol.ref.Screenplay3d;
+import java.util.ArrayList;
+import java.util.IntSummaryStatistics;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.stream.Collectors;
+import static org.testng.Assert.*;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+/**
+ *
+ * @author Janusch Rentenatus
+ */
+public class MethodStreamNGTest {
+
+    public MethodStreamNGTest() {
+    }
+
+    @BeforeClass
+    public static void setUpClass() throws Exception {
+        System.out.println("===============================================");
+        System.out.println("## Start MethodStreamNGTest.");
+    }
+
+    @AfterClass
+    public static void tearDownClass() throws Exception {
+        System.out.println("## End MethodStreamNGTest.");
+        System.out.println("===============================================");
+    }
+
+    @Test
+    public void testTapeSpliterator() {
+        ArrayTape<Integer> data = new ArrayTape<>();
+        for (int i = 0; i < 1000; i++) {
+            data.add(i);
+        }
+        Spliterator<Integer> spliterator = data.spliterator();
+        assertTrue(spliterator.hasCharacteristics(Spliterator.SIZED | Spliterator.SUBSIZED | Spliterator.ORDERED));
+        assertEquals(spliterator.getExactSizeIfKnown(), 1000L);
+        Spliterator<Integer> prefix = spliterator.trySplit();
+        assertEquals(prefix.estimateSize() + spliterator.estimateSize(), 1000L);
+        assertTrue(prefix.tryAdvance(x -> assertEquals(x, Integer.valueOf(0))));
+        assertEquals(data.stream().mapToLong(x -> x).sum(), 499500L);
+        assertEquals(data.parallelStream().collect(Collectors.toList()), new ArrayList<>(data));
+    }
+
+    @Test
+    public void testSeasonSpliterator() {
+        for (Screenplay screenplay : new Screenplay[]{Screenplay2d.INSTANCE, Screenplay3d.INSTANCE}) {
+            ArraySeason<Integer> data = new ArraySeason<>(screenplay);
+            List<Integer> expected = new ArrayList<>();
+            for (int i = 0; i < 60000; i++) {
+                data.add(i);
+                expected.add(i);
+            }
+            Spliterator<Integer> spliterator = data.spliterator();
+            assertTrue(spliterator.hasCharacteristics(Spliterator.SIZED | Spliterator.SUBSIZED | Spliterator.ORDERED));
+            assertEquals(spliterator.getExactSizeIfKnown(), 60000L);
+            assertEquals(countSplits(spliterator, 0), 60000L);
+
+            assertEquals(data.stream().collect(Collectors.toList()), expected);
+            assertEquals(data.parallelStream().collect(Collectors.toList()), expected);
+            assertEquals(data.parallelStream().mapToLong(x -> x).sum(), 60000L * 59999L / 2);
+            assertEquals(data.parallelStream().filter(x -> x % 7 == 3).count(), 8571L);
+
+            // a partly consumed spliterator hands over the episode in progress
+            Spliterator<Integer> rest = data.spliterator();
+            int[] first = {-1};
+            rest.tryAdvance(x -> first[0] = x);
+            assertEquals(first[0], 0);
+            Spliterator<Integer> prefix = rest.trySplit();
+            assertEquals(prefix.estimateSize() + rest.estimateSize(), 59999L);
+            prefix.tryAdvance(x -> first[0] = x);
+            assertEquals(first[0], 1);
+        }
+    }
+
+    @Test
+    public void testPrimitiveSpliterator() {
+        ArraySeasonInt dataInt = new ArraySeasonInt();
+        ArraySeasonFloat dataFloat = new ArraySeasonFloat();
+        for (int i = 0; i < 50000; i++) {
+            dataInt.add(i);
+            dataFloat.add(i * 0.5f);
+        }
+        Spliterator.OfInt spliteratorInt = dataInt.spliterator();
+        assertEquals(countSplits(spliteratorInt, 0), 50000L);
+        long[] sum = {0};
+        dataInt.spliterator().forEachRemaining((int x) -> sum[0] += x);
+        assertEquals(sum[0], 50000L * 49999L / 2);
+        Spliterator.OfDouble spliteratorFloat = dataFloat.spliterator();
+        assertEquals(spliteratorFloat.getExactSizeIfKnown(), 50000L);
+        double[] max = {0};
+        spliteratorFloat.forEachRemaining((double x) -> max[0] = Math.max(max[0], x));
+        assertEquals(max[0], 49999 * 0.5d);
+    }
+
+    @Test
+    public void testPrimitiveStreams() {
+        ArraySeasonInt dataInt = new ArraySeasonInt(Screenplay3dInt.INSTANCE);
+        ArraySeasonLong dataLong = new ArraySeasonLong();
+        ArraySeasonShort dataShort = new ArraySeasonShort();
+        ArraySeasonFloat dataFloat = new ArraySeasonFloat();
+        for (int i = 0; i < 70000; i++) {
+            dataInt.add(69999 - i);
+            dataLong.add(i * 100000L);
+            dataShort.add((short) (i % 1000 - 500));
+            dataFloat.add(i * 0.25f);
+        }
+        assertEquals(dataInt.intStream().asLongStream().sum(), 70000L * 69999L / 2);
+        assertEquals(dataInt.parallelIntStream().asLongStream().sum(), 70000L * 69999L / 2);
+        IntSummaryStatistics statistics = dataInt.parallelIntStream().summaryStatistics();
+        assertEquals(statistics.getCount(), 70000L);
+        assertEquals(statistics.getMin(), 0);
+        assertEquals(statistics.getMax(), 69999);
+        int[] sorted = dataInt.parallelIntStream().sorted().limit(3).toArray();
+        assertEquals(sorted, new int[]{0, 1, 2});
+        assertEquals(dataInt.parallelIntStream().filter(x -> x % 7 == 3).count(), 10000L);
+
+        assertEquals(dataLong.parallelLongStream().sum(), 100000L * 70000L * 69999L / 2);
+        assertEquals(dataLong.longStream().skip(69999).findFirst().getAsLong(), 6999900000L);
+
+        assertEquals(dataShort.parallelIntStream().sum(), -70 * 500);
+        assertEquals(dataShort.intStream().min().getAsInt(), -500);
+
+        assertEquals(dataFloat.parallelDoubleStream().sum(), 0.25d * 70000L * 69999L / 2, 1e-3);
+        assertEquals(dataFloat.doubleStream().max().getAsDouble(), 69999 * 0.25d);
+    }
+
+    private static long countSplits(Spliterator<?> spliterator, int depth) {
+        final long size = spliterator.estimateSize();
+        final Spliterator<?> prefix = depth < 12 ? spliterator.trySplit() : null;
+        if (prefix == null) {
+            long[] count = {0};
+            spliterator.forEachRemaining(x -> count[0]++);
+            assertEquals(count[0], size);
+            return count[0];
+        }
+        assertEquals(prefix.estimateSize() + spliterator.estimateSize(), size);
+        return countSplits(prefix, depth + 1) + countSplits(spliterator, depth + 1);
+    }
+
+}
@@ -0,0 +1,238 @@
+/**
+ * <copyright>
+ * Copyright (c) 2025, Janusch Rentenatus. This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v2.0 which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ * </copyright>
+ */
+package de.jare.ndimcol;
+
+import de.jare.ndimcol.primfloat.ArrayMatrixFloat;
+import de.jare.ndimcol.primfloat.ArraySeasonFloat;
+import de.jare.ndimcol.primfloat.MovieBuffersFloat;
+import de.jare.ndimcol.primfloat.MovieFormatFloat;
+import de.jare.ndimcol.primint.ArraySeasonInt;
+import de.jare.ndimcol.primint.ArrayTapeInt;
+import de.jare.ndimcol.primint.MovieBuffersInt;
+import de.jare.ndimcol.primint.MovieFormatInt;
+import de.jare.ndimcol.primint.OffHeapScreenplayInt;
+import de.jare.ndimcol.primint.SortedSeasonSetInt;
+import de.jare.ndimcol.primlong.MovieFormatLong;
+import de.jare.ndimcol.primshort.ArrayTapeShort;
+import de.jare.ndimcol.primshort.MovieFormatShort;
+import de.jare.ndimcol.ref.ArraySeason;
+import de.jare.ndimcol.ref.ArrayTape;
+import de.jare.ndimcol.ref.ElementCodec;
+import de.jare.ndimcol.ref.MovieFormat;
+import de.jare.ndimcol.ref.SortedSeasonSet;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+import java.nio.IntBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Random;
+import static org.testng.Assert.*;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+/**
+ *
+ * @author Janusch Rentenatus
+ */
+public class MovieFormatNGTest {
+
+    public MovieFormatNGTest() {
+    }
+
+    @BeforeClass
+    public static void setUpClass() throws Exception {
+        System.out.println("===============================================");
+        System.out.println("## Start MovieFormatNGTest.");
+    }
+
+    @AfterClass
+    public static void tearDownClass() throws Exception {
+        System.out.println("## End MovieFormatNGTest.");
+        System.out.println("===============================================");
+    }
+
+    @Test
+    public void testReference() throws IOException {
+        System.out.println("testReference");
+        MovieFormat<String> format = new MovieFormat<>(ElementCodec.STRING);
+        ArraySeason<String> season = new ArraySeason<>();
+        for (int i = 0; i < 20000; i++) {
+            season.add(i % 100 == 0 ? null : "e" + i);
+        }
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        format.write(season, Channels.newChannel(bytes));
+
+        ArraySeason<String> readSeason = format.readSeason(Channels.newChannel(
+                new ByteArrayInputStream(bytes.toByteArray())));
+        assertEquals(readSeason, season);
+        ArrayTape<String> readTape = format.readTape(Channels.newChannel(
+                new ByteArrayInputStream(bytes.toByteArray())));
+        assertEquals(readTape.toArray(), season.toArray());
+
+        SortedSeasonSet<String> set = new SortedSeasonSet<>(String::compareTo, true);
+        for (int i = 0; i < 5000; i++) {
+            set.add("s" + (i * 7919 % 5000));
+        }
+        bytes.reset();
+        format.write(set, Channels.newChannel(bytes));
+        SortedSeasonSet<String> readSet = format.readInto(new SortedSeasonSet<>(String::compareTo, true),
+                Channels.newChannel(new ByteArrayInputStream(bytes.toByteArray())));
+        assertEquals(readSet.toArray(), set.toArray());
+        assertTrue(readSet.contains("s4711"));
+        assertTrue(readSet.add("s"));
+        assertEquals(readSet.first(), "s");
+
+        assertThrows(IOException.class, () -> MovieFormatInt.readTape(Channels.newChannel(
+                new ByteArrayInputStream(bytes.toByteArray()))));
+        byte[] cut = new byte[bytes.size() - 3];
+        System.arraycopy(bytes.toByteArray(), 0, cut, 0, cut.length);
+        assertThrows(IOException.class, () -> format.readSeason(Channels.newChannel(new ByteArrayInputStream(cut))));
+
+        // a corrupt block header is rejected before anything is allocated for it
+        byte[] tooMany = bytes.toByteArray();
+        ByteBuffer.wrap(tooMany).order(ByteOrder.LITTLE_ENDIAN).putInt(MovieFormat.HEADER_BYTES,
+                MovieFormat.BLOCK_ELEMENTS + 1);
+        assertThrows(IOException.class, () -> format.readSeason(Channels.newChannel(
+                new ByteArrayInputStream(tooMany))));
+        byte[] tooLong = bytes.toByteArray();
+        ByteBuffer.wrap(tooLong).order(ByteOrder.LITTLE_ENDIAN).putInt(MovieFormat.HEADER_BYTES + 4,
+                Integer.MAX_VALUE);
+        assertThrows(IOException.class, () -> format.readSeason(Channels.newChannel(
+                new ByteArrayInputStream(tooLong))));
+    }
+
+    @Test
+    public void testPrimitive() throws IOException {
+        System.out.println("testPrimitive");
+        final Path file = Files.createTempFile("ndimcol", ".movie");
+        try (OffHeapArena arena = new OffHeapArena()) {
+            ArraySeasonInt season = new ArraySeasonInt();
+            ArraySeasonInt offHeap = new ArraySeasonInt(new OffHeapScreenplayInt(arena));
+            Random random = new Random(4711);
+            for (int i = 0; i < 100000; i++) {
+                final int value = random.nextInt();
+                season.add(value);
+                offHeap.add(value);
+            }
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+                MovieFormatInt.write(offHeap, channel);
+            }
+            // raw values plus one block header per episode
+            final long blockHeaders = Files.size(file) - MovieFormat.HEADER_BYTES - 4L * season.size();
+            assertTrue(blockHeaders > 0);
+            assertEquals(blockHeaders % MovieFormat.BLOCK_HEADER_BYTES, 0);
+            try (FileChannel channel = FileChannel.open(file)) {
+                assertEquals(MovieFormatInt.readSeason(channel), season);
+            }
+            try (FileChannel channel = FileChannel.open(file)) {
+                ArrayTapeInt tape = MovieFormatInt.readTape(channel);
+                assertEquals(tape.toArray(), season.toArray());
+            }
+
+            SortedSeasonSetInt set = new SortedSeasonSetInt();
+            for (int i = 0; i < 30000; i++) {
+                set.add(random.nextInt(100000));
+            }
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING)) {
+                MovieFormatInt.write(set, channel);
+            }
+            try (FileChannel channel = FileChannel.open(file)) {
+                SortedSeasonSetInt readSet = MovieFormatInt.readSortedSet(channel);
+                assertEquals(readSet.toArray(), set.toArray());
+                assertTrue(readSet.contains(set.toArray()[100]));
+            }
+            assertThrows(IOException.class, () -> {
+                try (FileChannel channel = FileChannel.open(file)) {
+                    MovieFormatLong.readTape(channel);
+                }
+            });
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    public void testSiblings() throws IOException {
+        System.out.println("testSiblings");
+        ArrayTapeShort shorts = new ArrayTapeShort();
+        ArraySeasonFloat floats = new ArraySeasonFloat();
+        for (int i = 0; i < 3000; i++) {
+            shorts.add((short) (i - 1500));
+            floats.add(i * 0.25f);
+        }
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        MovieFormatShort.write(shorts, Channels.newChannel(bytes));
+        assertEquals(MovieFormatShort.readSeason(Channels.newChannel(
+                new ByteArrayInputStream(bytes.toByteArray()))).toArray(), shorts.toArray());
+        bytes.reset();
+        MovieFormatFloat.write(floats, Channels.newChannel(bytes));
+        assertEquals(MovieFormatFloat.readTape(Channels.newChannel(
+                new ByteArrayInputStream(bytes.toByteArray()))).toArray(), floats.toArray());
+    }
+
+    @Test
+    public void testBuffers() throws IOException {
+        System.out.println("testBuffers");
+        try (OffHeapArena arena = new OffHeapArena()) {
+            ArraySeasonInt season = new ArraySeasonInt();
+            ArraySeasonInt offHeap = new ArraySeasonInt(new OffHeapScreenplayInt(arena));
+            for (int i = 0; i < 50000; i++) {
+                season.add(i * 3);
+                offHeap.add(i * 3);
+            }
+            IntBuffer buffer = ByteBuffer.allocateDirect(4 * season.size()).order(ByteOrder.nativeOrder())
+                    .asIntBuffer();
+            MovieBuffersInt.copyTo(offHeap, buffer);
+            assertFalse(buffer.hasRemaining());
+            IntBuffer heapBuffer = IntBuffer.allocate(season.size());
+            MovieBuffersInt.copyTo(season, heapBuffer);
+            assertEquals(heapBuffer.array(), season.toArray());
+
+            ArraySeasonInt wrapped = MovieBuffersInt.wrap(buffer.flip());
+            assertEquals(wrapped, season);
+
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            MovieBuffersInt.writeTo(offHeap, Channels.newChannel(bytes));
+            assertEquals(bytes.size(), 4 * season.size());
+            assertEquals(ByteBuffer.wrap(bytes.toByteArray()).order(ByteOrder.LITTLE_ENDIAN).getInt(4 * 4711),
+                    season.get(4711));
+            assertEquals(MovieBuffersInt.readFrom(Channels.newChannel(
+                    new ByteArrayInputStream(bytes.toByteArray()))), season);
+            byte[] cut = new byte[bytes.size() - 3];
+            assertThrows(IOException.class, () -> MovieBuffersInt.readFrom(Channels.newChannel(
+                    new ByteArrayInputStream(cut))));
+        }
+
+        ArrayMatrixFloat matrix = new ArrayMatrixFloat(7, 5, 0f);
+        for (int row = 0; row < 5; row++) {
+            for (int col = 0; col < 7; col++) {
+                matrix.set(col, row, row * 10 + col);
+            }
+        }
+        FloatBuffer floats = FloatBuffer.allocate(35);
+        MovieBuffersFloat.copyTo(matrix, floats);
+        assertEquals(floats.get(12), 15f);
+        ArrayMatrixFloat wrapped = MovieBuffersFloat.wrap(7, 5, floats.flip());
+        assertEquals(wrapped, matrix);
+        assertEquals(wrapped.get(6, 4), 46f);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        MovieBuffersFloat.writeTo(matrix, Channels.newChannel(bytes));
+        ArrayMatrixFloat read = MovieBuffersFloat.readFrom(7, 5, Channels.newChannel(
+                new ByteArrayInputStream(bytes.toByteArray())));
+        assertEquals(read, matrix);
+    }
+}
@@ -0,0 +1,256 @@
+/**
+ * <copyright>
+ * Copyright (c) 2025, Janusch Rentenatus. This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v2.0 which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ * </copyright>
+ */
+package de.jare.ndimcol;
+
+import de.jare.ndimcol.primfloat.ArraySeasonFloat;
+import de.jare.ndimcol.primfloat.OffHeapScreenplayFloat;
+import de.jare.ndimcol.primint.ArrayMovieInt;
+import de.jare.ndimcol.primint.ArraySeasonHashableInt;
+import de.jare.ndimcol.primint.ArraySeasonInt;
+import de.jare.ndimcol.primint.ArrayTapeInt;
+import de.jare.ndimcol.primint.ArrayTapeOffHeapInt;
+import de.jare.ndimcol.primint.IteratorWalkerInt;
+import de.jare.ndimcol.primint.MappedSeasonInt;
+import de.jare.ndimcol.primint.OffHeapScreenplayInt;
+import de.jare.ndimcol.primlong.ArraySeasonLong;
+import de.jare.ndimcol.primlong.MappedSeasonLong;
+import de.jare.ndimcol.primlong.OffHeapScreenplayLong;
+import de.jare.ndimcol.primshort.ArraySeasonShort;
+import de.jare.ndimcol.primshort.OffHeapScreenplayShort;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Random;
+import static org.testng.Assert.*;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+/**
+ *
+ * @author Janusch Rentenatus
+ */
+public class OffHeapNGTest {
+
+    public OffHeapNGTest() {
+    }
+
+    @BeforeClass
+    public static void setUpClass() throws Exception {
+        System.out.println("===============================================");
+        System.out.println("## Start OffHeapNGTest.");
+    }
+
+    @AfterClass
+    public static void tearDownClass() throws Exception {
+        System.out.println("## End OffHeapNGTest.");
+        System.out.println("===============================================");
+    }
+
+    @Test
+    public void testTape() {
+        System.out.println("testTape");
+        try (OffHeapArena arena = new OffHeapArena()) {
+            ArrayTapeOffHeapInt tape = new ArrayTapeOffHeapInt(arena);
+            ArrayTapeInt expected = new ArrayTapeInt();
+            for (int i = 0; i < 100; i++) {
+                tape.add(i);
+                expected.add(i);
+            }
+            tape.addAt(10, -1);
+            expected.addAt(10, -1);
+            assertEquals(tape.removeAt(50), expected.removeAt(50));
+            assertTrue(tape.removeIf(e -> e % 7 == 0));
+            expected.removeIf(e -> e % 7 == 0);
+            assertEquals(tape.toArray(), expected.toArray());
+            assertEquals(tape, expected);
+            assertEquals(expected, tape);
+            assertEquals(tape.hashCode(), expected.hashCode());
+            assertEquals(tape.sum(), expected.sum());
+            assertEquals(tape.min(), expected.min());
+            assertEquals(tape.max(), expected.max());
+            assertEquals(tape.indexOf(-1), expected.indexOf(-1));
+            assertEquals(tape.filterRange(20, 30).toArray(), expected.filterRange(20, 30).toArray());
+            assertEquals(tape.intStream().sum(), expected.intStream().sum());
+
+            ArrayMovieInt upper = tape.splitInHalf();
+            assertTrue(upper instanceof ArrayTapeOffHeapInt);
+            assertEquals(tape.size() + upper.size(), expected.size());
+            assertEquals(upper.first(), expected.get(tape.size()));
+            assertTrue(tape.addMovie(upper));
+            assertEquals(tape.toArray(), expected.toArray());
+            assertTrue(arena.getAllocatedBytes() > 0);
+        }
+    }
+
+    @Test
+    public void testFree() {
+        System.out.println("testFree");
+        final ArrayList<ByteBuffer> freed = new ArrayList<>();
+        final OffHeapArena arena = new OffHeapArena() {
+            @Override
+            protected void freeMemory(ByteBuffer memory) {
+                freed.add(memory);
+                super.freeMemory(memory);
+            }
+        };
+        ArrayTapeOffHeapInt tape = new ArrayTapeOffHeapInt(arena, 4);
+        ArrayTapeOffHeapInt other = new ArrayTapeOffHeapInt(arena, 4);
+        for (int i = 0; i < 1000; i++) {
+            tape.add(i);
+        }
+        // the tape frees the memory it outgrows
+        final int grown = freed.size();
+        assertTrue(grown > 0);
+        tape.close();
+        assertEquals(freed.size(), grown + 1);
+        tape.close();
+        assertEquals(freed.size(), grown + 1);
+        assertThrows(IllegalStateException.class, () -> tape.get(0));
+        arena.close();
+        assertEquals(freed.size(), grown + 2);
+        assertFalse(other.isAlive());
+    }
+
+    @Test
+    public void testSeason() {
+        System.out.println("testSeason");
+        try (OffHeapArena arena = new OffHeapArena()) {
+            ArraySeasonInt season = new ArraySeasonInt(new OffHeapScreenplayInt(arena));
+            ArraySeasonInt expected = new ArraySeasonInt();
+            Random random = new Random(4711);
+            for (int i = 0; i < 5000; i++) {
+                season.add(i);
+                expected.add(i);
+            }
+            season.addAll(new int[]{-1, -2, -3});
+            expected.addAll(new int[]{-1, -2, -3});
+            for (int i = 0; i < 3000; i++) {
+                final int index = random.nextInt(expected.size());
+                if (random.nextBoolean()) {
+                    season.addAt(index, i);
+                    expected.addAt(index, i);
+                } else {
+                    assertEquals(season.removeAt(index), expected.removeAt(index));
+                }
+            }
+            assertEquals(season.toArray(), expected.toArray());
+            assertEquals(season.sum(), expected.sum());
+
+            // the walkers work unchanged on the off-heap episodes
+            IteratorWalkerInt walker = season.softWalker();
+            IteratorWalkerInt expectedWalker = expected.softWalker();
+            while (walker.hasNext()) {
+                assertEquals(walker.next(), expectedWalker.next());
+            }
+            walker = season.softWalkerBackwards();
+            expectedWalker = expected.softWalkerBackwards();
+            for (int i = 0; i < 1000; i++) {
+                assertEquals(walker.previous(), expectedWalker.previous());
+                if (i % 3 == 0) {
+                    assertEquals(walker.remove(), expectedWalker.remove());
+                }
+            }
+            assertEquals(season.toArray(), expected.toArray());
+            assertTrue(arena.getAllocatedBytes() >= (long) season.size() * Integer.BYTES);
+
+            arena.close();
+            assertFalse(arena.isAlive());
+            assertThrows(IllegalStateException.class, () -> season.get(0));
+            assertThrows(IllegalStateException.class, () -> season.add(1));
+            assertThrows(IllegalStateException.class, () -> new ArrayTapeOffHeapInt(arena));
+        }
+    }
+
+    @Test
+    public void testSiblings() {
+        System.out.println("testSiblings");
+        try (OffHeapArena arena = new OffHeapArena()) {
+            ArraySeasonLong seasonLong = new ArraySeasonLong(new OffHeapScreenplayLong(arena));
+            ArraySeasonShort seasonShort = new ArraySeasonShort(new OffHeapScreenplayShort(arena));
+            ArraySeasonFloat seasonFloat = new ArraySeasonFloat(new OffHeapScreenplayFloat(arena));
+            for (int i = 0; i < 2000; i++) {
+                seasonLong.add((long) i << 32);
+                seasonShort.add((short) i);
+                seasonFloat.add(i * 0.5f);
+            }
+            seasonShort.removeAt(0);
+            assertEquals(seasonLong.get(1999), 1999L << 32);
+            assertEquals(seasonShort.min(), (short) 1);
+            assertEquals(seasonShort.sum(), 1999L * 2000 / 2);
+            assertEquals(seasonFloat.max(), 999.5f);
+            assertEquals(seasonFloat.indexOf(500f), 1000);
+        }
+    }
+
+    @Test
+    public void testHashable() {
+        System.out.println("testHashable");
+        try (OffHeapArena arena = new OffHeapArena()) {
+            ArraySeasonHashableInt season = new ArraySeasonHashableInt(new OffHeapScreenplayInt(arena));
+            ArraySeasonHashableInt expected = new ArraySeasonHashableInt();
+            for (int i = 0; i < 3000; i++) {
+                season.add(i * 7);
+                expected.add(i * 7);
+            }
+            assertEquals(season.hashCode(), expected.hashCode());
+            season.set(1234, -1);
+            expected.set(1234, -1);
+            season.removeAt(17);
+            expected.removeAt(17);
+            assertEquals(season.hashCode(), expected.hashCode());
+            assertEquals(season, expected);
+        }
+    }
+
+    @Test
+    public void testMapped() throws IOException {
+        System.out.println("testMapped");
+        final Path file = Files.createTempFile("ndimcol", ".season");
+        try {
+            ArraySeasonLong expected = new ArraySeasonLong();
+            Random random = new Random(4711);
+            try (MappedSeasonLong season = MappedSeasonLong.open(file)) {
+                assertTrue(season.isEmpty());
+                for (long i = 0; i < 50000; i++) {
+                    season.add(i * i);
+                    expected.add(i * i);
+                }
+                // an episode from outside the file is copied in by sync
+                ArraySeasonLong outside = new ArraySeasonLong();
+                outside.addAll(new long[]{-1, -2, -3});
+                season.glueMovie(outside);
+                expected.glueMovie(outside);
+            }
+            try (MappedSeasonLong season = MappedSeasonLong.open(file)) {
+                assertEquals(season.toArray(), expected.toArray());
+                for (int i = 0; i < 5000; i++) {
+                    final int index = random.nextInt(expected.size());
+                    if (random.nextBoolean()) {
+                        season.addAt(index, i);
+                        expected.addAt(index, i);
+                    } else {
+                        assertEquals(season.removeAt(index), expected.removeAt(index));
+                    }
+                }
+                season.sync();
+                season.add(4711);
+            }
+            expected.add(4711);
+            try (MappedSeasonLong season = MappedSeasonLong.open(file)) {
+                assertEquals(season.toArray(), expected.toArray());
+                assertEquals(season.sum(), expected.sum());
+            }
+            assertThrows(IOException.class, () -> MappedSeasonInt.open(file));
+        } finally {
+            Files.delete(file);
+        }
+    }
+}
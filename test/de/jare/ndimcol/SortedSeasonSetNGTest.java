@@ -7,10 +7,22 @@
  */
 package de.jare.ndimcol;
 
+import de.jare.ndimcol.primint.SortedSeasonSetInt;
+import de.jare.ndimcol.primint.SortedSeasonSetViewInt;
 import de.jare.ndimcol.ref.IteratorWalker;
 import de.jare.ndimcol.ref.SortedSeasonSet;
+import de.jare.ndimcol.utils.BiPredicateAmbiguityEquals;
 import de.jare.ndimcol.utils.BiPredicateAmbiguityIdentity;
 import de.jare.ndimcol.utils.BiPredicateHashGr;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.TreeSet;
 import java.util.function.BiPredicate;
 import static org.testng.Assert.*;
 import org.testng.annotations.AfterClass;
@@ -211,4 +223,313 @@ public class SortedSeasonSetNGTest {
         assertEquals(setHash.size(), 5);
     }
 
+    @Test
+    public void testNavigation() {
+        SortedSeasonSet<Integer> set = new SortedSeasonSet<>(Comparator.<Integer>naturalOrder(), true);
+        TreeSet<Integer> tree = new TreeSet<>();
+        Random rnd = new Random(4711);
+        for (int i = 0; i < 20000; i++) {
+            final int value = rnd.nextInt(100000) * 2;
+            set.add(value);
+            tree.add(value);
+        }
+        assertEquals(set.size(), tree.size());
+        for (int i = -3; i < 200005; i += 7) {
+            assertEquals(set.lower(i), tree.lower(i), "lower " + i);
+            assertEquals(set.floor(i), tree.floor(i), "floor " + i);
+            assertEquals(set.ceiling(i), tree.ceiling(i), "ceiling " + i);
+            assertEquals(set.higher(i), tree.higher(i), "higher " + i);
+            assertEquals(set.headSize(i, false), tree.headSet(i, false).size(), "headSize " + i);
+        }
+        assertEquals(set.first(), tree.first());
+        assertEquals(set.last(), tree.last());
+        assertEquals(set.pollFirst(), tree.pollFirst());
+        assertEquals(set.pollLast(), tree.pollLast());
+        assertTrue(set.contains(tree.first()));
+        assertFalse(set.contains(tree.first() + 1));
+        assertEquals(new ArrayList<>(set.descendingSet()), new ArrayList<>(tree.descendingSet()));
+
+        SortedSeasonSet<Integer> empty = new SortedSeasonSet<>(Comparator.<Integer>naturalOrder(), true);
+        assertNull(empty.floor(5));
+        assertNull(empty.pollFirst());
+        assertThrows(NoSuchElementException.class, () -> empty.first());
+    }
+
+    @Test
+    public void testViews() {
+        SortedSeasonSet<Integer> set = new SortedSeasonSet<>(Comparator.<Integer>naturalOrder(), true);
+        TreeSet<Integer> tree = new TreeSet<>();
+        for (int i = 0; i < 10000; i++) {
+            set.add(i * 3);
+            tree.add(i * 3);
+        }
+        NavigableSet<Integer> sub = set.subSet(300, true, 600, false);
+        NavigableSet<Integer> treeSub = tree.subSet(300, true, 600, false);
+        assertEquals(new ArrayList<>(sub), new ArrayList<>(treeSub));
+        assertEquals(sub.size(), 100);
+        assertEquals(sub.first(), Integer.valueOf(300));
+        assertEquals(sub.last(), Integer.valueOf(597));
+        assertEquals(sub.floor(1000), Integer.valueOf(597));
+        assertNull(sub.lower(300));
+        assertEquals(sub.higher(100), Integer.valueOf(300));
+        assertFalse(sub.contains(600));
+        assertThrows(IllegalArgumentException.class, () -> sub.add(601));
+        assertThrows(IllegalArgumentException.class, () -> sub.headSet(900));
+
+        // the views are live in both directions
+        assertTrue(sub.add(301));
+        assertTrue(set.contains(301));
+        set.add(302);
+        set.remove(300);
+        assertEquals(sub.size(), 101);
+        assertEquals(sub.first(), Integer.valueOf(301));
+        tree.add(301);
+        tree.add(302);
+        tree.remove(300);
+
+        NavigableSet<Integer> desc = sub.descendingSet();
+        NavigableSet<Integer> treeDesc = treeSub.descendingSet();
+        assertEquals(new ArrayList<>(desc), new ArrayList<>(treeDesc));
+        assertEquals(desc.first(), treeDesc.first());
+        assertEquals(desc.ceiling(400), treeDesc.ceiling(400));
+        assertEquals(desc.higher(400), treeDesc.higher(400));
+        assertEquals(new ArrayList<>(desc.headSet(500, true)), new ArrayList<>(treeDesc.headSet(500, true)));
+        assertEquals(new ArrayList<>(desc.tailSet(500, false)), new ArrayList<>(treeDesc.tailSet(500, false)));
+        assertEquals(desc.pollFirst(), treeDesc.pollFirst());
+
+        Iterator<Integer> iter = set.headSet(30).iterator();
+        Iterator<Integer> treeIter = tree.headSet(30).iterator();
+        while (iter.hasNext()) {
+            final Integer value = iter.next();
+            assertEquals(value, treeIter.next());
+            if (value % 2 == 0) {
+                iter.remove();
+                treeIter.remove();
+            }
+        }
+        assertFalse(treeIter.hasNext());
+        assertEquals(new ArrayList<>(set), new ArrayList<>(tree));
+
+        set.tailSet(29000, false).clear();
+        tree.tailSet(29000, false).clear();
+        assertEquals(set.size(), tree.size());
+        assertEquals(set.last(), tree.last());
+    }
+
+    @Test
+    public void testViewIteratorModified() {
+        SortedSeasonSet<Integer> set = new SortedSeasonSet<>(Comparator.<Integer>naturalOrder(), true);
+        for (int i = 0; i < 1000; i++) {
+            set.add(i * 2);
+        }
+        Iterator<Integer> iter = set.subSet(100, 300).iterator();
+        iter.next();
+        set.add(201);
+        assertThrows(ConcurrentModificationException.class, () -> iter.next());
+
+        Iterator<Integer> descIter = set.descendingSet().iterator();
+        descIter.next();
+        descIter.remove();
+        descIter.next();
+        set.remove(10);
+        assertThrows(ConcurrentModificationException.class, () -> descIter.remove());
+        assertThrows(ConcurrentModificationException.class, () -> descIter.next());
+    }
+
+    @Test
+    public void testPrimitiveNavigation() {
+        SortedSeasonSetInt set = new SortedSeasonSetInt();
+        for (int i = 0; i < 10000; i++) {
+            set.add(i * 2);
+        }
+        assertEquals(set.floor(101), Integer.valueOf(100));
+        assertEquals(set.ceiling(101), Integer.valueOf(102));
+        assertEquals(set.lower(100), Integer.valueOf(98));
+        assertEquals(set.higher(100), Integer.valueOf(102));
+        assertNull(set.lower(0));
+        assertNull(set.higher(19998));
+        assertEquals(set.headSize(101, true), 51);
+
+        SortedSeasonSetViewInt view = set.subSet(1000, 2000);
+        assertEquals(view.size(), 500);
+        assertEquals(view.last(), 1998);
+        assertEquals(view.descendingSet().first(), 1998);
+        assertEquals(view.pollFirst(), Integer.valueOf(1000));
+        assertFalse(set.contains(1000));
+        assertEquals(view.size(), 499);
+    }
+
+    @Test
+    public void testFenceKeys() {
+        SortedSeasonSet<Integer> set = new SortedSeasonSet<>(Comparator.<Integer>naturalOrder(), true);
+        TreeSet<Integer> tree = new TreeSet<>();
+        Random rnd = new Random(815);
+        // descending adds change the first element of the first episode every time
+        for (int i = 30000; i > 0; i -= 3) {
+            set.add(i);
+            tree.add(i);
+        }
+        for (int round = 0; round < 40000; round++) {
+            final int value = rnd.nextInt(40000);
+            switch (round % 4) {
+                case 0, 1 ->
+                    assertEquals(set.add(value), tree.add(value), "add " + value);
+                case 2 ->
+                    assertEquals(set.remove(value), tree.remove(value), "remove " + value);
+                default -> {
+                    // removes the first element of an episode
+                    final Integer ceiling = tree.ceiling(value);
+                    if (ceiling != null) {
+                        assertTrue(set.remove(ceiling));
+                        tree.remove(ceiling);
+                    }
+                }
+            }
+            if (round % 1000 == 0) {
+                assertEquals(set.pollFirst(), tree.pollFirst());
+                assertEquals(set.pollLast(), tree.pollLast());
+            }
+            assertEquals(set.contains(value + 1), tree.contains(value + 1), "contains " + (value + 1));
+        }
+        assertEquals(new ArrayList<>(set), new ArrayList<>(tree));
+        for (int i = -1; i < 40001; i += 13) {
+            assertEquals(set.ceiling(i), tree.ceiling(i), "ceiling " + i);
+        }
+
+        SortedSeasonSetInt prim = new SortedSeasonSetInt();
+        TreeSet<Integer> primTree = new TreeSet<>();
+        for (int i = 0; i < 30000; i++) {
+            final int value = rnd.nextInt(20000) - i;
+            assertEquals(prim.add(value), primTree.add(value), "add " + value);
+            if (i % 3 == 0) {
+                final int first = primTree.pollFirst();
+                assertTrue(prim.remove(first));
+            }
+        }
+        assertEquals(prim.size(), primTree.size());
+        for (int i = -30000; i < 20000; i += 11) {
+            assertEquals(prim.floor(i), primTree.floor(i), "floor " + i);
+            assertEquals(prim.contains(i), primTree.contains(i), "contains " + i);
+        }
+    }
+
+    private static SortedSeasonSet<Integer> randomSet(TreeSet<Integer> tree, Random rnd, int count, int bound) {
+        SortedSeasonSet<Integer> set = new SortedSeasonSet<>(Comparator.<Integer>naturalOrder(), true);
+        for (int i = 0; i < count; i++) {
+            final int value = rnd.nextInt(bound);
+            set.add(value);
+            tree.add(value);
+        }
+        return set;
+    }
+
+    @Test
+    public void testSetAlgebra() {
+        Random rnd = new Random(4711);
+        TreeSet<Integer> treeA = new TreeSet<>();
+        TreeSet<Integer> treeB = new TreeSet<>();
+        SortedSeasonSet<Integer> setA = randomSet(treeA, rnd, 40000, 100000);
+        SortedSeasonSet<Integer> setB = randomSet(treeB, rnd, 20000, 100000);
+        // a block of B lies in a gap of A, so whole episodes are taken over
+        for (int i = 200000; i < 230000; i++) {
+            setB.add(i);
+            treeB.add(i);
+        }
+
+        TreeSet<Integer> expected = new TreeSet<>(treeA);
+        expected.addAll(treeB);
+        SortedSeasonSet<Integer> union = setA.union(setB);
+        assertEquals(new ArrayList<>(union), new ArrayList<>(expected));
+        assertEquals(union.get(expected.size() - 1), expected.last());
+
+        expected = new TreeSet<>(treeA);
+        expected.retainAll(treeB);
+        assertEquals(new ArrayList<>(setA.intersect(setB)), new ArrayList<>(expected));
+
+        expected = new TreeSet<>(treeA);
+        expected.removeAll(treeB);
+        assertEquals(new ArrayList<>(setA.minus(setB)), new ArrayList<>(expected));
+
+        expected = new TreeSet<>(treeA);
+        expected.addAll(treeB);
+        TreeSet<Integer> common = new TreeSet<>(treeA);
+        common.retainAll(treeB);
+        expected.removeAll(common);
+        SortedSeasonSet<Integer> xor = setA.xor(setB);
+        assertEquals(new ArrayList<>(xor), new ArrayList<>(expected));
+        assertEquals(xor.headSize(150000, false), expected.headSet(150000).size());
+
+        // the operands are not changed
+        assertEquals(new ArrayList<>(setA), new ArrayList<>(treeA));
+        assertEquals(new ArrayList<>(setB), new ArrayList<>(treeB));
+
+        // a set of another order is merged element by element
+        SortedSeasonSet<Integer> other = new SortedSeasonSet<>((a, b) -> a < b);
+        other.addAll(treeB);
+        expected = new TreeSet<>(treeA);
+        expected.retainAll(treeB);
+        assertEquals(new ArrayList<>(setA.intersect(other)), new ArrayList<>(expected));
+        assertEquals(setA.xor(other).size(), xor.size());
+    }
+
+    @Test
+    public void testSetAlgebraAmbiguity() {
+        BiPredicateHashGr<String> predicate = new BiPredicateHashGr<>();
+        BiPredicateAmbiguityEquals<String> ambiguity = new BiPredicateAmbiguityEquals<>();
+        SortedSeasonSet<String> setA = new SortedSeasonSet<>(predicate, ambiguity);
+        SortedSeasonSet<String> setB = new SortedSeasonSet<>(predicate, ambiguity);
+        // "Aa" and "BB" have the same hash code
+        setA.add("Aa");
+        setA.add("x");
+        setB.add("BB");
+        setB.add("Aa");
+        setB.add("y");
+        assertEquals(setA.union(setB).size(), 4);
+        assertEquals(new ArrayList<>(setA.intersect(setB)), List.of("Aa"));
+        assertEquals(new ArrayList<>(setA.minus(setB)), List.of("x"));
+        SortedSeasonSet<String> xor = setA.xor(setB);
+        assertEquals(xor.size(), 3);
+        assertTrue(xor.contains("BB"));
+        assertFalse(xor.contains("Aa"));
+    }
+
+    @Test
+    public void testPrimitiveSetAlgebra() {
+        SortedSeasonSetInt setA = new SortedSeasonSetInt();
+        SortedSeasonSetInt setB = new SortedSeasonSetInt();
+        for (int i = 0; i < 30000; i++) {
+            setA.add(i * 2);
+            setB.add(i * 3);
+        }
+        assertEquals(setA.union(setB).size(), 30000 + 30000 - 10000);
+        SortedSeasonSetInt both = setA.intersect(setB);
+        assertEquals(both.size(), 10000);
+        assertEquals(both.last(), 59994);
+        assertEquals(setA.minus(setB).size(), 20000);
+        assertEquals(setA.xor(setB).size(), 40000);
+    }
+
+    @Test
+    public void testBatch() {
+        SortedSeasonSet<Integer> set = new SortedSeasonSet<>(Comparator.<Integer>naturalOrder(), true);
+        TreeSet<Integer> tree = new TreeSet<>();
+        Random rnd = new Random(4711);
+        set.beginBatch();
+        for (int i = 0; i < 50000; i++) {
+            final int value = rnd.nextInt(100000);
+            if (i % 4 == 3) {
+                assertEquals(set.remove(value), tree.remove(value));
+            } else {
+                assertEquals(set.add(value), tree.add(value));
+            }
+        }
+        assertEquals(set.floor(50001), tree.floor(50001));
+        set.endBatch();
+        assertEquals(set.size(), tree.size());
+        assertEquals(new ArrayList<>(set), new ArrayList<>(tree));
+        for (int i = 0; i < 100000; i += 97) {
+            assertEquals(set.headSize(i, false), tree.headSet(i, false).size());
+        }
+    }
+
 }
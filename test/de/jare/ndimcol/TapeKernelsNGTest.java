@@ -0,0 +1,234 @@
+/**
+ * <copyright>
+ * Copyright (c) 2025, Janusch Rentenatus. This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v2.0 which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ * </copyright>
+ */
+package de.jare.ndimcol;
+
+import de.jare.ndimcol.primfloat.ArrayTapeFloat;
+import de.jare.ndimcol.primint.ArrayMovieInt;
+import de.jare.ndimcol.primint.ArraySeasonInt;
+import de.jare.ndimcol.primint.ArrayTapeInt;
+import de.jare.ndimcol.primshort.ArraySeasonShort;
+import java.util.Arrays;
+import java.util.Random;
+import static org.testng.Assert.*;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+/**
+ *
+ * @author Janusch Rentenatus
+ */
+public class TapeKernelsNGTest {
+
+    private static final int[] SIZES = {0, 1, 7, 33, 100, 1001};
+
+    public TapeKernelsNGTest() {
+    }
+
+    @BeforeClass
+    public static void setUpClass() throws Exception {
+        System.out.println("===============================================");
+        System.out.println("## Start TapeKernelsNGTest.");
+        System.out.println("Vectorized kernels: " + TapeKernels.INSTANCE.isVectorized());
+    }
+
+    @AfterClass
+    public static void tearDownClass() throws Exception {
+        System.out.println("## End TapeKernelsNGTest.");
+        System.out.println("===============================================");
+    }
+
+    @Test
+    public void testIntKernels() {
+        TapeKernels scalar = TapeKernels.SCALAR;
+        TapeKernels kernels = TapeKernels.INSTANCE;
+        Random rnd = new Random(4711);
+        for (int len : SIZES) {
+            int[] a = new int[len];
+            for (int i = 0; i < len; i++) {
+                a[i] = rnd.nextInt(200) - 100;
+            }
+            int from = len > 3 ? 3 : 0;
+            for (int key = -101; key <= 101; key += 17) {
+                assertEquals(kernels.indexOf(a, from, len, key), scalar.indexOf(a, from, len, key));
+                assertEquals(kernels.lastIndexOf(a, from, len, key), scalar.lastIndexOf(a, from, len, key));
+            }
+            int[] dest = new int[len];
+            int[] expected = new int[len];
+            int count = kernels.filterRange(a, from, len, -20, 50, dest);
+            assertEquals(count, scalar.filterRange(a, from, len, -20, 50, expected));
+            assertEquals(Arrays.copyOf(dest, count), Arrays.copyOf(expected, count));
+            assertEquals(kernels.sum(a, from, len), scalar.sum(a, from, len));
+            if (len > from) {
+                assertEquals(kernels.min(a, from, len), scalar.min(a, from, len));
+                assertEquals(kernels.max(a, from, len), scalar.max(a, from, len));
+            }
+            int[] b = Arrays.copyOf(a, len);
+            assertEquals(kernels.mismatch(a, 0, b, 0, len), -1);
+            if (len > 0) {
+                b[len - 1]++;
+                assertEquals(kernels.mismatch(a, 0, b, 0, len), len - 1);
+            }
+        }
+        int[] big = new int[100_000];
+        Arrays.fill(big, Integer.MAX_VALUE);
+        assertEquals(kernels.sum(big, 0, big.length), 100_000L * Integer.MAX_VALUE);
+    }
+
+    @Test
+    public void testLongKernels() {
+        TapeKernels scalar = TapeKernels.SCALAR;
+        TapeKernels kernels = TapeKernels.INSTANCE;
+        Random rnd = new Random(4712);
+        for (int len : SIZES) {
+            long[] a = new long[len];
+            for (int i = 0; i < len; i++) {
+                a[i] = rnd.nextInt(200) - 100L;
+            }
+            int from = len > 3 ? 3 : 0;
+            for (long key = -101; key <= 101; key += 17) {
+                assertEquals(kernels.indexOf(a, from, len, key), scalar.indexOf(a, from, len, key));
+                assertEquals(kernels.lastIndexOf(a, from, len, key), scalar.lastIndexOf(a, from, len, key));
+            }
+            long[] dest = new long[len];
+            long[] expected = new long[len];
+            int count = kernels.filterRange(a, from, len, -20L, 50L, dest);
+            assertEquals(count, scalar.filterRange(a, from, len, -20L, 50L, expected));
+            assertEquals(Arrays.copyOf(dest, count), Arrays.copyOf(expected, count));
+            assertEquals(kernels.sum(a, from, len), scalar.sum(a, from, len));
+            if (len > from) {
+                assertEquals(kernels.min(a, from, len), scalar.min(a, from, len));
+                assertEquals(kernels.max(a, from, len), scalar.max(a, from, len));
+            }
+        }
+    }
+
+    @Test
+    public void testShortKernels() {
+        TapeKernels scalar = TapeKernels.SCALAR;
+        TapeKernels kernels = TapeKernels.INSTANCE;
+        Random rnd = new Random(4713);
+        for (int len : SIZES) {
+            short[] a = new short[len];
+            for (int i = 0; i < len; i++) {
+                a[i] = (short) (rnd.nextInt(200) - 100);
+            }
+            int from = len > 3 ? 3 : 0;
+            for (short key = -101; key <= 101; key += 17) {
+                assertEquals(kernels.indexOf(a, from, len, key), scalar.indexOf(a, from, len, key));
+                assertEquals(kernels.lastIndexOf(a, from, len, key), scalar.lastIndexOf(a, from, len, key));
+            }
+            short[] dest = new short[len];
+            short[] expected = new short[len];
+            int count = kernels.filterRange(a, from, len, (short) -20, (short) 50, dest);
+            assertEquals(count, scalar.filterRange(a, from, len, (short) -20, (short) 50, expected));
+            assertEquals(Arrays.copyOf(dest, count), Arrays.copyOf(expected, count));
+            assertEquals(kernels.sum(a, from, len), scalar.sum(a, from, len));
+            if (len > from) {
+                assertEquals(kernels.min(a, from, len), scalar.min(a, from, len));
+                assertEquals(kernels.max(a, from, len), scalar.max(a, from, len));
+            }
+        }
+        // more than 65536 rounds of Short.MAX_VALUE would overflow an int lane
+        short[] big = new short[3_000_000];
+        Arrays.fill(big, Short.MAX_VALUE);
+        assertEquals(kernels.sum(big, 0, big.length), 3_000_000L * Short.MAX_VALUE);
+    }
+
+    @Test
+    public void testFloatKernels() {
+        TapeKernels scalar = TapeKernels.SCALAR;
+        TapeKernels kernels = TapeKernels.INSTANCE;
+        Random rnd = new Random(4714);
+        for (int len : SIZES) {
+            float[] a = new float[len];
+            for (int i = 0; i < len; i++) {
+                a[i] = (rnd.nextInt(200) - 100) / 4f;
+            }
+            int from = len > 3 ? 3 : 0;
+            for (float key = -25.25f; key <= 25.25f; key += 4.25f) {
+                assertEquals(kernels.indexOf(a, from, len, key), scalar.indexOf(a, from, len, key));
+                assertEquals(kernels.lastIndexOf(a, from, len, key), scalar.lastIndexOf(a, from, len, key));
+            }
+            float[] dest = new float[len];
+            float[] expected = new float[len];
+            int count = kernels.filterRange(a, from, len, -5f, 12.5f, dest);
+            assertEquals(count, scalar.filterRange(a, from, len, -5f, 12.5f, expected));
+            assertEquals(Arrays.copyOf(dest, count), Arrays.copyOf(expected, count));
+            assertEquals(kernels.sum(a, from, len), scalar.sum(a, from, len), 1e-6);
+            if (len > from) {
+                assertEquals(kernels.min(a, from, len), scalar.min(a, from, len));
+                assertEquals(kernels.max(a, from, len), scalar.max(a, from, len));
+            }
+            float[] b = Arrays.copyOf(a, len);
+            assertEquals(kernels.mismatch(a, 0, b, 0, len), -1);
+            if (len > 0) {
+                b[len / 2] = Float.NaN;
+                a[len / 2] = Float.NaN;
+                assertEquals(kernels.mismatch(a, 0, b, 0, len), len / 2);
+            }
+        }
+    }
+
+    @Test
+    public void testTapeOperations() {
+        ArrayTapeInt tape = new ArrayTapeInt();
+        for (int i = 0; i < 1000; i++) {
+            tape.add(i % 100);
+        }
+        assertEquals(tape.indexOf(42), 42);
+        assertEquals(tape.lastIndexOf(42), 942);
+        assertEquals(tape.indexOf(100), -1);
+        assertEquals(tape.min(), 0);
+        assertEquals(tape.max(), 99);
+        assertEquals(tape.sum(), 49500L);
+        ArrayMovieInt range = tape.filterRange(10, 19);
+        assertEquals(range.size(), 100);
+        assertEquals(range.get(0), 10);
+        assertEquals(range.get(99), 19);
+
+        ArrayTapeInt copy = new ArrayTapeInt(tape);
+        assertEquals(copy, tape);
+        copy.set(999, -1);
+        assertNotEquals(copy, tape);
+
+        assertTrue(tape.removeAll(42));
+        assertEquals(tape.size(), 990);
+        assertEquals(tape.indexOf(42), -1);
+        assertEquals(tape.get(42), 43);
+        assertEquals(tape.sum(), 49500L - 420L);
+        assertFalse(tape.removeAll(42));
+
+        assertThrows(IndexOutOfBoundsException.class, () -> new ArrayTapeFloat().min());
+        assertEquals(new ArrayTapeFloat().sum(), 0.0);
+    }
+
+    @Test
+    public void testSeasonOperations() {
+        ArraySeasonShort season = new ArraySeasonShort();
+        for (int i = 0; i < 5000; i++) {
+            season.add((short) (i % 1000 - 500));
+        }
+        assertEquals(season.min(), (short) -500);
+        assertEquals(season.max(), (short) 499);
+        assertEquals(season.sum(), -2500L);
+        assertEquals(season.filterRange((short) 0, (short) 9).size(), 50);
+
+        ArraySeasonInt ints = new ArraySeasonInt();
+        for (int i = 0; i < 5000; i++) {
+            ints.add(i);
+        }
+        ArrayMovieInt range = ints.filterRange(1000, 3999);
+        assertEquals(range.size(), 3000);
+        assertEquals(range.first(), 1000);
+        assertEquals(range.last(), 3999);
+        assertEquals(range.sum(), (1000L + 3999L) * 3000L / 2L);
+        assertThrows(IndexOutOfBoundsException.class, () -> new ArraySeasonInt().max());
+    }
+
+}
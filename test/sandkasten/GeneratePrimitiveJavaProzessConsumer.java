@@ -20,9 +20,10 @@ import java.util.function.Consumer;
  */
 public class GeneratePrimitiveJavaProzessConsumer implements Consumer<String> {
 
-    public static void processFile(Path sourcePath, Path targetPath, String append, String prim, String primBox) {
+    public static void processFile(Path sourcePath, Path targetPath, String append, String prim, String primBox,
+            String stream) {
         final GeneratePrimitiveJavaProzessConsumer prozessConsumer = new GeneratePrimitiveJavaProzessConsumer();
-        prozessConsumer.createReplacement(append, prim, primBox);
+        prozessConsumer.createReplacement(append, prim, primBox, stream);
 
         try {
             // Zeilenweise lesen und Änderungen vornehmen
@@ -41,11 +42,13 @@ public class GeneratePrimitiveJavaProzessConsumer implements Consumer<String> {
     private String append;
     private String prim;
     private String primBox;
+    private String stream;
 
-    private void createReplacement(String append, String prim, String primBox) {
+    private void createReplacement(String append, String prim, String primBox, String stream) {
         this.append = append;
         this.prim = prim;
         this.primBox = primBox;
+        this.stream = stream;
         replacement = new ArrayList<>();
         replacement.add(List.of("package de.jare.ndimcol.ref;", "package de.jare.ndimcol.prim" + prim + ";"));
         replacement.add(List.of("import java.util.function.Consumer;", "import java.util.function." + append + "Consumer;"));
@@ -84,7 +87,6 @@ public class GeneratePrimitiveJavaProzessConsumer implements Consumer<String> {
         replacement.add(List.of("public ArrayMatrix(", "public ArrayMatrix" + append + "("));
         replacement.add(List.of("public ArrayTapeHashable(", "public ArrayTapeHashable" + append + "("));
         replacement.add(List.of("public ArraySeasonHashable(", "public ArraySeasonHashable" + append + "("));
-        replacement.add(List.of("public PredicateAllRunnable(", "public PredicateAllRunnable" + append + "("));
         replacement.add(List.of("Screenplay ", "Screenplay" + append + " "));
         replacement.add(List.of("Screenplay2d", "Screenplay2d" + append));
         replacement.add(List.of("Screenplay3d", "Screenplay3d" + append));
@@ -108,18 +110,24 @@ public class GeneratePrimitiveJavaProzessConsumer implements Consumer<String> {
         replacement.add(List.of("SortedSeasonSetWorkerIndexOf<>", "SortedSeasonSetWorkerIndexOf" + append));
         replacement.add(List.of("BiPredicate<T, T>", "BiPredicate" + append + append));
         replacement.add(List.of("implements Set" + append, ""));
+        replacement.add(List.of("implements NavigableSet" + append, ""));
+        replacement.add(List.of("SortedSeasonSetView<>(", "SortedSeasonSetView" + append + "("));
         replacement.add(List.of("public SortedSeasonSet(", "public SortedSeasonSet" + append + "("));
         replacement.add(List.of("SortedSeasonSet<>(", "SortedSeasonSet" + append + "("));
         replacement.add(List.of("ArraySeason(de.jare.ndimcol.ref.ArrayTape<ArrayMovie", "ArraySeason"+append+"(de.jare.ndimcol.ref.ArrayTape<ArrayMovie"));
+        replacement.add(List.of("ArraySeasonSnapshot(final ", "ArraySeasonSnapshot" + append + "(final "));
+        replacement.add(List.of("ArraySeasonSnapshot<>(", "ArraySeasonSnapshot" + append + "("));
        
         skipNext = false;
         noprim = false;
         isInterface = false;
+        noOverride = false;
     }
 
     boolean skipNext = false;
     boolean noprim = false;
     boolean isInterface = false;
+    boolean noOverride = false;
     List<String> modifiedLines = new ArrayList<>();
 
     @Override
@@ -134,6 +142,11 @@ public class GeneratePrimitiveJavaProzessConsumer implements Consumer<String> {
             return;
         } else if (trimLine.startsWith("//prim:")) {
             String modifiedLine = line.replace("//prim:", "");
+            modifiedLine = modifiedLine.replace("_STREAM_", stream);
+            modifiedLine = modifiedLine.replace("_stream_", stream.toLowerCase());
+            modifiedLine = modifiedLine.replace("_SUM_", "Double".equals(stream) ? "double" : "long");
+            // short arithmetic is int arithmetic, only short needs the cast back
+            modifiedLine = modifiedLine.replace("_NARROW_", "short".equals(prim) ? "(short) " : "");
             modifiedLine = modifiedLine.replace("_PRIMBOX_", primBox);
             modifiedLine = modifiedLine.replace("_PRIM_", prim);
             modifiedLine = modifiedLine.replace("_APPEND_", append);
@@ -142,6 +155,11 @@ public class GeneratePrimitiveJavaProzessConsumer implements Consumer<String> {
             noprim = false;
         } else if (trimLine.startsWith("// prim:")) {
             String modifiedLine = line.replace("// prim:", "");
+            modifiedLine = modifiedLine.replace("_STREAM_", stream);
+            modifiedLine = modifiedLine.replace("_stream_", stream.toLowerCase());
+            modifiedLine = modifiedLine.replace("_SUM_", "Double".equals(stream) ? "double" : "long");
+            // short arithmetic is int arithmetic, only short needs the cast back
+            modifiedLine = modifiedLine.replace("_NARROW_", "short".equals(prim) ? "(short) " : "");
             modifiedLine = modifiedLine.replace("_PRIMBOX_", primBox);
             modifiedLine = modifiedLine.replace("_PRIM_", prim);
             modifiedLines.add(modifiedLine);
@@ -151,6 +169,9 @@ public class GeneratePrimitiveJavaProzessConsumer implements Consumer<String> {
             noprim = true;
         } else if (trimLine.startsWith("//noprim.end") || trimLine.startsWith("// noprim.end")) {
             noprim = false;
+        } else if (trimLine.startsWith("//prim.nooverride")) {
+            // the primitive class has no supertype for the overridden methods
+            noOverride = true;
         } else if (skipNext || noprim) {
             skipNext = false;
         } else if (trimLine.startsWith("* ")
@@ -166,7 +187,7 @@ public class GeneratePrimitiveJavaProzessConsumer implements Consumer<String> {
             for (List<String> list12 : replacement) {
                 modifiedLine = modifiedLine.replace(list12.get(0), list12.get(1));
             }
-            if (isInterface) {
+            if (isInterface || noOverride) {
                 modifiedLine = modifiedLine.replace("@Override", "");
             }
             modifiedLines.add(modifiedLine);